@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -118,6 +119,12 @@ public class NotificationManagerTestCase extends AbstractMuleTestCase {
     assertFalse("not specified at all", manager.isNotificationEnabled(Event3.class));
   }
 
+  @Test
+  public void testBatchedCountsWithoutBatchedDispatch() {
+    assertEquals(0, manager.getBatchedNotificationsOverflowedCount());
+    assertEquals(0, manager.getBatchedNotificationsDroppedCount());
+  }
+
   /**
    * A new policy should only be generated when the configuration changes
    */
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.core.internal.connection.AdaptivePoolSizer.GROW_WAIT_THRESHOLD_MICROS;
+import static org.mule.runtime.core.internal.connection.AdaptivePoolSizer.SHRINK_AFTER_INTERVALS;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class AdaptivePoolSizerTestCase extends AbstractMuleTestCase {
+
+  private static final int CONFIGURED_MAX_TOTAL = 4;
+
+  private final ConnectionPoolStatistics statistics = new ConnectionPoolStatistics("pool", "config");
+  private LockFreeConnectionPool<Object> pool;
+  private AdaptivePoolSizer sizer;
+
+  @Before
+  public void before() {
+    pool = new LockFreeConnectionPool<>(new LockFreeConnectionPool.ConnectionFactory<Object>() {
+
+      @Override
+      public Object create() {
+        return new Object();
+      }
+
+      @Override
+      public void destroy(Object connection) {}
+
+      @Override
+      public boolean validate(Object connection) {
+        return true;
+      }
+    }, CONFIGURED_MAX_TOTAL, -1, true, -1, -1, -1, null);
+    statistics.setPool(pool);
+    sizer = new AdaptivePoolSizer(pool, statistics, CONFIGURED_MAX_TOTAL);
+  }
+
+  @After
+  public void after() {
+    pool.close();
+  }
+
+  @Test
+  public void growOnLongWaits() {
+    addLongWaits();
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(5));
+
+    addLongWaits();
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(6));
+  }
+
+  @Test
+  public void growOnExhaustedBorrows() {
+    statistics.addExhaustedBorrow(0);
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(5));
+
+    // Only the ones of the last interval count
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(5));
+  }
+
+  @Test
+  public void doNotGrowOverLimit() {
+    for (int i = 0; i < 10; ++i) {
+      addLongWaits();
+      sizer.run();
+    }
+    assertThat(pool.getMaxTotal(), is(2 * CONFIGURED_MAX_TOTAL));
+  }
+
+  @Test
+  public void doNotGrowWithoutWaits() {
+    statistics.addBorrow(0);
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(CONFIGURED_MAX_TOTAL));
+  }
+
+  @Test
+  public void shrinkWhenIdle() throws Exception {
+    addLongWaits();
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(5));
+
+    List<Object> connections = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      connections.add(pool.borrowObject());
+    }
+    connections.forEach(pool::returnObject);
+
+    for (int i = 0; i < SHRINK_AFTER_INTERVALS - 1; ++i) {
+      sizer.run();
+    }
+    assertThat(pool.getMaxTotal(), is(5));
+    sizer.run();
+    assertThat(pool.getMaxTotal(), is(CONFIGURED_MAX_TOTAL));
+  }
+
+  private void addLongWaits() {
+    for (int i = 0; i < 10; ++i) {
+      statistics.addBorrow(MICROSECONDS.toNanos(GROW_WAIT_THRESHOLD_MICROS * 2));
+    }
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class LockFreeConnectionPoolTestCase extends AbstractMuleTestCase {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final AtomicInteger destroyed = new AtomicInteger();
+  private final AtomicBoolean valid = new AtomicBoolean(true);
+
+  private ExecutorService executor;
+  private ScheduledExecutorService evictor;
+  private LockFreeConnectionPool<Object> pool;
+
+  @Before
+  public void before() {
+    executor = newFixedThreadPool(4);
+    evictor = newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void after() {
+    if (pool != null) {
+      pool.close();
+    }
+    executor.shutdownNow();
+    evictor.shutdownNow();
+  }
+
+  @Test
+  public void lastUsedConnectionIsBorrowedAgain() throws Exception {
+    pool = createPool(4, 4, true, -1, -1, -1);
+    pool.addObject();
+    pool.addObject();
+
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+
+    for (int i = 0; i < 10; ++i) {
+      Object borrowed = pool.borrowObject();
+      assertThat(borrowed, is(sameInstance(connection)));
+      pool.returnObject(borrowed);
+    }
+    assertThat(created.get(), is(2));
+  }
+
+  @Test
+  public void failWhenExhausted() throws Exception {
+    pool = createPool(1, 1, false, -1, -1, -1);
+    Object connection = pool.borrowObject();
+
+    try {
+      pool.borrowObject();
+      fail("Was expecting the pool to be exhausted");
+    } catch (NoSuchElementException e) {
+      // expected
+    }
+
+    pool.returnObject(connection);
+    assertThat(pool.borrowObject(), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void timeoutWhenExhausted() throws Exception {
+    pool = createPool(1, 1, true, 100, -1, -1);
+    pool.borrowObject();
+
+    try {
+      pool.borrowObject();
+      fail("Was expecting the wait for a connection to time out");
+    } catch (NoSuchElementException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void returnedConnectionIsHandedOffToWaiter() throws Exception {
+    pool = createPool(1, 1, true, -1, -1, -1);
+    Object connection = pool.borrowObject();
+
+    Future<Object> waiter = executor.submit(() -> pool.borrowObject());
+    pool.returnObject(connection);
+
+    assertThat(waiter.get(5, SECONDS), is(sameInstance(connection)));
+  }
+
+  @Test
+  public void invalidatedConnectionIsReplacedForWaiter() throws Exception {
+    pool = createPool(1, 1, true, -1, -1, -1);
+    Object connection = pool.borrowObject();
+
+    Future<Object> waiter = executor.submit(() -> pool.borrowObject());
+    pool.invalidateObject(connection);
+
+    assertThat(waiter.get(5, SECONDS), is(not(sameInstance(connection))));
+    assertThat(destroyed.get(), is(1));
+  }
+
+  @Test
+  public void closeFailsWaiters() throws Exception {
+    pool = createPool(1, 1, true, -1, -1, -1);
+    pool.borrowObject();
+
+    Future<Object> waiter = executor.submit(() -> pool.borrowObject());
+    pool.close();
+
+    try {
+      waiter.get(5, SECONDS);
+      fail("Was expecting the waiter to fail");
+    } catch (Exception e) {
+      assertThat(e.getCause() instanceof IllegalStateException, is(true));
+    }
+  }
+
+  @Test
+  public void closeFailsAllWaiters() throws Exception {
+    pool = createPool(1, 1, true, -1, -1, -1);
+    pool.borrowObject();
+
+    List<Future<Object>> waiters = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      waiters.add(executor.submit(() -> pool.borrowObject()));
+    }
+    new PollingProber().check(new JUnitLambdaProbe(() -> pool.getNumWaiters() == 3));
+    pool.close();
+
+    for (Future<Object> waiter : waiters) {
+      try {
+        waiter.get(5, SECONDS);
+        fail("Was expecting the waiter to fail");
+      } catch (Exception e) {
+        assertThat(e.getCause() instanceof IllegalStateException, is(true));
+      }
+    }
+  }
+
+  @Test
+  public void maxIdleIsHonored() throws Exception {
+    pool = createPool(-1, 1, true, -1, -1, -1);
+    Object connection1 = pool.borrowObject();
+    Object connection2 = pool.borrowObject();
+
+    pool.returnObject(connection1);
+    pool.returnObject(connection2);
+
+    assertThat(pool.getNumIdle(), is(1));
+    assertThat(destroyed.get(), is(1));
+  }
+
+  @Test
+  public void idleConnectionsAreEvicted() throws Exception {
+    pool = createPool(4, 4, true, -1, 50, 10);
+    pool.addObject();
+    pool.addObject();
+    Object connection = pool.borrowObject();
+
+    new PollingProber().check(new JUnitLambdaProbe(() -> pool.getNumIdle() == 0 && destroyed.get() == 1));
+    pool.returnObject(connection);
+    assertThat(pool.getNumActive(), is(0));
+  }
+
+  @Test
+  public void invalidConnectionsAreEvicted() throws Exception {
+    pool = createPool(4, 4, true, -1, -1, 10);
+    pool.addObject();
+    pool.addObject();
+
+    valid.set(false);
+    new PollingProber().check(new JUnitLambdaProbe(() -> pool.getNumIdle() == 0 && destroyed.get() == 2));
+  }
+
+  @Test
+  public void concurrentBorrowers() throws Exception {
+    final int maxTotal = 2;
+    pool = createPool(maxTotal, maxTotal, true, -1, -1, -1);
+    Set<Object> inUse = ConcurrentHashMap.newKeySet();
+    AtomicInteger violations = new AtomicInteger();
+
+    List<Future<?>> borrowers = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      borrowers.add(executor.submit(() -> {
+        for (int j = 0; j < 1000; ++j) {
+          Object connection = pool.borrowObject();
+          if (!inUse.add(connection) || inUse.size() > maxTotal) {
+            violations.incrementAndGet();
+          }
+          inUse.remove(connection);
+          pool.returnObject(connection);
+        }
+        return null;
+      }));
+    }
+    for (Future<?> borrower : borrowers) {
+      borrower.get(10, SECONDS);
+    }
+
+    assertThat(violations.get(), is(0));
+    assertThat(pool.getNumActive(), is(0));
+  }
+
+  private LockFreeConnectionPool<Object> createPool(int maxTotal, int maxIdle, boolean blockWhenExhausted, long maxWait,
+                                                    long minEvictionMillis, long evictionCheckIntervalMillis) {
+    return new LockFreeConnectionPool<>(new LockFreeConnectionPool.ConnectionFactory<Object>() {
+
+      @Override
+      public Object create() {
+        created.incrementAndGet();
+        return new Object();
+      }
+
+      @Override
+      public void destroy(Object connection) {
+        destroyed.incrementAndGet();
+      }
+
+      @Override
+      public boolean validate(Object connection) {
+        return valid.get();
+      }
+    }, maxTotal, maxIdle, blockWhenExhausted, maxWait, minEvictionMillis, evictionCheckIntervalMillis, evictor);
+  }
+}
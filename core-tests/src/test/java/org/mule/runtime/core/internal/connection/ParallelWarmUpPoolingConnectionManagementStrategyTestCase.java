@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static org.mule.runtime.core.internal.connection.PoolingConnectionManagementStrategy.PARALLEL_WARM_UP_PROPERTY;
+
+import org.mule.tck.junit4.rule.SystemProperty;
+
+import org.junit.Rule;
+
+/**
+ * Runs the tests of {@link PoolingConnectionManagementStrategyTestCase} creating the initial connections in parallel.
+ */
+public class ParallelWarmUpPoolingConnectionManagementStrategyTestCase extends PoolingConnectionManagementStrategyTestCase {
+
+  @Rule
+  public SystemProperty parallelWarmUp = new SystemProperty(PARALLEL_WARM_UP_PROPERTY, "true");
+}
@@ -29,7 +29,6 @@ import org.mule.tck.size.SmallTest;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.slf4j.Logger;
 
 import org.junit.After;
@@ -56,7 +55,7 @@ public class PoolingConnectionHandlerTestCase extends AbstractMuleTestCase {
   public MockitoRule mockitorule = MockitoJUnit.rule();
 
   @Mock
-  private GenericObjectPool<Object> pool;
+  private ConnectionPool<Object> pool;
 
   @Mock
   private Object config;
@@ -74,7 +73,8 @@ public class PoolingConnectionHandlerTestCase extends AbstractMuleTestCase {
 
   @Before
   public void before() throws Exception {
-    managedConnection = new PoolingConnectionHandler<>(connection, pool, poolId, poolingListener, connectionProvider);
+    managedConnection = new PoolingConnectionHandler<>(connection, pool, poolId, poolingListener, connectionProvider,
+                                                     new ConnectionPoolStatistics(poolId, "SomeConfigName"));
     debugMessages = new ArrayList<>();
     logger = createMockLogger(debugMessages, DEBUG);
     oldLogger = setLogger(PoolingConnectionHandler.class, LOGGER_FIELD_NAME, logger);
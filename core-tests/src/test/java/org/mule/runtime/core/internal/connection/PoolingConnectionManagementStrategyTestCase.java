@@ -6,10 +6,13 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -63,6 +66,7 @@ import org.mockito.junit.MockitoRule;
 public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleContextTestCase {
 
   private static final int MAX_ACTIVE = 2;
+  private static final long CREATION_MILLIS = 200;
   private static final String ownerConfigName = "SomeConfigName";
   private static final String LOGGER_FIELD_NAME = "LOGGER";
 
@@ -308,6 +312,51 @@ public class PoolingConnectionManagementStrategyTestCase extends AbstractMuleCon
                    DEFAULT_POOL_INITIALISATION_POLICY);
   }
 
+  @Test
+  public void poolStatistics() throws Exception {
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_FAIL, INITIALISE_NONE);
+    initStrategy();
+
+    connection1 = strategy.getConnectionHandler();
+    try {
+      strategy.getConnectionHandler();
+      fail("Was expecting the pool to be exhausted");
+    } catch (ConnectionException e) {
+      // expected
+    }
+
+    ConnectionPoolStatistics statistics = strategy.getPoolStatistics().get();
+    assertThat(statistics.getConfigName(), is(ownerConfigName));
+    assertThat(statistics.getNumActive(), is(1));
+    assertThat(statistics.getNumIdle(), is(0));
+    assertThat(statistics.getCreatedConnections(), is(1L));
+    assertThat(statistics.getCreationTime().getCount(), is(1L));
+    // The exhausted borrow waited too
+    assertThat(statistics.getBorrowWaitTime().getCount(), is(2L));
+    assertThat(statistics.getExhaustedBorrows(), is(1L));
+
+    connection1.invalidate();
+    assertThat(statistics.getNumActive(), is(0));
+    assertThat(statistics.getDestroyedConnections(), is(1L));
+  }
+
+  @Test
+  public void creationOnBorrowIsNotAccountedAsWait() throws Exception {
+    when(connectionProvider.connect()).thenAnswer(i -> {
+      Thread.sleep(CREATION_MILLIS);
+      return new Object();
+    });
+    poolingProfile = new PoolingProfile(1, 1, DEFAULT_MAX_POOL_WAIT, WHEN_EXHAUSTED_WAIT, INITIALISE_NONE);
+    initStrategy();
+
+    connection1 = strategy.getConnectionHandler();
+
+    ConnectionPoolStatistics statistics = strategy.getPoolStatistics().get();
+    assertThat(statistics.getCreationTime().getMax(), greaterThanOrEqualTo(MILLISECONDS.toMicros(CREATION_MILLIS)));
+    assertThat(statistics.getBorrowWaitTime().getCount(), is(1L));
+    assertThat(statistics.getBorrowWaitTime().getMax(), lessThan(MILLISECONDS.toMicros(CREATION_MILLIS)));
+  }
+
   private void resetConnectionProvider() throws ConnectionException {
     ConnectionProvider<Object> connectionProvider = mock(ConnectionProvider.class);
     when(connectionProvider.connect()).thenAnswer(i -> mock(Lifecycle.class));
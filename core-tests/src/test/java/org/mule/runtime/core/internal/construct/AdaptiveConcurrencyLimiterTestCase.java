@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final long BASELINE_LATENCY = MILLISECONDS.toNanos(10);
+  private static final long DEGRADED_LATENCY = MILLISECONDS.toNanos(100);
+
+  @Test
+  public void initialLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 100, 0.9, 2.0);
+
+    for (int i = 0; i < 4; ++i) {
+      assertThat(limiter.tryAcquire(), is(true));
+    }
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getInFlight(), is(4));
+
+    limiter.cancel();
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  @Test
+  public void initialLimitWithinBounds() {
+    assertThat(new AdaptiveConcurrencyLimiter(200, 1, 100, 0.9, 2.0).getLimit(), is(100));
+    assertThat(new AdaptiveConcurrencyLimiter(1, 10, 100, 0.9, 2.0).getLimit(), is(10));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidBackoffRatio() {
+    new AdaptiveConcurrencyLimiter(4, 1, 100, 1.5, 2.0);
+  }
+
+  @Test
+  public void limitDecreasesWhenLatencyDegrades() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 100, 0.9, 2.0);
+
+    processAtFullLoad(limiter, 100, BASELINE_LATENCY);
+    final int healthyLimit = limiter.getLimit();
+
+    processAtFullLoad(limiter, 1000, DEGRADED_LATENCY);
+    assertThat(limiter.getLimit(), lessThan(healthyLimit));
+    assertThat(limiter.getLimit(), is(5));
+  }
+
+  @Test
+  public void limitIncreasesWhenLatencyRecovers() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 30, 0.9, 2.0);
+
+    processAtFullLoad(limiter, 10, BASELINE_LATENCY);
+    processAtFullLoad(limiter, 1000, DEGRADED_LATENCY * 10);
+    final int degradedLimit = limiter.getLimit();
+
+    processAtFullLoad(limiter, 10000, BASELINE_LATENCY);
+    assertThat(limiter.getLimit(), greaterThan(degradedLimit));
+    assertThat(limiter.getLimit(), is(30));
+  }
+
+  @Test
+  public void limitDoesNotIncreaseWhenUnderused() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 100, 0.9, 2.0);
+
+    for (int i = 0; i < 1000; ++i) {
+      assertThat(limiter.tryAcquire(), is(true));
+      limiter.release(BASELINE_LATENCY);
+    }
+
+    assertThat(limiter.getLimit(), is(20));
+  }
+
+  private void processAtFullLoad(AdaptiveConcurrencyLimiter limiter, int events, long latency) {
+    for (int i = 0; i < events; ++i) {
+      while (limiter.tryAcquire()) {
+        // Fill up the limit
+      }
+      limiter.release(latency);
+    }
+    while (limiter.getInFlight() > 0) {
+      limiter.cancel();
+    }
+  }
+}
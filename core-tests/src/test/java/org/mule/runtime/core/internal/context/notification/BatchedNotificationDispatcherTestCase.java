@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static org.mule.runtime.api.scheduler.SchedulerConfig.config;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.context.notification.Event1;
+import org.mule.tck.SimpleUnitTestSupportSchedulerService;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+import org.mule.tck.size.SmallTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class BatchedNotificationDispatcherTestCase extends AbstractMuleTestCase {
+
+  private static final int THREADS = 8;
+  private static final int NOTIFICATIONS_PER_THREAD = 10_000;
+
+  private final AtomicInteger delivered = new AtomicInteger();
+  private final NotificationListener<Notification> listener = notification -> delivered.incrementAndGet();
+
+  private SimpleUnitTestSupportSchedulerService schedulerService;
+
+  @Before
+  public void before() {
+    schedulerService = new SimpleUnitTestSupportSchedulerService();
+  }
+
+  @After
+  public void after() throws Exception {
+    schedulerService.stop();
+  }
+
+  @Test
+  public void concurrentDispatch() throws InterruptedException {
+    BatchedNotificationDispatcher dispatcher =
+        new BatchedNotificationDispatcher(1024, 64, schedulerService.customScheduler(config().withMaxConcurrentTasks(1)),
+                                          schedulerService.cpuLightScheduler());
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < THREADS; ++i) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < NOTIFICATIONS_PER_THREAD; ++j) {
+          dispatcher.dispatch(listener, new Event1());
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(delivered.get(), is(THREADS * NOTIFICATIONS_PER_THREAD));
+      return true;
+    }));
+    assertThat(dispatcher.getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void drainsMoreThanABatchWithoutFurtherDispatches() throws InterruptedException {
+    // Like the actual dedicated scheduler, rejects tasks while one is running, and does not queue them
+    ExecutorService drainExecutor = newSingleThreadExecutor();
+    AtomicBoolean busy = new AtomicBoolean();
+    Scheduler drainScheduler = mock(Scheduler.class);
+    when(drainScheduler.submit(any(Runnable.class))).thenAnswer(invocation -> {
+      if (!busy.compareAndSet(false, true)) {
+        throw new RejectedExecutionException("Busy");
+      }
+      Runnable task = invocation.getArgument(0);
+      return drainExecutor.submit(() -> {
+        try {
+          task.run();
+        } finally {
+          busy.set(false);
+        }
+      });
+    });
+
+    try {
+      BatchedNotificationDispatcher dispatcher =
+          new BatchedNotificationDispatcher(1024, 16, drainScheduler, schedulerService.cpuLightScheduler());
+
+      CountDownLatch release = new CountDownLatch(1);
+      dispatcher.dispatch(notification -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        delivered.incrementAndGet();
+      }, new Event1());
+      for (int i = 1; i < 100; ++i) {
+        dispatcher.dispatch(listener, new Event1());
+      }
+      release.countDown();
+
+      new PollingProber().check(new JUnitLambdaProbe(() -> {
+        assertThat(delivered.get(), is(100));
+        return true;
+      }));
+      assertThat(dispatcher.getOverflowedCount(), is(0L));
+    } finally {
+      drainExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void overflowToOtherScheduler() {
+    // Never runs the drain task, so the buffer is not emptied until disposal
+    Scheduler drainScheduler = mock(Scheduler.class);
+    BatchedNotificationDispatcher dispatcher =
+        new BatchedNotificationDispatcher(4, 64, drainScheduler, schedulerService.cpuLightScheduler());
+
+    for (int i = 0; i < 6; ++i) {
+      dispatcher.dispatch(listener, new Event1());
+    }
+
+    assertThat(dispatcher.getOverflowedCount(), is(2L));
+    new PollingProber().check(new JUnitLambdaProbe(() -> {
+      assertThat(delivered.get(), is(2));
+      return true;
+    }));
+
+    dispatcher.dispose();
+    assertThat(delivered.get(), is(6));
+    assertThat(dispatcher.getDroppedCount(), is(0L));
+  }
+
+  @Test
+  public void dropWhenOverflowRejected() {
+    Scheduler drainScheduler = mock(Scheduler.class);
+    Scheduler overflowScheduler = mock(Scheduler.class);
+    when(overflowScheduler.submit(any(Runnable.class))).thenThrow(new RejectedExecutionException());
+    BatchedNotificationDispatcher dispatcher = new BatchedNotificationDispatcher(1, 64, drainScheduler, overflowScheduler);
+
+    dispatcher.dispatch(listener, new Event1());
+    dispatcher.dispatch(listener, new Event1());
+
+    assertThat(dispatcher.getOverflowedCount(), is(1L));
+    assertThat(dispatcher.getDroppedCount(), is(1L));
+    dispatcher.dispose();
+    assertThat(delivered.get(), is(1));
+  }
+
+  @Test
+  public void failingListenerDoesNotStopDelivery() {
+    Scheduler drainScheduler = mock(Scheduler.class);
+    BatchedNotificationDispatcher dispatcher =
+        new BatchedNotificationDispatcher(4, 64, drainScheduler, schedulerService.cpuLightScheduler());
+
+    dispatcher.dispatch(notification -> {
+      throw new IllegalStateException("Expected");
+    }, new Event1());
+    dispatcher.dispatch(listener, new Event1());
+
+    dispatcher.dispose();
+    assertThat(delivered.get(), is(1));
+  }
+}
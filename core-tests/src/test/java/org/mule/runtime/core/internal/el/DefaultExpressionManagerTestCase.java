@@ -36,6 +36,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.el.ExpressionFunction;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Message;
@@ -324,4 +325,31 @@ public class DefaultExpressionManagerTestCase extends AbstractMuleContextTestCas
 
     assertThat(session.evaluate("#[myVar]").getValue(), equalTo(object));
   }
+
+  @Test
+  @Description("Verifies that the lookup of a variable is resolved directly, without changing the result.")
+  public void compiledVarAccessor() throws MuleException {
+    CoreEvent event = CoreEvent.builder(testEvent()).addVariable(MY_VAR, "value").build();
+    CompiledExpression compiled = expressionManager.compile("#[vars." + MY_VAR + "]", NULL_BINDING_CONTEXT);
+    assertThat(compiled, is(instanceOf(AccessorCompiledExpression.class)));
+
+    try (ExpressionManagerSession session = expressionManager.openSession(TEST_CONNECTOR_LOCATION, event, NULL_BINDING_CONTEXT)) {
+      assertThat(session.evaluate(compiled).getValue(), is("value"));
+    }
+    try (ExpressionManagerSession session = expressionManager.openSession(event.asBindingContext())) {
+      assertThat(session.evaluate(compiled).getValue(), is("value"));
+      assertThat(session.evaluate(compiled, STRING).getValue(), is("value"));
+    }
+  }
+
+  @Test
+  @Description("Verifies that the lookup of a variable that is not defined is resolved by the expression language.")
+  public void compiledVarAccessorNotDefined() throws MuleException {
+    CompiledExpression compiled = expressionManager.compile("#[vars." + MY_VAR + "]", NULL_BINDING_CONTEXT);
+
+    try (ExpressionManagerSession session = expressionManager.openSession(TEST_CONNECTOR_LOCATION, testEvent(),
+                                                                          NULL_BINDING_CONTEXT)) {
+      assertThat(session.evaluate(compiled).getValue(), is(nullValue()));
+    }
+  }
 }
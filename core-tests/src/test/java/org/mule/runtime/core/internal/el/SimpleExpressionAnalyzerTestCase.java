@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.core.internal.el.SimpleExpressionAnalyzer.analyze;
+import static org.mule.test.allure.AllureConstants.ExpressionLanguageFeature.EXPRESSION_LANGUAGE;
+
+import static java.util.Collections.singletonMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(EXPRESSION_LANGUAGE)
+public class SimpleExpressionAnalyzerTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void recognizedExpressions() {
+    assertThat(analyze("#[payload]").isPresent(), is(true));
+    assertThat(analyze("#[ attributes ]").isPresent(), is(true));
+    assertThat(analyze("#[correlationId]").isPresent(), is(true));
+    assertThat(analyze("#[vars.foo_1]").isPresent(), is(true));
+    assertThat(analyze("#[dw:vars.foo]").isPresent(), is(true));
+    assertThat(analyze("vars.foo").isPresent(), is(true));
+    assertThat(analyze("#[true]").isPresent(), is(true));
+    assertThat(analyze("#['hello']").isPresent(), is(true));
+    assertThat(analyze("#[\"hello\"]").isPresent(), is(true));
+  }
+
+  @Test
+  public void notRecognizedExpressions() {
+    assertThat(analyze("#[payload.foo]").isPresent(), is(false));
+    assertThat(analyze("#[attributes.headers.x]").isPresent(), is(false));
+    assertThat(analyze("#[vars.foo.bar]").isPresent(), is(false));
+    assertThat(analyze("#[vars['foo']]").isPresent(), is(false));
+    assertThat(analyze("#['hello $(vars.name)']").isPresent(), is(false));
+    assertThat(analyze("#['it\\'s']").isPresent(), is(false));
+    assertThat(analyze("#[1 + 1]").isPresent(), is(false));
+    assertThat(analyze("#[payload").isPresent(), is(false));
+  }
+
+  @Test
+  public void expressionIsKept() {
+    assertThat(analyze("#[vars.foo]").get().expression(), is("#[vars.foo]"));
+  }
+
+  @Test
+  public void literals() {
+    assertThat(analyze("#[false]").get().resolve(null, null).getValue(), is(false));
+    assertThat(analyze("#['hello']").get().resolve(null, null).getValue(), is("hello"));
+    assertThat(analyze("#[\"it's\"]").get().resolve(null, null).getValue(), is("it's"));
+  }
+
+  @Test
+  public void resolveFromContext() {
+    TypedValue<String> payload = TypedValue.of("payload");
+    TypedValue<String> foo = TypedValue.of("bar");
+    BindingContext context = BindingContext.builder()
+        .addBinding(PAYLOAD, payload)
+        .addBinding(VARS, TypedValue.of(singletonMap("foo", foo)))
+        .build();
+
+    assertThat(analyze("#[payload]").get().resolve(null, context), sameInstance(payload));
+    assertThat(analyze("#[vars.foo]").get().resolve(null, context), sameInstance(foo));
+  }
+
+  @Test
+  public void notResolvedWhenMissing() {
+    assertThat(analyze("#[vars.foo]").get().resolve(null, BindingContext.builder().build()), is(nullValue()));
+    assertThat(analyze("#[payload]").get().resolve(null, null), is(nullValue()));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el.dataweave;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.test.allure.AllureConstants.ExpressionLanguageFeature.EXPRESSION_LANGUAGE;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(EXPRESSION_LANGUAGE)
+public class CompiledExpressionCacheTestCase extends AbstractMuleTestCase {
+
+  private static final String EXPRESSION = "vars.foo";
+
+  private final CompiledExpressionCache cache = new CompiledExpressionCache(10);
+  private final AtomicInteger compilations = new AtomicInteger();
+  private final BiFunction<String, BindingContext, CompiledExpression> compiler = (expression, context) -> {
+    compilations.incrementAndGet();
+    return mock(CompiledExpression.class);
+  };
+
+  @Test
+  public void sameShapeIsCompiledOnce() {
+    CompiledExpression compiled = cache.get(EXPRESSION, contextWith("bar"), compiler);
+
+    assertThat(cache.get(EXPRESSION, contextWith("baz"), compiler), sameInstance(compiled));
+    assertThat(compilations.get(), is(1));
+    assertThat(cache.getHitCount(), is(1L));
+    assertThat(cache.getMissCount(), is(1L));
+  }
+
+  @Test
+  public void differentShapeIsCompiledAgain() {
+    CompiledExpression compiled = cache.get(EXPRESSION, contextWith("bar"), compiler);
+    CompiledExpression compiledForOtherShape = cache.get(EXPRESSION, NULL_BINDING_CONTEXT, compiler);
+
+    assertThat(compiledForOtherShape, not(sameInstance(compiled)));
+    assertThat(cache.get(EXPRESSION, contextWith("bar"), compiler), sameInstance(compiled));
+    assertThat(cache.get(EXPRESSION, NULL_BINDING_CONTEXT, compiler), sameInstance(compiledForOtherShape));
+    assertThat(compilations.get(), is(2));
+  }
+
+  @Test
+  public void notCompilableExpressionIsCached() {
+    BiFunction<String, BindingContext, CompiledExpression> failingCompiler = (expression, context) -> {
+      compilations.incrementAndGet();
+      return null;
+    };
+
+    assertThat(cache.get(EXPRESSION, contextWith("bar"), failingCompiler), is(nullValue()));
+    assertThat(cache.get(EXPRESSION, contextWith("bar"), failingCompiler), is(nullValue()));
+    assertThat(compilations.get(), is(1));
+  }
+
+  @Test
+  public void precompiledExpressionIsHit() {
+    CompiledExpression compiled = mock(CompiledExpression.class);
+    cache.put(EXPRESSION, contextWith("bar"), compiled);
+
+    assertThat(cache.get(EXPRESSION, contextWith("baz"), compiler), sameInstance(compiled));
+    assertThat(compilations.get(), is(0));
+    assertThat(cache.getMissCount(), is(0L));
+  }
+
+  private BindingContext contextWith(String payload) {
+    return BindingContext.builder()
+        .addBinding(PAYLOAD, TypedValue.of(payload))
+        .addBinding(VARS, TypedValue.of(payload))
+        .build();
+  }
+}
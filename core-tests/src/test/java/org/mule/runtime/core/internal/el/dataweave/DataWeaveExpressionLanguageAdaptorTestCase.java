@@ -30,9 +30,11 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -59,6 +61,7 @@ import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_EXPRESSIONS_COMPILATION_FAIL_DEPLOYMENT;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.compile;
+import static org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor.COMPILED_EXPRESSIONS_CACHE_SIZE;
 import static org.mule.runtime.core.privileged.component.AnnotatedObjectInvocationHandler.addAnnotationsToClass;
 import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
 import static org.mule.tck.junit4.matcher.DataTypeCompatibilityMatcher.assignableTo;
@@ -76,6 +79,7 @@ import org.mule.runtime.api.el.DefaultExpressionLanguageFactoryService;
 import org.mule.runtime.api.el.ExpressionCompilationException;
 import org.mule.runtime.api.el.ExpressionExecutionException;
 import org.mule.runtime.api.el.ExpressionLanguage;
+import org.mule.runtime.api.el.ExpressionLanguageSession;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Error;
@@ -540,6 +544,53 @@ public class DataWeaveExpressionLanguageAdaptorTestCase extends AbstractWeaveExp
     verify(genericExpressionLanguage).evaluateLogExpression(anyString(), eq(bindingContext));
   }
 
+  @Test
+  @Description("When compiled expressions are cached, an expression is compiled once and then evaluated in its compiled form.")
+  public void compiledExpressionIsReused() {
+    CompiledExpression compiled = mock(CompiledExpression.class);
+    ExpressionLanguageSession session = mock(ExpressionLanguageSession.class);
+    doReturn(compiled).when(genericExpressionLanguage).compile(anyString(), any(BindingContext.class));
+    doReturn(session).when(genericExpressionLanguage).openSession(any(BindingContext.class));
+
+    setProperty(COMPILED_EXPRESSIONS_CACHE_SIZE, "10");
+    try {
+      DataWeaveExpressionLanguageAdaptor adaptor =
+          new DataWeaveExpressionLanguageAdaptor(mock(MuleContext.class, RETURNS_DEEP_STUBS), registry,
+                                                 genericExpressionLanguageService, getFeatureFlaggingService());
+      adaptor.evaluate("#['Hello World']", null, bindingContext);
+      adaptor.evaluate("#['Hello World']", null, bindingContext);
+
+      verify(genericExpressionLanguage).compile("'Hello World'", bindingContext);
+      verify(session, times(2)).evaluate(compiled);
+      verify(genericExpressionLanguage, never()).evaluate(anyString(), any(BindingContext.class));
+      assertThat(adaptor.getCompiledExpressionCache().get().getHitCount(), is(1L));
+      assertThat(adaptor.getCompiledExpressionCache().get().getMissCount(), is(1L));
+    } finally {
+      clearProperty(COMPILED_EXPRESSIONS_CACHE_SIZE);
+    }
+  }
+
+  @Test
+  @Description("When compiled expressions are cached, an expression that can't be compiled is evaluated from its text.")
+  public void notCompilableExpressionIsEvaluatedFromText() {
+    doThrow(new ExpressionCompilationException(createStaticMessage("oopsy")))
+        .when(genericExpressionLanguage).compile(anyString(), any(BindingContext.class));
+
+    setProperty(COMPILED_EXPRESSIONS_CACHE_SIZE, "10");
+    try {
+      DataWeaveExpressionLanguageAdaptor adaptor =
+          new DataWeaveExpressionLanguageAdaptor(mock(MuleContext.class, RETURNS_DEEP_STUBS), registry,
+                                                 genericExpressionLanguageService, getFeatureFlaggingService());
+      adaptor.evaluate("#['Hello World']", OBJECT, null, bindingContext);
+      adaptor.evaluate("#['Hello World']", OBJECT, null, bindingContext);
+
+      verify(genericExpressionLanguage).compile("'Hello World'", bindingContext);
+      verify(genericExpressionLanguage, times(2)).evaluate(anyString(), eq(OBJECT), eq(bindingContext));
+    } finally {
+      clearProperty(COMPILED_EXPRESSIONS_CACHE_SIZE);
+    }
+  }
+
   @Test
   public void entrySetFunction() throws Exception {
     final String key = "foo";
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.event;
 
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mule.runtime.core.internal.event.EventQuickCopy.quickCopy;
@@ -25,6 +26,9 @@ public class DefaultEventBuilderTestCase extends AbstractMuleTestCase {
   private static final String INTERNAL_PARAMETER_KEY = "key";
   private static final String INTERNAL_PARAMETER_VALUE = "value";
   private static final String CORRELATION_ID = "correlationId";
+  private static final String VARIABLE_KEY = "variable";
+  private static final String OTHER_VARIABLE_KEY = "otherVariable";
+  private static final String VARIABLE_VALUE = "value";
 
   @Test
   @Issue("MULE-19180")
@@ -40,4 +44,31 @@ public class DefaultEventBuilderTestCase extends AbstractMuleTestCase {
     assertThat(event.getInternalParameters().size(), is(1));
     assertThat(event.getInternalParameters().keySet(), hasItem(INTERNAL_PARAMETER_KEY));
   }
+
+  @Test
+  public void addVariableDoesNotModifyOriginalEvent() throws MuleException {
+    InternalEvent base = newEvent();
+    InternalEvent original = new DefaultEventBuilder(base).addVariable(VARIABLE_KEY, VARIABLE_VALUE).build();
+
+    InternalEvent event = new DefaultEventBuilder(original).addVariable(OTHER_VARIABLE_KEY, VARIABLE_VALUE).build();
+    InternalEvent removed = new DefaultEventBuilder(event).removeVariable(VARIABLE_KEY.toUpperCase()).build();
+
+    assertThat(original.getVariables().keySet(), contains(VARIABLE_KEY));
+    assertThat(event.getVariables().keySet(), contains(VARIABLE_KEY, OTHER_VARIABLE_KEY));
+    assertThat(removed.getVariables().keySet(), contains(OTHER_VARIABLE_KEY));
+  }
+
+  @Test
+  public void addVariableAfterReplacingModifiedVariables() throws MuleException {
+    InternalEvent base = newEvent();
+    InternalEvent original = new DefaultEventBuilder(base).addVariable(VARIABLE_KEY, VARIABLE_VALUE).build();
+
+    InternalEvent event = new DefaultEventBuilder(base)
+        .addVariable("discarded", VARIABLE_VALUE)
+        .variablesTyped(original.getVariables())
+        .addVariable(OTHER_VARIABLE_KEY, VARIABLE_VALUE)
+        .build();
+
+    assertThat(event.getVariables().keySet(), contains(VARIABLE_KEY, OTHER_VARIABLE_KEY));
+  }
 }
@@ -61,6 +61,12 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     testHighConcurrency(true);
   }
 
+  @Test
+  public void lockEntriesAreReleasedAfterConcurrentUse() throws Exception {
+    testHighConcurrency(true);
+    assertThat(instanceLockGroup.size(), is(0));
+  }
+
   @Test
   public void testWhenUnlockThenDestroy() throws Exception {
     lockUnlockThenDestroy(1);
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.mule.runtime.core.internal.construct.AbstractFlowConstruct.FLOW_FLOW_CONSTRUCT_TYPE;
+
+import static org.apache.commons.lang3.SerializationUtils.deserialize;
+import static org.apache.commons.lang3.SerializationUtils.serialize;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ObjectStreamClass;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+@SmallTest
+public class DefaultFlowConstructStatisticsTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void serializationRoundTrip() {
+    DefaultFlowConstructStatistics statistics = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "someFlow");
+    statistics.incReceivedEvents();
+    statistics.incReceivedEvents();
+    statistics.incMessagesDispatched();
+    statistics.incExecutionError();
+    statistics.incFatalError();
+    statistics.incFatalError();
+    statistics.incFatalError();
+
+    DefaultFlowConstructStatistics deserialized = deserialize(serialize(statistics));
+
+    assertThat(deserialized.getName(), is("someFlow"));
+    assertThat(deserialized.getTotalEventsReceived(), is(2L));
+    assertThat(deserialized.getTotalDispatchedMessages(), is(1L));
+    assertThat(deserialized.getExecutionErrors(), is(1L));
+    assertThat(deserialized.getFatalErrors(), is(3L));
+    assertThat(deserialized.getConnectionErrors(), is(0L));
+
+    // The counters keep working after being deserialized
+    ResetOnQueryCounter eventsReceivedCounter = deserialized.getEventsReceivedCounter();
+    deserialized.incReceivedEvents();
+    deserialized.incConnectionErrors();
+    deserialized.addFlowExecutionBranchTime(5, 5);
+    assertThat(deserialized.getTotalEventsReceived(), is(3L));
+    assertThat(eventsReceivedCounter.getAndReset(), is(3L));
+    assertThat(deserialized.getConnectionErrors(), is(1L));
+  }
+
+  @Test
+  public void serializedCountersAreCompatibleWithPreviousVersions() {
+    // Before being striped, these counters were serialized as AtomicLongs (see MULE-19020)
+    ObjectStreamClass serializedForm = ObjectStreamClass.lookup(DefaultFlowConstructStatistics.class);
+    for (String counter : new String[] {"receivedEvents", "dispatchedMessages", "executionError", "fatalError"}) {
+      assertThat(serializedForm.getField(counter).getType(), equalTo(AtomicLong.class));
+    }
+  }
+}
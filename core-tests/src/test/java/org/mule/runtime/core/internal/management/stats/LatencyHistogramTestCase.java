@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram.Snapshot;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class LatencyHistogramTestCase extends AbstractMuleTestCase {
+
+  private final LatencyHistogram histogram = new LatencyHistogram(1_000_000, 4);
+
+  @Test
+  public void bucketsCoverValues() {
+    for (long value = 0; value < 100_000; ++value) {
+      int index = LatencyHistogram.indexOf(value);
+      assertThat(LatencyHistogram.highestValueOf(index), is(greaterThanOrEqualTo(value)));
+      assertThat(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value, is(true));
+    }
+  }
+
+  @Test
+  public void emptySnapshot() {
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(0L));
+    assertThat(snapshot.getValueAtPercentile(99), is(0L));
+    assertThat(snapshot.getMean(), is(0.0));
+  }
+
+  @Test
+  public void percentiles() {
+    for (long value = 1; value <= 10_000; ++value) {
+      histogram.record(value);
+    }
+
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getCount(), is(10_000L));
+    assertThat(snapshot.getMax(), is(10_000L));
+    assertThat(snapshot.getMean(), is(closeTo(5000.5, 0.001)));
+    assertWithinPrecision(snapshot.getValueAtPercentile(50), 5_000);
+    assertWithinPrecision(snapshot.getValueAtPercentile(90), 9_000);
+    assertWithinPrecision(snapshot.getValueAtPercentile(99), 9_900);
+    assertThat(snapshot.getValueAtPercentile(100), is(10_000L));
+  }
+
+  @Test
+  public void valuesOutOfRangeAreClamped() {
+    histogram.record(-5);
+    histogram.record(5_000_000);
+
+    Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.getValueAtPercentile(0), is(0L));
+    assertThat(snapshot.getMax(), is(1_000_000L));
+  }
+
+  @Test
+  public void mergeAndSince() {
+    histogram.record(10);
+    Snapshot first = histogram.snapshot();
+    histogram.record(1000);
+    histogram.record(1000);
+    Snapshot second = histogram.snapshot();
+
+    Snapshot interval = second.since(first);
+    assertThat(interval.getCount(), is(2L));
+    assertWithinPrecision(interval.getValueAtPercentile(50), 1000);
+
+    Snapshot merged = first.merge(interval);
+    assertThat(merged.getCount(), is(3L));
+    assertThat(merged.getValueAtPercentile(10), is(10L));
+  }
+
+  @Test
+  public void reset() {
+    histogram.record(10);
+    histogram.reset();
+    assertThat(histogram.snapshot().getCount(), is(0L));
+  }
+
+  private void assertWithinPrecision(long actual, long expected) {
+    assertThat(actual, is(both(greaterThanOrEqualTo(expected)).and(lessThanOrEqualTo(expected + expected / 30))));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static org.mule.runtime.core.internal.construct.AbstractFlowConstruct.FLOW_FLOW_CONSTRUCT_TYPE;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+public class ProcessingTimeHistogramTestCase extends AbstractMuleTestCase {
+
+  private DefaultFlowConstructStatistics flow1Stats;
+  private DefaultFlowConstructStatistics flow2Stats;
+  private FlowConstructStatistics applicationStats;
+
+  @Before
+  public void before() {
+    flow1Stats = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "someFlow1");
+    flow2Stats = new DefaultFlowConstructStatistics(FLOW_FLOW_CONSTRUCT_TYPE, "someFlow2");
+
+    AllStatistics allStatistics = new AllStatistics();
+    allStatistics.add(flow1Stats);
+    allStatistics.add(flow2Stats);
+    applicationStats = allStatistics.getApplicationStatistics();
+  }
+
+  @Test
+  public void flowPercentiles() {
+    for (long time = 1; time <= 1000; ++time) {
+      flow1Stats.addFlowExecutionBranchTime(time, time);
+    }
+
+    assertWithinPrecision(flow1Stats.getProcessingTimePercentile(50), 500);
+    assertWithinPrecision(flow1Stats.getProcessingTimePercentile(90), 900);
+    assertWithinPrecision(flow1Stats.getProcessingTimePercentile(99), 990);
+    assertThat(flow1Stats.getProcessingTimePercentile(100), is(1000L));
+    assertThat(flow2Stats.getProcessingTimePercentile(50), is(0L));
+  }
+
+  @Test
+  public void applicationPercentilesMergeFlows() {
+    for (int i = 0; i < 90; ++i) {
+      flow1Stats.addFlowExecutionBranchTime(10, 10);
+    }
+    for (int i = 0; i < 10; ++i) {
+      flow2Stats.addFlowExecutionBranchTime(1000, 1000);
+    }
+
+    assertThat(applicationStats.getProcessingTimePercentile(50), is(10L));
+    assertThat(applicationStats.getProcessingTimePercentile(90), is(10L));
+    assertWithinPrecision(applicationStats.getProcessingTimePercentile(99), 1000);
+  }
+
+  @Test
+  public void processorPercentiles() {
+    flow1Stats.addProcessorExecutionTime("someFlow1/processors/0", 100);
+    flow1Stats.addProcessorExecutionTime("someFlow1/processors/0", 300);
+    flow2Stats.addProcessorExecutionTime("someFlow2/processors/0", 5000);
+
+    assertThat(flow1Stats.getProcessorLocations(), containsInAnyOrder("someFlow1/processors/0"));
+    assertWithinPrecision(flow1Stats.getProcessorProcessingTimePercentile("someFlow1/processors/0", 50), 100);
+    assertWithinPrecision(flow1Stats.getProcessorProcessingTimePercentile("someFlow1/processors/0", 100), 300);
+    assertThat(flow1Stats.getProcessorProcessingTimePercentile("someFlow1/processors/1", 50), is(0L));
+
+    assertThat(applicationStats.getProcessorLocations(),
+               containsInAnyOrder("someFlow1/processors/0", "someFlow2/processors/0"));
+    assertWithinPrecision(applicationStats.getProcessorProcessingTimePercentile("someFlow2/processors/0", 50), 5000);
+  }
+
+  @Test
+  public void clear() {
+    flow1Stats.addFlowExecutionBranchTime(10, 10);
+    flow1Stats.addProcessorExecutionTime("someFlow1/processors/0", 100);
+    flow1Stats.clear();
+
+    assertThat(flow1Stats.getProcessingTimeSnapshot().getCount(), is(0L));
+    assertThat(flow1Stats.getProcessorProcessingTimeSnapshot("someFlow1/processors/0").getCount(), is(0L));
+  }
+
+  @Test
+  public void noProcessorsWithoutTimes() {
+    assertThat(flow1Stats.getProcessorLocations(), is(empty()));
+    assertThat(applicationStats.getProcessorLocations(), is(empty()));
+  }
+
+  private void assertWithinPrecision(long actual, long expected) {
+    assertThat(actual, is(both(greaterThanOrEqualTo(expected)).and(lessThanOrEqualTo(expected + expected / 30))));
+  }
+}
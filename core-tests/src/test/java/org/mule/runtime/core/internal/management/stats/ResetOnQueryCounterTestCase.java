@@ -21,7 +21,10 @@ import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -224,4 +227,38 @@ public class ResetOnQueryCounterTestCase extends AbstractMuleContextTestCase {
     assertThat(counter1.get(), is(1L));
     assertThat(counter2.get(), is(1L));
   }
+
+  @Test
+  public void flowCountersConcurrentIncrementsAndResets() throws InterruptedException {
+    final int threads = 4;
+    final int incrementsPerThread = 10_000;
+    ResetOnQueryCounter counter = createCounter.apply(flow1Stats);
+    AtomicLong queried = new AtomicLong();
+    AtomicBoolean incrementing = new AtomicBoolean(true);
+
+    Thread querier = new Thread(() -> {
+      while (incrementing.get()) {
+        queried.addAndGet(counter.getAndReset());
+      }
+    });
+    querier.start();
+
+    List<Thread> incrementers = new ArrayList<>();
+    for (int i = 0; i < threads; ++i) {
+      Thread incrementer = new Thread(() -> {
+        for (int j = 0; j < incrementsPerThread; ++j) {
+          incrementCounter.accept(flow1Stats);
+        }
+      });
+      incrementer.start();
+      incrementers.add(incrementer);
+    }
+    for (Thread incrementer : incrementers) {
+      incrementer.join();
+    }
+    incrementing.set(false);
+    querier.join();
+
+    assertThat(queried.get() + counter.getAndReset(), is((long) threads * incrementsPerThread));
+  }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.chain;
+
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.construct.Flow.builder;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.PROCESSOR_HISTOGRAMS_PROPERTY;
+import static org.mule.runtime.core.internal.processor.chain.ProcessorExecutionTimeInterceptor.START_TIMES_PARAMETER;
+
+import static java.util.Collections.singletonMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
+import org.mule.runtime.core.internal.message.InternalEvent;
+import org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+@SmallTest
+public class ProcessorExecutionTimeInterceptorTestCase extends AbstractMuleContextTestCase {
+
+  private static final Logger LOGGER = getLogger(ProcessorExecutionTimeInterceptorTestCase.class);
+
+  private static final String FLOW_NAME = "flow";
+  private static final int EVENTS = 3;
+
+  @Rule
+  public SystemProperty processorHistograms = new SystemProperty(PROCESSOR_HISTOGRAMS_PROPERTY, "true");
+
+  private Flow flow;
+  private MessageProcessorChain chain;
+
+  @Before
+  public void before() throws MuleException {
+    muleContext.getStatistics().setEnabled(true);
+    flow = builder(FLOW_NAME, muleContext).build();
+    initialiseIfNeeded(flow, muleContext);
+    startIfNeeded(flow);
+  }
+
+  @After
+  public void after() throws MuleException {
+    if (chain != null) {
+      stopIfNeeded(chain);
+      disposeIfNeeded(chain, LOGGER);
+    }
+    stopIfNeeded(flow);
+    disposeIfNeeded(flow, LOGGER);
+    muleContext.getStatistics().setEnabled(false);
+  }
+
+  @Test
+  public void histogramForEachProcessor() throws Exception {
+    processThroughChain(false,
+                        new TestProcessor(FLOW_NAME, "flow/processors/0"),
+                        new TestProcessor(FLOW_NAME, "flow/processors/1"),
+                        new TestProcessor(FLOW_NAME, "flow/processors/2"));
+
+    assertHistograms("flow/processors/0", "flow/processors/1", "flow/processors/2");
+  }
+
+  @Test
+  public void histogramForEachFusableProcessor() throws Exception {
+    // Fused processors could not be measured separately, so they are not fused when the histograms are enabled
+    processThroughChain(true,
+                        new TestProcessor(FLOW_NAME, "flow/processors/0"),
+                        new TestProcessor(FLOW_NAME, "flow/processors/1"),
+                        new TestProcessor(FLOW_NAME, "flow/processors/2"));
+
+    assertHistograms("flow/processors/0", "flow/processors/1", "flow/processors/2");
+  }
+
+  @Test
+  public void subFlowProcessorsNotMeasured() throws Exception {
+    processThroughChain(false,
+                        new TestProcessor(FLOW_NAME, "flow/processors/0"),
+                        new TestProcessor("subFlow", "subFlow/processors/0"));
+
+    assertHistograms("flow/processors/0");
+  }
+
+  private void processThroughChain(boolean fuseCpuLiteProcessors, Processor... processors) throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(fuseCpuLiteProcessors);
+    builder.chain(processors);
+    chain = builder.build();
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+
+    for (int i = 0; i < EVENTS; ++i) {
+      CoreEvent result = chain.process(testEvent());
+      // The start time of each processor is removed once it completes
+      Map<String, Long> startTimes = ((InternalEvent) result).getInternalParameter(START_TIMES_PARAMETER);
+      assertThat(startTimes, is(anEmptyMap()));
+    }
+  }
+
+  private void assertHistograms(String... processorLocations) {
+    DefaultFlowConstructStatistics statistics = (DefaultFlowConstructStatistics) flow.getStatistics();
+    assertThat(statistics.getProcessorLocations(), containsInAnyOrder(processorLocations));
+    for (String processorLocation : processorLocations) {
+      assertThat(statistics.getProcessorProcessingTimeSnapshot(processorLocation).getCount(), is((long) EVENTS));
+    }
+  }
+
+  private static final class TestProcessor extends AbstractComponent implements Processor {
+
+    private TestProcessor(String rootContainerName, String location) {
+      ComponentLocation componentLocation = mock(ComponentLocation.class);
+      when(componentLocation.getRootContainerName()).thenReturn(rootContainerName);
+      when(componentLocation.getLocation()).thenReturn(location);
+      setAnnotations(singletonMap(LOCATION_KEY, componentLocation));
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      return event;
+    }
+  }
+}
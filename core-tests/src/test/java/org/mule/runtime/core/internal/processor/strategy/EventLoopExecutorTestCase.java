@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+@SmallTest
+public class EventLoopExecutorTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void rejectedTaskIsNotLeftPending() {
+    final AtomicBoolean reject = new AtomicBoolean(true);
+    final Executor delegate = task -> {
+      if (reject.get()) {
+        throw new RejectedExecutionException("Expected");
+      }
+      task.run();
+    };
+    final EventLoopExecutor eventLoop = new EventLoopExecutor(0, delegate);
+    final AtomicBoolean rejectedRun = new AtomicBoolean();
+
+    try {
+      eventLoop.execute(() -> rejectedRun.set(true));
+    } catch (RejectedExecutionException e) {
+      // Expected
+    }
+
+    reject.set(false);
+    final AtomicBoolean acceptedRun = new AtomicBoolean();
+    eventLoop.execute(() -> acceptedRun.set(true));
+
+    assertThat(acceptedRun.get(), is(true));
+    assertThat(rejectedRun.get(), is(false));
+  }
+
+  @Test
+  public void pendingTasksRunWhenYieldIsRejected() throws InterruptedException {
+    final AtomicInteger delegateSubmissions = new AtomicInteger();
+    // Only accepts the first run of the loop, so that it cannot yield to the delegate after a batch of tasks
+    final Executor delegate = task -> {
+      if (delegateSubmissions.getAndIncrement() > 0) {
+        throw new RejectedExecutionException("Expected");
+      }
+      new Thread(task).start();
+    };
+    final EventLoopExecutor eventLoop = new EventLoopExecutor(0, delegate);
+
+    final int taskCount = 1000;
+    final CountDownLatch submitted = new CountDownLatch(1);
+    final CountDownLatch ran = new CountDownLatch(taskCount);
+    eventLoop.execute(() -> {
+      try {
+        submitted.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      ran.countDown();
+    });
+    for (int i = 1; i < taskCount; ++i) {
+      eventLoop.execute(ran::countDown);
+    }
+    submitted.countDown();
+
+    assertThat(ran.await(5, SECONDS), is(true));
+  }
+
+  @Test
+  public void awaitTerminationWaitsForPendingTasks() throws InterruptedException {
+    final EventLoopExecutor eventLoop = new EventLoopExecutor(0, task -> new Thread(task).start());
+    final CountDownLatch release = new CountDownLatch(1);
+    eventLoop.execute(() -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+
+    eventLoop.shutdown();
+    assertThat(eventLoop.awaitTermination(50, MILLISECONDS), is(false));
+    assertThat(eventLoop.isTerminated(), is(false));
+
+    release.countDown();
+    assertThat(eventLoop.awaitTermination(5, SECONDS), is(true));
+    assertThat(eventLoop.isTerminated(), is(true));
+  }
+
+  @Test
+  public void idleLoopTerminatesOnShutdown() throws InterruptedException {
+    final EventLoopExecutor eventLoop = new EventLoopExecutor(0, Runnable::run);
+
+    eventLoop.shutdown();
+    assertThat(eventLoop.awaitTermination(0, MILLISECONDS), is(true));
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.core.IsCollectionContaining.hasItem;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.runtime.core.api.transaction.TransactionCoordination.getInstance;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.TRANSACTIONAL_ERROR_MESSAGE;
+import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.CORES;
+import static org.mule.tck.util.MuleContextUtils.getNotificationDispatcher;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+import static reactor.util.concurrent.Queues.XS_BUFFER_SIZE;
+
+import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+import org.mule.runtime.core.internal.processor.strategy.ThreadPerCoreProcessingStrategyFactory.ThreadPerCoreProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.ThreadPerCoreProcessingStrategyFactory.ThreadPerCoreProcessingStrategy.EventLoopAffinityReactorSink;
+import org.mule.tck.testmodels.mule.TestTransaction;
+
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class ThreadPerCoreProcessingStrategyTestCase extends AbstractProcessingStrategyTestCase {
+
+  public ThreadPerCoreProcessingStrategyTestCase(Mode mode, boolean profiling) {
+    super(mode, profiling);
+  }
+
+  @Override
+  protected ProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
+    return new ThreadPerCoreProcessingStrategy(XS_BUFFER_SIZE,
+                                               2,
+                                               () -> cpuLight,
+                                               () -> blocking,
+                                               () -> cpuIntensive,
+                                               CORES,
+                                               MAX_VALUE,
+                                               true,
+                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+  }
+
+  @Override
+  @Description("With the ThreadPerCoreProcessingStrategy, when all processor are CPU_LIGHT then they are all executed in the "
+      + "same cpu light thread.")
+  public void multipleCpuLight() throws Exception {
+    super.multipleCpuLight();
+    assertThat(threads, hasSize(equalTo(1)));
+    assertThat(threads.stream().filter(name -> name.startsWith(CPU_LIGHT)).count(), equalTo(1l));
+    assertThat(threads, not(hasItem(startsWith(IO))));
+    assertThat(threads, not(hasItem(startsWith(CPU_INTENSIVE))));
+  }
+
+  @Test
+  @Description("With the ThreadPerCoreProcessingStrategy, the processors after a BLOCKING one are executed back in the cpu "
+      + "light thread of the event loop.")
+  public void cpuLightAfterBlockingRunsOnEventLoop() throws Exception {
+    flow = flowBuilder.get().processors(blockingProcessor, cpuLightProcessor).build();
+    startFlow();
+
+    processFlow(testEvent());
+
+    assertThat(threads.toString(), threads, hasSize(equalTo(2)));
+    assertThat(threads.stream().filter(name -> name.startsWith(IO)).count(), equalTo(1l));
+    assertThat(threads.stream().filter(name -> name.startsWith(CPU_LIGHT)).count(), equalTo(1l));
+  }
+
+  @Test
+  @Description("When the event loop of an event has its buffer full, the event is emitted to another one.")
+  public void emitToNextEventLoopWhenFull() {
+    ReactorSink<CoreEvent> fullSink = mock(ReactorSink.class);
+    ReactorSink<CoreEvent> availableSink = mock(ReactorSink.class);
+    when(fullSink.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+
+    EventLoopAffinityReactorSink sink = new EventLoopAffinityReactorSink(asList(fullSink, availableSink));
+    CoreEvent event = mock(CoreEvent.class);
+
+    assertThat(sink.emit(event), is(nullValue()));
+    verify(fullSink).emit(event);
+    verify(availableSink).emit(event);
+  }
+
+  @Test
+  @Description("When the event loops of all events have their buffer full, back pressure is applied.")
+  public void eventsAccumulatedWhenAllEventLoopsFull() {
+    ReactorSink<CoreEvent> fullSink = mock(ReactorSink.class);
+    ReactorSink<CoreEvent> otherFullSink = mock(ReactorSink.class);
+    when(fullSink.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+    when(otherFullSink.emit(any())).thenReturn(EVENTS_ACCUMULATED);
+
+    EventLoopAffinityReactorSink sink = new EventLoopAffinityReactorSink(asList(fullSink, otherFullSink));
+
+    assertThat(sink.emit(mock(CoreEvent.class)), is(EVENTS_ACCUMULATED));
+    verify(fullSink, never()).accept(any());
+    verify(otherFullSink, never()).accept(any());
+  }
+
+  @Override
+  @Description("When the ThreadPerCoreProcessingStrategy is configured and a transaction is active processing fails with an "
+      + "error")
+  public void tx() throws Exception {
+    flow = flowBuilder.get().processors(cpuLightProcessor, cpuIntensiveProcessor, blockingProcessor).build();
+    startFlow();
+
+    getInstance().bindTransaction(new TestTransaction("appName", getNotificationDispatcher(muleContext)));
+
+    expectedException.expect(MessagingException.class);
+    expectedException.expectCause(instanceOf(DefaultMuleException.class));
+    expectedException.expectCause(hasMessage(equalTo(TRANSACTIONAL_ERROR_MESSAGE)));
+    processFlow(testEvent());
+  }
+}
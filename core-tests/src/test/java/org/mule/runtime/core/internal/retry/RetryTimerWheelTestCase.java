@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.mule.runtime.core.internal.retry.RetryTimerWheel.Timeout;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RetryTimerWheelTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK_MILLIS = 5;
+
+  private ScheduledExecutorService scheduler;
+  private RetryTimerWheel wheel;
+
+  @Before
+  public void before() {
+    scheduler = newScheduledThreadPool(1);
+    // A small wheel, so that delays span several rounds
+    wheel = new RetryTimerWheel(scheduler, scheduler, TICK_MILLIS, 4);
+  }
+
+  @After
+  public void after() {
+    wheel.stop();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void retriesAreNotDispatchedBeforeTheirDelay() throws Exception {
+    final int retries = 50;
+    final CountDownLatch latch = new CountDownLatch(retries);
+    final AtomicBoolean early = new AtomicBoolean();
+
+    for (int i = 0; i < retries; ++i) {
+      final long delay = i * 3;
+      final long scheduledAt = nanoTime();
+      wheel.schedule(() -> {
+        if (NANOSECONDS.toMillis(nanoTime() - scheduledAt) < delay) {
+          early.set(true);
+        }
+        latch.countDown();
+      }, delay, MILLISECONDS);
+    }
+
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(early.get(), is(false));
+    assertThat(wheel.getPendingCount(), is(0));
+    assertThat(wheel.getScheduledCount(), is((long) retries));
+    assertThat(wheel.getExpiredCount(), is((long) retries));
+  }
+
+  @Test
+  public void cancelledRetryIsNotDispatched() throws Exception {
+    final AtomicBoolean dispatched = new AtomicBoolean();
+    final Timeout timeout = wheel.schedule(() -> dispatched.set(true), 20, MILLISECONDS);
+
+    assertThat(wheel.getPendingCount(), is(1));
+    assertThat(timeout.cancel(), is(true));
+    assertThat(wheel.getPendingCount(), is(0));
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    wheel.schedule(latch::countDown, 40, MILLISECONDS);
+    assertThat(latch.await(5, SECONDS), is(true));
+    assertThat(dispatched.get(), is(false));
+    assertThat(wheel.getExpiredCount(), is(1L));
+  }
+
+  @Test
+  public void ticksAgainAfterBeingIdle() throws Exception {
+    final CountDownLatch first = new CountDownLatch(1);
+    wheel.schedule(first::countDown, 0, MILLISECONDS);
+    assertThat(first.await(5, SECONDS), is(true));
+
+    // Let the wheel stop ticking
+    Thread.sleep(TICK_MILLIS * 4);
+
+    final long scheduledAt = nanoTime();
+    final CountDownLatch second = new CountDownLatch(1);
+    wheel.schedule(second::countDown, 30, MILLISECONDS);
+    assertThat(second.await(5, SECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(nanoTime() - scheduledAt), greaterThanOrEqualTo(30L));
+  }
+
+  @Test
+  public void rejectedRetryIsReported() throws Exception {
+    final RejectedExecutionException rejection = new RejectedExecutionException("Expected");
+    final RetryTimerWheel rejectingWheel = new RetryTimerWheel(scheduler, task -> {
+      throw rejection;
+    }, TICK_MILLIS, 4);
+    final CompletableFuture<RejectedExecutionException> rejected = new CompletableFuture<>();
+
+    try {
+      rejectingWheel.schedule(() -> {
+      }, 10, MILLISECONDS, rejected::complete);
+      assertThat(rejected.get(5, SECONDS), sameInstance(rejection));
+      assertThat(rejectingWheel.getPendingCount(), is(0));
+    } finally {
+      rejectingWheel.stop();
+    }
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void stoppedWheelRejectsRetries() {
+    wheel.stop();
+    wheel.schedule(() -> {
+    }, 1, MILLISECONDS);
+  }
+
+  @Test
+  public void exponentialBackoff() {
+    final ExponentialBackoff backoff = new ExponentialBackoff(2, 1000, 0);
+
+    assertThat(backoff.delay(100, 1), is(100L));
+    assertThat(backoff.delay(100, 2), is(200L));
+    assertThat(backoff.delay(100, 4), is(800L));
+    assertThat(backoff.delay(100, 5), is(1000L));
+    assertThat(ExponentialBackoff.FIXED.delay(100, 10), is(100L));
+  }
+
+  @Test
+  public void jitteredBackoffIsWithinBounds() {
+    final ExponentialBackoff backoff = new ExponentialBackoff(1, Long.MAX_VALUE, 0.5);
+
+    for (int i = 0; i < 100; ++i) {
+      final long delay = backoff.delay(100, 1);
+      assertThat(delay >= 50 && delay <= 100, is(true));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.io.InputStream;
+
+import io.qameta.allure.Feature;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends CursorStreamProviderTestCase {
+
+  public FileStoreCursorStreamProviderTestCase(String name, int dataSize, int bufferSize, int maxBufferSize) {
+    super(name, dataSize, bufferSize, maxBufferSize);
+  }
+
+  @Override
+  protected CursorStreamProvider createStreamProvider(int bufferSize, int maxBufferSize, InputStream dataStream) {
+    // use segments which are not aligned with the in memory window so that spilling straddles several files
+    return new FileStoreCursorStreamProvider(dataStream,
+                                             new FileStoreCursorStreamConfig(new DataSize(bufferSize, BYTE)),
+                                             bufferManager,
+                                             bufferSize / 3);
+  }
+
+  @Test
+  public void readSpilledDataAfterFullConsumption() throws Exception {
+    CursorStreamProvider provider = createStreamProvider(KB_256, MB_2, createDataStream());
+    try (CursorStream cursor = provider.openCursor()) {
+      assertEquals(IOUtils.toString(cursor), data);
+
+      cursor.seek(0);
+      byte[] dest = new byte[100];
+      assertThat(cursor.read(dest, 0, dest.length), is(dest.length));
+      assertEquals(toString(dest), data.substring(0, dest.length));
+    } finally {
+      provider.close();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int MAX_IN_MEMORY_INSTANCES = 100;
+
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = new FileStoreCursorIteratorProvider(toStreamingIterator(data),
+                                                         new FileStoreCursorIteratorConfig(MAX_IN_MEMORY_INSTANCES),
+                                                         muleContext.getObjectSerializer(),
+                                                         from("log"),
+                                                         false);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+  }
+
+  @Test
+  @Description("Consume a stream many times bigger than the in memory threshold")
+  public void readFully() throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      checkEquals(data, cursor);
+    }
+  }
+
+  @Test
+  @Description("Consume the stream and then seek back into buckets which were already spilled to disk")
+  public void seekIntoSpilledBuckets() throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      checkEquals(data, cursor);
+
+      cursor.seek(0);
+      checkEquals(read(cursor, 10), data.subList(0, 10));
+
+      cursor.seek(DATA_SIZE / 2);
+      checkEquals(read(cursor, DATA_SIZE / 2), data.subList(DATA_SIZE / 2, DATA_SIZE));
+      assertThat(cursor.hasNext(), is(false));
+    }
+  }
+
+  @Test
+  @Description("Two cursors consume opposite ends of the stream, forcing buckets to be paged in and out")
+  public void twoCursorsOnOppositeEnds() throws Exception {
+    try (CursorIterator cursor1 = streamProvider.openCursor(); CursorIterator cursor2 = streamProvider.openCursor()) {
+      cursor2.seek(DATA_SIZE - 1);
+      assertThat(cursor2.next(), is(data.get(DATA_SIZE - 1)));
+
+      for (int i = 0; i < DATA_SIZE; i += MAX_IN_MEMORY_INSTANCES) {
+        cursor1.seek(i);
+        cursor2.seek(DATA_SIZE - 1 - i);
+        assertThat(cursor1.next(), is(data.get(i)));
+        assertThat(cursor2.next(), is(data.get(DATA_SIZE - 1 - i)));
+      }
+    }
+  }
+
+  @Test
+  @Description("Get the size of a stream")
+  public void size() throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      List<Object> read = read(cursor, DATA_SIZE);
+      assertThat(read.size(), is(DATA_SIZE));
+      assertThat(cursor.getSize(), is(DATA_SIZE));
+    }
+  }
+}
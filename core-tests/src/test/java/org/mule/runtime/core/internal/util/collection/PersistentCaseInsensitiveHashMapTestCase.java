@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveHashMap.emptyPersistentCaseInsensitiveMap;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+@SmallTest
+public class PersistentCaseInsensitiveHashMapTestCase extends AbstractMuleTestCase {
+
+  // "Aa" and "BB" have the same hash code
+  private static final String[] COLLIDING_KEYS = {"Aa", "BB", "AaAa", "BBBB", "AaBB", "BBAa"};
+
+  @Test
+  public void keysAreCaseInsensitive() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("FOO", "BAR").plus("doo", 3);
+
+    assertThat(map.size(), is(2));
+    assertThat(map.get("foo"), is("BAR"));
+    assertThat(map.get("Foo"), is("BAR"));
+    assertThat(map.get("DOO"), is(3));
+    assertThat(map.containsKey("dOo"), is(true));
+  }
+
+  @Test
+  public void replacingKeepsOriginalKeyAndOrder() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("First", 1).plus("second", 2).plus("FIRST", 3);
+
+    assertThat(map.size(), is(2));
+    assertThat(map.keySet(), contains("First", "second"));
+    assertThat(map.get("first"), is(3));
+  }
+
+  @Test
+  public void originalMapIsNotModified() {
+    PersistentCaseInsensitiveHashMap<Object> original = emptyPersistentCaseInsensitiveMap();
+    original = original.plus("key", "value");
+
+    PersistentCaseInsensitiveHashMap<Object> added = original.plus("otherKey", "otherValue");
+    PersistentCaseInsensitiveHashMap<Object> removed = original.minus("KEY");
+
+    assertThat(original.size(), is(1));
+    assertThat(original.get("otherKey"), is(nullValue()));
+    assertThat(original.get("key"), is("value"));
+    assertThat(added.size(), is(2));
+    assertThat(removed.isEmpty(), is(true));
+  }
+
+  @Test
+  public void removingMissingKeyReturnsSameMap() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("key", "value");
+
+    assertThat(map.minus("otherKey"), is(sameInstance(map)));
+  }
+
+  @Test
+  public void collidingKeys() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    for (String key : COLLIDING_KEYS) {
+      map = map.plus(key, key);
+    }
+    assertThat(map.size(), is(COLLIDING_KEYS.length));
+    for (String key : COLLIDING_KEYS) {
+      assertThat(map.get(key.toLowerCase()), is(key));
+    }
+
+    map = map.minus("aa").minus("bbbb");
+    assertThat(map.keySet(), contains("BB", "AaAa", "AaBB", "BBAa"));
+  }
+
+  @Test
+  public void behavesLikeCaseInsensitiveHashMap() {
+    Random random = new Random(0);
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    Map<String, Object> expected = new CaseInsensitiveHashMap<>();
+
+    for (int i = 0; i < 5000; i++) {
+      String key = random.nextInt(4) == 0 ? COLLIDING_KEYS[random.nextInt(COLLIDING_KEYS.length)] : "key" + random.nextInt(500);
+      if (random.nextBoolean()) {
+        key = key.toUpperCase();
+      }
+
+      if (random.nextInt(3) == 0) {
+        map = map.minus(key);
+        expected.remove(key);
+      } else {
+        map = map.plus(key, i);
+        expected.put(key, i);
+      }
+    }
+
+    assertThat(map.size(), is(expected.size()));
+    assertThat(new LinkedHashMap<>(map), is(new LinkedHashMap<>(expected)));
+  }
+
+  @Test
+  public void iterationOrderAfterRemovingMostKeys() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    for (int i = 0; i < 1000; i++) {
+      map = map.plus("key" + i, i);
+    }
+    for (int i = 0; i < 995; i++) {
+      map = map.minus("KEY" + i);
+    }
+    map = map.plus("key0", 0).plus("KEY997", -1);
+
+    assertThat(map.keySet(), contains("key995", "key996", "key997", "key998", "key999", "key0"));
+    assertThat(map.get("key997"), is(-1));
+  }
+
+  @Test
+  public void fromPersistentMapReturnsSameInstance() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("key", "value");
+
+    assertThat(PersistentCaseInsensitiveHashMap.of(map), is(sameInstance(map)));
+  }
+
+  @Test
+  public void copyIsMutable() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("key", "value");
+
+    CaseInsensitiveHashMap<String, Object> copy = map.copy();
+    copy.put("otherKey", "otherValue");
+
+    assertThat(copy.get("OTHERKEY"), is("otherValue"));
+    assertThat(map.containsKey("otherKey"), is(false));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void immutable() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map.put("key", "value");
+  }
+
+  @Test
+  public void serialization() {
+    PersistentCaseInsensitiveHashMap<Object> map = emptyPersistentCaseInsensitiveMap();
+    map = map.plus("FOO", "BAR").plus("doo", 3);
+
+    Map<String, Object> deserialized = SerializationUtils.deserialize(SerializationUtils.serialize(map));
+
+    assertThat(deserialized, is(instanceOf(CaseInsensitiveHashMap.class)));
+    assertThat(deserialized, is(not(instanceOf(PersistentCaseInsensitiveHashMap.class))));
+    assertThat(deserialized.get("foo"), is("BAR"));
+    assertThat(deserialized.keySet(), contains("FOO", "doo"));
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.internal.util.journal.queue.AbstractQueueTxJournalEntry;
+import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
+import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.Multimap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TransactionJournalTestCase extends AbstractMuleContextTestCase {
+
+  private static final byte ADD = 5;
+  private static final byte COMMIT = 1;
+  private static final String QUEUE_NAME = "queueName";
+  private static final int THREADS = 8;
+  private static final int TRANSACTIONS_PER_THREAD = 50;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void groupCommitConcurrentOperations() throws Exception {
+    concurrentOperations(true, true);
+  }
+
+  @Test
+  public void syncedConcurrentOperations() throws Exception {
+    concurrentOperations(false, true);
+  }
+
+  private void concurrentOperations(boolean groupCommit, boolean sync) throws Exception {
+    TransactionJournal<Integer, LocalQueueTxJournalEntry> journal = openJournal(groupCommit, sync);
+
+    ExecutorService executor = newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        final int thread = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < TRANSACTIONS_PER_THREAD; j++) {
+            int txId = thread * TRANSACTIONS_PER_THREAD + j;
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, txId));
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD, QUEUE_NAME, -txId));
+            // commit only the even transactions, leaving the odd ones pending
+            if (txId % 2 == 0) {
+              journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT, QUEUE_NAME, null));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    journal.close();
+
+    Multimap<Integer, LocalQueueTxJournalEntry> entries = openJournal(groupCommit, sync).getAllLogEntries();
+    final int pendingTransactions = THREADS * TRANSACTIONS_PER_THREAD / 2;
+    assertThat(entries.keySet().size(), is(pendingTransactions));
+    assertThat(entries.size(), is(pendingTransactions * 2));
+    for (Integer txId : entries.keySet()) {
+      assertThat(txId % 2, is(1));
+    }
+  }
+
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> openJournal(boolean groupCommit, boolean sync) {
+    return new TransactionJournal<>(temporaryFolder.getRoot().getAbsolutePath(),
+                                    entry -> ((AbstractQueueTxJournalEntry) entry).isCommit(),
+                                    LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext),
+                                    null, groupCommit, sync);
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.util.queue.DefaultQueueConfiguration;
+import org.mule.tck.core.util.queue.QueueStoreTestCase;
+
+import java.io.Serializable;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SegmentedFileQueueStoreTestCase extends QueueStoreTestCase {
+
+  private static final String QUEUE_NAME = "testSegmentedQueue";
+  private static final int SMALL_SEGMENT_SIZE = 256;
+
+  @Before
+  public void setUp() {
+    currentMuleContext.set(muleContext);
+  }
+
+  @After
+  public void teardown() {
+    currentMuleContext.set(null);
+  }
+
+  @Override
+  protected QueueStore createQueueInfoDelegate(int capacity, MuleContext muleContext) {
+    return new DefaultQueueStore("testQueue", muleContext, new DefaultQueueConfiguration(capacity, true, true));
+  }
+
+  @Test
+  public void pollAcrossSegments() throws Exception {
+    SegmentedFileQueueStoreDelegate queue = createSmallSegmentsQueue();
+    try {
+      for (int i = 0; i < 100; i++) {
+        queue.putNow(i);
+      }
+      assertThat(queue.getSize(), is(100));
+
+      for (int i = 0; i < 100; i++) {
+        assertThat(queue.poll(OFFER_TIMEOUT), is((Serializable) i));
+      }
+      assertThat(queue.getSize(), is(0));
+    } finally {
+      queue.dispose();
+    }
+  }
+
+  @Test
+  public void recoverPendingItemsAfterClose() throws Exception {
+    SegmentedFileQueueStoreDelegate queue = createSmallSegmentsQueue();
+    for (int i = 0; i < 100; i++) {
+      queue.putNow(i);
+    }
+    for (int i = 0; i < 40; i++) {
+      queue.poll(OFFER_TIMEOUT);
+    }
+    queue.untake(VALUE);
+    queue.close();
+
+    queue = createSmallSegmentsQueue();
+    try {
+      assertThat(queue.getSize(), is(61));
+      assertThat(queue.poll(OFFER_TIMEOUT), is((Serializable) VALUE));
+      for (int i = 40; i < 100; i++) {
+        assertThat(queue.poll(OFFER_TIMEOUT), is((Serializable) i));
+      }
+    } finally {
+      queue.dispose();
+    }
+  }
+
+  @Test
+  public void removeAndContainsAcrossSegments() throws Exception {
+    SegmentedFileQueueStoreDelegate queue = createSmallSegmentsQueue();
+    try {
+      for (int i = 0; i < 50; i++) {
+        queue.putNow(i);
+      }
+      queue.poll(OFFER_TIMEOUT);
+
+      assertThat(queue.contains(0), is(false));
+      assertThat(queue.contains(30), is(true));
+
+      queue.remove(30);
+      assertThat(queue.contains(30), is(false));
+      assertThat(queue.getSize(), is(48));
+      queue.putNow(VALUE);
+
+      for (int i = 1; i < 50; i++) {
+        if (i != 30) {
+          assertThat(queue.poll(OFFER_TIMEOUT), is((Serializable) i));
+        }
+      }
+      assertThat(queue.poll(OFFER_TIMEOUT), is((Serializable) VALUE));
+    } finally {
+      queue.dispose();
+    }
+  }
+
+  private SegmentedFileQueueStoreDelegate createSmallSegmentsQueue() {
+    return new SegmentedFileQueueStoreDelegate(QUEUE_NAME, muleContext.getConfiguration().getWorkingDirectory(), muleContext,
+                                               0, SMALL_SEGMENT_SIZE);
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.isVirtualThreadsSupported;
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.withVirtualThreadsIfSupported;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class VirtualThreadSchedulerWrapperTestCase extends AbstractMuleTestCase {
+
+  private static final String SCHEDULER_NAME = "test.BLOCKING";
+
+  private Scheduler delegate;
+
+  @Before
+  public void before() {
+    delegate = mock(Scheduler.class);
+    when(delegate.getName()).thenReturn(SCHEDULER_NAME);
+  }
+
+  @Test
+  public void fallbackToDelegateWhenNotSupported() {
+    assumeThat(isVirtualThreadsSupported(), is(false));
+
+    assertThat(withVirtualThreadsIfSupported(delegate), sameInstance(delegate));
+  }
+
+  @Test
+  public void executeOnVirtualThread() throws Exception {
+    assumeThat(isVirtualThreadsSupported(), is(true));
+
+    Scheduler scheduler = withVirtualThreadsIfSupported(delegate);
+    assertThat(scheduler, instanceOf(VirtualThreadSchedulerWrapper.class));
+    try {
+      String threadName = scheduler.submit(() -> currentThread().getName()).get(5, SECONDS);
+      assertThat(threadName, startsWith(SCHEDULER_NAME + ".virtual."));
+      assertThat(scheduler.getName(), is(SCHEDULER_NAME));
+    } finally {
+      scheduler.stop();
+    }
+
+    verify(delegate).stop();
+  }
+
+  @Test
+  public void delayedTasksRunOnDelegate() {
+    assumeThat(isVirtualThreadsSupported(), is(true));
+
+    Scheduler scheduler = withVirtualThreadsIfSupported(delegate);
+    assertThat(scheduler, not(sameInstance(delegate)));
+    try {
+      Runnable task = () -> {
+      };
+      scheduler.schedule(task, 1, SECONDS);
+      verify(delegate).schedule(task, 1, SECONDS);
+    } finally {
+      scheduler.stop();
+    }
+  }
+}
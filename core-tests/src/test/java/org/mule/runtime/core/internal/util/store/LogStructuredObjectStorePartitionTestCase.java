@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.DATA_FILE_EXTENSION;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.HINT_FILE_EXTENSION;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final int MAX_DATA_FILE_SIZE = 1024;
+  private static final int ENTRIES = 500;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private final MuleContext muleContext = mockMuleContext();
+
+  private LogStructuredObjectStorePartition<Serializable> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), MAX_DATA_FILE_SIZE);
+    partition.open();
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    final String nonExistentKey = "nonExistentKey";
+
+    try {
+      partition.retrieve(nonExistentKey);
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains(nonExistentKey));
+    }
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    partition.store("key", "value");
+    partition.store("key", "value");
+  }
+
+  @Test
+  public void restoreAfterRestart() throws Exception {
+    storeAndRemoveEvenEntries();
+    assertThat(hintFiles().length > 0, is(true));
+
+    partition = reopen();
+    assertOddEntries();
+  }
+
+  @Test
+  public void compact() throws Exception {
+    storeAndRemoveEvenEntries();
+    int dataFilesBefore = dataFiles().length;
+
+    partition.compact();
+    assertThat(dataFiles().length < dataFilesBefore, is(true));
+    assertOddEntries();
+
+    partition = reopen();
+    assertOddEntries();
+  }
+
+  @Test
+  public void compactWithoutWritesInBetween() throws Exception {
+    storeAndRemoveEvenEntries();
+
+    partition.compact();
+    // the active data file is empty, so it is not sealed
+    partition.compact();
+    for (File hintFile : hintFiles()) {
+      String name = hintFile.getName();
+      File dataFile = new File(hintFile.getParentFile(), name.substring(0, name.length() - HINT_FILE_EXTENSION.length())
+          + DATA_FILE_EXTENSION);
+      assertThat(dataFile.length() > 0, is(true));
+    }
+    assertOddEntries();
+
+    partition = reopen();
+    assertOddEntries();
+  }
+
+  @Test
+  public void disposeStopsCompactionScheduler() throws Exception {
+    Scheduler compactionScheduler = mock(Scheduler.class);
+    when(muleContext.getSchedulerService().ioScheduler(any())).thenReturn(compactionScheduler);
+
+    partition.store("key", new byte[2 * 1024 * 1024]);
+    partition.remove("key");
+    verify(compactionScheduler).execute(any());
+
+    partition.dispose();
+    verify(compactionScheduler).stop();
+  }
+
+  @Test
+  public void discardIncompleteRecordOnRestart() throws Exception {
+    partition.store("key", "value");
+
+    File[] dataFiles = dataFiles();
+    try (RandomAccessFile dataFile = new RandomAccessFile(dataFiles[dataFiles.length - 1], "rw")) {
+      dataFile.seek(dataFile.length());
+      dataFile.write(new byte[] {1, 2, 3});
+    }
+
+    partition = reopen();
+    assertThat(partition.allKeys().size(), is(1));
+    partition.store("otherKey", "otherValue");
+    assertThat(reopen().retrieve("otherKey"), is("otherValue"));
+  }
+
+  @Test
+  public void expireExceedingEntries() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+
+    partition.expire(0, 4);
+    assertThat(partition.allKeys().size(), is(4));
+    assertThat(partition.contains("key5"), is(false));
+    assertThat(partition.contains("key6"), is(true));
+  }
+
+  @Test
+  public void clear() throws Exception {
+    partition.store("key", "value");
+
+    partition.clear();
+    assertThat(partition.contains("key"), is(false));
+    assertThat("Partition descriptor doesn't exists", new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(),
+               is(true));
+    assertThat(reopen().allKeys().size(), is(0));
+  }
+
+  private void storeAndRemoveEvenEntries() throws ObjectStoreException {
+    for (int i = 0; i < ENTRIES; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+    for (int i = 0; i < ENTRIES; i += 2) {
+      assertThat(partition.remove("key" + i), is("value" + i));
+    }
+  }
+
+  private void assertOddEntries() throws ObjectStoreException {
+    assertThat(partition.allKeys().size(), is(ENTRIES / 2));
+    for (int i = 1; i < ENTRIES; i += 2) {
+      assertThat(partition.retrieve("key" + i), is("value" + i));
+    }
+    assertThat(partition.retrieveAll().size(), is(ENTRIES / 2));
+  }
+
+  private LogStructuredObjectStorePartition<Serializable> reopen() throws ObjectStoreException {
+    LogStructuredObjectStorePartition<Serializable> reopened =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    reopened.open();
+    return reopened;
+  }
+
+  private File[] dataFiles() {
+    File[] files = objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(DATA_FILE_EXTENSION));
+    Arrays.sort(files);
+    return files;
+  }
+
+  private File[] hintFiles() {
+    return objectStoreFolder.getRoot().listFiles((dir, name) -> name.endsWith(HINT_FILE_EXTENSION));
+  }
+}
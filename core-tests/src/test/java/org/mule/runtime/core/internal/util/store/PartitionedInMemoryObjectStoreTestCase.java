@@ -97,6 +97,43 @@ public class PartitionedInMemoryObjectStoreTestCase extends AbstractMuleTestCase
     assertThat(store.retrieve(TEST_KEY3, TEST_PARTITION), equalTo(TEST_VALUE));
   }
 
+  @Test
+  public void expireByTtlRestoredKey() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.remove(TEST_KEY1, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.expire(1, 100, TEST_PARTITION);
+
+    assertThat(store.retrieve(TEST_KEY1, TEST_PARTITION), equalTo(TEST_VALUE));
+    assertThat(store.getExpiredEntriesCount(TEST_PARTITION), is(0L));
+  }
+
+  @Test
+  public void expirationCounters() throws ObjectStoreException {
+    store.store(TEST_KEY1, TEST_VALUE, TEST_PARTITION);
+    store.store(TEST_KEY2, TEST_VALUE, TEST_PARTITION);
+
+    currentNanoTime = MILLISECONDS.toNanos(2);
+
+    store.store(TEST_KEY3, TEST_VALUE, TEST_PARTITION);
+    store.expire(10, 2, TEST_PARTITION);
+
+    assertThat(store.getPartitionSize(TEST_PARTITION), is(2));
+    assertThat(store.getEvictedEntriesCount(TEST_PARTITION), is(1L));
+    assertThat(store.getExpiredEntriesCount(TEST_PARTITION), is(0L));
+
+    currentNanoTime = MILLISECONDS.toNanos(20);
+
+    store.expire(10, 2, TEST_PARTITION);
+
+    assertThat(store.getPartitionSize(TEST_PARTITION), is(0));
+    assertThat(store.getEvictedEntriesCount(TEST_PARTITION), is(1L));
+    assertThat(store.getExpiredEntriesCount(TEST_PARTITION), is(2L));
+  }
+
   @Test
   public void removesDataOnClear() throws ObjectStoreException {
     PartitionedInMemoryObjectStore os = spy(store);
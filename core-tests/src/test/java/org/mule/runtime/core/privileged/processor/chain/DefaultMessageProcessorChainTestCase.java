@@ -767,6 +767,65 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     process(messageProcessor, getTestEventUsingFlow("0"));
   }
 
+  @Test
+  public void testFusedMPChain() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(true);
+    builder.chain(new AppendingMP("1"), new AppendingMP("2"), getAppendingMP("3"), new AppendingMP("4"), new AppendingMP("5"));
+    messageProcessor = builder.build();
+    assertThat(process(messageProcessor, getTestEventUsingFlow("0")).getMessage().getPayload().getValue(), equalTo("012345"));
+  }
+
+  @Test
+  public void testFusedMPChainWithNullReturn() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(true);
+
+    AppendingMP mp1 = new AppendingMP("1");
+    ReturnNullMP nullmp = new ReturnNullMP();
+    AppendingMP mp2 = new AppendingMP("2");
+    builder.chain(mp1, nullmp, mp2);
+
+    messageProcessor = builder.build();
+    assertThat(process(messageProcessor, getTestEventUsingFlow("0")), is(nullValue()));
+    assertThat(nullmp.event.getMessage().getPayload().getValue(), equalTo("01"));
+    assertThat(mp2.event, is(nullValue()));
+  }
+
+  @Test
+  public void testFusedExceptionBetween() throws Exception {
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(true);
+    AppendingMP mp2 = new AppendingMP("2");
+    builder.chain(new AppendingMP("1"), new ExceptionThrowingMessageProcessor(illegalStateException), mp2);
+    messageProcessor = builder.build();
+    try {
+      process(messageProcessor, getTestEventUsingFlow("0"));
+      fail("Expected exception");
+    } catch (Throwable t) {
+      assertThat(t, is(illegalStateException));
+      assertThat(mp2.event, is(nullValue()));
+    }
+  }
+
+  @Test
+  public void testFusedSuccessNotifications() throws Exception {
+    List<MessageProcessorNotification> notificationList = new ArrayList<>();
+    setupMessageProcessorNotificationListener(notificationList);
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(true);
+    builder.chain(new AppendingMP("1"), new AppendingMP("2"));
+    final CoreEvent inEvent = getTestEventUsingFlow("0");
+    messageProcessor = builder.build();
+    assertThat(process(messageProcessor, inEvent).getMessage().getPayload().getValue(), equalTo("012"));
+    assertThat(notificationList, hasSize(4));
+    assertPreNotification(inEvent, notificationList.get(0));
+    assertThat(notificationList.get(1).getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_POST_INVOKE));
+    assertThat(notificationList.get(1).getEvent().getMessage().getPayload().getValue(), equalTo("01"));
+    assertThat(notificationList.get(2).getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_PRE_INVOKE));
+    assertThat(notificationList.get(3).getEvent().getMessage().getPayload().getValue(), equalTo("012"));
+  }
+
   @Test
   public void testSuccessNotifications() throws Exception {
     List<MessageProcessorNotification> notificationList = new ArrayList<>();
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.api.context.notification;
 
+import static org.mule.runtime.core.internal.context.notification.BatchedNotificationDispatcher.isBatchedNotificationDispatchEnabled;
+
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Collections.unmodifiableSet;
@@ -57,6 +59,7 @@ import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.ClassUtils;
+import org.mule.runtime.core.internal.context.notification.BatchedNotificationDispatcher;
 import org.mule.runtime.core.internal.context.notification.Configuration;
 import org.mule.runtime.core.internal.context.notification.Policy;
 import org.mule.runtime.core.internal.profiling.notification.ProfilingNotificationListener;
@@ -110,6 +113,9 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   private final Latch disposeLatch = new Latch();
   private Scheduler notificationsLiteScheduler;
   private Scheduler notificationsIoScheduler;
+  private BatchedNotificationDispatcher batchedDispatcher;
+  private final NotifierCallback synchronousNotifier = (listener, nfn) -> listener.onNotification(nfn);
+  private final NotifierCallback asynchronousNotifier = this::notifyAsynchronously;
   private MuleContext muleContext;
   private LazyValue<String> serverId = new LazyValue<>(() -> muleContext.getId());
   private LazyValue<SchedulerService> schedulerService = new LazyValue<>(() -> muleContext.getSchedulerService());
@@ -137,6 +143,13 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
   public void initialise() throws InitialisationException {
     notificationsLiteScheduler = schedulerService.get().cpuLightScheduler();
     notificationsIoScheduler = schedulerService.get().ioScheduler();
+    if (isBatchedNotificationDispatchEnabled()) {
+      // The queue holds the next drain while the previous one is finishing
+      Scheduler batchedDispatchScheduler = schedulerService.get()
+          .customScheduler(muleContext.getSchedulerBaseConfig().withName("ServerNotificationManager-BatchedDispatcher")
+              .withMaxConcurrentTasks(1), 1);
+      batchedDispatcher = new BatchedNotificationDispatcher(batchedDispatchScheduler, notificationsLiteScheduler);
+    }
   }
 
   public void addInterfaceToType(Class<? extends NotificationListener> iface,
@@ -204,17 +217,7 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       if (notification instanceof AbstractServerNotification) {
         ((AbstractServerNotification) notification).setServerId(serverId.get());
       }
-      if (notification.isSynchronous()) {
-        notifyListeners(notification, (listener, nfn) -> listener.onNotification(nfn));
-      } else {
-        notifyListeners(notification, (listener, nfn) -> {
-          if (listener.isBlocking()) {
-            notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
-          } else {
-            notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
-          }
-        });
-      }
+      notifyListeners(notification, notification.isSynchronous() ? synchronousNotifier : asynchronousNotifier);
     } finally {
       if (0 == activeFires.decrementAndGet() && disposed.get()) {
         disposeLatch.countDown();
@@ -222,6 +225,16 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     }
   }
 
+  private void notifyAsynchronously(NotificationListener listener, Notification nfn) {
+    if (listener.isBlocking()) {
+      notificationsIoScheduler.submit(() -> listener.onNotification(nfn));
+    } else if (batchedDispatcher != null) {
+      batchedDispatcher.dispatch(listener, nfn);
+    } else {
+      notificationsLiteScheduler.submit(() -> listener.onNotification(nfn));
+    }
+  }
+
   protected void notifyListeners(Notification notification, NotifierCallback notifier) {
     configuration.getPolicy().dispatch(notification, notifier);
   }
@@ -254,6 +267,10 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
       }
     }
 
+    if (batchedDispatcher != null) {
+      batchedDispatcher.dispose();
+      batchedDispatcher = null;
+    }
     if (notificationsLiteScheduler != null) {
       notificationsLiteScheduler.stop();
       notificationsLiteScheduler = null;
@@ -266,6 +283,26 @@ public class ServerNotificationManager implements ServerNotificationHandler, Mul
     configuration = null;
   }
 
+  /**
+   * @return the amount of notifications that did not fit in the batched dispatch buffer and were dispatched through the overflow
+   *         scheduler instead, or {@code 0} if batched dispatch is not enabled.
+   * @since 4.5.0
+   */
+  public long getBatchedNotificationsOverflowedCount() {
+    final BatchedNotificationDispatcher dispatcher = batchedDispatcher;
+    return dispatcher != null ? dispatcher.getOverflowedCount() : 0;
+  }
+
+  /**
+   * @return the amount of notifications that were not delivered because neither the batched dispatch buffer nor the overflow
+   *         scheduler could take them, or {@code 0} if batched dispatch is not enabled.
+   * @since 4.5.0
+   */
+  public long getBatchedNotificationsDroppedCount() {
+    final BatchedNotificationDispatcher dispatcher = batchedDispatcher;
+    return dispatcher != null ? dispatcher.getDroppedCount() : 0;
+  }
+
   /**
    * Support string or class parameters
    */
@@ -7,8 +7,12 @@
 
 package org.mule.runtime.core.api.management.stats;
 
+import static java.util.Collections.emptySet;
+
 import org.mule.api.annotation.NoImplement;
 
+import java.util.Collection;
+
 /**
  * Maintains different statistics for {@link org.mule.runtime.core.api.construct.FlowConstruct} instances
  */
@@ -74,6 +78,47 @@ public interface FlowConstructStatistics extends Statistics {
    */
   long getTotalProcessingTime();
 
+  /**
+   * @param percentile the percentile, between {@code 0} and {@code 100}.
+   * @return the time below or at which the given {@code percentile} of the executions of the flow completed, in milliseconds.
+   *
+   * @since 4.5.0
+   */
+  default long getProcessingTimePercentile(double percentile) {
+    return 0;
+  }
+
+  /**
+   * Adds the execution time of a processor of the flow.
+   *
+   * @param processorLocation the location of the processor.
+   * @param time              the time the processor took to process an event, in microseconds.
+   *
+   * @since 4.5.0
+   */
+  default void addProcessorExecutionTime(String processorLocation, long time) {}
+
+  /**
+   * @return the locations of the processors for which execution times were added.
+   *
+   * @since 4.5.0
+   */
+  default Collection<String> getProcessorLocations() {
+    return emptySet();
+  }
+
+  /**
+   * @param processorLocation the location of the processor.
+   * @param percentile        the percentile, between {@code 0} and {@code 100}.
+   * @return the time below or at which the given {@code percentile} of the executions of the processor completed, in
+   *         microseconds.
+   *
+   * @since 4.5.0
+   */
+  default long getProcessorProcessingTimePercentile(String processorLocation, double percentile) {
+    return 0;
+  }
+
   /**
    * @return the number of execution errors at a given time
    */
@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.core.api.retry.async;
 
+import static org.mule.runtime.api.config.MuleRuntimeFeature.COMPUTE_CONNECTION_ERRORS_IN_STATS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.retry.RetryTimerWheel.isRetryTimerWheelEnabled;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
@@ -18,26 +20,39 @@ import java.util.concurrent.Executor;
 import javax.inject.Inject;
 
 import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.Initialisable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.lifecycle.Stoppable;
+import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.api.util.concurrent.Latch;
 import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.retry.RetryCallback;
 import org.mule.runtime.core.api.retry.RetryContext;
 import org.mule.runtime.core.api.retry.RetryNotifier;
 import org.mule.runtime.core.api.retry.policy.RetryPolicy;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
+import org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate;
+import org.mule.runtime.core.internal.retry.ExponentialBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
 import org.mule.runtime.core.internal.retry.async.FutureRetryContext;
 import org.mule.runtime.core.internal.retry.async.RetryWorker;
+import org.mule.runtime.core.internal.retry.async.TimerWheelRetryWorker;
 import org.slf4j.Logger;
 
 /**
  * This class is a wrapper for a {@link RetryPolicyTemplate} and will execute any retry work within a separate thread. An optional
  * {@link Latch} can be passed into this template, in which case execution will only occur once the latch is released.
+ * <p>
+ * When the {@link RetryTimerWheel#RETRY_TIMER_WHEEL_ENABLED_PROPERTY retry timer wheel} is enabled and the delegate is exactly a
+ * {@link SimpleRetryPolicyTemplate} (not a subclass), the waits between retries don't hold a thread, but are managed by a timer
+ * wheel shared by all the retries of this template.
  */
 public final class AsynchronousRetryTemplate extends AbstractComponent
     implements RetryPolicyTemplate, Initialisable, Startable, Stoppable, Disposable {
@@ -48,6 +63,18 @@ public final class AsynchronousRetryTemplate extends AbstractComponent
   @Inject
   private MuleContext muleContext;
 
+  @Inject
+  private SchedulerService schedulerService;
+
+  @Inject
+  private NotificationDispatcher notificationFirer;
+
+  @Inject
+  private FeatureFlaggingService featureFlaggingService;
+
+  private Scheduler retryScheduler;
+  private RetryTimerWheel retryTimerWheel;
+
   private static final Logger LOGGER = getLogger(AsynchronousRetryTemplate.class);
 
   public AsynchronousRetryTemplate(RetryPolicyTemplate delegate) {
@@ -60,6 +87,14 @@ public final class AsynchronousRetryTemplate extends AbstractComponent
       throw new IllegalStateException("Cannot schedule a work till the workManager is initialized. Probably the connector hasn't been initialized yet");
     }
 
+    if (retryTimerWheel != null) {
+      TimerWheelRetryWorker worker =
+          new TimerWheelRetryWorker((SimpleRetryPolicyTemplate) delegate, callback, workManager, startLatch, retryTimerWheel,
+                                    ExponentialBackoff.FIXED, notificationFirer, this::computeStats);
+      workManager.execute(worker);
+      return worker.getRetryContext();
+    }
+
     RetryWorker worker = new RetryWorker(delegate, callback, workManager, startLatch);
     FutureRetryContext context = worker.getRetryContext();
 
@@ -67,6 +102,22 @@ public final class AsynchronousRetryTemplate extends AbstractComponent
     return context;
   }
 
+  private void computeStats() {
+    AllStatistics statistics = muleContext.getStatistics();
+
+    if (statistics != null && statistics.isEnabled() && featureFlaggingService.isEnabled(COMPUTE_CONNECTION_ERRORS_IN_STATS)) {
+      statistics.getApplicationStatistics().incConnectionErrors();
+    }
+  }
+
+  /**
+   * @return the number of retries waiting for their delay, if the retry timer wheel is in use, or {@code -1} otherwise.
+   * @since 4.5.0
+   */
+  public int getPendingRetries() {
+    return retryTimerWheel != null ? retryTimerWheel.getPendingCount() : -1;
+  }
+
   @Override
   public boolean isEnabled() {
     return delegate.isEnabled();
@@ -108,6 +159,12 @@ public final class AsynchronousRetryTemplate extends AbstractComponent
   @Override
   public void initialise() throws InitialisationException {
     initialiseIfNeeded(delegate, muleContext);
+    // Subclasses may override createRetryInstance(), which the wheel would bypass, so only plain simple policies use it.
+    if (isRetryTimerWheelEnabled() && delegate.getClass() == SimpleRetryPolicyTemplate.class && schedulerService != null
+        && retryTimerWheel == null) {
+      retryScheduler = schedulerService.cpuLightScheduler();
+      retryTimerWheel = new RetryTimerWheel(retryScheduler);
+    }
   }
 
   @Override
@@ -122,6 +179,12 @@ public final class AsynchronousRetryTemplate extends AbstractComponent
 
   @Override
   public void dispose() {
+    if (retryTimerWheel != null) {
+      retryTimerWheel.stop();
+      retryTimerWheel = null;
+      retryScheduler.stop();
+      retryScheduler = null;
+    }
     disposeIfNeeded(delegate, LOGGER);
   }
 
@@ -104,6 +104,18 @@ public class CaseInsensitiveHashMap<K, V> implements Map<K, V>, Serializable {
     this.delegate = delegate;
   }
 
+  /**
+   * Constructor for subclasses that set their own {@link #delegate}, so that a default one is not created just to be replaced.
+   *
+   * @param createDelegate whether to create the default {@link #delegate}. If {@code false}, the subclass must set it.
+   * @since 4.5.0
+   */
+  protected CaseInsensitiveHashMap(boolean createDelegate) {
+    if (createDelegate) {
+      delegate = new CaseInsensitiveMapWrapper();
+    }
+  }
+
   // -----------------------------------------------------------------------
 
   /**
@@ -208,6 +220,7 @@ public class CaseInsensitiveHashMap<K, V> implements Map<K, V>, Serializable {
     private transient final CaseInsensitiveHashMap<K, V> originalMap;
 
     private ImmutableCaseInsensitiveHashMap(CaseInsensitiveHashMap<K, V> caseInsensitiveHashMap) {
+      super(false);
       this.delegate = unmodifiableMap(caseInsensitiveHashMap);
       originalMap = caseInsensitiveHashMap;
     }
@@ -20,4 +20,15 @@ public interface QueueConfiguration {
 
   int getCapacity();
 
+  /**
+   * Only applies to {@link #isPersistent() persistent} queues.
+   *
+   * @return whether the queue is stored in an append-only log split into rolling segment files, which allows producers and
+   *         consumers to operate concurrently, instead of the default random access files.
+   * @since 4.5.0
+   */
+  default boolean isSegmented() {
+    return false;
+  }
+
 }
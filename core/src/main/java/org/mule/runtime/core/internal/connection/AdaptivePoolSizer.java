@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram.Snapshot;
+
+import org.slf4j.Logger;
+
+/**
+ * Periodically adjusts the maximum size of a {@link ConnectionPool} according to how long borrowers wait for connections.
+ * <p>
+ * When the 90th percentile of the waits during an interval exceeds {@link #GROW_WAIT_THRESHOLD_MICROS}, or any borrow timed out
+ * because the pool was exhausted, the maximum is grown by a quarter of the configured one, up to
+ * {@link #MAX_GROWTH_FACTOR_PROPERTY} times the configured one. The time spent creating connections on borrow is not a wait, so a
+ * cold pool is not grown. After {@link #SHRINK_AFTER_INTERVALS} consecutive intervals without significant waits and with at least
+ * that many idle connections, the maximum is shrunk back towards the configured one.
+ *
+ * @since 4.5.0
+ */
+final class AdaptivePoolSizer implements Runnable {
+
+  private static final Logger LOGGER = getLogger(AdaptivePoolSizer.class);
+
+  /**
+   * System property to adjust the maximum size of connection pools that wait when exhausted according to how long borrowers wait
+   * for connections.
+   */
+  static final String ADAPTIVE_POOL_SIZING_PROPERTY = AdaptivePoolSizer.class.getName() + ".enabled";
+
+  /**
+   * System property with the maximum factor by which the configured maximum size of a pool can be grown. Defaults to {@code 2}.
+   */
+  static final String MAX_GROWTH_FACTOR_PROPERTY = AdaptivePoolSizer.class.getName() + ".maxGrowthFactor";
+
+  static final long INTERVAL_MILLIS = 1000;
+  static final long GROW_WAIT_THRESHOLD_MICROS = MILLISECONDS.toMicros(10);
+  static final int SHRINK_AFTER_INTERVALS = 30;
+
+  private final ConnectionPool<?> pool;
+  private final ConnectionPoolStatistics statistics;
+  private final String poolId;
+  private final int configuredMaxTotal;
+  private final int upperMaxTotal;
+  private final int step;
+
+  private Snapshot previousWaits = Snapshot.EMPTY;
+  private long previousExhaustedBorrows;
+  private int calmIntervals;
+
+  /**
+   * @return whether the maximum size of connection pools is to be adjusted.
+   * @see #ADAPTIVE_POOL_SIZING_PROPERTY
+   */
+  static boolean isAdaptivePoolSizingEnabled() {
+    return getBoolean(ADAPTIVE_POOL_SIZING_PROPERTY);
+  }
+
+  /**
+   * @param pool               the pool to adjust.
+   * @param statistics         the statistics of the {@code pool}, with the waits and timeouts of its borrowers.
+   * @param configuredMaxTotal the maximum size the {@code pool} was configured with. Must be greater than zero.
+   */
+  AdaptivePoolSizer(ConnectionPool<?> pool, ConnectionPoolStatistics statistics, int configuredMaxTotal) {
+    this.pool = pool;
+    this.statistics = statistics;
+    this.poolId = statistics.getPoolId();
+    this.configuredMaxTotal = configuredMaxTotal;
+    this.upperMaxTotal = configuredMaxTotal * max(1, getInteger(MAX_GROWTH_FACTOR_PROPERTY, 2));
+    this.step = max(1, configuredMaxTotal / 4);
+  }
+
+  @Override
+  public void run() {
+    try {
+      final Snapshot waits = statistics.getBorrowWaitTime();
+      final Snapshot intervalWaits = waits.since(previousWaits);
+      previousWaits = waits;
+      final long exhaustedBorrows = statistics.getExhaustedBorrows();
+      final long intervalExhaustedBorrows = exhaustedBorrows - previousExhaustedBorrows;
+      previousExhaustedBorrows = exhaustedBorrows;
+
+      final int maxTotal = pool.getMaxTotal();
+      if (intervalExhaustedBorrows > 0
+          || (intervalWaits.getCount() > 0 && intervalWaits.getValueAtPercentile(90) >= GROW_WAIT_THRESHOLD_MICROS)) {
+        calmIntervals = 0;
+        if (maxTotal < upperMaxTotal) {
+          resize(maxTotal, min(upperMaxTotal, maxTotal + step), intervalWaits, intervalExhaustedBorrows);
+        }
+      } else if (maxTotal > configuredMaxTotal && pool.getNumIdle() >= step) {
+        if (++calmIntervals >= SHRINK_AFTER_INTERVALS) {
+          calmIntervals = 0;
+          resize(maxTotal, max(configuredMaxTotal, maxTotal - step), intervalWaits, intervalExhaustedBorrows);
+        }
+      } else {
+        calmIntervals = 0;
+      }
+    } catch (Throwable t) {
+      // Prevent the periodic task from being cancelled because of an unexpected error
+      LOGGER.error("Error adjusting the size of pool " + poolId, t);
+    }
+  }
+
+  private void resize(int from, int to, Snapshot intervalWaits, long intervalExhaustedBorrows) {
+    LOGGER.debug("Resizing pool {} from {} to {} max active connections. Borrow waits: {}, exhausted borrows: {}", poolId, from,
+                 to, intervalWaits, intervalExhaustedBorrows);
+    pool.setMaxTotal(to);
+  }
+}
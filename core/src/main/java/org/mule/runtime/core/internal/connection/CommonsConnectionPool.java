@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import org.apache.commons.pool2.PooledObjectFactory;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+/**
+ * {@link ConnectionPool} backed by a commons-pool {@link GenericObjectPool}.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.5.0
+ */
+final class CommonsConnectionPool<C> extends GenericObjectPool<C> implements ConnectionPool<C> {
+
+  CommonsConnectionPool(PooledObjectFactory<C> factory, GenericObjectPoolConfig<C> config) {
+    super(factory, config);
+  }
+}
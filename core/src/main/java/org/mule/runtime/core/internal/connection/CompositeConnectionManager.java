@@ -25,6 +25,11 @@ import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.internal.retry.ReconnectionConfig;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.slf4j.Logger;
 
 /**
@@ -150,6 +155,25 @@ public class CompositeConnectionManager implements ConnectionManager, Connection
     return childConnectionManager.getDefaultPoolingProfile();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+    return childConnectionManager.hasBinding(config) ? childConnectionManager.getPoolStatistics(config)
+        : parentConnectionManager.getPoolStatistics(config);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<ConnectionPoolStatistics> getPoolStatistics() {
+    List<ConnectionPoolStatistics> statistics = new ArrayList<>(childConnectionManager.getPoolStatistics());
+    statistics.addAll(parentConnectionManager.getPoolStatistics());
+    return statistics;
+  }
+
   @Override
   public void dispose() {
     disposeIfNeeded(childConnectionManager, LOGGER);
@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.Optional.empty;
+
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
@@ -13,6 +15,8 @@ import org.mule.runtime.core.api.Closeable;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.api.exception.MuleException;
 
+import java.util.Optional;
+
 /**
  * Strategy to implement different connection management mechanisms.
  * <p>
@@ -48,6 +52,14 @@ abstract class ConnectionManagementStrategy<C> implements Closeable {
    */
   abstract ConnectionHandler<C> getConnectionHandler() throws ConnectionException;
 
+  /**
+   * @return the statistics of the pool of connections of this strategy, if it pools them.
+   * @since 4.5.0
+   */
+  Optional<ConnectionPoolStatistics> getPoolStatistics() {
+    return empty();
+  }
+
   /**
    * Closes all connections and resources allocated through {@code this} instance.
    *
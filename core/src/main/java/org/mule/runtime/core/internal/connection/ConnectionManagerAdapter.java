@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.Collections.emptyList;
+import static java.util.Optional.empty;
+
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionProvider;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -14,6 +17,9 @@ import org.mule.runtime.core.api.connector.ConnectionManager;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.internal.retry.ReconnectionConfig;
 
+import java.util.Collection;
+import java.util.Optional;
+
 /**
  * Interface for {@link ConnectionManager} implementations which expands its contract with non API functionality
  *
@@ -46,4 +52,24 @@ public interface ConnectionManagerAdapter extends ConnectionManager, Lifecycle {
    * @return a {@link PoolingProfile}
    */
   PoolingProfile getDefaultPoolingProfile();
+
+  /**
+   * Returns the statistics of the pool of connections bound to the given {@code config}
+   *
+   * @param config the config the connections are bound to
+   * @return the {@link ConnectionPoolStatistics}, or an empty value if there is no binding for the {@code config} or its
+   *         connections are not pooled
+   * @since 4.5.0
+   */
+  default Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+    return empty();
+  }
+
+  /**
+   * @return the {@link ConnectionPoolStatistics} of all the pools of connections of the configs bound to this manager
+   * @since 4.5.0
+   */
+  default Collection<ConnectionPoolStatistics> getPoolStatistics() {
+    return emptyList();
+  }
 }
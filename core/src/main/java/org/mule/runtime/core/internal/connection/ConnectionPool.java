@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A pool of connections, as used by {@link PoolingConnectionManagementStrategy}.
+ * <p>
+ * The methods mirror those of commons-pool's {@code ObjectPool}, so that a {@code GenericObjectPool} can be used directly through
+ * {@link CommonsConnectionPool}.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.5.0
+ */
+interface ConnectionPool<C> {
+
+  /**
+   * Obtains a connection from this pool, creating one if there are none idle and the pool limits allow it.
+   *
+   * @return a connection for exclusive use of the caller until it is returned or invalidated.
+   * @throws NoSuchElementException if the pool is exhausted.
+   * @throws Exception              if a new connection could not be created.
+   */
+  C borrowObject() throws Exception;
+
+  /**
+   * Returns a connection obtained through {@link #borrowObject()}, so it can be borrowed again.
+   *
+   * @param connection the connection to return.
+   */
+  void returnObject(C connection);
+
+  /**
+   * Discards a connection obtained through {@link #borrowObject()}, destroying it.
+   *
+   * @param connection the connection to discard.
+   * @throws Exception if the connection could not be destroyed.
+   */
+  void invalidateObject(C connection) throws Exception;
+
+  /**
+   * Creates a connection and adds it to this pool as idle, if the pool limits allow it.
+   *
+   * @throws Exception if the connection could not be created.
+   */
+  void addObject() throws Exception;
+
+  /**
+   * @return the amount of connections currently borrowed from this pool.
+   */
+  int getNumActive();
+
+  /**
+   * @return the amount of connections currently idle in this pool.
+   */
+  int getNumIdle();
+
+  /**
+   * @return the maximum amount of connections in this pool, or a negative value if unlimited.
+   */
+  int getMaxTotal();
+
+  /**
+   * Changes the maximum amount of connections in this pool. When lowered, the connections over the new maximum are not destroyed
+   * right away, but no new ones are created until the pool is below it.
+   *
+   * @param maxTotal the new maximum, or a negative value for unlimited.
+   */
+  void setMaxTotal(int maxTotal);
+
+  /**
+   * @return the maximum amount of idle connections in this pool, or a negative value if unlimited.
+   */
+  int getMaxIdle();
+
+  /**
+   * Closes this pool, destroying the idle connections. Connections returned after this are destroyed as well.
+   */
+  void close();
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram;
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram.Snapshot;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the pool of connections of a config, as obtained through
+ * {@link ConnectionManagerAdapter#getPoolStatistics(Object)}.
+ * <p>
+ * Times are in microseconds.
+ *
+ * @since 4.5.0
+ */
+public final class ConnectionPoolStatistics {
+
+  private static final long HIGHEST_TRACKABLE_MICROS = HOURS.toMicros(1);
+
+  private final String poolId;
+  private final String configName;
+  private volatile ConnectionPool<?> pool;
+
+  private final LatencyHistogram borrowWaitTime = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+  private final LatencyHistogram creationTime = new LatencyHistogram(HIGHEST_TRACKABLE_MICROS);
+  private final LongAdder createdConnections = new LongAdder();
+  private final LongAdder destroyedConnections = new LongAdder();
+  private final LongAdder exhaustedBorrows = new LongAdder();
+  private final LongAdder validationFailures = new LongAdder();
+
+  ConnectionPoolStatistics(String poolId, String configName) {
+    this.poolId = poolId;
+    this.configName = configName;
+  }
+
+  void setPool(ConnectionPool<?> pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * @param waitNanos the time the borrower waited for a connection, not including the creation of one.
+   */
+  void addBorrow(long waitNanos) {
+    borrowWaitTime.record(NANOSECONDS.toMicros(max(0, waitNanos)));
+  }
+
+  /**
+   * @param waitNanos the time the borrower waited before giving up because the pool was exhausted.
+   */
+  void addExhaustedBorrow(long waitNanos) {
+    exhaustedBorrows.increment();
+    addBorrow(waitNanos);
+  }
+
+  void addCreation(long creationNanos) {
+    createdConnections.increment();
+    creationTime.record(NANOSECONDS.toMicros(creationNanos));
+  }
+
+  void addDestruction() {
+    destroyedConnections.increment();
+  }
+
+  void addValidationFailure() {
+    validationFailures.increment();
+  }
+
+  /**
+   * @return the id of the pool.
+   */
+  public String getPoolId() {
+    return poolId;
+  }
+
+  /**
+   * @return the name of the config that owns the pool.
+   */
+  public String getConfigName() {
+    return configName;
+  }
+
+  /**
+   * @return the amount of connections currently borrowed from the pool.
+   */
+  public int getNumActive() {
+    return pool != null ? pool.getNumActive() : 0;
+  }
+
+  /**
+   * @return the amount of connections currently idle in the pool.
+   */
+  public int getNumIdle() {
+    return pool != null ? pool.getNumIdle() : 0;
+  }
+
+  /**
+   * @return the current maximum amount of connections in the pool, or a negative value if unlimited.
+   */
+  public int getMaxTotal() {
+    return pool != null ? pool.getMaxTotal() : 0;
+  }
+
+  /**
+   * @return the time borrowers waited for a connection, including the borrows that timed out because the pool was exhausted.
+   *         The time spent creating a connection when there was none idle is not included, see {@link #getCreationTime()}.
+   */
+  public Snapshot getBorrowWaitTime() {
+    return borrowWaitTime.snapshot();
+  }
+
+  /**
+   * @return the time it took to create connections.
+   */
+  public Snapshot getCreationTime() {
+    return creationTime.snapshot();
+  }
+
+  /**
+   * @return the amount of connections created for the pool.
+   */
+  public long getCreatedConnections() {
+    return createdConnections.sum();
+  }
+
+  /**
+   * @return the amount of connections of the pool that were destroyed.
+   */
+  public long getDestroyedConnections() {
+    return destroyedConnections.sum();
+  }
+
+  /**
+   * @return the amount of times a connection could not be borrowed because the pool was exhausted.
+   */
+  public long getExhaustedBorrows() {
+    return exhaustedBorrows.sum();
+  }
+
+  /**
+   * @return the amount of times a connection of the pool was found not to be valid.
+   */
+  public long getValidationFailures() {
+    return validationFailures.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "ConnectionPoolStatistics{poolId=" + poolId + ", active=" + getNumActive() + ", idle=" + getNumIdle()
+        + ", maxTotal=" + getMaxTotal() + ", borrowWaitTime=" + getBorrowWaitTime() + ", creationTime=" + getCreationTime()
+        + ", created=" + getCreatedConnections() + ", destroyed=" + getDestroyedConnections() + ", exhausted="
+        + getExhaustedBorrows() + ", validationFailures=" + getValidationFailures() + "}";
+  }
+}
@@ -94,12 +94,21 @@ public final class ConnectionUtils {
 
   public static <C> void logPoolStatus(Logger logger, GenericObjectPool<C> pool, String poolId) {
     if (logger.isDebugEnabled()) {
-      String maxActive =
-          pool.getMaxTotal() < 0 || pool.getMaxTotal() == MAX_VALUE ? "unlimited" : String.valueOf(pool.getMaxTotal());
-      String maxIdle = pool.getMaxIdle() < 0 ? "unlimited" : String.valueOf(pool.getMaxIdle());
-      logger
-          .debug("Status for pool {}: {} connections are active out of {} max active limit, {} connections are idle out of {} max idle limit",
-                 poolId, pool.getNumActive(), maxActive, pool.getNumIdle(), maxIdle);
+      logPoolStatus(logger, poolId, pool.getNumActive(), pool.getMaxTotal(), pool.getNumIdle(), pool.getMaxIdle());
     }
   }
+
+  static <C> void logPoolStatus(Logger logger, ConnectionPool<C> pool, String poolId) {
+    if (logger.isDebugEnabled()) {
+      logPoolStatus(logger, poolId, pool.getNumActive(), pool.getMaxTotal(), pool.getNumIdle(), pool.getMaxIdle());
+    }
+  }
+
+  private static void logPoolStatus(Logger logger, String poolId, int numActive, int maxTotal, int numIdle, int maxIdle) {
+    String maxActiveLimit = maxTotal < 0 || maxTotal == MAX_VALUE ? "unlimited" : String.valueOf(maxTotal);
+    String maxIdleLimit = maxIdle < 0 ? "unlimited" : String.valueOf(maxIdle);
+    logger
+        .debug("Status for pool {}: {} connections are active out of {} max active limit, {} connections are idle out of {} max idle limit",
+               poolId, numActive, maxActiveLimit, numIdle, maxIdleLimit);
+  }
 }
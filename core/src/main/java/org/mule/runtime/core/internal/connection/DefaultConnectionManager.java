@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.connection;
 
+import static java.util.Optional.empty;
+
 import static org.mule.runtime.api.connection.ConnectionValidationResult.failure;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -27,8 +29,12 @@ import org.mule.runtime.core.api.retry.policy.RetryPolicyTemplate;
 import org.mule.runtime.core.internal.retry.ReconnectionConfig;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -141,7 +147,8 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
       throw new IllegalArgumentException("ConnectionHandler was not produced through this manager");
     }
 
-    return ((ConnectionHandlerAdapter) connectionHandler).getConnectionProvider().validate(connection);
+    return recordValidation(connectionHandler,
+                            ((ConnectionHandlerAdapter) connectionHandler).getConnectionProvider().validate(connection));
   }
 
   /**
@@ -189,7 +196,7 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
                                                             ConnectionHandler<C> connectionHandler)
       throws Exception {
     try {
-      return connectionProvider.validate(connectionHandler.getConnection());
+      return recordValidation(connectionHandler, connectionProvider.validate(connectionHandler.getConnection()));
     } catch (ConnectionException e) {
       return failure(e.getMessage(), e.getErrorType().orElse(null), e);
     } finally {
@@ -200,6 +207,14 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
   }
 
 
+  private ConnectionValidationResult recordValidation(ConnectionHandler<?> connectionHandler,
+                                                      ConnectionValidationResult result) {
+    if (connectionHandler instanceof PoolingConnectionHandler && (result == null || !result.isValid())) {
+      ((PoolingConnectionHandler<?>) connectionHandler).getPoolStatistics().addValidationFailure();
+    }
+    return result;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -295,4 +310,35 @@ public final class DefaultConnectionManager implements ConnectionManagerAdapter
     return defaultPoolingProfile;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+    readLock.lock();
+    try {
+      ConnectionManagementStrategy<?> managementStrategy = connections.get(new Reference<>(config));
+      return managementStrategy != null ? managementStrategy.getPoolStatistics() : empty();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Collection<ConnectionPoolStatistics> getPoolStatistics() {
+    List<ConnectionPoolStatistics> statistics = new ArrayList<>();
+    readLock.lock();
+    try {
+      for (ConnectionManagementStrategy<?> managementStrategy : connections.values()) {
+        managementStrategy.getPoolStatistics().ifPresent(statistics::add);
+      }
+    } finally {
+      readLock.unlock();
+    }
+    return statistics;
+  }
+
 }
@@ -24,6 +24,8 @@ import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
 
 import javax.inject.Inject;
 
@@ -62,6 +64,16 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
     return connectionManagerAdapterStrategy.getDefaultPoolingProfile();
   }
 
+  @Override
+  public Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+    return connectionManagerAdapterStrategy.getPoolStatistics(config);
+  }
+
+  @Override
+  public Collection<ConnectionPoolStatistics> getPoolStatistics() {
+    return connectionManagerAdapterStrategy.getPoolStatistics();
+  }
+
   @Override
   public <C> void bind(Object config, ConnectionProvider<C> connectionProvider) {
     connectionManagerAdapterStrategy.bind(config, connectionProvider);
@@ -140,6 +152,16 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
       return delegate.getDefaultPoolingProfile();
     }
 
+    @Override
+    public Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+      return delegate.getPoolStatistics(config);
+    }
+
+    @Override
+    public Collection<ConnectionPoolStatistics> getPoolStatistics() {
+      return delegate.getPoolStatistics();
+    }
+
     @Override
     public <C> void bind(Object config, ConnectionProvider<C> connectionProvider) {
       delegate.bind(config, connectionProvider);
@@ -280,6 +302,16 @@ public final class DelegateConnectionManagerAdapter implements ConnectionManager
     public PoolingProfile getDefaultPoolingProfile() {
       return delegate.getDefaultPoolingProfile();
     }
+
+    @Override
+    public Optional<ConnectionPoolStatistics> getPoolStatistics(Object config) {
+      return delegate.getPoolStatistics(config);
+    }
+
+    @Override
+    public Collection<ConnectionPoolStatistics> getPoolStatistics() {
+      return delegate.getPoolStatistics();
+    }
   }
 
   class LazyInvocationHandler implements InvocationHandler {
@@ -0,0 +1,523 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.copyOf;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link ConnectionPool} that borrows and returns connections without locking.
+ * <p>
+ * Each connection has an atomic state, and borrowing one is a compare-and-set of that state from idle to in use. A borrowing
+ * thread first tries the connection it used last, which under a steady load is usually idle and avoids contending with other
+ * threads, then scans the rest of the connections. Threads waiting for a connection when the pool is exhausted get them handed
+ * off directly by the returning threads.
+ * <p>
+ * When an eviction interval is configured, a background task periodically destroys the connections that have been idle for
+ * longer than the configured time, and validates the remaining idle ones, destroying those that are no longer valid.
+ *
+ * @param <C> the generic type of the pooled connections
+ * @since 4.5.0
+ */
+final class LockFreeConnectionPool<C> implements ConnectionPool<C> {
+
+  private static final Logger LOGGER = getLogger(LockFreeConnectionPool.class);
+
+  /**
+   * System property to use {@link LockFreeConnectionPool}s instead of commons-pool's {@code GenericObjectPool} for pooled
+   * connections.
+   */
+  static final String LOCK_FREE_CONNECTION_POOL_PROPERTY = LockFreeConnectionPool.class.getName() + ".enabled";
+
+  private static final int IDLE = 0;
+  private static final int IN_USE = 1;
+  private static final int RESERVED = 2;
+  private static final int REMOVED = -1;
+
+  private static final long HANDOFF_RECHECK_NANOS = MICROSECONDS.toNanos(100);
+
+  /**
+   * Creates, destroys and validates the connections of a {@link LockFreeConnectionPool}.
+   *
+   * @param <C> the generic type of the pooled connections
+   */
+  interface ConnectionFactory<C> {
+
+    C create() throws Exception;
+
+    void destroy(C connection) throws Exception;
+
+    boolean validate(C connection);
+  }
+
+  private final ConnectionFactory<C> factory;
+  private volatile int maxTotal;
+  private final int maxIdle;
+  private final boolean blockWhenExhausted;
+  private final long maxWaitMillis;
+  private final long minEvictableIdleNanos;
+
+  private final Object entriesLock = new Object();
+  private volatile Entry[] entries = new Entry[0];
+  private final Map<IdentityKey, Entry> entriesByConnection = new ConcurrentHashMap<>();
+  private final ThreadLocal<WeakReference<Entry>> lastUsed = new ThreadLocal<>();
+
+  private final AtomicInteger total = new AtomicInteger();
+  private final AtomicInteger idle = new AtomicInteger();
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final SynchronousQueue<Entry> handoffQueue = new SynchronousQueue<>(true);
+  // Handed off to waiters when there is capacity to create a connection instead of an idle one
+  private final Entry capacityAvailable = new Entry(null, REMOVED);
+
+  private final ScheduledFuture<?> evictionTask;
+  private volatile boolean closed;
+
+  /**
+   * @return whether {@link LockFreeConnectionPool}s are to be used for pooled connections.
+   * @see #LOCK_FREE_CONNECTION_POOL_PROPERTY
+   */
+  static boolean isLockFreeConnectionPoolEnabled() {
+    return getBoolean(LOCK_FREE_CONNECTION_POOL_PROPERTY);
+  }
+
+  /**
+   * @param factory                     the factory for the connections.
+   * @param maxTotal                    the maximum amount of connections, negative for unlimited.
+   * @param maxIdle                     the maximum amount of idle connections, negative for unlimited.
+   * @param blockWhenExhausted          whether to wait for a connection when there are {@code maxTotal} connections in use, or
+   *                                    fail right away.
+   * @param maxWaitMillis               the maximum time to wait for a connection, negative to wait indefinitely.
+   * @param minEvictableIdleMillis      the time a connection has to be idle before being evicted, non-positive to never evict
+   *                                    connections for being idle.
+   * @param evictionCheckIntervalMillis the time between runs of the eviction and validation of idle connections, non-positive to
+   *                                    not run it.
+   * @param evictor                     the scheduler to run the eviction in, which validates and destroys connections, so it has
+   *                                    to allow blocking. May be {@code null} if no eviction is to be run.
+   */
+  LockFreeConnectionPool(ConnectionFactory<C> factory, int maxTotal, int maxIdle, boolean blockWhenExhausted,
+                         long maxWaitMillis, long minEvictableIdleMillis, long evictionCheckIntervalMillis,
+                         ScheduledExecutorService evictor) {
+    this.factory = factory;
+    this.maxTotal = maxTotal;
+    this.maxIdle = maxIdle;
+    this.blockWhenExhausted = blockWhenExhausted;
+    this.maxWaitMillis = maxWaitMillis;
+    this.minEvictableIdleNanos = minEvictableIdleMillis > 0 ? MILLISECONDS.toNanos(minEvictableIdleMillis) : Long.MAX_VALUE;
+
+    if (evictor != null && evictionCheckIntervalMillis > 0) {
+      evictionTask = evictor.scheduleWithFixedDelay(this::evict, evictionCheckIntervalMillis, evictionCheckIntervalMillis,
+                                                    MILLISECONDS);
+    } else {
+      evictionTask = null;
+    }
+  }
+
+  @Override
+  public C borrowObject() throws Exception {
+    assertOpen();
+
+    final WeakReference<Entry> lastUsedRef = lastUsed.get();
+    Entry entry = lastUsedRef != null ? lastUsedRef.get() : null;
+    if (entry == null || !acquire(entry)) {
+      entry = acquireIdle();
+      if (entry == null) {
+        entry = create(IN_USE);
+      }
+      if (entry == null) {
+        if (!blockWhenExhausted) {
+          throw new NoSuchElementException("Pool exhausted");
+        }
+        entry = await();
+      }
+
+      if (lastUsedRef == null || lastUsedRef.get() != entry) {
+        lastUsed.set(new WeakReference<>(entry));
+      }
+    }
+
+    return (C) entry.connection;
+  }
+
+  private Entry acquireIdle() {
+    final Entry[] snapshot = entries;
+    final int length = snapshot.length;
+    if (length == 0 || idle.get() == 0) {
+      return null;
+    }
+
+    // Starting at a random position spreads concurrent borrowers across the connections
+    final int start = ThreadLocalRandom.current().nextInt(length);
+    for (int i = 0; i < length; ++i) {
+      final Entry entry = snapshot[(start + i) % length];
+      if (acquire(entry)) {
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private boolean acquire(Entry entry) {
+    if (entry.state.compareAndSet(IDLE, IN_USE)) {
+      idle.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private Entry await() throws Exception {
+    final long deadline = maxWaitMillis < 0 ? Long.MAX_VALUE : nanoTime() + MILLISECONDS.toNanos(maxWaitMillis);
+
+    while (true) {
+      assertOpen();
+      Entry entry = create(IN_USE);
+      if (entry != null) {
+        return entry;
+      }
+
+      // Only threads about to poll the handoff queue count as waiters, so that returning threads don't wait for a connection to
+      // be created. Connections released or capacity freed before this thread became a waiter are found by checking again.
+      waiters.incrementAndGet();
+      try {
+        assertOpen();
+        entry = acquireIdle();
+        if (entry != null) {
+          return entry;
+        }
+        if (hasCapacity()) {
+          continue;
+        }
+
+        final Entry handedOff;
+        if (deadline == Long.MAX_VALUE) {
+          handedOff = handoffQueue.take();
+        } else {
+          final long remaining = deadline - nanoTime();
+          handedOff = remaining > 0 ? handoffQueue.poll(remaining, NANOSECONDS) : null;
+          if (handedOff == null) {
+            throw new NoSuchElementException("Timeout waiting for idle object");
+          }
+        }
+
+        if (handedOff != capacityAvailable && acquire(handedOff)) {
+          return handedOff;
+        }
+      } finally {
+        waiters.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Hands the given {@code entry} off to a waiting borrower, until there are no waiters or the entry is no longer available.
+   */
+  private void handOff(Entry entry) {
+    boolean interrupted = false;
+    try {
+      while (waiters.get() > 0 && isAvailable(entry)) {
+        // The waiters are about to poll the queue, or to find the entry by themselves. Parks until one of them takes it, checking
+        // again from time to time in case they found it.
+        try {
+          if (handoffQueue.offer(entry, HANDOFF_RECHECK_NANOS, NANOSECONDS)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          // Keep handing it off, otherwise the waiters may never get it
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        currentThread().interrupt();
+      }
+    }
+  }
+
+  private boolean isAvailable(Entry entry) {
+    if (entry == capacityAvailable) {
+      return closed || hasCapacity();
+    }
+    return entry.state.get() == IDLE;
+  }
+
+  private boolean hasCapacity() {
+    final int currentMaxTotal = maxTotal;
+    return currentMaxTotal < 0 || total.get() < currentMaxTotal;
+  }
+
+  private boolean exceedsMaxTotal() {
+    final int currentMaxTotal = maxTotal;
+    return currentMaxTotal >= 0 && total.get() > currentMaxTotal;
+  }
+
+  private Entry create(int initialState) throws Exception {
+    int current;
+    do {
+      current = total.get();
+      final int currentMaxTotal = maxTotal;
+      if (currentMaxTotal >= 0 && current >= currentMaxTotal) {
+        return null;
+      }
+    } while (!total.compareAndSet(current, current + 1));
+
+    final C connection;
+    try {
+      connection = factory.create();
+    } catch (Exception | Error e) {
+      total.decrementAndGet();
+      handOff(capacityAvailable);
+      throw e;
+    }
+
+    final Entry entry = new Entry(connection, initialState);
+    synchronized (entriesLock) {
+      final Entry[] updated = copyOf(entries, entries.length + 1);
+      updated[updated.length - 1] = entry;
+      entries = updated;
+    }
+    entriesByConnection.put(new IdentityKey(connection), entry);
+
+    if (closed) {
+      remove(entry);
+      throw new IllegalStateException("Pool not open");
+    }
+    return entry;
+  }
+
+  @Override
+  public void returnObject(C connection) {
+    final Entry entry = entryFor(connection);
+    if (entry == null) {
+      throw new IllegalStateException("Returned object not currently part of this pool");
+    }
+
+    if (closed || (maxIdle >= 0 && idle.get() >= maxIdle && waiters.get() == 0) || exceedsMaxTotal()) {
+      if (entry.state.compareAndSet(IN_USE, REMOVED)) {
+        destroyQuietly(entry);
+      }
+      return;
+    }
+
+    entry.lastReturned = nanoTime();
+    if (!entry.state.compareAndSet(IN_USE, IDLE)) {
+      throw new IllegalStateException("Object has already been returned to this pool or is invalid");
+    }
+    idle.incrementAndGet();
+    handOff(entry);
+  }
+
+  @Override
+  public void invalidateObject(C connection) throws Exception {
+    final Entry entry = entryFor(connection);
+    if (entry == null) {
+      throw new IllegalStateException("Invalidated object not currently part of this pool");
+    }
+
+    if (entry.state.compareAndSet(IN_USE, REMOVED)) {
+      remove(entry);
+    }
+  }
+
+  private Entry entryFor(C connection) {
+    // The connection is usually returned by the same thread that borrowed it
+    final WeakReference<Entry> lastUsedRef = lastUsed.get();
+    final Entry entry = lastUsedRef != null ? lastUsedRef.get() : null;
+    if (entry != null && entry.connection == connection) {
+      return entry;
+    }
+    return entriesByConnection.get(new IdentityKey(connection));
+  }
+
+  @Override
+  public void addObject() throws Exception {
+    assertOpen();
+
+    final Entry entry = create(RESERVED);
+    if (entry != null) {
+      entry.lastReturned = nanoTime();
+      entry.state.set(IDLE);
+      idle.incrementAndGet();
+      handOff(entry);
+    }
+  }
+
+  private void evict() {
+    try {
+      for (Entry entry : entries) {
+        if (closed) {
+          return;
+        }
+        if (!entry.state.compareAndSet(IDLE, RESERVED)) {
+          continue;
+        }
+        idle.decrementAndGet();
+
+        if (nanoTime() - entry.lastReturned >= minEvictableIdleNanos) {
+          LOGGER.debug("Evicting connection {} for being idle", entry.connection);
+          destroyQuietly(entry);
+        } else if (!factory.validate((C) entry.connection)) {
+          LOGGER.debug("Evicting connection {} for being invalid", entry.connection);
+          destroyQuietly(entry);
+        } else {
+          entry.state.set(IDLE);
+          idle.incrementAndGet();
+          handOff(entry);
+        }
+      }
+    } catch (Throwable t) {
+      // Prevent the periodic task from being cancelled because of an unexpected error
+      LOGGER.error("Error evicting idle connections", t);
+    }
+  }
+
+  private void destroyQuietly(Entry entry) {
+    try {
+      remove(entry);
+    } catch (Exception e) {
+      LOGGER.warn("Exception was thrown trying to destroy connection " + entry.connection, e);
+    }
+  }
+
+  private void remove(Entry entry) throws Exception {
+    entry.state.set(REMOVED);
+    synchronized (entriesLock) {
+      final Entry[] current = entries;
+      for (int i = 0; i < current.length; ++i) {
+        if (current[i] == entry) {
+          final Entry[] updated = copyOf(current, current.length - 1);
+          System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+          entries = updated;
+          break;
+        }
+      }
+    }
+    entriesByConnection.remove(new IdentityKey(entry.connection));
+    total.decrementAndGet();
+
+    try {
+      factory.destroy((C) entry.connection);
+    } finally {
+      handOff(capacityAvailable);
+    }
+  }
+
+  @Override
+  public int getNumActive() {
+    return Math.max(0, total.get() - idle.get());
+  }
+
+  @Override
+  public int getNumIdle() {
+    return idle.get();
+  }
+
+  /**
+   * @return the amount of threads waiting for a connection to be handed off to them.
+   */
+  int getNumWaiters() {
+    return waiters.get();
+  }
+
+  @Override
+  public int getMaxTotal() {
+    return maxTotal;
+  }
+
+  @Override
+  public void setMaxTotal(int maxTotal) {
+    this.maxTotal = maxTotal;
+    // Waiters may now be able to create connections
+    handOff(capacityAvailable);
+  }
+
+  @Override
+  public int getMaxIdle() {
+    return maxIdle;
+  }
+
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    if (evictionTask != null) {
+      evictionTask.cancel(false);
+    }
+
+    for (Entry entry : entries) {
+      if (entry.state.compareAndSet(IDLE, RESERVED)) {
+        idle.decrementAndGet();
+        destroyQuietly(entry);
+      }
+    }
+
+    // Wake up the waiters so they fail. Each hand off wakes up a single one, so keep handing off until none is left.
+    while (waiters.get() > 0) {
+      handOff(capacityAvailable);
+    }
+  }
+
+  private void assertOpen() {
+    if (closed) {
+      throw new IllegalStateException("Pool not open");
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object connection;
+    private final AtomicInteger state;
+    private volatile long lastReturned;
+
+    private Entry(Object connection, int state) {
+      this.connection = connection;
+      this.state = new AtomicInteger(state);
+    }
+  }
+
+  /**
+   * Key to look connections up by identity, regardless of their {@code equals} and {@code hashCode}.
+   */
+  private static final class IdentityKey {
+
+    private final Object instance;
+
+    private IdentityKey(Object instance) {
+      this.instance = instance;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(instance);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof IdentityKey && ((IdentityKey) obj).instance == instance;
+    }
+  }
+}
@@ -16,7 +16,6 @@ import org.mule.runtime.api.exception.MuleException;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +30,11 @@ final class PoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
   private static final Logger LOGGER = LoggerFactory.getLogger(PoolingConnectionHandler.class);
 
   private C connection;
-  private final GenericObjectPool<C> pool;
+  private final ConnectionPool<C> pool;
   private final String poolId;
   private final PoolingListener poolingListener;
   private final ConnectionProvider connectionProvider;
+  private final ConnectionPoolStatistics statistics;
   private final AtomicBoolean released = new AtomicBoolean(false);
 
   /**
@@ -42,14 +42,16 @@ final class PoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
    *
    * @param connection the connection to be wrapped
    * @param pool       the pool from which the {@code connection} was obtained and to which it has to be returned
+   * @param statistics the statistics of the {@code pool}
    */
-  PoolingConnectionHandler(C connection, GenericObjectPool<C> pool, String poolId, PoolingListener poolingListener,
-                           ConnectionProvider connectionProvider) {
+  PoolingConnectionHandler(C connection, ConnectionPool<C> pool, String poolId, PoolingListener poolingListener,
+                           ConnectionProvider connectionProvider, ConnectionPoolStatistics statistics) {
     this.connection = connection;
     this.pool = pool;
     this.poolId = poolId;
     this.poolingListener = poolingListener;
     this.connectionProvider = connectionProvider;
+    this.statistics = statistics;
   }
 
   /**
@@ -115,6 +117,13 @@ final class PoolingConnectionHandler<C> implements ConnectionHandlerAdapter<C> {
     return connectionProvider;
   }
 
+  /**
+   * @return the statistics of the pool the connection was obtained from
+   */
+  ConnectionPoolStatistics getPoolStatistics() {
+    return statistics;
+  }
+
   /**
    * Does nothing for this implementation. Connections are only closed when the pool is.
    */
@@ -7,37 +7,55 @@
 package org.mule.runtime.core.internal.connection;
 
 import static java.lang.Integer.MAX_VALUE;
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.min;
+import static java.lang.System.nanoTime;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ALL;
 import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_NONE;
 import static org.mule.runtime.api.config.PoolingProfile.INITIALISE_ONE;
 import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_GROW;
+import static org.mule.runtime.api.config.PoolingProfile.WHEN_EXHAUSTED_WAIT;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.connection.AdaptivePoolSizer.INTERVAL_MILLIS;
+import static org.mule.runtime.core.internal.connection.AdaptivePoolSizer.isAdaptivePoolSizingEnabled;
 import static org.mule.runtime.core.internal.connection.ConnectionUtils.logPoolStatus;
+import static org.mule.runtime.core.internal.connection.LockFreeConnectionPool.isLockFreeConnectionPoolEnabled;
 
 import org.mule.runtime.api.config.PoolingProfile;
 import org.mule.runtime.api.connection.ConnectionException;
 import org.mule.runtime.api.connection.ConnectionHandler;
 import org.mule.runtime.api.connection.ConnectionProvider;
+import org.mule.runtime.api.connection.ConnectionValidationResult;
 import org.mule.runtime.api.connection.PoolingListener;
 import org.mule.runtime.api.exception.DefaultMuleException;
 import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.pool2.BasePooledObjectFactory;
-import org.apache.commons.pool2.ObjectPool;
 import org.apache.commons.pool2.PooledObject;
 import org.apache.commons.pool2.impl.DefaultPooledObject;
-import org.apache.commons.pool2.impl.GenericObjectPool;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * A {@link ConnectionManagementStrategy} which returns connections obtained from a {@link #pool}
+ * <p>
+ * The pool is a commons-pool {@code GenericObjectPool}, unless {@link LockFreeConnectionPool}s are enabled through
+ * {@link LockFreeConnectionPool#LOCK_FREE_CONNECTION_POOL_PROPERTY}. The connections created by the initialisation policy are
+ * created in parallel when {@link #PARALLEL_WARM_UP_PROPERTY} is set, and the maximum size of pools that wait when exhausted is
+ * adjusted to the waits of the borrowers when {@link AdaptivePoolSizer#ADAPTIVE_POOL_SIZING_PROPERTY} is set.
  *
  * @param <C> the generic type of the connections to be managed
  * @since 4.0
@@ -46,10 +64,19 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PoolingConnectionManagementStrategy.class);
 
+  /**
+   * System property to create the connections of the pool initialisation policy in parallel.
+   */
+  static final String PARALLEL_WARM_UP_PROPERTY = PoolingConnectionManagementStrategy.class.getName() + ".parallelWarmUp";
+
   private final PoolingProfile poolingProfile;
-  private final GenericObjectPool<C> pool;
+  private final ConnectionPool<C> pool;
   private final String poolId;
   private final PoolingListener<C> poolingListener;
+  private final ConnectionPoolStatistics statistics;
+  // Time spent by each thread creating connections, so that it is not accounted as waiting when creating on borrow
+  private final ThreadLocal<long[]> creationNanos = ThreadLocal.withInitial(() -> new long[1]);
+  private Scheduler scheduler;
 
   /**
    * Creates a new instance
@@ -65,6 +92,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     this.poolingProfile = poolingProfile;
     this.poolingListener = poolingListener;
     this.poolId = ownerConfigName.concat("-").concat(generateId());
+    this.statistics = new ConnectionPoolStatistics(poolId, ownerConfigName);
     this.pool = createPool(ownerConfigName);
   }
 
@@ -77,7 +105,7 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   @Override
   public ConnectionHandler<C> getConnectionHandler() throws ConnectionException {
     try {
-      return new PoolingConnectionHandler<>(borrowConnection(), pool, poolId, poolingListener, connectionProvider);
+      return new PoolingConnectionHandler<>(borrowConnection(), pool, poolId, poolingListener, connectionProvider, statistics);
     } catch (ConnectionException e) {
       throw e;
     } catch (NoSuchElementException e) {
@@ -88,7 +116,17 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
   }
 
   private C borrowConnection() throws Exception {
-    C connection = pool.borrowObject();
+    final long[] threadCreationNanos = creationNanos.get();
+    final long creationNanosBefore = threadCreationNanos[0];
+    final long borrowStart = nanoTime();
+    C connection;
+    try {
+      connection = pool.borrowObject();
+    } catch (NoSuchElementException e) {
+      statistics.addExhaustedBorrow(nanoTime() - borrowStart - (threadCreationNanos[0] - creationNanosBefore));
+      throw e;
+    }
+    statistics.addBorrow(nanoTime() - borrowStart - (threadCreationNanos[0] - creationNanosBefore));
     LOGGER.debug("Acquiring connection {} from the pool {}", connection.toString(), poolId);
     logPoolStatus(LOGGER, pool, poolId);
     try {
@@ -115,10 +153,39 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
       pool.close();
     } catch (Exception e) {
       throw new DefaultMuleException(createStaticMessage("Could not close connection pool"), e);
+    } finally {
+      if (scheduler != null) {
+        scheduler.stop();
+      }
     }
   }
 
-  private GenericObjectPool<C> createPool(String ownerConfigName) {
+  /**
+   * @return the statistics of the {@link #pool}.
+   */
+  @Override
+  Optional<ConnectionPoolStatistics> getPoolStatistics() {
+    return of(statistics);
+  }
+
+  private ConnectionPool<C> createPool(String ownerConfigName) {
+    ConnectionPool<C> connectionPool = isLockFreeConnectionPoolEnabled() ? createLockFreePool() : createGenericPool();
+    statistics.setPool(connectionPool);
+    LOGGER.debug("Creating pool with ID {} for config {}", poolId, ownerConfigName);
+
+    applyInitialisationPolicy(connectionPool);
+    logPoolStatus(LOGGER, connectionPool, poolId);
+
+    if (isAdaptivePoolSizingEnabled() && poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_WAIT
+        && poolingProfile.getMaxActive() > 0) {
+      getScheduler().scheduleWithFixedDelay(new AdaptivePoolSizer(connectionPool, statistics, poolingProfile.getMaxActive()),
+                                            INTERVAL_MILLIS, INTERVAL_MILLIS, MILLISECONDS);
+    }
+
+    return connectionPool;
+  }
+
+  private ConnectionPool<C> createGenericPool() {
     GenericObjectPoolConfig<C> config = new GenericObjectPoolConfig<>();
 
     config.setMaxIdle(poolingProfile.getMaxIdle());
@@ -141,16 +208,29 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     config.setMaxWaitMillis(poolingProfile.getMaxWait());
     config.setMinEvictableIdleTimeMillis(poolingProfile.getMinEvictionMillis());
     config.setTimeBetweenEvictionRunsMillis(poolingProfile.getEvictionCheckIntervalMillis());
-    GenericObjectPool<C> genericPool = new GenericObjectPool<>(new ObjectFactoryAdapter(), config);
-    LOGGER.debug("Creating pool with ID {} for config {}", poolId, ownerConfigName);
+    return new CommonsConnectionPool<>(new ObjectFactoryAdapter(), config);
+  }
 
-    applyInitialisationPolicy(genericPool);
-    logPoolStatus(LOGGER, genericPool, poolId);
+  private ConnectionPool<C> createLockFreePool() {
+    int maxTotal = poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_GROW ? -1 : poolingProfile.getMaxActive();
+    boolean blockWhenExhausted = poolingProfile.getExhaustedAction() == WHEN_EXHAUSTED_WAIT;
 
-    return genericPool;
+    return new LockFreeConnectionPool<>(new ConnectionFactoryAdapter(), maxTotal, poolingProfile.getMaxIdle(),
+                                        blockWhenExhausted, poolingProfile.getMaxWait(),
+                                        poolingProfile.getMinEvictionMillis(),
+                                        poolingProfile.getEvictionCheckIntervalMillis(),
+                                        poolingProfile.getEvictionCheckIntervalMillis() > 0 ? getScheduler() : null);
   }
 
-  protected void applyInitialisationPolicy(GenericObjectPool pool) {
+  private Scheduler getScheduler() {
+    if (scheduler == null) {
+      // The eviction validates and disconnects connections, which usually involves network I/O
+      scheduler = muleContext.getSchedulerService().ioScheduler();
+    }
+    return scheduler;
+  }
+
+  protected void applyInitialisationPolicy(ConnectionPool<C> pool) {
     int initialConnections;
     switch (poolingProfile.getInitialisationPolicy()) {
       case INITIALISE_NONE:
@@ -174,6 +254,11 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
 
     LOGGER.debug("Initializing pool {} with {} initial connections", poolId, initialConnections);
+    if (initialConnections > 1 && getBoolean(PARALLEL_WARM_UP_PROPERTY)) {
+      warmUpInParallel(pool, initialConnections);
+      return;
+    }
+
     for (int t = 0; t < initialConnections; t++) {
       try {
         pool.addObject();
@@ -183,10 +268,52 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
     }
   }
 
+  private void warmUpInParallel(ConnectionPool<C> pool, int initialConnections) {
+    Scheduler warmUpScheduler = muleContext.getSchedulerService().ioScheduler();
+    try {
+      List<Future<?>> connections = new ArrayList<>(initialConnections);
+      for (int t = 0; t < initialConnections; t++) {
+        connections.add(warmUpScheduler.submit(() -> {
+          pool.addObject();
+          return null;
+        }));
+      }
+
+      for (Future<?> connection : connections) {
+        try {
+          connection.get();
+        } catch (ExecutionException e) {
+          LOGGER.warn("Failed to create a connection while applying the pool initialization policy.", e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn("Interrupted while applying the initialization policy of pool {}", poolId);
+    } finally {
+      warmUpScheduler.stop();
+    }
+  }
+
   public PoolingProfile getPoolingProfile() {
     return poolingProfile;
   }
 
+  private C createConnection() throws Exception {
+    long creationStart = nanoTime();
+    C connection = connectionProvider.connect();
+    final long creationTime = nanoTime() - creationStart;
+    creationNanos.get()[0] += creationTime;
+    statistics.addCreation(creationTime);
+    LOGGER.debug("Created connection {}", connection.toString());
+    return connection;
+  }
+
+  private void destroyConnection(C connection) {
+    LOGGER.debug("Disconnecting connection {}", connection.toString());
+    statistics.addDestruction();
+    connectionProvider.disconnect(connection);
+  }
+
   private class ObjectFactoryAdapter extends BasePooledObjectFactory<C> {
 
     @Override
@@ -196,15 +323,12 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
 
     @Override
     public C create() throws Exception {
-      C connection = connectionProvider.connect();
-      LOGGER.debug("Created connection {}", connection.toString());
-      return connection;
+      return createConnection();
     }
 
     @Override
     public void destroyObject(final PooledObject<C> connection) throws Exception {
-      LOGGER.debug("Disconnecting connection {}", connection.getObject().toString());
-      connectionProvider.disconnect(connection.getObject());
+      destroyConnection(connection.getObject());
     }
 
     @Override
@@ -214,6 +338,33 @@ final class PoolingConnectionManagementStrategy<C> extends ConnectionManagementS
 
   }
 
+  private class ConnectionFactoryAdapter implements LockFreeConnectionPool.ConnectionFactory<C> {
+
+    @Override
+    public C create() throws Exception {
+      return createConnection();
+    }
+
+    @Override
+    public void destroy(C connection) {
+      destroyConnection(connection);
+    }
+
+    @Override
+    public boolean validate(C connection) {
+      try {
+        ConnectionValidationResult result = connectionProvider.validate(connection);
+        if (result != null && result.isValid()) {
+          return true;
+        }
+      } catch (Exception e) {
+        LOGGER.debug("Exception was thrown validating connection {} of pool {}", connection, poolId, e);
+      }
+      statistics.addValidationFailure();
+      return false;
+    }
+  }
+
   private String generateId() {
     return UUID.randomUUID().toString();
   }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.construct;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Limits the amount of events a flow processes concurrently, adapting that limit to the latency observed for the events it
+ * processes (AIMD: additive increase, multiplicative decrease).
+ * <p>
+ * The latency when the flow is not under pressure is estimated as the minimum observed latency, which slowly drifts towards newer
+ * samples so that permanent changes in the latency of the flow are eventually accepted as the new baseline. When the smoothed
+ * latency exceeds that baseline by more than the configured tolerance, the limit is reduced by the backoff ratio, at most once per
+ * window of samples. When the latency is within tolerance and the flow is actually using its limit, the limit grows by about one
+ * for each window of samples.
+ * <p>
+ * Permits are acquired without locking. Samples are recorded under a lock, since the processing of each sample is short and only
+ * happens once per completed event.
+ *
+ * @since 4.5.0
+ */
+final class AdaptiveConcurrencyLimiter {
+
+  private static final Logger LOGGER = getLogger(AdaptiveConcurrencyLimiter.class);
+
+  private static final double SMOOTHING_FACTOR = 0.2;
+  private static final double BASELINE_DRIFT = 0.0001;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double latencyTolerance;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  // Guarded by this
+  private double fractionalLimit;
+  private double baselineLatency = -1;
+  private double smoothedLatency = -1;
+  private int samplesSinceDecrease;
+
+  /**
+   * @param initialLimit     the amount of concurrent events allowed before any latency is observed.
+   * @param minLimit         the amount of concurrent events that are always allowed, regardless of the observed latency.
+   * @param maxLimit         the maximum amount of concurrent events allowed, regardless of the observed latency.
+   * @param backoffRatio     the factor the limit is multiplied by when the latency degrades, between 0 and 1.
+   * @param latencyTolerance how many times the baseline latency has to be exceeded for the latency to be considered degraded.
+   */
+  AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, double latencyTolerance) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Invalid limits: min=" + minLimit + ", max=" + maxLimit);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be between 0 and 1: " + backoffRatio);
+    }
+    if (latencyTolerance < 1) {
+      throw new IllegalArgumentException("latencyTolerance must not be less than 1: " + latencyTolerance);
+    }
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.latencyTolerance = latencyTolerance;
+    this.limit = max(minLimit, min(initialLimit, maxLimit));
+    this.fractionalLimit = limit;
+  }
+
+  /**
+   * Tries to get a permit to process an event. If successful, {@link #release(long)} must be called once that event is processed.
+   *
+   * @return whether the event may be processed.
+   */
+  boolean tryAcquire() {
+    int current;
+    do {
+      current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+    } while (!inFlight.compareAndSet(current, current + 1));
+
+    return true;
+  }
+
+  /**
+   * Returns a permit obtained with {@link #tryAcquire()} without recording a latency sample, for events that were finally not
+   * processed.
+   */
+  void cancel() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Returns a permit obtained with {@link #tryAcquire()}, adjusting the limit according to the latency of the processed event.
+   *
+   * @param latencyNanos how long it took to process the event.
+   */
+  void release(long latencyNanos) {
+    final int inFlightBefore = inFlight.getAndDecrement();
+    onSample(latencyNanos, inFlightBefore);
+  }
+
+  private synchronized void onSample(long latencyNanos, int inFlightBefore) {
+    if (baselineLatency < 0) {
+      baselineLatency = latencyNanos;
+      smoothedLatency = latencyNanos;
+      return;
+    }
+
+    if (latencyNanos < baselineLatency) {
+      baselineLatency = latencyNanos;
+    } else {
+      baselineLatency += (latencyNanos - baselineLatency) * BASELINE_DRIFT;
+    }
+    smoothedLatency += (latencyNanos - smoothedLatency) * SMOOTHING_FACTOR;
+    ++samplesSinceDecrease;
+
+    if (smoothedLatency > baselineLatency * latencyTolerance) {
+      // Only back off once per window, since the samples of events started with the previous limit are still arriving.
+      if (samplesSinceDecrease >= limit) {
+        fractionalLimit = max(minLimit, fractionalLimit * backoffRatio);
+        samplesSinceDecrease = 0;
+        updateLimit();
+      }
+    } else if (inFlightBefore * 2 >= limit) {
+      fractionalLimit = min(maxLimit, fractionalLimit + 1.0 / fractionalLimit);
+      updateLimit();
+    }
+  }
+
+  private void updateLimit() {
+    final int newLimit = (int) fractionalLimit;
+    if (newLimit != limit) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Concurrency limit changed from {} to {} (latency: baseline={}ns, smoothed={}ns)", limit, newLimit,
+                     (long) baselineLatency, (long) smoothedLatency);
+      }
+      limit = newLimit;
+    }
+  }
+
+  /**
+   * @return the current amount of concurrent events allowed.
+   */
+  int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the amount of events currently being processed with a permit from this limiter.
+   */
+  int getInFlight() {
+    return inFlight.get();
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveConcurrencyLimiter{limit=" + limit + ", inFlight=" + inFlight.get() + "}";
+  }
+}
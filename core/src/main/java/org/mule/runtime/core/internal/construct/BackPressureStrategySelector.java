@@ -6,14 +6,23 @@
  */
 package org.mule.runtime.core.internal.construct;
 
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Double.parseDouble;
+import static java.lang.Integer.getInteger;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.getProperty;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.sleep;
+import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy.WAIT;
 import static org.mule.runtime.core.internal.construct.FlowBackPressureException.createAndThrowIfNeeded;
 
 import org.mule.runtime.core.api.construct.BackPressureReason;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.source.MessageSource;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +31,10 @@ import org.slf4j.LoggerFactory;
  * Implements the different backpressure handling strategies, and checks against a
  * {@link org.mule.runtime.core.api.processor.strategy.ProcessingStrategy} whether or not backpressure is fired, before and event
  * being processing.
+ * <p>
+ * When the {@link #ADAPTIVE_CONCURRENCY_PROPERTY} system property is set, the events coming from the source of the flow are also
+ * limited by an {@link AdaptiveConcurrencyLimiter}, which lowers the amount of events processed concurrently when the latency of
+ * the flow degrades and raises it back when it recovers, up to the {@code maxConcurrency} of the flow.
  *
  * @Since 4.3
  */
@@ -31,10 +44,37 @@ class BackPressureStrategySelector {
 
   private static int EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS = 2;
 
+  static final String SYSTEM_PROPERTY_PREFIX = BackPressureStrategySelector.class.getName() + ".";
+  static final String ADAPTIVE_CONCURRENCY_PROPERTY = SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_CONCURRENCY";
+  static final String ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_CONCURRENCY_INITIAL_LIMIT";
+  static final String ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_CONCURRENCY_MIN_LIMIT";
+  static final String ADAPTIVE_CONCURRENCY_LATENCY_TOLERANCE_PROPERTY =
+      SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_CONCURRENCY_LATENCY_TOLERANCE";
+
+  private static final double ADAPTIVE_CONCURRENCY_BACKOFF_RATIO = 0.9;
+
   private final AbstractPipeline abstractPipeline;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
 
   public BackPressureStrategySelector(AbstractPipeline abstractPipeline) {
+    this(abstractPipeline, getBoolean(ADAPTIVE_CONCURRENCY_PROPERTY)
+        ? createAdaptiveConcurrencyLimiter(abstractPipeline.getMaxConcurrency())
+        : null);
+  }
+
+  BackPressureStrategySelector(AbstractPipeline abstractPipeline, AdaptiveConcurrencyLimiter concurrencyLimiter) {
     this.abstractPipeline = abstractPipeline;
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  private static AdaptiveConcurrencyLimiter createAdaptiveConcurrencyLimiter(int maxConcurrency) {
+    final int minLimit = min(getInteger(ADAPTIVE_CONCURRENCY_MIN_LIMIT_PROPERTY, 1), maxConcurrency);
+    return new AdaptiveConcurrencyLimiter(getInteger(ADAPTIVE_CONCURRENCY_INITIAL_LIMIT_PROPERTY,
+                                                     4 * getRuntime().availableProcessors()),
+                                          minLimit,
+                                          maxConcurrency,
+                                          ADAPTIVE_CONCURRENCY_BACKOFF_RATIO,
+                                          parseDouble(getProperty(ADAPTIVE_CONCURRENCY_LATENCY_TOLERANCE_PROPERTY, "2.0")));
   }
 
   /**
@@ -95,10 +135,59 @@ class BackPressureStrategySelector {
    */
   public void check(CoreEvent event)
       throws FlowBackPressureException {
+    if (concurrencyLimiter == null) {
+      doCheck(event);
+      return;
+    }
+
+    acquireConcurrencyPermit(event);
+    try {
+      doCheck(event);
+    } catch (FlowBackPressureException | RuntimeException e) {
+      concurrencyLimiter.cancel();
+      throw e;
+    }
+
+    final long startNanos = nanoTime();
+    ((BaseEventContext) event.getContext()).onBeforeResponse((e, t) -> concurrencyLimiter.release(nanoTime() - startNanos));
+  }
+
+  private void doCheck(CoreEvent event) throws FlowBackPressureException {
     if (abstractPipeline.getSource().getBackPressureStrategy() == WAIT) {
       checkWithWaitStrategy(event);
     } else {
       checkWithFailDropStrategy(event);
     }
   }
+
+  /**
+   * Gets a permit from the {@link AdaptiveConcurrencyLimiter} for the given event, waiting for it or failing according to the
+   * {@link org.mule.runtime.core.api.source.MessageSource.BackPressureStrategy} of the source.
+   *
+   * @param event the event about to begin processing
+   * @throws FlowBackPressureException
+   */
+  private void acquireConcurrencyPermit(CoreEvent event) throws FlowBackPressureException {
+    if (abstractPipeline.getSource().getBackPressureStrategy() == WAIT) {
+      while (!concurrencyLimiter.tryAcquire()) {
+        try {
+          sleep(EVENT_LOOP_SCHEDULER_BUSY_RETRY_INTERVAL_MS);
+        } catch (InterruptedException e) {
+          currentThread().interrupt();
+          createAndThrowIfNeeded(abstractPipeline, MAX_CONCURRENCY_EXCEEDED, e);
+        }
+      }
+    } else if (!concurrencyLimiter.tryAcquire()) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("adaptiveConcurrency - @ " + event.getContext().getOriginatingLocation().getRootContainerName() + ": "
+            + concurrencyLimiter);
+      }
+
+      throw abstractPipeline.getBackPressureExceptions().get(MAX_CONCURRENCY_EXCEEDED);
+    }
+  }
+
+  AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.context.notification;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Integer.getInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.Notification;
+import org.mule.runtime.api.notification.NotificationListener;
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+
+/**
+ * Delivers asynchronous notifications to non-blocking listeners in batches, instead of submitting a task to a scheduler for
+ * each listener of each notification.
+ * <p>
+ * Notifications are put in a bounded ring buffer, without allocating, and a single task of a dedicated scheduler takes them
+ * from it and calls the listeners until it is empty, yielding after each batch. When the buffer is full, the notification is
+ * submitted to the overflow scheduler instead, as it would have been without this dispatcher. Only when that is rejected too is
+ * the notification dropped.
+ *
+ * @since 4.5.0
+ */
+public final class BatchedNotificationDispatcher {
+
+  private static final Logger LOGGER = getLogger(BatchedNotificationDispatcher.class);
+
+  /**
+   * System property to deliver asynchronous notifications to non-blocking listeners through a
+   * {@link BatchedNotificationDispatcher}.
+   */
+  public static final String BATCHED_NOTIFICATION_DISPATCH_PROPERTY = BatchedNotificationDispatcher.class.getName() + ".enabled";
+
+  /**
+   * System property with the amount of notifications that can be waiting to be delivered, rounded up to a power of two.
+   * Defaults to {@code 8192}.
+   */
+  public static final String CAPACITY_PROPERTY = BatchedNotificationDispatcher.class.getName() + ".capacity";
+
+  /**
+   * System property with the amount of notifications delivered by the task of the dedicated scheduler before yielding to other
+   * threads. Defaults to {@code 256}.
+   */
+  public static final String BATCH_SIZE_PROPERTY = BatchedNotificationDispatcher.class.getName() + ".batchSize";
+
+  private final NotificationListener[] listeners;
+  private final Notification[] notifications;
+  // For each slot, the position of the next notification to be put in it, or that position plus one once it has been put
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final int batchSize;
+
+  private final AtomicLong tail = new AtomicLong();
+  private volatile long head;
+  private final AtomicBoolean draining = new AtomicBoolean(false);
+
+  private final Scheduler drainScheduler;
+  private final Scheduler overflowScheduler;
+
+  private final LongAdder overflowed = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * @return whether asynchronous notifications are to be delivered in batches.
+   * @see #BATCHED_NOTIFICATION_DISPATCH_PROPERTY
+   */
+  public static boolean isBatchedNotificationDispatchEnabled() {
+    return getBoolean(BATCHED_NOTIFICATION_DISPATCH_PROPERTY);
+  }
+
+  /**
+   * Creates a dispatcher with the capacity and batch size from the system properties.
+   *
+   * @param drainScheduler    the scheduler to deliver the notifications in. It must be dedicated to this dispatcher.
+   * @param overflowScheduler the scheduler to deliver the notifications in when the buffer is full.
+   */
+  public BatchedNotificationDispatcher(Scheduler drainScheduler, Scheduler overflowScheduler) {
+    this(getInteger(CAPACITY_PROPERTY, 8192), getInteger(BATCH_SIZE_PROPERTY, 256), drainScheduler, overflowScheduler);
+  }
+
+  /**
+   * @param capacity          the amount of notifications that can be waiting to be delivered, rounded up to a power of two.
+   * @param batchSize         the amount of notifications delivered before yielding to other threads.
+   * @param drainScheduler    the scheduler to deliver the notifications in. It must be dedicated to this dispatcher, and
+   *                          accept a task while the previous one is finishing.
+   * @param overflowScheduler the scheduler to deliver the notifications in when the buffer is full.
+   */
+  public BatchedNotificationDispatcher(int capacity, int batchSize, Scheduler drainScheduler, Scheduler overflowScheduler) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be greater than zero");
+    }
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize must be greater than zero");
+    }
+
+    int size = 1;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    this.listeners = new NotificationListener[size];
+    this.notifications = new Notification[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; ++i) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.batchSize = batchSize;
+    this.drainScheduler = drainScheduler;
+    this.overflowScheduler = overflowScheduler;
+  }
+
+  /**
+   * Delivers a notification to a listener asynchronously.
+   *
+   * @param listener     the listener to deliver the notification to.
+   * @param notification the notification to deliver.
+   */
+  public void dispatch(NotificationListener listener, Notification notification) {
+    if (offer(listener, notification)) {
+      if (!draining.get()) {
+        scheduleDrain();
+      }
+      return;
+    }
+
+    overflowed.increment();
+    try {
+      overflowScheduler.submit(() -> deliver(listener, notification));
+    } catch (RejectedExecutionException e) {
+      dropped.increment();
+      LOGGER.debug("Notification {} for listener {} dropped", notification, listener, e);
+    }
+  }
+
+  private boolean offer(NotificationListener listener, Notification notification) {
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = (int) position & mask;
+      final long available = sequences.get(index) - position;
+      if (available == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = tail.get();
+      } else if (available < 0) {
+        // The slot still holds the notification put a lap before, so the buffer is full
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+
+    listeners[index] = listener;
+    notifications[index] = notification;
+    // Publishes the slot contents to the draining thread
+    sequences.set(index, position + 1);
+    return true;
+  }
+
+  private void scheduleDrain() {
+    if (draining.compareAndSet(false, true)) {
+      try {
+        drainScheduler.submit(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        LOGGER.debug("Could not schedule the delivery of notifications", e);
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      int delivered;
+      do {
+        delivered = 0;
+        while (delivered < batchSize && deliverNext()) {
+          ++delivered;
+        }
+        // Let other threads run between batches
+        Thread.yield();
+      } while (delivered == batchSize);
+    } finally {
+      draining.set(false);
+    }
+
+    // Some were put while the draining flag was being cleared
+    if (!isEmpty()) {
+      scheduleDrain();
+    }
+  }
+
+  /**
+   * Must only be called by the single thread draining the buffer.
+   */
+  private boolean deliverNext() {
+    final long position = head;
+    final int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return false;
+    }
+
+    final NotificationListener listener = listeners[index];
+    final Notification notification = notifications[index];
+    listeners[index] = null;
+    notifications[index] = null;
+    sequences.set(index, position + mask + 1);
+    head = position + 1;
+
+    deliver(listener, notification);
+    return true;
+  }
+
+  private boolean isEmpty() {
+    final long position = head;
+    return sequences.get((int) position & mask) != position + 1;
+  }
+
+  private void deliver(NotificationListener listener, Notification notification) {
+    try {
+      listener.onNotification(notification);
+    } catch (Throwable e) {
+      LOGGER.info("NotificationListener {} was unable to fire notification {} due to an exception: {}.", listener, notification,
+                  e);
+    }
+  }
+
+  /**
+   * Stops the dedicated scheduler, and then delivers the notifications still in the buffer in the calling thread.
+   */
+  public void dispose() {
+    drainScheduler.stop();
+
+    // The scheduler is stopped, so nothing else is draining the buffer anymore
+    while (deliverNext()) {
+      // Deliver all the remaining ones
+    }
+  }
+
+  /**
+   * @return the amount of notifications that did not fit in the buffer, and were submitted to the overflow scheduler instead.
+   */
+  public long getOverflowedCount() {
+    return overflowed.sum();
+  }
+
+  /**
+   * @return the amount of notifications that did not fit in the buffer and were rejected by the overflow scheduler, so they were
+   *         not delivered.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+}
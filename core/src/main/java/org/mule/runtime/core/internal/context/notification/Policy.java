@@ -36,7 +36,8 @@ public class Policy {
   // map from event to set of senders
   private Map<Class<? extends Notification>, Collection<Sender>> eventToSenders =
       new HashMap<>();
-  private Map<Class<? extends Notification>, Collection<Sender>> concreteEventToSenders =
+  // map from the concrete class of the notifications to the senders for it, resolved once for each class
+  private Map<Class<? extends Notification>, Sender[]> concreteEventToSenders =
       new ConcurrentHashMap<>();
 
   // these are cumulative - set values should never change, they are just a cache of known info
@@ -115,28 +116,30 @@ public class Policy {
   protected boolean doDispatch(Notification notification, Class<? extends Notification> notfnClass,
                                NotifierCallback notifier) {
     // Optimization to avoid iterating the eventToSenders map each time a notification is fired
-    Collection<Sender> senders = concreteEventToSenders.get(notfnClass);
+    Sender[] senders = concreteEventToSenders.get(notfnClass);
     if (senders != null) {
       dispatchToSenders(notification, senders, notifier);
       return true;
     }
 
-    senders = new ArrayList<>();
+    Collection<Sender> resolvedSenders = new ArrayList<>();
     for (Entry<Class<? extends Notification>, Collection<Sender>> event : eventToSenders.entrySet()) {
       if (event.getKey().isAssignableFrom(notfnClass)) {
-        senders.addAll(event.getValue());
+        resolvedSenders.addAll(event.getValue());
       }
     }
 
-    if (!senders.isEmpty()) {
+    if (!resolvedSenders.isEmpty()) {
+      // An array, so that dispatching does not allocate an iterator for each notification
+      senders = resolvedSenders.toArray(new Sender[resolvedSenders.size()]);
       dispatchToSenders(notification, senders, notifier);
       concreteEventToSenders.putIfAbsent(notfnClass, senders);
     }
 
-    return !senders.isEmpty();
+    return !resolvedSenders.isEmpty();
   }
 
-  private void dispatchToSenders(Notification notification, Collection<Sender> senders, NotifierCallback notifier) {
+  private void dispatchToSenders(Notification notification, Sender[] senders, NotifierCallback notifier) {
     for (Sender sender : senders) {
       try {
         if (LOGGER.isDebugEnabled()) {
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Collections.emptyList;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+import org.mule.runtime.api.el.ModuleElementName;
+import org.mule.runtime.api.metadata.MediaType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link CompiledExpression} for an expression that is just a constant or the lookup of a binding (for instance,
+ * {@code #[payload]} or {@code #[vars.foo]}), which can be resolved directly from the event or binding context it is evaluated
+ * with, without going through the expression language.
+ * <p>
+ * Such expressions are recognized by {@link SimpleExpressionAnalyzer}. When the value can't be resolved directly (for instance,
+ * because the variable is not defined), the expression has to be evaluated by the expression language from its text, so that the
+ * result is exactly the same as if it had not been recognized.
+ *
+ * @since 4.5.0
+ */
+public final class AccessorCompiledExpression implements CompiledExpression {
+
+  private final String expression;
+  private final BiFunction<CoreEvent, BindingContext, TypedValue<?>> accessor;
+
+  AccessorCompiledExpression(String expression, BiFunction<CoreEvent, BindingContext, TypedValue<?>> accessor) {
+    this.expression = expression;
+    this.accessor = accessor;
+  }
+
+  /**
+   * Resolves the value of this expression from the given {@code event}, if present, or else from the given {@code context}.
+   *
+   * @param event   the event the expression is evaluated for, may be {@code null}.
+   * @param context the context the expression is evaluated with, may be {@code null}.
+   * @return the value of the expression, or {@code null} if it has to be evaluated by the expression language.
+   */
+  public TypedValue<?> resolve(CoreEvent event, BindingContext context) {
+    return accessor.apply(event, context);
+  }
+
+  @Override
+  public String expression() {
+    return expression;
+  }
+
+  @Override
+  public Optional<MediaType> outputType() {
+    return Optional.empty();
+  }
+
+  @Override
+  public List<ModuleElementName> externalDependencies() {
+    return emptyList();
+  }
+
+  @Override
+  public String toString() {
+    return "AccessorCompiledExpression{" + expression + "}";
+  }
+}
@@ -43,6 +43,7 @@ import org.mule.runtime.core.privileged.transformer.TransformersRegistry;
 import org.mule.runtime.core.privileged.util.TemplateParser;
 
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.inject.Inject;
@@ -157,6 +158,13 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
 
   @Override
   public CompiledExpression compile(String expression, BindingContext context) throws ExpressionCompilationException {
+    if (!melDefault && !hasMelExpression(expression)) {
+      // Constants and lookups of bindings are resolved directly when evaluated in a session, without going to DataWeave
+      final Optional<AccessorCompiledExpression> accessor = SimpleExpressionAnalyzer.analyze(expression);
+      if (accessor.isPresent()) {
+        return accessor.get();
+      }
+    }
     return expressionLanguage.compile(expression, context);
   }
 
@@ -356,14 +364,14 @@ public class DefaultExpressionManager implements ExtendedExpressionManager {
   @Override
   public ExpressionManagerSession openSession(BindingContext context) {
     return new DefaultExpressionManagerSession(new LazyValue<>(() -> expressionLanguage.openSession(null, null, context)),
-                                               currentThread().getContextClassLoader());
+                                               currentThread().getContextClassLoader(), null, context);
   }
 
   @Override
   public ExpressionManagerSession openSession(ComponentLocation componentLocation, CoreEvent event, BindingContext context) {
     return new DefaultExpressionManagerSession(new LazyValue<>(() -> expressionLanguage.openSession(componentLocation, event,
                                                                                                     context)),
-                                               currentThread().getContextClassLoader());
+                                               currentThread().getContextClassLoader(), event, context);
   }
 
   @Inject
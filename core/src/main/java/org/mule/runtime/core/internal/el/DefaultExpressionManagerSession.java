@@ -9,12 +9,14 @@ package org.mule.runtime.core.internal.el;
 import static java.lang.Thread.currentThread;
 import static org.mule.runtime.core.internal.el.DefaultExpressionManager.resolveBoolean;
 
+import org.mule.runtime.api.el.BindingContext;
 import org.mule.runtime.api.el.CompiledExpression;
 import org.mule.runtime.api.el.ExpressionExecutionException;
 import org.mule.runtime.api.metadata.DataType;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
 
 import java.util.Iterator;
@@ -24,10 +26,15 @@ class DefaultExpressionManagerSession implements ExpressionManagerSession {
 
   private final LazyValue<ExpressionLanguageSessionAdaptor> session;
   private final ClassLoader evaluationClassLoader;
+  private final CoreEvent event;
+  private final BindingContext context;
 
-  public DefaultExpressionManagerSession(LazyValue<ExpressionLanguageSessionAdaptor> session, ClassLoader evaluationClassLoader) {
+  public DefaultExpressionManagerSession(LazyValue<ExpressionLanguageSessionAdaptor> session, ClassLoader evaluationClassLoader,
+                                         CoreEvent event, BindingContext context) {
     this.session = session;
     this.evaluationClassLoader = evaluationClassLoader;
+    this.event = event;
+    this.context = context;
   }
 
   @Override
@@ -98,6 +105,13 @@ class DefaultExpressionManagerSession implements ExpressionManagerSession {
 
   @Override
   public TypedValue<?> evaluate(CompiledExpression expression) throws ExpressionExecutionException {
+    if (expression instanceof AccessorCompiledExpression) {
+      TypedValue<?> resolved = ((AccessorCompiledExpression) expression).resolve(event, context);
+      if (resolved != null) {
+        return resolved;
+      }
+    }
+
     ClassLoader originalLoader = currentThread().getContextClassLoader();
 
     try {
@@ -110,6 +124,14 @@ class DefaultExpressionManagerSession implements ExpressionManagerSession {
 
   @Override
   public TypedValue<?> evaluate(CompiledExpression expression, DataType expectedOutputType) throws ExpressionExecutionException {
+    if (expression instanceof AccessorCompiledExpression) {
+      TypedValue<?> resolved = ((AccessorCompiledExpression) expression).resolve(event, context);
+      // Otherwise, the expression language has to transform the value to the expected type
+      if (resolved != null && expectedOutputType.isCompatibleWith(resolved.getDataType())) {
+        return resolved;
+      }
+    }
+
     ClassLoader originalLoader = currentThread().getContextClassLoader();
 
     try {
@@ -122,6 +144,13 @@ class DefaultExpressionManagerSession implements ExpressionManagerSession {
 
   @Override
   public TypedValue<?> evaluate(CompiledExpression expression, long timeout) throws ExpressionExecutionException {
+    if (expression instanceof AccessorCompiledExpression) {
+      TypedValue<?> resolved = ((AccessorCompiledExpression) expression).resolve(event, context);
+      if (resolved != null) {
+        return resolved;
+      }
+    }
+
     ClassLoader originalLoader = currentThread().getContextClassLoader();
 
     try {
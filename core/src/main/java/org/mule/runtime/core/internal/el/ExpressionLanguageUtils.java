@@ -58,6 +58,15 @@ public final class ExpressionLanguageUtils {
     return expressionLanguage.compile(expression, COMPILATION_BINDING_CONTEXT);
   }
 
+  /**
+   * @return the {@link BindingContext} used by {@link #compile(String, ExpressionLanguage)}, with the same bindings as the
+   *         contexts expressions are evaluated with in a flow.
+   * @since 4.5.0
+   */
+  public static BindingContext getCompilationBindingContext() {
+    return COMPILATION_BINDING_CONTEXT;
+  }
+
   /**
    * Returns a sanitized version of the given {@code expression}
    *
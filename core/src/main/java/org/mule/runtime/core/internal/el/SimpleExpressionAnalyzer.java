@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.regex.Pattern.compile;
+import static org.mule.runtime.api.el.BindingContextUtils.ATTRIBUTES;
+import static org.mule.runtime.api.el.BindingContextUtils.CORRELATION_ID;
+import static org.mule.runtime.api.el.BindingContextUtils.PAYLOAD;
+import static org.mule.runtime.api.el.BindingContextUtils.VARS;
+import static org.mule.runtime.api.metadata.DataType.BOOLEAN;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.ExpressionExecutionException;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.event.CoreEvent;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes DataWeave expressions that need no actual evaluation, because they are just a constant or the lookup of a binding,
+ * and creates {@link AccessorCompiledExpression}s for them. The recognized shapes are:
+ * <ul>
+ * <li>{@code payload}, {@code attributes} and {@code correlationId}</li>
+ * <li>{@code vars.name}, for a name made only of letters, digits and underscores</li>
+ * <li>{@code true}, {@code false} and string literals without interpolations or escaped characters</li>
+ * </ul>
+ * Anything else, including the navigation of the value of a binding (for instance, {@code attributes.headers.x}), is left to the
+ * expression language, since its semantics depend on the type of that value.
+ *
+ * @since 4.5.0
+ */
+public final class SimpleExpressionAnalyzer {
+
+  private static final Pattern VAR_PATTERN = compile("vars\\.([A-Za-z_][A-Za-z0-9_]*)");
+  private static final Pattern STRING_LITERAL_PATTERN = compile("'([^'\\\\$]*)'|\"([^\"\\\\$]*)\"");
+
+  private SimpleExpressionAnalyzer() {}
+
+  /**
+   * Analyzes the given {@code expression} to determine if it can be resolved without evaluating it.
+   * <p>
+   * This must only be used for expressions that would be evaluated by DataWeave.
+   *
+   * @param expression the expression to analyze, with or without the expression delimiters.
+   * @return an {@link AccessorCompiledExpression} for the {@code expression}, or an empty value if it has to be evaluated.
+   */
+  public static Optional<AccessorCompiledExpression> analyze(String expression) {
+    final String sanitized;
+    try {
+      sanitized = sanitize(expression).trim();
+    } catch (ExpressionExecutionException e) {
+      // Let the expression language report the problem
+      return empty();
+    }
+
+    switch (sanitized) {
+      case PAYLOAD:
+        return of(new AccessorCompiledExpression(expression,
+                                                 (event, context) -> event != null
+                                                     ? event.getMessage().getPayload()
+                                                     : lookup(context, PAYLOAD)));
+      case ATTRIBUTES:
+        return of(new AccessorCompiledExpression(expression,
+                                                 (event, context) -> event != null
+                                                     ? event.getMessage().getAttributes()
+                                                     : lookup(context, ATTRIBUTES)));
+      case CORRELATION_ID:
+        return of(new AccessorCompiledExpression(expression,
+                                                 (event, context) -> event != null
+                                                     ? new TypedValue<>(event.getCorrelationId(), STRING)
+                                                     : lookup(context, CORRELATION_ID)));
+      case "true":
+        return constant(expression, new TypedValue<>(true, BOOLEAN));
+      case "false":
+        return constant(expression, new TypedValue<>(false, BOOLEAN));
+      default:
+        break;
+    }
+
+    final Matcher varMatcher = VAR_PATTERN.matcher(sanitized);
+    if (varMatcher.matches()) {
+      final String varName = varMatcher.group(1);
+      return of(new AccessorCompiledExpression(expression, (event, context) -> resolveVar(event, context, varName)));
+    }
+
+    final Matcher stringMatcher = STRING_LITERAL_PATTERN.matcher(sanitized);
+    if (stringMatcher.matches()) {
+      final String value = stringMatcher.group(1) != null ? stringMatcher.group(1) : stringMatcher.group(2);
+      return constant(expression, new TypedValue<>(value, STRING));
+    }
+
+    return empty();
+  }
+
+  private static Optional<AccessorCompiledExpression> constant(String expression, TypedValue<?> value) {
+    return of(new AccessorCompiledExpression(expression, (event, context) -> value));
+  }
+
+  private static TypedValue<?> resolveVar(CoreEvent event, BindingContext context, String varName) {
+    if (event != null) {
+      // Not defined variables are resolved by the expression language, so that the result has the expected data type
+      return event.getVariables().get(varName);
+    }
+
+    final TypedValue<?> vars = lookup(context, VARS);
+    if (vars != null && vars.getValue() instanceof Map) {
+      final Object var = ((Map<?, ?>) vars.getValue()).get(varName);
+      return var instanceof TypedValue ? (TypedValue<?>) var : null;
+    }
+    return null;
+  }
+
+  private static TypedValue<?> lookup(BindingContext context, String identifier) {
+    return context != null ? context.lookup(identifier).orElse(null) : null;
+  }
+}
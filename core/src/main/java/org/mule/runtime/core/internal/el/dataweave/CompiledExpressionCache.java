@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.el.dataweave;
+
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+
+import static com.github.benmanes.caffeine.cache.Caffeine.newBuilder;
+
+import org.mule.runtime.api.el.BindingContext;
+import org.mule.runtime.api.el.CompiledExpression;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Bounded cache of {@link CompiledExpression}s, keyed by the text of the expression and the shape of the {@link BindingContext}
+ * it was compiled for (that is, the identifiers of its bindings, regardless of their values).
+ * <p>
+ * The same expression is usually evaluated with contexts of the same shape (for instance, the bindings of an event in a given
+ * location of a flow), so a few shapes are kept for each expression and the least recently compiled is discarded when a new one
+ * is found. The amount of expressions kept is bounded by the size given on construction.
+ * <p>
+ * Expressions that could not be compiled are cached as well, so that compilation is not attempted again for each evaluation.
+ *
+ * @since 4.5.0
+ */
+public final class CompiledExpressionCache {
+
+  private static final int MAX_SHAPES_PER_EXPRESSION = 4;
+
+  private final Cache<String, Shape[]> cache;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param maximumSize the maximum amount of expressions to keep.
+   */
+  public CompiledExpressionCache(int maximumSize) {
+    this.cache = newBuilder().maximumSize(maximumSize).build();
+  }
+
+  /**
+   * Gets the compiled form of {@code expression} for contexts with the same shape as the given {@code context}, compiling it with
+   * the given {@code compiler} if not already cached.
+   *
+   * @param expression the expression to get the compiled form for.
+   * @param context    the context the expression will be evaluated with.
+   * @param compiler   the function to compile the expression with, which returns {@code null} if it can not be compiled.
+   * @return the compiled expression, or {@code null} if it can not be compiled.
+   */
+  public CompiledExpression get(String expression, BindingContext context,
+                                BiFunction<String, BindingContext, CompiledExpression> compiler) {
+    final Collection<String> identifiers = context.identifiers();
+    final Shape[] shapes = cache.getIfPresent(expression);
+    if (shapes != null) {
+      for (Shape shape : shapes) {
+        if (shape.matches(identifiers)) {
+          hits.increment();
+          return shape.compiled;
+        }
+      }
+    }
+
+    misses.increment();
+    final CompiledExpression compiled = compiler.apply(expression, context);
+    put(expression, context, compiled);
+    return compiled;
+  }
+
+  /**
+   * Caches the compiled form of {@code expression} for contexts with the same shape as the given {@code context}, unless one is
+   * already cached.
+   *
+   * @param expression the expression to cache the compiled form for.
+   * @param context    the context the expression was compiled with.
+   * @param compiled   the compiled expression, or {@code null} if it can not be compiled.
+   */
+  public void put(String expression, BindingContext context, CompiledExpression compiled) {
+    final Collection<String> identifiers = context.identifiers();
+    cache.asMap().compute(expression, (key, current) -> {
+      if (current == null) {
+        return new Shape[] {new Shape(identifiers, compiled)};
+      }
+
+      for (Shape shape : current) {
+        if (shape.matches(identifiers)) {
+          return current;
+        }
+      }
+
+      final Shape[] updated;
+      if (current.length < MAX_SHAPES_PER_EXPRESSION) {
+        updated = copyOf(current, current.length + 1);
+      } else {
+        updated = new Shape[current.length];
+        arraycopy(current, 1, updated, 0, current.length - 1);
+      }
+      updated[updated.length - 1] = new Shape(identifiers, compiled);
+      return updated;
+    });
+  }
+
+  /**
+   * @return how many times a compiled expression was found in this cache.
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return how many times an expression had to be compiled because it was not found in this cache.
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the approximate amount of expressions in this cache.
+   */
+  public long getSize() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Discards all the cached expressions.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledExpressionCache{size=" + getSize() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "}";
+  }
+
+  private static final class Shape {
+
+    private final Set<String> identifiers;
+    private final CompiledExpression compiled;
+
+    private Shape(Collection<String> identifiers, CompiledExpression compiled) {
+      this.identifiers = new HashSet<>(identifiers);
+      this.compiled = compiled;
+    }
+
+    private boolean matches(Collection<String> otherIdentifiers) {
+      return identifiers.size() == otherIdentifiers.size() && identifiers.containsAll(otherIdentifiers);
+    }
+  }
+}
@@ -13,10 +13,15 @@ import static org.mule.runtime.api.metadata.DataType.fromType;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_EXPRESSIONS_COMPILATION_FAIL_DEPLOYMENT;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.expressionEvaluationFailed;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
+import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.getCompilationBindingContext;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.isSanitizedPayload;
 import static org.mule.runtime.core.internal.el.ExpressionLanguageUtils.sanitize;
 
+import static java.lang.Integer.getInteger;
 import static java.lang.System.getProperty;
+import static java.util.Optional.ofNullable;
+
+import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.artifact.Registry;
 import org.mule.runtime.api.component.location.ComponentLocation;
@@ -37,6 +42,7 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+import org.mule.runtime.core.internal.el.AccessorCompiledExpression;
 import org.mule.runtime.core.internal.el.DefaultBindingContextBuilder;
 import org.mule.runtime.core.internal.el.ExpressionLanguageSessionAdaptor;
 import org.mule.runtime.core.internal.el.ExtendedExpressionLanguageAdaptor;
@@ -45,18 +51,33 @@ import org.mule.runtime.core.internal.el.context.MuleInstanceContext;
 import org.mule.runtime.core.internal.el.context.ServerContext;
 
 import java.util.Iterator;
+import java.util.Optional;
 import java.util.function.Function;
 
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLanguageAdaptor, Disposable {
 
   public static final String SERVER = "server";
   public static final String MULE = "mule";
   public static final String APP = "app";
 
+  /**
+   * The maximum amount of expressions to keep compiled for evaluating them without parsing their text again. Compiled expressions
+   * are not cached if this is {@code 0}, the default.
+   *
+   * @since 4.5.0
+   */
+  public static final String COMPILED_EXPRESSIONS_CACHE_SIZE =
+      DataWeaveExpressionLanguageAdaptor.class.getName() + ".COMPILED_EXPRESSIONS_CACHE_SIZE";
+
+  private static final Logger LOGGER = getLogger(DataWeaveExpressionLanguageAdaptor.class);
+
   private final ExpressionLanguage expressionExecutor;
   private final MuleContext muleContext;
+  private final CompiledExpressionCache compiledExpressionCache;
 
   @Inject
   public DataWeaveExpressionLanguageAdaptor(MuleContext muleContext, Registry registry,
@@ -69,6 +90,9 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
         .minMuleVersion(muleContext.getConfiguration().getMinMuleVersion())
         .build());
     this.muleContext = muleContext;
+    final int compiledExpressionsCacheSize = getInteger(COMPILED_EXPRESSIONS_CACHE_SIZE, 0);
+    this.compiledExpressionCache =
+        compiledExpressionsCacheSize > 0 ? new CompiledExpressionCache(compiledExpressionsCacheSize) : null;
     registerGlobalBindings(registry);
   }
 
@@ -106,17 +130,15 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
       return event.getMessage().getPayload();
     } else {
       BindingContext newContext = bindingContextFor(null, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, newContext));
+      return evaluateCompiledIfCached(sanitized, null, newContext);
     }
   }
 
-
-
   @Override
   public TypedValue evaluate(String expression, DataType expectedOutputType, CoreEvent event, BindingContext context)
       throws ExpressionRuntimeException {
     BindingContext newContext = bindingContextFor(null, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, newContext));
+    return evaluateCompiledIfCached(sanitize(expression), expectedOutputType, newContext);
   }
 
   @Override
@@ -125,7 +147,7 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
                              BindingContext context, boolean failOnNull)
       throws ExpressionRuntimeException {
     BindingContext newContext = bindingContextFor(componentLocation, event, context);
-    return sanitizeAndEvaluate(expression, exp -> expressionExecutor.evaluate(exp, expectedOutputType, newContext));
+    return evaluateCompiledIfCached(sanitize(expression), expectedOutputType, newContext);
   }
 
   @Override
@@ -143,10 +165,76 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
       return resolvePayload(event, context);
     } else {
       BindingContext newContext = bindingContextFor(componentLocation, event, context);
-      return evaluate(sanitized, exp -> expressionExecutor.evaluate(exp, newContext));
+      return evaluateCompiledIfCached(sanitized, null, newContext);
+    }
+  }
+
+  /**
+   * Evaluates the given {@code sanitized} expression, reusing its compiled form if compiled expressions are being cached.
+   *
+   * @param sanitized          the expression to evaluate, already sanitized.
+   * @param expectedOutputType the type the result has to be transformed to, or {@code null} to leave it as is.
+   * @param context            the context to evaluate the expression with.
+   * @return the result of the evaluation.
+   */
+  private TypedValue evaluateCompiledIfCached(String sanitized, DataType expectedOutputType, BindingContext context) {
+    final CompiledExpression compiled =
+        compiledExpressionCache != null ? compiledExpressionCache.get(sanitized, context, this::tryCompile) : null;
+
+    if (compiled == null) {
+      // Either not cached or not compilable, in which case evaluating the text provides the expected error.
+      return evaluate(sanitized, exp -> expectedOutputType == null
+          ? expressionExecutor.evaluate(exp, context)
+          : expressionExecutor.evaluate(exp, expectedOutputType, context));
+    }
+
+    return evaluate(sanitized, exp -> {
+      try (ExpressionLanguageSession session = expressionExecutor.openSession(context)) {
+        return expectedOutputType == null
+            ? session.evaluate(compiled)
+            : session.evaluate(compiled, expectedOutputType);
+      }
+    });
+  }
+
+  private CompiledExpression tryCompile(String sanitized, BindingContext context) {
+    try {
+      return expressionExecutor.compile(sanitized, context);
+    } catch (ExpressionCompilationException e) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Expression '" + sanitized + "' could not be compiled, it will be evaluated from its text.", e);
+      }
+      return null;
     }
   }
 
+  /**
+   * Compiles the given {@code expression} for the bindings available in a flow and keeps it in the compiled expressions cache,
+   * so that its first evaluation doesn't have to do it. Does nothing if compiled expressions are not being cached.
+   *
+   * @param expression the expression to compile.
+   * @since 4.5.0
+   */
+  public void precompile(String expression) {
+    if (compiledExpressionCache == null) {
+      return;
+    }
+
+    final String sanitized = sanitize(expression);
+    if (!isSanitizedPayload(sanitized)) {
+      final BindingContext context = getCompilationBindingContext();
+      compiledExpressionCache.put(sanitized, context, tryCompile(sanitized, context));
+    }
+  }
+
+  /**
+   * @return the cache of compiled expressions used by this adaptor, if enabled through {@link #COMPILED_EXPRESSIONS_CACHE_SIZE}.
+   * @since 4.5.0
+   */
+  public Optional<CompiledExpressionCache> getCompiledExpressionCache() {
+    return ofNullable(compiledExpressionCache);
+  }
+
   @Override
   public CompiledExpression compile(String expression, BindingContext bindingContext) {
     try {
@@ -243,6 +331,12 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
   @Override
   public void dispose() {
+    if (compiledExpressionCache != null) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Disposing " + compiledExpressionCache);
+      }
+      compiledExpressionCache.invalidateAll();
+    }
     expressionExecutor.dispose();
   }
 
@@ -316,6 +410,10 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
       @Override
       public TypedValue<?> evaluate(CompiledExpression expression) throws ExpressionExecutionException {
+        if (expression instanceof AccessorCompiledExpression) {
+          // DataWeave doesn't accept custom implementations of CompiledExpression, so these are evaluated from their text
+          return evaluate(expression.expression());
+        }
         if (isSanitizedPayload(expression.expression())) {
           return resolvePayload(event, context);
         }
@@ -329,6 +427,9 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
       @Override
       public TypedValue<?> evaluate(CompiledExpression expression, DataType expectedOutputType)
           throws ExpressionExecutionException {
+        if (expression instanceof AccessorCompiledExpression) {
+          return evaluate(expression.expression(), expectedOutputType);
+        }
         try {
           return session.evaluate(expression, expectedOutputType);
         } catch (Exception e) {
@@ -338,6 +439,9 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
       @Override
       public TypedValue<?> evaluate(CompiledExpression expression, long timeout) throws ExpressionExecutionException {
+        if (expression instanceof AccessorCompiledExpression) {
+          return evaluate(expression.expression(), timeout);
+        }
         if (isSanitizedPayload(expression.expression())) {
           return resolvePayload(event, context);
         }
@@ -351,6 +455,9 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
       @Override
       public TypedValue<?> evaluateLogExpression(CompiledExpression expression) throws ExpressionExecutionException {
+        if (expression instanceof AccessorCompiledExpression) {
+          return evaluateLogExpression(expression.expression());
+        }
         try {
           return session.evaluateLogExpression(expression);
         } catch (Exception e) {
@@ -360,6 +467,9 @@ public class DataWeaveExpressionLanguageAdaptor implements ExtendedExpressionLan
 
       @Override
       public Iterator<TypedValue<?>> split(CompiledExpression expression) {
+        if (expression instanceof AccessorCompiledExpression) {
+          return split(expression.expression());
+        }
         try {
           return session.split(expression);
         } catch (Exception e) {
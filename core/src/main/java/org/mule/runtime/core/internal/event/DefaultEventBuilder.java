@@ -17,10 +17,10 @@ import static org.mule.runtime.api.util.collection.SmallMap.unmodifiable;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsBytes;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotReadPayloadAsString;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.objectIsNull;
-import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.basedOn;
 import static org.mule.runtime.core.api.util.CaseInsensitiveHashMap.emptyCaseInsensitiveMap;
 import static org.mule.runtime.core.api.util.SystemUtils.getDefaultEncoding;
 import static org.mule.runtime.core.internal.message.EventInternalContext.copyOf;
+import static org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveHashMap.emptyPersistentCaseInsensitiveMap;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.fromGroupCorrelation;
 import static org.mule.runtime.core.internal.util.message.ItemSequenceInfoUtils.toGroupCorrelation;
 
@@ -47,6 +47,7 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.message.InternalEvent.Builder;
 import org.mule.runtime.core.internal.message.InternalMessage;
+import org.mule.runtime.core.internal.util.collection.PersistentCaseInsensitiveHashMap;
 import org.mule.runtime.core.privileged.connector.ReplyToHandler;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 import org.mule.runtime.core.privileged.event.DefaultMuleSession;
@@ -70,7 +71,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   private BaseEventContext context;
   private Function<EventContext, Message> messageFactory;
 
-  private CaseInsensitiveHashMap<String, TypedValue<?>> flowVariables;
+  private PersistentCaseInsensitiveHashMap<TypedValue<?>> flowVariables;
   private CaseInsensitiveHashMap<String, TypedValue<?>> originalVars;
   private boolean varsModified = false;
 
@@ -152,10 +153,14 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   @Override
   public DefaultEventBuilder variables(Map<String, ?> flowVariables) {
-    initVariables();
+    PersistentCaseInsensitiveHashMap<TypedValue<?>> variables = emptyPersistentCaseInsensitiveMap();
+    for (Entry<String, ?> entry : flowVariables.entrySet()) {
+      variables = variables.plus(entry.getKey(), toTypedValue(entry.getValue()));
+    }
 
-    copyFromTo(flowVariables, this.flowVariables);
+    this.flowVariables = variables;
     this.varsModified = true;
+    this.modified = true;
 
     return this;
   }
@@ -166,9 +171,8 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
       return variables(variables);
     }
 
-    if (varsModified) {
-      this.flowVariables.clear();
-    }
+    // The variables of the builder are immutable, so they are discarded rather than cleared
+    this.flowVariables = null;
 
     originalVars = (CaseInsensitiveHashMap<String, TypedValue<?>>) variables;
     this.varsModified = false;
@@ -185,7 +189,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, DataType.fromObject(value)));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, DataType.fromObject(value)));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -196,7 +200,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder addVariable(String key, Object value, DataType dataType) {
     initVariables();
 
-    flowVariables.put(key, new TypedValue<>(value, dataType));
+    flowVariables = flowVariables.plus(key, new TypedValue<>(value, dataType));
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -206,7 +210,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public CoreEvent.Builder addVariable(String key, TypedValue<?> value) {
     initVariables();
 
-    flowVariables.put(key, value);
+    flowVariables = flowVariables.plus(key, value);
     this.varsModified = true;
     this.modified = true;
     return this;
@@ -216,7 +220,9 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
   public DefaultEventBuilder removeVariable(String key) {
     initVariables();
 
-    this.modified = flowVariables.remove(key) != null || modified;
+    PersistentCaseInsensitiveHashMap<TypedValue<?>> remaining = flowVariables.minus(key);
+    this.modified = remaining != flowVariables || modified;
+    flowVariables = remaining;
     this.varsModified = this.varsModified || modified;
     return this;
   }
@@ -280,7 +286,7 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     if ((flowVariables != null && !this.flowVariables.isEmpty()) || !this.originalVars.isEmpty()) {
       this.varsModified = true;
       this.modified = true;
-      flowVariables = basedOn(new SmallMap<>());
+      flowVariables = emptyPersistentCaseInsensitiveMap();
     }
     return this;
   }
@@ -398,7 +404,9 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
 
   protected void initVariables() {
     if (!varsModified && flowVariables == null) {
-      flowVariables = originalVars.copy();
+      // Variables of events built by this class are already persistent, so no copy is made in that case and the new variables
+      // share their structure with the original ones.
+      flowVariables = PersistentCaseInsensitiveHashMap.of(originalVars);
     }
   }
 
@@ -413,15 +421,19 @@ public class DefaultEventBuilder implements InternalEvent.Builder {
     target.clear();
 
     for (Entry<String, ?> entry : source.entrySet()) {
-      if (entry.getValue() instanceof TypedValue) {
-        target.put(entry.getKey(), (TypedValue<?>) entry.getValue());
-      } else {
-        target.put(entry.getKey(), new TypedValue<>(entry.getValue(), DataType.fromObject(entry.getValue())));
-      }
+      target.put(entry.getKey(), toTypedValue(entry.getValue()));
     }
     this.modified = true;
   }
 
+  private static TypedValue<?> toTypedValue(Object value) {
+    if (value instanceof TypedValue) {
+      return (TypedValue<?>) value;
+    } else {
+      return new TypedValue<>(value, DataType.fromObject(value));
+    }
+  }
+
   /**
    * <code>EventImplementation</code> represents any data event occurring in the Mule environment. All data sent or received
    * within the Mule environment will be passed between components as an MuleEvent.
@@ -10,8 +10,8 @@ import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
@@ -20,20 +20,24 @@ import org.slf4j.Logger;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * Entries are reference counted by the threads holding or waiting for each lock, and are removed once the last of them releases
+ * it. The entries are kept in a {@link ConcurrentHashMap} so operations over different locks don't contend with each other.
  */
 public class InstanceLockGroup implements LockGroup {
 
   private static final long DEFAULT_LOCK_GROUP_SHUTDOWN_TIMEOUT = 5000L;
   private static final Logger LOGGER = getLogger(InstanceLockGroup.class);
 
-  private final Map<String, LockEntry> locks;
-  private final Object lockAccessMonitor = new Object();
+  private final ConcurrentMap<String, LockEntry> locks;
+  private final Object disposeMonitor = new Object();
+  private volatile boolean disposing = false;
   private final LockProvider lockProvider;
   private final long gracefulShutdownTimeoutMillis;
 
   public InstanceLockGroup(LockProvider lockProvider, long shutdownTimeoutMillis) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
+    this.locks = new ConcurrentHashMap<>();
     this.gracefulShutdownTimeoutMillis = shutdownTimeoutMillis;
   }
 
@@ -49,14 +53,12 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.getLock().unlock();
-        releaseLockEntry(key, lockEntry);
-      } else {
-        LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
-      }
+    LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseLockEntry(key, lockEntry);
+    } else {
+      LOGGER.warn("Trying to unlock a lock with id {} that wasn't previously locked", key);
     }
   }
 
@@ -132,38 +134,40 @@ public class InstanceLockGroup implements LockGroup {
   }
 
   private LockEntry getOrCreateLockEntry(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+    // The count is updated atomically with the lookup, so the entry can't be removed by a concurrent release in between
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
       }
       lockEntry.incrementLockCount();
-    }
-    return lockEntry;
+      return lockEntry;
+    });
   }
 
   private void releaseLockEntry(String lockId, LockEntry lockEntry) {
-    synchronized (lockAccessMonitor) {
+    locks.computeIfPresent(lockId, (id, currentEntry) -> {
+      if (currentEntry != lockEntry) {
+        return currentEntry;
+      }
       lockEntry.decrementLockCount();
-      if (!lockEntry.hasPendingLocks()) {
-        locks.remove(lockId);
-        if (locks.isEmpty()) {
-          lockAccessMonitor.notifyAll();
-        }
+      return lockEntry.hasPendingLocks() ? lockEntry : null;
+    });
+
+    if (disposing && locks.isEmpty()) {
+      synchronized (disposeMonitor) {
+        disposeMonitor.notifyAll();
       }
     }
   }
 
   private void waitForLocksToBeUnlocked() {
     long timeOutMillis = currentTimeMillis() + gracefulShutdownTimeoutMillis;
-    synchronized (lockAccessMonitor) {
+    disposing = true;
+    synchronized (disposeMonitor) {
       try {
         long remainingMillis = timeOutMillis - currentTimeMillis();
         while (!locks.isEmpty() && remainingMillis > 0) {
-          lockAccessMonitor.wait(remainingMillis);
+          disposeMonitor.wait(remainingMillis);
           remainingMillis = timeOutMillis - currentTimeMillis();
         }
       } catch (InterruptedException e) {
@@ -24,7 +24,7 @@ public class ServerLockFactory implements LockFactory, Disposable {
   private LockGroup lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
 
   @Override
-  public synchronized Lock createLock(String lockId) {
+  public Lock createLock(String lockId) {
     return new LockAdapter(lockId, lockGroup);
   }
 
@@ -9,7 +9,9 @@ package org.mule.runtime.core.internal.management.stats;
 import org.mule.runtime.core.api.management.stats.AllStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram.Snapshot;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -92,6 +94,40 @@ public class ApplicationStatistics extends DefaultFlowConstructStatistics {
     return total;
   }
 
+  @Override
+  public Snapshot getProcessingTimeSnapshot() {
+    Snapshot snapshot = Snapshot.EMPTY;
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (stats instanceof DefaultFlowConstructStatistics && !(stats instanceof ApplicationStatistics)) {
+        snapshot = snapshot.merge(((DefaultFlowConstructStatistics) stats).getProcessingTimeSnapshot());
+      }
+    }
+    return snapshot;
+  }
+
+  @Override
+  public Collection<String> getProcessorLocations() {
+    Set<String> locations = new HashSet<>();
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (!(stats instanceof ApplicationStatistics)) {
+        locations.addAll(stats.getProcessorLocations());
+      }
+    }
+    return locations;
+  }
+
+  @Override
+  public Snapshot getProcessorProcessingTimeSnapshot(String processorLocation) {
+    Snapshot snapshot = Snapshot.EMPTY;
+    for (FlowConstructStatistics stats : parent.getServiceStatistics()) {
+      if (stats instanceof DefaultFlowConstructStatistics && !(stats instanceof ApplicationStatistics)) {
+        snapshot = snapshot
+            .merge(((DefaultFlowConstructStatistics) stats).getProcessorProcessingTimeSnapshot(processorLocation));
+      }
+    }
+    return snapshot;
+  }
+
   @Override
   public long getExecutionErrors() {
     long total = 0;
@@ -9,23 +9,22 @@ package org.mule.runtime.core.internal.management.stats;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.LinkedHashSet;
 
 /**
  * Implementation of {@link ResetOnQueryCounter} that composes other counters.
  * <p>
  * Getting values will add up the values of all the held counters, and resetting this will reset the held counters as well.
- * 
+ *
  * @since 4.5
  */
 public class CompositeResetOnQueryCounter implements ResetOnQueryCounter {
 
-  private final Set<ResetOnQueryCounter> counters;
+  // An array rather than a collection, so that querying does not allocate an iterator
+  private final ResetOnQueryCounter[] counters;
 
   public CompositeResetOnQueryCounter(Collection<ResetOnQueryCounter> counters) {
-    this.counters = new HashSet<>();
-    this.counters.addAll(counters);
+    this.counters = new LinkedHashSet<>(counters).toArray(new ResetOnQueryCounter[0]);
   }
 
   @Override
@@ -6,39 +6,72 @@
  */
 package org.mule.runtime.core.internal.management.stats;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.TimeUnit.HOURS;
 
 import org.mule.runtime.core.api.management.stats.ComponentStatistics;
 import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
 import org.mule.runtime.core.api.management.stats.ResetOnQueryCounter;
-
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import org.mule.runtime.core.internal.management.stats.LatencyHistogram.Snapshot;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectOutputStream.PutField;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   private static final long serialVersionUID = 5337576392583767442L;
 
+  /**
+   * System property to keep a histogram of the execution times of each processor of the flows, besides the one of the flows
+   * themselves.
+   *
+   * @since 4.5.0
+   */
+  public static final String PROCESSOR_HISTOGRAMS_PROPERTY =
+      DefaultFlowConstructStatistics.class.getName() + ".processorHistograms";
+
+  private static final long HIGHEST_TRACKABLE_MILLIS = HOURS.toMillis(1);
+  private static final long HIGHEST_TRACKABLE_MICROS = HOURS.toMicros(1);
+  private static final int PROCESSOR_HISTOGRAM_STRIPES = 2;
+
   protected final String flowConstructType;
   protected String name;
   protected boolean enabled = false;
   private long samplePeriod = 0;
-  protected final AtomicLong receivedEvents = new AtomicLong(0);
-  protected final AtomicLong dispatchedMessages = new AtomicLong(0);
-
-  private final AtomicLong executionError = new AtomicLong(0);
-  private final AtomicLong fatalError = new AtomicLong(0);
+  // Only used to keep the serialized form these counters had before being striped, see writeObject and readObject
+  private AtomicLong receivedEvents;
+  private AtomicLong dispatchedMessages;
+  private AtomicLong executionError;
+  private AtomicLong fatalError;
   protected final ComponentStatistics flowStatistics = new ComponentStatistics();
 
+  // Striped, since these are incremented for every event from many threads at the same time
+  private transient StripedCounter receivedEventsCounter = new StripedCounter();
+  private transient StripedCounter dispatchedMessagesCounter = new StripedCounter();
+  private transient StripedCounter executionErrorCounter = new StripedCounter();
+  private transient StripedCounter fatalErrorCounter = new StripedCounter();
+
   // Transient to avoid de-serialization backward compatibility problems (MULE-19020)
-  private transient final AtomicLong connectionErrors = new AtomicLong(0);
+  private transient StripedCounter connectionErrors = new StripedCounter();
+
+  private transient LatencyHistogram processingTime = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+  private transient Map<String, LatencyHistogram> processorProcessingTimes = new ConcurrentHashMap<>();
 
-  private transient final List<DefaultResetOnQueryCounter> eventsReceivedCounters = new CopyOnWriteArrayList<>();
-  private transient final List<DefaultResetOnQueryCounter> messagesDispatchedCounters = new CopyOnWriteArrayList<>();
-  private transient final List<DefaultResetOnQueryCounter> executionErrorsCounters = new CopyOnWriteArrayList<>();
-  private transient final List<DefaultResetOnQueryCounter> connectionErrorsCounters = new CopyOnWriteArrayList<>();
-  private transient final List<DefaultResetOnQueryCounter> fatalErrorsCounters = new CopyOnWriteArrayList<>();
+  /**
+   * @return whether the execution times of each processor of the flows are to be kept.
+   * @see #PROCESSOR_HISTOGRAMS_PROPERTY
+   */
+  public static boolean isProcessorHistogramsEnabled() {
+    return getBoolean(PROCESSOR_HISTOGRAMS_PROPERTY);
+  }
 
   public DefaultFlowConstructStatistics(String flowConstructType, String name) {
     this.name = name;
@@ -59,14 +92,12 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   @Override
   public void incExecutionError() {
-    executionError.addAndGet(1);
-    executionErrorsCounters.forEach(DefaultResetOnQueryCounter::increment);
+    executionErrorCounter.increment();
   }
 
   @Override
   public void incFatalError() {
-    fatalError.addAndGet(1);
-    fatalErrorsCounters.forEach(DefaultResetOnQueryCounter::increment);
+    fatalErrorCounter.increment();
   }
 
   /**
@@ -89,15 +120,19 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   @Override
   public synchronized void clear() {
-    receivedEvents.set(0);
-    dispatchedMessages.set(0);
+    receivedEventsCounter.clear();
+    dispatchedMessagesCounter.clear();
     samplePeriod = currentTimeMillis();
 
-    executionError.set(0);
-    fatalError.set(0);
+    executionErrorCounter.clear();
+    fatalErrorCounter.clear();
     if (flowStatistics != null) {
       flowStatistics.clear();
     }
+    if (processingTime != null) {
+      processingTime.reset();
+      processorProcessingTimes.values().forEach(LatencyHistogram::reset);
+    }
   }
 
   @Override
@@ -108,6 +143,53 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
   @Override
   public void addFlowExecutionBranchTime(long time, long total) {
     flowStatistics.addExecutionBranchTime(time == total, time, total);
+    processingTime.record(time);
+  }
+
+  @Override
+  public void addProcessorExecutionTime(String processorLocation, long time) {
+    LatencyHistogram histogram = processorProcessingTimes.get(processorLocation);
+    if (histogram == null) {
+      histogram = processorProcessingTimes
+          .computeIfAbsent(processorLocation, location -> new LatencyHistogram(HIGHEST_TRACKABLE_MICROS,
+                                                                               PROCESSOR_HISTOGRAM_STRIPES));
+    }
+    histogram.record(time);
+  }
+
+  @Override
+  public long getProcessingTimePercentile(double percentile) {
+    return getProcessingTimeSnapshot().getValueAtPercentile(percentile);
+  }
+
+  @Override
+  public Collection<String> getProcessorLocations() {
+    return unmodifiableSet(processorProcessingTimes.keySet());
+  }
+
+  @Override
+  public long getProcessorProcessingTimePercentile(String processorLocation, double percentile) {
+    return getProcessorProcessingTimeSnapshot(processorLocation).getValueAtPercentile(percentile);
+  }
+
+  /**
+   * @return the times of the executions of the flow, in milliseconds.
+   *
+   * @since 4.5.0
+   */
+  public Snapshot getProcessingTimeSnapshot() {
+    return processingTime.snapshot();
+  }
+
+  /**
+   * @param processorLocation the location of the processor.
+   * @return the times of the executions of the processor, in microseconds.
+   *
+   * @since 4.5.0
+   */
+  public Snapshot getProcessorProcessingTimeSnapshot(String processorLocation) {
+    final LatencyHistogram histogram = processorProcessingTimes.get(processorLocation);
+    return histogram != null ? histogram.snapshot() : Snapshot.EMPTY;
   }
 
   @Override
@@ -137,12 +219,12 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   @Override
   public long getExecutionErrors() {
-    return executionError.get();
+    return executionErrorCounter.get();
   }
 
   @Override
   public long getFatalErrors() {
-    return fatalError.get();
+    return fatalErrorCounter.get();
   }
 
   @Override
@@ -152,30 +234,27 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   @Override
   public void incReceivedEvents() {
-    receivedEvents.addAndGet(1);
-    eventsReceivedCounters.forEach(DefaultResetOnQueryCounter::increment);
+    receivedEventsCounter.increment();
   }
 
   @Override
   public void incMessagesDispatched() {
-    dispatchedMessages.addAndGet(1);
-    messagesDispatchedCounters.forEach(DefaultResetOnQueryCounter::increment);
+    dispatchedMessagesCounter.increment();
   }
 
   @Override
   public void incConnectionErrors() {
-    connectionErrors.addAndGet(1);
-    connectionErrorsCounters.forEach(DefaultResetOnQueryCounter::increment);
+    connectionErrors.increment();
   }
 
   @Override
   public long getTotalEventsReceived() {
-    return receivedEvents.get();
+    return receivedEventsCounter.get();
   }
 
   @Override
   public long getTotalDispatchedMessages() {
-    return dispatchedMessages.get();
+    return dispatchedMessagesCounter.get();
   }
 
   public long getSamplePeriod() {
@@ -184,41 +263,63 @@ public class DefaultFlowConstructStatistics implements FlowConstructStatistics {
 
   @Override
   public ResetOnQueryCounter getEventsReceivedCounter() {
-    DefaultResetOnQueryCounter counter = new DefaultResetOnQueryCounter();
-    eventsReceivedCounters.add(counter);
-    counter.add(getTotalEventsReceived());
-    return counter;
+    return receivedEventsCounter.newResetOnQueryCounter();
   }
 
   @Override
   public ResetOnQueryCounter getDispatchedMessagesCounter() {
-    DefaultResetOnQueryCounter counter = new DefaultResetOnQueryCounter();
-    messagesDispatchedCounters.add(counter);
-    counter.add(getTotalDispatchedMessages());
-    return counter;
+    return dispatchedMessagesCounter.newResetOnQueryCounter();
   }
 
   @Override
   public ResetOnQueryCounter getExecutionErrorsCounter() {
-    DefaultResetOnQueryCounter counter = new DefaultResetOnQueryCounter();
-    executionErrorsCounters.add(counter);
-    counter.add(getExecutionErrors());
-    return counter;
+    return executionErrorCounter.newResetOnQueryCounter();
   }
 
   @Override
   public ResetOnQueryCounter getConnectionErrorsCounter() {
-    DefaultResetOnQueryCounter counter = new DefaultResetOnQueryCounter();
-    connectionErrorsCounters.add(counter);
-    counter.add(getConnectionErrors());
-    return counter;
+    return connectionErrors.newResetOnQueryCounter();
   }
 
   @Override
   public ResetOnQueryCounter getFatalErrorsCounter() {
-    DefaultResetOnQueryCounter counter = new DefaultResetOnQueryCounter();
-    fatalErrorsCounters.add(counter);
-    counter.add(getFatalErrors());
-    return counter;
+    return fatalErrorCounter.newResetOnQueryCounter();
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    // The counters are written as the AtomicLongs they used to be, so that the serialized form is compatible with previous
+    // versions (same as MULE-19020)
+    final PutField fields = out.putFields();
+    fields.put("flowConstructType", flowConstructType);
+    fields.put("name", name);
+    fields.put("enabled", enabled);
+    fields.put("samplePeriod", samplePeriod);
+    fields.put("receivedEvents", new AtomicLong(receivedEventsCounter.get()));
+    fields.put("dispatchedMessages", new AtomicLong(dispatchedMessagesCounter.get()));
+    fields.put("executionError", new AtomicLong(executionErrorCounter.get()));
+    fields.put("fatalError", new AtomicLong(fatalErrorCounter.get()));
+    fields.put("flowStatistics", flowStatistics);
+    out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+
+    receivedEventsCounter = new StripedCounter(valueOf(receivedEvents));
+    dispatchedMessagesCounter = new StripedCounter(valueOf(dispatchedMessages));
+    executionErrorCounter = new StripedCounter(valueOf(executionError));
+    fatalErrorCounter = new StripedCounter(valueOf(fatalError));
+    receivedEvents = null;
+    dispatchedMessages = null;
+    executionError = null;
+    fatalError = null;
+
+    connectionErrors = new StripedCounter();
+    processingTime = new LatencyHistogram(HIGHEST_TRACKABLE_MILLIS);
+    processorProcessingTimes = new ConcurrentHashMap<>();
+  }
+
+  private static long valueOf(AtomicLong serializedCounter) {
+    return serializedCounter != null ? serializedCounter.get() : 0;
   }
 }
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Runtime.getRuntime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, or any other non-negative values, from which percentiles can be obtained.
+ * <p>
+ * Like an HDR histogram, values are counted in buckets whose width grows with the magnitude of the values, so that every value
+ * is represented with the same relative precision (about 3%) regardless of its magnitude, with a fixed amount of memory.
+ * <p>
+ * Recording a value is lock-free and does not allocate. The counts are striped across threads to avoid contention when many
+ * threads record values at the same time, and are only added up when a {@link Snapshot} is taken.
+ *
+ * @since 4.5.0
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_STRIPES = 8;
+
+  private final long highestTrackableValue;
+  private final AtomicLongArray[] stripes;
+  private final int stripeMask;
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Creates a histogram striped according to the available processors.
+   *
+   * @param highestTrackableValue the highest value to be told apart. Higher values are counted as this one.
+   */
+  public LatencyHistogram(long highestTrackableValue) {
+    this(highestTrackableValue, min(getRuntime().availableProcessors(), MAX_STRIPES));
+  }
+
+  /**
+   * @param highestTrackableValue the highest value to be told apart. Higher values are counted as this one.
+   * @param stripes               the amount of stripes to spread the counts in, rounded up to a power of two.
+   */
+  public LatencyHistogram(long highestTrackableValue, int stripes) {
+    if (highestTrackableValue < 1) {
+      throw new IllegalArgumentException("highestTrackableValue must be greater than zero");
+    }
+    if (stripes < 1) {
+      throw new IllegalArgumentException("stripes must be greater than zero");
+    }
+
+    this.highestTrackableValue = highestTrackableValue;
+
+    int stripeCount = 1;
+    while (stripeCount < stripes) {
+      stripeCount <<= 1;
+    }
+    final int bucketCount = indexOf(highestTrackableValue) + 1;
+    this.stripes = new AtomicLongArray[stripeCount];
+    for (int i = 0; i < stripeCount; ++i) {
+      this.stripes[i] = new AtomicLongArray(bucketCount);
+    }
+    this.stripeMask = stripeCount - 1;
+  }
+
+  /**
+   * Records a value. Negative values are recorded as {@code 0}.
+   *
+   * @param value the value to record.
+   */
+  public void record(long value) {
+    final long trackedValue = min(max(0, value), highestTrackableValue);
+    stripes[(int) Thread.currentThread().getId() & stripeMask].incrementAndGet(indexOf(trackedValue));
+    sum.add(trackedValue);
+    max.accumulate(trackedValue);
+  }
+
+  /**
+   * Clears the recorded values. Values recorded concurrently with this call may or may not be kept.
+   */
+  public void reset() {
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < stripe.length(); ++i) {
+        stripe.set(i, 0);
+      }
+    }
+    sum.reset();
+    max.reset();
+  }
+
+  /**
+   * @return the values recorded so far. Values recorded concurrently with this call may or may not be included.
+   */
+  public Snapshot snapshot() {
+    final long[] counts = new long[stripes[0].length()];
+    long totalCount = 0;
+    for (AtomicLongArray stripe : stripes) {
+      for (int i = 0; i < counts.length; ++i) {
+        final long count = stripe.get(i);
+        counts[i] += count;
+        totalCount += count;
+      }
+    }
+    return new Snapshot(counts, totalCount, sum.sum(), max.get());
+  }
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+
+    // The bucket is given by the position of the highest bit, and the sub-bucket by the bits that follow it
+    final int exponent = 63 - numberOfLeadingZeros(value);
+    final int mantissa = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + mantissa;
+  }
+
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    final long mantissa = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+    return ((SUB_BUCKET_COUNT + mantissa) << shift) + (1L << shift) - 1;
+  }
+
+  /**
+   * The values recorded in a {@link LatencyHistogram} at some point in time.
+   */
+  public static final class Snapshot {
+
+    /**
+     * A snapshot with no values.
+     */
+    public static final Snapshot EMPTY = new Snapshot(new long[0], 0, 0, 0);
+
+    private final long[] counts;
+    private final long totalCount;
+    private final long sum;
+    private final long max;
+
+    private Snapshot(long[] counts, long totalCount, long sum, long max) {
+      this.counts = counts;
+      this.totalCount = totalCount;
+      this.sum = sum;
+      this.max = max;
+    }
+
+    /**
+     * @return the amount of recorded values.
+     */
+    public long getCount() {
+      return totalCount;
+    }
+
+    /**
+     * @return the highest recorded value, or {@code 0} if there are none.
+     */
+    public long getMax() {
+      return max;
+    }
+
+    /**
+     * @return the mean of the recorded values, or {@code 0} if there are none.
+     */
+    public double getMean() {
+      return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the value below or at which the given {@code percentile} of the recorded values are, or {@code 0} if there are
+     *         none.
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (totalCount == 0) {
+        return 0;
+      }
+
+      final long target = max(1, (long) ceil(min(100, max(0, percentile)) / 100 * totalCount));
+      long accumulated = 0;
+      for (int i = 0; i < counts.length; ++i) {
+        accumulated += counts[i];
+        if (accumulated >= target) {
+          return min(highestValueOf(i), max);
+        }
+      }
+      return max;
+    }
+
+    /**
+     * @param other another snapshot.
+     * @return a snapshot with the values of both this and the {@code other} snapshot.
+     */
+    public Snapshot merge(Snapshot other) {
+      final long[] merged = new long[max(counts.length, other.counts.length)];
+      for (int i = 0; i < merged.length; ++i) {
+        merged[i] = (i < counts.length ? counts[i] : 0) + (i < other.counts.length ? other.counts[i] : 0);
+      }
+      return new Snapshot(merged, totalCount + other.totalCount, sum + other.sum, max(max, other.max));
+    }
+
+    /**
+     * @param earlier a snapshot taken earlier from the same histogram, with no reset in between.
+     * @return a snapshot with the values recorded since the {@code earlier} one was taken.
+     */
+    public Snapshot since(Snapshot earlier) {
+      final long[] difference = new long[counts.length];
+      long differenceCount = 0;
+      int highestIndex = -1;
+      for (int i = 0; i < counts.length; ++i) {
+        difference[i] = max(0, counts[i] - (i < earlier.counts.length ? earlier.counts[i] : 0));
+        differenceCount += difference[i];
+        if (difference[i] > 0) {
+          highestIndex = i;
+        }
+      }
+
+      // The highest value recorded in between is only known to the precision of its bucket
+      final long differenceMax = highestIndex < 0 ? 0 : min(highestValueOf(highestIndex), max);
+      return new Snapshot(difference, differenceCount, max(0, sum - earlier.sum), differenceMax);
+    }
+
+    @Override
+    public String toString() {
+      return "Snapshot{count=" + totalCount + ", mean=" + getMean() + ", p50=" + getValueAtPercentile(50) + ", p90="
+          + getValueAtPercentile(90) + ", p99=" + getValueAtPercentile(99) + ", max=" + max + "}";
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.lang.Math.max;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter for statistics that are incremented very often from many threads.
+ * <p>
+ * Increments go to a {@link LongAdder}, which spreads them across cells to avoid contention, and is never reset. Clearing the
+ * counter just records the current total, so that any amount of {@link DefaultResetOnQueryCounter}s can be derived from the same
+ * total without having to be incremented themselves.
+ *
+ * @since 4.5.0
+ */
+final class StripedCounter {
+
+  private final LongAdder total = new LongAdder();
+  private volatile long clearedAt = 0;
+
+  StripedCounter() {
+    this(0);
+  }
+
+  /**
+   * @param initialValue the value to start counting from.
+   */
+  StripedCounter(long initialValue) {
+    total.add(initialValue);
+  }
+
+  void increment() {
+    total.increment();
+  }
+
+  /**
+   * @return the increments since this counter was last {@link #clear() cleared}.
+   */
+  long get() {
+    return max(0, total.sum() - clearedAt);
+  }
+
+  void clear() {
+    clearedAt = total.sum();
+  }
+
+  /**
+   * @return a new counter that starts with the {@link #get() current value} of this one, and is not affected by
+   *         {@link #clear()}.
+   */
+  DefaultResetOnQueryCounter newResetOnQueryCounter() {
+    return new DefaultResetOnQueryCounter(total, clearedAt);
+  }
+}
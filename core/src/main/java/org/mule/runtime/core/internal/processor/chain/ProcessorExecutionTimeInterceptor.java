@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.chain;
+
+import static org.mule.runtime.core.internal.event.EventQuickCopy.quickCopy;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static reactor.core.publisher.Flux.from;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.FlowConstructStatistics;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
+import org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics;
+import org.mule.runtime.core.internal.message.InternalEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the time each processor of a flow takes to process events and adds it to the
+ * {@link FlowConstructStatistics#addProcessorExecutionTime(String, long) statistics of the flow}.
+ * <p>
+ * Since the processing of an event by a processor may complete on a different thread than the one it started on, the start times
+ * are kept in the event itself, as an {@link InternalEvent} internal parameter. Only the executions that complete successfully
+ * are measured.
+ *
+ * @see DefaultFlowConstructStatistics#PROCESSOR_HISTOGRAMS_PROPERTY
+ * @since 4.5.0
+ */
+public final class ProcessorExecutionTimeInterceptor implements ReactiveInterceptor {
+
+  static final String START_TIMES_PARAMETER = "processor.startTimes";
+
+  private final AllStatistics statistics;
+
+  /**
+   * @param statistics the statistics of the artifact, holding the ones of the flows to add the execution times to.
+   */
+  public ProcessorExecutionTimeInterceptor(AllStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public ReactiveProcessor apply(ReactiveProcessor processor, ReactiveProcessor next) {
+    if (!(processor instanceof Component) || ((Component) processor).getLocation() == null) {
+      return next;
+    }
+
+    final ComponentLocation location = ((Component) processor).getLocation();
+    final FlowConstructStatistics flowStatistics = getFlowStatistics(location.getRootContainerName());
+    if (flowStatistics == null) {
+      // Processors of sub-flows and other containers without statistics of their own are not measured
+      return next;
+    }
+
+    final String processorLocation = location.getLocation();
+    return stream -> from(stream)
+        .map(event -> flowStatistics.isEnabled() ? start(event, processorLocation) : event)
+        .transform(next)
+        .doOnNext(result -> {
+          if (flowStatistics.isEnabled()) {
+            stop(result, processorLocation, flowStatistics);
+          }
+        });
+  }
+
+  private FlowConstructStatistics getFlowStatistics(String flowName) {
+    synchronized (statistics) {
+      for (FlowConstructStatistics flowStatistics : statistics.getServiceStatistics()) {
+        if (flowStatistics.getName().equals(flowName)) {
+          return flowStatistics;
+        }
+      }
+    }
+    return null;
+  }
+
+  private CoreEvent start(CoreEvent event, String processorLocation) {
+    Map<String, Long> startTimes = ((InternalEvent) event).getInternalParameter(START_TIMES_PARAMETER);
+    if (startTimes == null) {
+      // Shared by all the copies of the event, including the ones with child contexts that are processed concurrently
+      startTimes = new ConcurrentHashMap<>();
+      event = quickCopy(event, singletonMap(START_TIMES_PARAMETER, startTimes));
+    }
+    startTimes.put(startTimeKey(event, processorLocation), nanoTime());
+    return event;
+  }
+
+  private void stop(CoreEvent result, String processorLocation, FlowConstructStatistics flowStatistics) {
+    final Map<String, Long> startTimes = ((InternalEvent) result).getInternalParameter(START_TIMES_PARAMETER);
+    if (startTimes == null) {
+      return;
+    }
+
+    final Long startTime = startTimes.remove(startTimeKey(result, processorLocation));
+    if (startTime != null) {
+      flowStatistics.addProcessorExecutionTime(processorLocation, NANOSECONDS.toMicros(nanoTime() - startTime));
+    }
+  }
+
+  private String startTimeKey(CoreEvent event, String processorLocation) {
+    return event.getContext().getId() + "@" + processorLocation;
+  }
+}
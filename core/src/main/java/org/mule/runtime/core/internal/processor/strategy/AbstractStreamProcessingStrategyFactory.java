@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.Integer.getInteger;
 import static java.lang.Integer.max;
@@ -19,13 +20,17 @@ import static java.lang.Thread.currentThread;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.isVirtualThreadsSupported;
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.withVirtualThreadsIfSupported;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.util.concurrent.Queues.isPowerOfTwo;
 
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.FlowConstruct;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory.ProactorStreamEmitterProcessingStrategy;
@@ -56,8 +61,11 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
   // required to achieve absolute minimum latency for the scenarios where this is important.
   protected static final int DEFAULT_SUBSCRIBER_COUNT =
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", max(1, (CORES / 2)));
+  protected static final boolean DEFAULT_VIRTUAL_THREADS_FOR_BLOCKING =
+      getBoolean(SYSTEM_PROPERTY_PREFIX + "VIRTUAL_THREADS_FOR_BLOCKING");
   private int bufferSize = DEFAULT_BUFFER_SIZE;
   private int subscriberCount = DEFAULT_SUBSCRIBER_COUNT;
+  private boolean virtualThreadsForBlocking = DEFAULT_VIRTUAL_THREADS_FOR_BLOCKING;
 
   /**
    * Configure the size of the ring-buffer size used to buffer and de-multiplexes events from multiple source threads. This value
@@ -84,6 +92,20 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
     this.subscriberCount = subscriberCount;
   }
 
+  /**
+   * Configure whether {@link ProcessingType#BLOCKING BLOCKING} and {@link ProcessingType#IO_RW IO_RW} processors are run on
+   * virtual threads instead of the threads of the IO scheduler.
+   * <p>
+   * This only has effect when the JVM supports virtual threads. The configured {@link #getMaxConcurrency() maxConcurrency} is
+   * still honored either way.
+   *
+   * @param virtualThreadsForBlocking whether to use virtual threads for blocking processors.
+   * @since 4.5.0
+   */
+  public void setVirtualThreadsForBlocking(boolean virtualThreadsForBlocking) {
+    this.virtualThreadsForBlocking = virtualThreadsForBlocking;
+  }
+
   protected int getBufferSize() {
     return bufferSize;
   }
@@ -103,6 +125,26 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
             .withName(schedulersNamePrefix + "." + CPU_LITE.name()));
   }
 
+  /**
+   * @return a supplier of the {@link Scheduler} for {@link ProcessingType#BLOCKING BLOCKING} and
+   *         {@link ProcessingType#IO_RW IO_RW} processors, backed by virtual threads if so configured and supported by the JVM.
+   * @since 4.5.0
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    final boolean useVirtualThreads = virtualThreadsForBlocking && isVirtualThreadsSupported();
+    if (virtualThreadsForBlocking && !useVirtualThreads) {
+      LOGGER.warn("Virtual threads are not supported by this JVM, blocking processors of '{}' will use the IO scheduler.",
+                  schedulersNamePrefix);
+    }
+
+    return () -> {
+      Scheduler ioScheduler = muleContext.getSchedulerService()
+          .ioScheduler(muleContext.getSchedulerBaseConfig()
+              .withName(schedulersNamePrefix + "." + BLOCKING.name()));
+      return useVirtualThreads ? withVirtualThreadsIfSupported(ioScheduler) : ioScheduler;
+    };
+  }
+
   /**
    * This method is only added for being able to change it in tests, it should be the same as using getSinksCount in
    * {@link ProactorStreamEmitterProcessingStrategy} (see MULE-19878).
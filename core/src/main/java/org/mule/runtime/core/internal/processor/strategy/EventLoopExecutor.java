@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Executes its tasks one at a time, in the order they were submitted, on top of a shared {@link Executor}.
+ * <p>
+ * While there are pending tasks, the thread of the delegate executor that runs them keeps doing so, up to a certain amount of
+ * tasks after which it yields to other users of the delegate. This way, consecutive tasks for the same loop run on the same
+ * thread without any hand-off, and a task submitted from the loop itself is just queued.
+ *
+ * @since 4.5.0
+ */
+final class EventLoopExecutor extends AbstractExecutorService {
+
+  private static final Logger LOGGER = getLogger(EventLoopExecutor.class);
+
+  private static final int MAX_TASKS_PER_RUN = 256;
+
+  private static final ThreadLocal<EventLoopExecutor> CURRENT_LOOP = new ThreadLocal<>();
+
+  private final int index;
+  private final Executor delegate;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pendingTasks = new AtomicInteger();
+  private final Runnable runTasks = this::runTasks;
+  private final CountDownLatch terminated = new CountDownLatch(1);
+
+  private volatile boolean shutdown = false;
+
+  /**
+   * @param index    the position of this loop among the ones of its owner
+   * @param delegate the executor where the tasks of this loop are actually run
+   */
+  EventLoopExecutor(int index, Executor delegate) {
+    this.index = index;
+    this.delegate = delegate;
+  }
+
+  /**
+   * @return the loop whose tasks the current thread is running, or {@code null} if it is not running tasks for any loop.
+   */
+  static EventLoopExecutor currentEventLoop() {
+    return CURRENT_LOOP.get();
+  }
+
+  int getIndex() {
+    return index;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (shutdown) {
+      throw new RejectedExecutionException("Event loop " + index + " is shut down");
+    }
+
+    tasks.offer(command);
+    if (pendingTasks.getAndIncrement() == 0) {
+      try {
+        delegate.execute(runTasks);
+      } catch (RejectedExecutionException e) {
+        // Take the task back, so that the loop is not left with pending tasks and nothing to run them
+        tasks.remove(command);
+        if (pendingTasks.decrementAndGet() != 0) {
+          // Tasks submitted meanwhile rely on the run that could not be started, so run them here
+          runTasks();
+        } else {
+          tryTerminate();
+        }
+        throw e;
+      }
+    }
+  }
+
+  private void runTasks() {
+    do {
+      if (runBatch()) {
+        return;
+      }
+    } while (!yieldToDelegate());
+  }
+
+  /**
+   * @return whether all the pending tasks were run.
+   */
+  private boolean runBatch() {
+    final EventLoopExecutor previousLoop = CURRENT_LOOP.get();
+    CURRENT_LOOP.set(this);
+    try {
+      for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+        // The task may have been removed by shutdownNow, but it is still accounted for in pendingTasks
+        final Runnable task = tasks.poll();
+        if (task != null) {
+          try {
+            task.run();
+          } catch (Throwable t) {
+            LOGGER.error("Uncaught exception running a task in event loop " + index, t);
+          }
+        }
+
+        if (pendingTasks.decrementAndGet() == 0) {
+          tryTerminate();
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      CURRENT_LOOP.set(previousLoop);
+    }
+  }
+
+  /**
+   * There are still pending tasks, but give other users of the delegate a chance to run theirs.
+   *
+   * @return whether the pending tasks will be run by another task of the delegate.
+   */
+  private boolean yieldToDelegate() {
+    try {
+      delegate.execute(runTasks);
+      return true;
+    } catch (RejectedExecutionException e) {
+      // Keep running them in this thread rather than leaving them with nothing to run them
+      return false;
+    }
+  }
+
+  private void tryTerminate() {
+    if (shutdown && pendingTasks.get() == 0) {
+      terminated.countDown();
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    tryTerminate();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    List<Runnable> notRun = new ArrayList<>();
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      notRun.add(task);
+    }
+    return notRun;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && pendingTasks.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+  @Override
+  public String toString() {
+    return "EventLoopExecutor{index=" + index + ", delegate=" + delegate + "}";
+  }
+}
@@ -58,6 +58,7 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 
 import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
 
 /**
  * {@link AbstractStreamProcessingStrategyFactory} implementation for Reactor streams using a {@link EmitterProcessor}
@@ -233,7 +234,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
         Latch completionLatch = new Latch();
         EmitterProcessor<CoreEvent> processor = EmitterProcessor.create(bufferQueueSize);
         AtomicReference<Throwable> failedSubscriptionCause = new AtomicReference<>();
-        processor.transform(function)
+        sinkFlux(processor, function, i)
             .subscribe(null, getThrowableConsumer(flowConstruct, completionLatch, failedSubscriptionCause),
                        () -> completionLatch.release());
 
@@ -253,6 +254,27 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
       }
 
       activeSinksCount.addAndGet(sinksCount);
+      return createCompositeSink(sinks);
+    }
+
+    /**
+     * Builds the {@link Flux} that processes the events emitted into one of the sinks created by
+     * {@link #createSink(FlowConstruct, ReactiveProcessor)}.
+     *
+     * @param processor the processor into which the events for the sink are emitted
+     * @param function  the function to apply to the emitted events
+     * @param sinkIndex the index of the sink, from {@code 0} to {@link #getSinksCount()} (exclusive)
+     * @return the {@link Flux} to subscribe to
+     */
+    protected Flux<CoreEvent> sinkFlux(EmitterProcessor<CoreEvent> processor, ReactiveProcessor function, int sinkIndex) {
+      return processor.transform(function);
+    }
+
+    /**
+     * @param sinks the sinks created by {@link #createSink(FlowConstruct, ReactiveProcessor)}
+     * @return the sink that distributes the events among the given {@code sinks}
+     */
+    protected ReactorSink<CoreEvent> createCompositeSink(List<ReactorSink<CoreEvent>> sinks) {
       return new RoundRobinReactorSink<>(sinks);
     }
 
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Math.min;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_INTENSIVE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.IO_RW;
+import static org.mule.runtime.core.internal.processor.strategy.EventLoopExecutor.currentEventLoop;
+import static org.mule.runtime.core.internal.processor.strategy.reactor.builder.PipelineProcessingStrategyReactiveProcessorBuilder.pipelineProcessingStrategyReactiveProcessorFrom;
+import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
+import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
+import static reactor.core.publisher.Flux.deferContextual;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.BackPressureReason;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory.ProactorStreamEmitterProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.enricher.CpuLiteNonBlockingProcessingStrategyEnricher;
+import org.mule.runtime.core.internal.processor.strategy.enricher.ProcessingTypeBasedReactiveProcessorEnricher;
+import org.mule.runtime.core.internal.processor.strategy.enricher.ReactiveProcessorEnricher;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.EmitterProcessor;
+import reactor.core.publisher.Flux;
+
+/**
+ * Creates {@link ThreadPerCoreProcessingStrategy} instances. The events of the flow are distributed among one event loop per
+ * core, and each event stays on its loop for all its {@link ReactiveProcessor.ProcessingType#CPU_LITE} and
+ * {@link ReactiveProcessor.ProcessingType#CPU_LITE_ASYNC} processing. As in {@link ProactorStreamEmitterProcessingStrategyFactory},
+ * {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#CPU_INTENSIVE} processors are run
+ * on the {@link SchedulerService#ioScheduler()} and {@link SchedulerService#cpuIntensiveScheduler()}, but the processing continues
+ * back in the event loop of the event once they are done.
+ * <p>
+ * Keeping an event on the same loop avoids the thread hops and cache misses of the processing strategies that dispatch each
+ * event and each callback to any thread of the {@link SchedulerService#cpuLightScheduler()}, which is significant for flows made
+ * mostly of short non-blocking processors.
+ * <p/>
+ * This processing strategy is not suitable for transactional flows and will fail if used with an active transaction.
+ *
+ * @since 4.5.0
+ */
+public class ThreadPerCoreProcessingStrategyFactory extends AbstractStreamProcessingStrategyFactory {
+
+  @Override
+  public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
+    return new ThreadPerCoreProcessingStrategy(getBufferSize(),
+                                               getSubscriberCount(),
+                                               cpuLightSchedulerSupplier,
+                                               getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
+                                               () -> muleContext.getSchedulerService()
+                                                   .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
+                                                       .withName(schedulersNamePrefix + "." + CPU_INTENSIVE.name())),
+                                               resolveParallelism(),
+                                               getMaxConcurrency(),
+                                               isMaxConcurrencyEagerCheck(),
+                                               () -> muleContext.getConfiguration().getShutdownTimeout());
+  }
+
+  @Override
+  public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
+    return ThreadPerCoreProcessingStrategy.class;
+  }
+
+  /**
+   * {@link ProcessingStrategy} that pins each event to an {@link EventLoopExecutor}.
+   * <p>
+   * There is one sink per loop. Events are dispatched to the sink of the loop the emitting thread is running, if any, so that
+   * events emitted from within an event loop (i.e.: by a flow-ref or a non-blocking operation) do not change threads. Otherwise,
+   * loops are assigned round-robin.
+   * <p>
+   * Back-pressure is applied per loop: when the buffer of a loop is full, emitting an event tries the other loops, and only if all
+   * of them are full {@link BackPressureReason#EVENTS_ACCUMULATED} is returned. The max concurrency and busy scheduler checks are
+   * the same as in {@link ProactorStreamEmitterProcessingStrategy}.
+   */
+  static class ThreadPerCoreProcessingStrategy extends ProactorStreamEmitterProcessingStrategy {
+
+    static final String EVENT_LOOP_CONTEXT_KEY = "mule.threadPerCore.eventLoop";
+
+    private EventLoopExecutor[] eventLoops;
+
+    public ThreadPerCoreProcessingStrategy(int bufferSize,
+                                           int subscriberCount,
+                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                           Supplier<Scheduler> blockingSchedulerSupplier,
+                                           Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                           int parallelism,
+                                           int maxConcurrency,
+                                           boolean maxConcurrencyEagerCheck,
+                                           Supplier<Long> shutdownTimeoutSupplier) {
+      super(bufferSize, subscriberCount, cpuLightSchedulerSupplier, cpuLightSchedulerSupplier, blockingSchedulerSupplier,
+            cpuIntensiveSchedulerSupplier, parallelism, maxConcurrency, maxConcurrencyEagerCheck, shutdownTimeoutSupplier);
+    }
+
+    @Override
+    public void start() throws MuleException {
+      super.start();
+
+      eventLoops = new EventLoopExecutor[getSinksCount()];
+      for (int i = 0; i < eventLoops.length; i++) {
+        eventLoops[i] = new EventLoopExecutor(i, getCpuLightScheduler());
+      }
+    }
+
+    @Override
+    protected boolean stopSchedulersIfNeeded() {
+      if (super.stopSchedulersIfNeeded()) {
+        if (eventLoops != null) {
+          for (EventLoopExecutor eventLoop : eventLoops) {
+            eventLoop.shutdown();
+          }
+        }
+        return true;
+      }
+
+      return false;
+    }
+
+    @Override
+    protected int getSinksCount() {
+      return min(maxConcurrency, CORES);
+    }
+
+    @Override
+    protected ProcessingTypeBasedReactiveProcessorEnricher getProcessingStrategyEnricher() {
+      final ProcessingTypeBasedReactiveProcessorEnricher proactorEnricher = super.getProcessingStrategyEnricher();
+
+      // The proactor enricher dispatches the callback of non-blocking operations to the cpu lite scheduler, which is not needed
+      // when going back to the event loop.
+      final ReactiveProcessorEnricher cpuLiteAsyncEnricher =
+          new CpuLiteNonBlockingProcessingStrategyEnricher(this::getCpuLightScheduler, getProfilingService(),
+                                                           getArtifactId(muleContext), getArtifactType(muleContext));
+
+      final ReactiveProcessorEnricher offloadingEnricher = processor -> backToEventLoop(proactorEnricher.enrich(processor));
+      return new ProcessingTypeBasedReactiveProcessorEnricher(proactorEnricher)
+          .register(CPU_LITE_ASYNC, processor -> backToEventLoop(cpuLiteAsyncEnricher.enrich(processor)))
+          .register(BLOCKING, offloadingEnricher)
+          .register(IO_RW, offloadingEnricher)
+          .register(CPU_INTENSIVE, offloadingEnricher);
+    }
+
+    /**
+     * Continues the processing of the events in the event loop of the sink they were emitted to, once the given
+     * {@code processor} is done with them. If the events are not processed through a sink of this strategy, they just continue on
+     * the thread that completed the processor.
+     */
+    private ReactiveProcessor backToEventLoop(ReactiveProcessor processor) {
+      return publisher -> deferContextual(ctx -> {
+        final Flux<CoreEvent> processed = from(publisher).transform(processor);
+        return ctx.<EventLoopExecutor>getOrEmpty(EVENT_LOOP_CONTEXT_KEY)
+            .map(eventLoop -> processed.publishOn(fromExecutorService(eventLoop)))
+            .orElse(processed);
+      });
+    }
+
+    @Override
+    public ReactiveProcessor onPipeline(ReactiveProcessor pipeline) {
+      // Dispatching to the event loop is done by the sink, so events coming from a flow-ref keep running on the loop of the
+      // calling flow.
+      return pipelineProcessingStrategyReactiveProcessorFrom(pipeline, executionClassloader, getArtifactId(muleContext),
+                                                             getArtifactType(muleContext))
+                                                                 .withProfilingService(getProfilingService())
+                                                                 .build();
+    }
+
+    @Override
+    protected Flux<CoreEvent> sinkFlux(EmitterProcessor<CoreEvent> processor, ReactiveProcessor function, int sinkIndex) {
+      final EventLoopExecutor eventLoop = eventLoops[sinkIndex];
+      return processor
+          .publishOn(fromExecutorService(eventLoop))
+          .transform(function)
+          .subscriberContext(ctx -> ctx.put(EVENT_LOOP_CONTEXT_KEY, eventLoop));
+    }
+
+    @Override
+    protected ReactorSink<CoreEvent> createCompositeSink(List<ReactorSink<CoreEvent>> sinks) {
+      return new EventLoopAffinityReactorSink(sinks);
+    }
+
+    /**
+     * Dispatches each event to the sink of the event loop the current thread is running, or distributes them round-robin if the
+     * current thread is not running an event loop.
+     */
+    static class EventLoopAffinityReactorSink implements ReactorSink<CoreEvent> {
+
+      private final List<ReactorSink<CoreEvent>> sinks;
+      private final AtomicInteger index = new AtomicInteger(0);
+      // Saving update function to avoid creating the lambda every time
+      private final IntUnaryOperator update;
+
+      EventLoopAffinityReactorSink(List<ReactorSink<CoreEvent>> sinks) {
+        this.sinks = sinks;
+        this.update = value -> (value + 1) % sinks.size();
+      }
+
+      private int nextIndex() {
+        final EventLoopExecutor currentEventLoop = currentEventLoop();
+        if (currentEventLoop != null) {
+          return currentEventLoop.getIndex() % sinks.size();
+        }
+        return index.getAndUpdate(update);
+      }
+
+      @Override
+      public void accept(CoreEvent event) {
+        sinks.get(nextIndex()).accept(event);
+      }
+
+      @Override
+      public BackPressureReason emit(CoreEvent event) {
+        final int first = nextIndex();
+        for (int i = 0; i < sinks.size(); i++) {
+          if (sinks.get((first + i) % sinks.size()).emit(event) == null) {
+            return null;
+          }
+        }
+        return EVENTS_ACCUMULATED;
+      }
+
+      @Override
+      public CoreEvent intoSink(CoreEvent event) {
+        return event;
+      }
+
+      @Override
+      public void prepareDispose() {
+        sinks.forEach(ReactorSink::prepareDispose);
+      }
+
+      @Override
+      public void dispose() {
+        sinks.forEach(ReactorSink::prepareDispose);
+        sinks.forEach(ReactorSink::dispose);
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static java.lang.Math.pow;
+import static java.lang.Math.round;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delay before a retry, growing it exponentially with each attempt up to a maximum, and optionally applying a random
+ * jitter so that the retries of many clients that failed at the same time are spread instead of happening all at once.
+ * <p>
+ * The delay for attempt {@code n} (starting at {@code 1}) is {@code min(maxDelay, baseDelay * multiplier^(n-1))}, reduced by a
+ * random amount of up to {@code jitter} times that value.
+ *
+ * @since 4.5.0
+ */
+public final class ExponentialBackoff {
+
+  /**
+   * A backoff that always returns the base delay.
+   */
+  public static final ExponentialBackoff FIXED = new ExponentialBackoff(1, Long.MAX_VALUE, 0);
+
+  private final double multiplier;
+  private final long maxDelay;
+  private final double jitter;
+
+  /**
+   * @param multiplier the factor to multiply the delay with on each attempt. Must be {@code 1} or greater.
+   * @param maxDelay   the maximum delay, in the same unit as the base delay.
+   * @param jitter     the maximum fraction of the delay to randomly subtract from it, between {@code 0} and {@code 1}.
+   */
+  public ExponentialBackoff(double multiplier, long maxDelay, double jitter) {
+    if (multiplier < 1) {
+      throw new IllegalArgumentException("multiplier must be 1 or greater");
+    }
+    if (maxDelay < 0) {
+      throw new IllegalArgumentException("maxDelay must not be negative");
+    }
+    if (jitter < 0 || jitter > 1) {
+      throw new IllegalArgumentException("jitter must be between 0 and 1");
+    }
+
+    this.multiplier = multiplier;
+    this.maxDelay = maxDelay;
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param baseDelay the delay before the first retry.
+   * @param attempt   the number of the retry, starting at {@code 1}.
+   * @return the delay before the given retry attempt.
+   */
+  public long delay(long baseDelay, int attempt) {
+    final double exponential = baseDelay * pow(multiplier, Math.max(0, attempt - 1));
+    final long delay = exponential >= maxDelay ? maxDelay : round(exponential);
+
+    if (jitter == 0 || delay == 0) {
+      return delay;
+    }
+    return delay - round(delay * jitter * ThreadLocalRandom.current().nextDouble());
+  }
+
+  /**
+   * @return whether this backoff always returns the base delay.
+   */
+  public boolean isFixed() {
+    return multiplier == 1 && jitter == 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ExponentialBackoff{multiplier=" + multiplier + ", maxDelay=" + maxDelay + ", jitter=" + jitter + "}";
+  }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+
+/**
+ * Hashed timer wheel for the delays between retries.
+ * <p>
+ * Instead of scheduling a task for each pending retry, retries are kept in the buckets of a wheel that is advanced by a single
+ * periodic task, so that many pending retries (for instance, during an outage of a downstream system) cost a list entry each
+ * rather than a scheduled task. The delays are honored with the precision of a tick.
+ * <p>
+ * The periodic task only runs while there are pending retries. Expired retries are dispatched to the {@link Executor} given on
+ * construction.
+ *
+ * @since 4.5.0
+ */
+public final class RetryTimerWheel {
+
+  private static final Logger LOGGER = getLogger(RetryTimerWheel.class);
+
+  /**
+   * System property to use timer wheels for the delays between retries of {@code until-successful} scopes and asynchronous
+   * reconnections, instead of scheduling each retry separately.
+   */
+  public static final String RETRY_TIMER_WHEEL_ENABLED_PROPERTY = RetryTimerWheel.class.getName() + ".enabled";
+
+  public static final long DEFAULT_TICK_MILLIS = 10;
+  public static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final ScheduledExecutorService ticker;
+  private final Executor executor;
+  private final long tickNanos;
+  private final List<Timeout>[] buckets;
+  private final int mask;
+
+  private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final LongAdder scheduled = new LongAdder();
+  private final LongAdder expired = new LongAdder();
+
+  private final Object tickingLock = new Object();
+  private ScheduledFuture<?> tickingTask;
+  private boolean stopped;
+
+  // Guarded by the buckets
+  private int cursor;
+  // The time the current tick was due at, which may be earlier than when it actually ran
+  private long tickTime;
+
+  /**
+   * @return whether timer wheels are enabled for the delays between retries.
+   * @see #RETRY_TIMER_WHEEL_ENABLED_PROPERTY
+   */
+  public static boolean isRetryTimerWheelEnabled() {
+    return getBoolean(RETRY_TIMER_WHEEL_ENABLED_PROPERTY);
+  }
+
+  /**
+   * Creates a wheel with the default tick and size, that ticks and dispatches expired retries in the given {@code scheduler}.
+   *
+   * @param scheduler the scheduler to run the periodic task and the expired retries in.
+   */
+  public RetryTimerWheel(ScheduledExecutorService scheduler) {
+    this(scheduler, scheduler, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+  }
+
+  /**
+   * @param ticker     the scheduler to run the periodic task in.
+   * @param executor   the executor to dispatch the expired retries to.
+   * @param tickMillis the duration of a tick, in milliseconds.
+   * @param wheelSize  the amount of buckets of the wheel, rounded up to a power of two.
+   */
+  public RetryTimerWheel(ScheduledExecutorService ticker, Executor executor, long tickMillis, int wheelSize) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("tickMillis must be greater than zero");
+    }
+    if (wheelSize <= 0) {
+      throw new IllegalArgumentException("wheelSize must be greater than zero");
+    }
+
+    this.ticker = ticker;
+    this.executor = executor;
+    this.tickNanos = MILLISECONDS.toNanos(tickMillis);
+
+    int size = 1;
+    while (size < wheelSize) {
+      size <<= 1;
+    }
+    this.buckets = new List[size];
+    for (int i = 0; i < size; ++i) {
+      buckets[i] = new ArrayList<>();
+    }
+    this.mask = size - 1;
+  }
+
+  /**
+   * Schedules the given {@code task} to be dispatched after the given {@code delay}.
+   *
+   * @param task  the task to run.
+   * @param delay the delay after which the task is run.
+   * @param unit  the unit of the {@code delay}.
+   * @return a handle to cancel the task.
+   * @throws RejectedExecutionException if this wheel was stopped.
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    return schedule(task, delay, unit, e -> LOGGER.warn("Retry could not be dispatched", e));
+  }
+
+  /**
+   * Schedules the given {@code task} to be dispatched after the given {@code delay}.
+   *
+   * @param task       the task to run.
+   * @param delay      the delay after which the task is run.
+   * @param unit       the unit of the {@code delay}.
+   * @param onRejected called with the rejection if the task could not be dispatched once its delay expired, so that the caller
+   *                   can fail whatever was waiting for the retry.
+   * @return a handle to cancel the task.
+   * @throws RejectedExecutionException if this wheel was stopped.
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit, Consumer<RejectedExecutionException> onRejected) {
+    final Timeout timeout = new Timeout(task, onRejected, nanoTime() + max(0, unit.toNanos(delay)));
+
+    newTimeouts.add(timeout);
+    pending.incrementAndGet();
+    scheduled.increment();
+
+    synchronized (tickingLock) {
+      if (stopped) {
+        timeout.cancel();
+        throw new RejectedExecutionException("Retry timer wheel is stopped");
+      }
+      if (tickingTask == null) {
+        synchronized (buckets) {
+          tickTime = nanoTime();
+        }
+        tickingTask = ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    return timeout;
+  }
+
+  private void tick() {
+    if (pending.get() == 0 && stopTickingIfIdle()) {
+      return;
+    }
+
+    try {
+      synchronized (buckets) {
+        tickTime += tickNanos;
+        cursor = (cursor + 1) & mask;
+        final Iterator<Timeout> bucketIterator = buckets[cursor].iterator();
+        while (bucketIterator.hasNext()) {
+          final Timeout timeout = bucketIterator.next();
+          if (timeout.isCancelled()) {
+            bucketIterator.remove();
+          } else if (timeout.remainingRounds > 0) {
+            --timeout.remainingRounds;
+          } else {
+            bucketIterator.remove();
+            timeout.expire();
+          }
+        }
+
+        // Done after expiring the current bucket, so that new retries are not dispatched before their delay
+        transferNewTimeouts();
+      }
+    } catch (Throwable t) {
+      // Prevent the periodic task from being cancelled because of an unexpected error
+      LOGGER.error("Error ticking retry timer wheel", t);
+    }
+  }
+
+  private boolean stopTickingIfIdle() {
+    synchronized (tickingLock) {
+      if (pending.get() != 0 || tickingTask == null) {
+        return false;
+      }
+
+      tickingTask.cancel(false);
+      tickingTask = null;
+
+      // Only cancelled retries should be left, there is no need to keep them. This is done before releasing the lock and without
+      // dropping the rest, so that a retry scheduled meanwhile is not lost.
+      synchronized (buckets) {
+        for (List<Timeout> bucket : buckets) {
+          bucket.removeIf(Timeout::isCancelled);
+        }
+      }
+    }
+    return true;
+  }
+
+  private void transferNewTimeouts() {
+    Timeout timeout;
+    while ((timeout = newTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      // The timeout is placed in the bucket where the wheel will be after the remaining delay, rounding up to a whole tick.
+      // The remaining delay is measured from when this tick was due, since late ticks are caught up by running the next ones
+      // sooner.
+      final long ticks = max(1, (timeout.deadline - tickTime + tickNanos - 1) / tickNanos);
+      timeout.remainingRounds = (ticks - 1) / buckets.length;
+      buckets[(int) ((cursor + ticks) & mask)].add(timeout);
+    }
+  }
+
+  /**
+   * Stops this wheel. Pending retries are discarded and no new ones are accepted.
+   */
+  public void stop() {
+    synchronized (tickingLock) {
+      stopped = true;
+      if (tickingTask != null) {
+        tickingTask.cancel(false);
+        tickingTask = null;
+      }
+    }
+
+    Timeout timeout;
+    while ((timeout = newTimeouts.poll()) != null) {
+      timeout.cancel();
+    }
+    synchronized (buckets) {
+      for (List<Timeout> bucket : buckets) {
+        bucket.forEach(Timeout::cancel);
+        bucket.clear();
+      }
+    }
+  }
+
+  /**
+   * @return the amount of retries waiting for their delay to expire.
+   */
+  public int getPendingCount() {
+    return pending.get();
+  }
+
+  /**
+   * @return the total amount of retries scheduled in this wheel.
+   */
+  public long getScheduledCount() {
+    return scheduled.sum();
+  }
+
+  /**
+   * @return the total amount of retries whose delay expired and were dispatched.
+   */
+  public long getExpiredCount() {
+    return expired.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "RetryTimerWheel{pending=" + getPendingCount() + ", scheduled=" + getScheduledCount() + ", expired="
+        + getExpiredCount() + "}";
+  }
+
+  /**
+   * Handle for a retry scheduled in a {@link RetryTimerWheel}.
+   */
+  public final class Timeout {
+
+    private final Runnable task;
+    private final Consumer<RejectedExecutionException> onRejected;
+    private final long deadline;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    // Guarded by the buckets of the wheel
+    private long remainingRounds;
+
+    private Timeout(Runnable task, Consumer<RejectedExecutionException> onRejected, long deadline) {
+      this.task = task;
+      this.onRejected = onRejected;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this retry, if it was not already dispatched.
+     *
+     * @return {@code true} if this call cancelled the retry.
+     */
+    public boolean cancel() {
+      if (done.compareAndSet(false, true)) {
+        pending.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * @return whether this retry was cancelled or dispatched.
+     */
+    public boolean isCancelled() {
+      return done.get();
+    }
+
+    private void expire() {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+
+      pending.decrementAndGet();
+      expired.increment();
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        try {
+          onRejected.accept(e);
+        } catch (Throwable t) {
+          LOGGER.error("Error handling the rejection of a retry", t);
+        }
+      }
+    }
+  }
+}
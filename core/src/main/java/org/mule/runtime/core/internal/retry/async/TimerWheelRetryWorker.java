@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.retry.async;
+
+import static org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate.RETRY_COUNT_FOREVER;
+
+import static java.lang.String.valueOf;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.notification.NotificationDispatcher;
+import org.mule.runtime.api.util.concurrent.Latch;
+import org.mule.runtime.core.api.retry.RetryCallback;
+import org.mule.runtime.core.api.retry.RetryNotifier;
+import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
+import org.mule.runtime.core.api.retry.policy.SimpleRetryPolicyTemplate;
+import org.mule.runtime.core.internal.retry.DefaultRetryContext;
+import org.mule.runtime.core.internal.retry.ExponentialBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link Runnable} that executes the retries of a {@link SimpleRetryPolicyTemplate} in a separate thread, like
+ * {@link RetryWorker} does, but without holding that thread while waiting between retries. Each attempt is executed in the work
+ * manager, and the next one is scheduled in a {@link RetryTimerWheel}.
+ *
+ * @since 4.5.0
+ */
+public class TimerWheelRetryWorker implements Runnable {
+
+  private static final Logger LOGGER = getLogger(TimerWheelRetryWorker.class);
+
+  private final SimpleRetryPolicyTemplate template;
+  private final RetryCallback callback;
+  private final Executor workManager;
+  private final RetryTimerWheel timerWheel;
+  private final ExponentialBackoff backoff;
+  private final Runnable onFailure;
+  private final DefaultRetryContext context;
+  private final FutureRetryContext futureContext = new FutureRetryContext();
+  private final Latch startLatch;
+
+  // Attempts never overlap, each one is started after the previous one fails
+  private volatile int retries = 0;
+  private volatile Exception exception = null;
+
+  /**
+   * @param template           the template defining the amount of retries and the time between them.
+   * @param callback           the work to retry.
+   * @param workManager        the executor to run each attempt in.
+   * @param startLatch         a latch to wait for before the first attempt, or {@code null}.
+   * @param timerWheel         the timer wheel to wait between retries in.
+   * @param backoff            the backoff to apply to the time between retries.
+   * @param notificationFirer  the dispatcher for the notifications of the retry context.
+   * @param onFailure          an action to execute when an attempt fails.
+   */
+  public TimerWheelRetryWorker(SimpleRetryPolicyTemplate template, RetryCallback callback, Executor workManager,
+                               Latch startLatch, RetryTimerWheel timerWheel, ExponentialBackoff backoff,
+                               NotificationDispatcher notificationFirer, Runnable onFailure) {
+    this.template = template;
+    this.callback = callback;
+    this.workManager = workManager;
+    this.timerWheel = timerWheel;
+    this.backoff = backoff;
+    this.onFailure = onFailure;
+    this.context = new DefaultRetryContext(callback.getWorkDescription(), template.getMetaInfo(), notificationFirer);
+    if (startLatch == null) {
+      this.startLatch = new Latch();
+      this.startLatch.countDown();
+    } else {
+      this.startLatch = startLatch;
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      startLatch.await();
+    } catch (InterruptedException e) {
+      LOGGER.warn("Retry thread interrupted for callback: " + callback.getWorkDescription());
+      return;
+    }
+    attempt();
+  }
+
+  private void attempt() {
+    final RetryNotifier notifier = template.getNotifier();
+    try {
+      callback.doWork(context);
+      if (notifier != null) {
+        notifier.onSuccess(context);
+      }
+      futureContext.setDelegateContext(context);
+    } catch (Exception e) {
+      onFailure.run();
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Error executing policy", e);
+      }
+      if (notifier != null) {
+        notifier.onFailure(context, e);
+      }
+
+      if (e instanceof InterruptedException || e instanceof InterruptedIOException) {
+        LOGGER.error("Process was interrupted (InterruptedException), ceasing process");
+        exhausted(e);
+      } else if (template.getCount() != RETRY_COUNT_FOREVER && retries >= template.getCount()) {
+        exhausted(e);
+      } else {
+        scheduleRetry(e);
+      }
+    }
+  }
+
+  private void scheduleRetry(Exception cause) {
+    final int retry = ++retries;
+    final long delay = backoff.delay(template.getFrequency(), retry);
+    if (LOGGER.isInfoEnabled()) {
+      LOGGER.info("Waiting for {} ms before reconnecting. Failed attempt {} of {}", delay, retry,
+                  template.getCount() != RETRY_COUNT_FOREVER ? valueOf(template.getCount()) : "unlimited");
+    }
+
+    try {
+      timerWheel.schedule(() -> workManager.execute(this::attempt), delay, MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // The owner of the timer wheel is being disposed
+      exhausted(cause);
+    }
+  }
+
+  private void exhausted(Exception cause) {
+    context.setFailed(cause);
+    exception = new RetryPolicyExhaustedException(cause, callback.getWorkOwner());
+    LOGGER.error("Error retrying work", exception);
+  }
+
+  public Exception getException() {
+    return exception;
+  }
+
+  public FutureRetryContext getRetryContext() {
+    return futureContext;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static java.lang.Boolean.TRUE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A partition of a {@link PartitionedInMemoryObjectStore}.
+ * <p>
+ * Besides the entries themselves, the partition keeps an index of the entries sorted by the time they were stored. Expiring
+ * entries, either by TTL or by exceeding the max amount of entries, only visits the entries that are actually evicted, and
+ * removing an entry doesn't require scanning the index.
+ *
+ * @param <T> the type of the stored values
+ * @since 4.5.0
+ */
+final class InMemoryObjectStorePartition<T extends Serializable> {
+
+  private static final Comparator<StoredEntry<?>> STORE_ORDER =
+      Comparator.<StoredEntry<?>>comparingLong(entry -> entry.time).thenComparingLong(entry -> entry.sequence);
+
+  private final ConcurrentMap<String, StoredEntry<T>> entries = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListMap<StoredEntry<T>, Boolean> expiryIndex = new ConcurrentSkipListMap<>(STORE_ORDER);
+  private final AtomicLong sequence = new AtomicLong();
+
+  private final LongAdder expiredEntries = new LongAdder();
+  private final LongAdder evictedEntries = new LongAdder();
+
+  boolean contains(String key) {
+    return entries.containsKey(key);
+  }
+
+  /**
+   * @return {@code false} if there already was a value for the given key, in which case nothing is stored.
+   */
+  boolean store(String key, T value, long nanoTime) {
+    StoredEntry<T> entry = new StoredEntry<>(key, value, nanoTime, sequence.getAndIncrement());
+    if (entries.putIfAbsent(key, entry) != null) {
+      return false;
+    }
+    expiryIndex.put(entry, TRUE);
+    return true;
+  }
+
+  T retrieve(String key) {
+    StoredEntry<T> entry = entries.get(key);
+    return entry == null ? null : entry.value;
+  }
+
+  T remove(String key) {
+    StoredEntry<T> entry = entries.remove(key);
+    if (entry == null) {
+      return null;
+    }
+    expiryIndex.remove(entry);
+    return entry.value;
+  }
+
+  List<String> allKeys() {
+    return new ArrayList<>(entries.keySet());
+  }
+
+  Map<String, T> retrieveAll() {
+    Map<String, T> values = new LinkedHashMap<>();
+    entries.forEach((key, entry) -> values.put(key, entry.value));
+    return values;
+  }
+
+  void clear() {
+    entries.clear();
+    expiryIndex.clear();
+  }
+
+  /**
+   * Removes the oldest entries in excess of {@code maxEntries}.
+   *
+   * @return the amount of removed entries
+   */
+  int trimToMaxSize(int maxEntries) {
+    if (maxEntries <= UNBOUNDED) {
+      return 0;
+    }
+
+    int trimmed = 0;
+    while (entries.size() > maxEntries) {
+      Map.Entry<StoredEntry<T>, Boolean> oldest = expiryIndex.pollFirstEntry();
+      if (oldest == null) {
+        break;
+      }
+      if (evict(oldest.getKey())) {
+        trimmed++;
+      }
+    }
+
+    evictedEntries.add(trimmed);
+    return trimmed;
+  }
+
+  /**
+   * Removes the entries that were stored {@code entryTTL} milliseconds or more before {@code now}.
+   *
+   * @return the amount of removed entries
+   */
+  int expire(long now, long entryTTL) {
+    if (entryTTL == UNBOUNDED) {
+      return 0;
+    }
+
+    final long ttlNanos = MILLISECONDS.toNanos(entryTTL);
+    int expired = 0;
+    Map.Entry<StoredEntry<T>, Boolean> oldest;
+    while ((oldest = expiryIndex.firstEntry()) != null && now - oldest.getKey().time >= ttlNanos) {
+      // Another thread may have removed the same entry in the meantime, only the one that actually removes it counts it
+      if (expiryIndex.remove(oldest.getKey()) != null && evict(oldest.getKey())) {
+        expired++;
+      }
+    }
+
+    expiredEntries.add(expired);
+    return expired;
+  }
+
+  private boolean evict(StoredEntry<T> entry) {
+    // The index may hold an entry whose key was concurrently removed (and maybe stored again), so only remove the key if it is
+    // still mapped to this very entry.
+    return entries.remove(entry.key, entry);
+  }
+
+  int getSize() {
+    return entries.size();
+  }
+
+  long getExpiredEntries() {
+    return expiredEntries.sum();
+  }
+
+  long getEvictedEntries() {
+    return evictedEntries.sum();
+  }
+
+  private static final class StoredEntry<T> {
+
+    private final String key;
+    private final T value;
+    private final long time;
+    private final long sequence;
+
+    private StoredEntry(String key, T value, long time, long sequence) {
+      this.key = key;
+      this.value = value;
+      this.time = time;
+      this.sequence = sequence;
+    }
+  }
+}
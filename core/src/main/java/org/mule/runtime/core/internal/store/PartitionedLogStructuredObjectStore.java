@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.store;
+
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.OBJECT_FILE_EXTENSION;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentPartition;
+
+import java.io.File;
+import java.io.Serializable;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PartitionedPersistentObjectStore} which stores new partitions as {@link LogStructuredObjectStorePartition}s.
+ * <p>
+ * Partitions written by a previous execution with one file per entry keep using that layout. Disposing this store disposes its
+ * partitions, which stops their background compaction.
+ *
+ * @since 4.5.0
+ */
+public class PartitionedLogStructuredObjectStore<T extends Serializable> extends PartitionedPersistentObjectStore<T>
+    implements Disposable {
+
+  private static final Logger LOGGER = getLogger(PartitionedLogStructuredObjectStore.class);
+
+  /**
+   * System property to use this implementation as the default persistent object store.
+   */
+  public static final String LOG_STRUCTURED_OBJECT_STORE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured";
+
+  public PartitionedLogStructuredObjectStore() {
+    super();
+  }
+
+  public PartitionedLogStructuredObjectStore(MuleContext context) {
+    super(context);
+  }
+
+  @Override
+  protected PersistentPartition<T> createPartitionObjectStore(String partitionName, File partitionDirectory) {
+    return new LogStructuredObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+  }
+
+  @Override
+  protected PersistentPartition<T> loadPartitionObjectStore(File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    if (isLogStructuredPartition(partitionDirectory) || !hasEntryFiles(partitionDirectory)) {
+      return new LogStructuredObjectStorePartition<>(muleContext, partitionDirectory);
+    }
+    return super.loadPartitionObjectStore(partitionDirectory);
+  }
+
+  @Override
+  public void dispose() {
+    for (PersistentPartition partition : getPartitions()) {
+      disposeIfNeeded(partition, LOGGER);
+    }
+  }
+
+  private boolean hasEntryFiles(File partitionDirectory) {
+    String[] entryFileNames = partitionDirectory.list((dir, name) -> name.endsWith(OBJECT_FILE_EXTENSION));
+    return entryFileNames != null && entryFileNames.length > 0;
+  }
+}
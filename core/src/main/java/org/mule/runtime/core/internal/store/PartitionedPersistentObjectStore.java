@@ -11,6 +11,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.i18n.I18nMessage;
 import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
 import org.mule.runtime.api.store.PartitionableExpirableObjectStore;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.component.InternalComponent;
@@ -19,11 +20,13 @@ import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
+import org.mule.runtime.core.internal.util.store.PersistentPartition;
 
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,7 +43,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   protected MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
+  private Map<String, PersistentPartition> partitionsByName = new HashMap<>();
   private boolean initialized = false;
 
   public PartitionedPersistentObjectStore() {
@@ -52,7 +55,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     muleContext = context;
   }
 
-  protected PartitionedPersistentObjectStore(Map<String, PersistentObjectStorePartition> getPartitionsByName) {
+  protected PartitionedPersistentObjectStore(Map<String, PersistentPartition> getPartitionsByName) {
     this.partitionsByName = getPartitionsByName;
   }
 
@@ -84,12 +87,37 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   public void close(String partitionName) throws ObjectStoreException {}
 
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+    PersistentPartition persistentObjectStorePartition =
+        createPartitionObjectStore(partitionName, getNewPartitionDirectory(partitionName));
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
 
+  /**
+   * Creates the object store for a new partition.
+   *
+   * @param partitionName      the name of the partition
+   * @param partitionDirectory the directory where the partition data will be stored
+   * @return a new partition object store
+   * @since 4.5.0
+   */
+  protected PersistentPartition<T> createPartitionObjectStore(String partitionName, File partitionDirectory) {
+    return new PersistentObjectStorePartition<>(muleContext, partitionName, partitionDirectory);
+  }
+
+  /**
+   * Creates the object store for a partition stored in a previous execution.
+   *
+   * @param partitionDirectory the directory where the partition data is stored
+   * @return a partition object store for the existing data
+   * @throws ObjectStoreNotAvailableException if the partition data cannot be read
+   * @since 4.5.0
+   */
+  protected PersistentPartition<T> loadPartitionObjectStore(File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    return new PersistentObjectStorePartition<>(muleContext, partitionDirectory);
+  }
+
   private File getNewPartitionDirectory(String partitionName) {
     return new File(storeDirectory, getPartitionDirectoryName(partitionName));
   }
@@ -139,13 +167,21 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     getPartitionObjectStore(partitionName).clear();
   }
 
-  protected PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
+  protected PersistentPartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
     if (!partitionsByName.containsKey(partitionName)) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
     return partitionsByName.get(partitionName);
   }
 
+  /**
+   * @return the partitions opened so far
+   * @since 4.5.0
+   */
+  protected Collection<PersistentPartition> getPartitions() {
+    return partitionsByName.values();
+  }
+
   @Override
   public List<String> allPartitions() throws ObjectStoreException {
     File[] files = storeDirectory.listFiles();
@@ -193,8 +229,7 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentPartition persistentObjectStorePartition = loadPartitionObjectStore(partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
@@ -12,6 +12,7 @@ import org.mule.runtime.api.lock.LockFactory;
 import org.mule.runtime.api.store.ObjectStoreException;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartitionData;
+import org.mule.runtime.core.internal.util.store.PersistentPartition;
 
 import java.io.File;
 import java.io.Serializable;
@@ -36,11 +37,11 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
    * Uses an static field to control access from different instances of this partitioned persistent object store between different
    * deploymennts, registries.
    */
-  private static Map<String, PersistentObjectStorePartition> partitionsByName =
-      new ConcurrentHashMap<String, PersistentObjectStorePartition>() {
+  private static Map<String, PersistentPartition> partitionsByName =
+      new ConcurrentHashMap<String, PersistentPartition>() {
 
         @Override
-        public PersistentObjectStorePartition put(String key, PersistentObjectStorePartition value) {
+        public PersistentPartition put(String key, PersistentPartition value) {
           // Creates an instance of the information to avoid referencing to the muleContext as the same
           // persistentObjectStorePartition
           // is used by different muleContexts
@@ -48,7 +49,7 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
         }
 
         @Override
-        public PersistentObjectStorePartition putIfAbsent(String key, PersistentObjectStorePartition value) {
+        public PersistentPartition putIfAbsent(String key, PersistentPartition value) {
           // Creates an instance of the information to avoid referencing to the muleContext as the same
           // persistentObjectStorePartition
           // is used by different muleContexts
@@ -76,7 +77,7 @@ public class SharedPartitionedPersistentObjectStore<T extends Serializable> exte
 
   @Override
   protected PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition<T> partitionObjectStore = super.getPartitionObjectStore(partitionName);
+    PersistentPartition<T> partitionObjectStore = super.getPartitionObjectStore(partitionName);
     // Create a new PersistentObjectStorePartition that references to the current muleContext to deserialize an entry that was
     // added
     // by another muleContext (serialization)
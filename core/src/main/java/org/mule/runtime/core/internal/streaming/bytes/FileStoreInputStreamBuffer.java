@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.lang.System.arraycopy;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_FILE_STORE_SEGMENT_SIZE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.FileStoreCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.TempBufferFileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which holds the most recently consumed data in a bounded in-memory
+ * window and spills everything behind that window to temporal files.
+ * <p>
+ * The temporal files are fixed size segments created through {@link TempBufferFileUtils} and memory mapped in their entirety.
+ * Data which has already been spilled is handed to the cursors as read only slices of those mappings, so reading it back does
+ * not copy it into the heap. Data still in the in-memory window is copied, since the window is recycled each time it's spilled.
+ * <p>
+ * Because of this, the heap footprint of this buffer is bounded by {@link FileStoreCursorStreamConfig#getMaxInMemorySize()}
+ * regardless of the size of the stream.
+ *
+ * @since 4.5.0
+ */
+public class FileStoreInputStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreInputStreamBuffer.class);
+
+  private final int segmentSize;
+  private final List<Segment> segments = new ArrayList<>();
+
+  private ManagedByteBufferWrapper managedWindow;
+  private ByteBuffer window;
+
+  /**
+   * The stream position of the first byte held in the {@link #window}. Every position before this one lives in a segment.
+   */
+  private long windowStart = 0;
+  private long bufferTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in-memory window
+   */
+  public FileStoreInputStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    this(stream, config, bufferManager, DEFAULT_FILE_STORE_SEGMENT_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration.
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in-memory window
+   * @param segmentSize   the size in bytes of each of the segment files
+   */
+  FileStoreInputStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager,
+                             int segmentSize) {
+    super(stream, bufferManager);
+    checkArgument(segmentSize > 0, "segmentSize must be greater than zero bytes");
+    this.segmentSize = segmentSize;
+    managedWindow = bufferManager.allocateManaged(config.getMaxInMemorySize().toBytes());
+    window = managedWindow.getDelegate();
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    readLock.lock();
+    try {
+      ByteBuffer presentRead = getFromCurrentData(position, length);
+      if (presentRead != null) {
+        return presentRead;
+      }
+
+      readLock.unlock();
+      writeLock.lock();
+
+      try {
+        while (!streamFullyConsumed && bufferTip <= position) {
+          consumeForwardData();
+        }
+
+        return getFromCurrentData(position, length);
+      } catch (IOException e) {
+        throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+      } finally {
+        // classic lock downgrade
+        readLock.lock();
+        writeLock.unlock();
+      }
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) {
+    if (position >= bufferTip) {
+      return null;
+    }
+
+    return copy(position, toIntExact(min(length, bufferTip - position)));
+  }
+
+  /**
+   * {@inheritDoc} If the in-memory window is full, then its contents are spilled to the segment files before consuming new
+   * information.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (!window.hasRemaining()) {
+      spillWindow();
+    }
+
+    final int read = consumeStream(window);
+    if (read > 0) {
+      bufferTip += read;
+    }
+
+    return read;
+  }
+
+  private void spillWindow() throws IOException {
+    window.flip();
+    long spillPosition = windowStart;
+
+    while (window.hasRemaining()) {
+      final int offset = offsetInSegment(spillPosition);
+      final int chunk = min(window.remaining(), segmentSize - offset);
+
+      ByteBuffer source = window.duplicate();
+      source.limit(source.position() + chunk);
+
+      ByteBuffer destination = getOrCreateSegment(spillPosition).mapping.duplicate();
+      destination.position(offset);
+      destination.put(source);
+
+      window.position(window.position() + chunk);
+      spillPosition += chunk;
+    }
+
+    windowStart = spillPosition;
+    window.clear();
+  }
+
+  private Segment getOrCreateSegment(long position) throws IOException {
+    final int index = segmentIndex(position);
+    if (index < segments.size()) {
+      return segments.get(index);
+    }
+
+    Segment segment = new Segment(createBufferFile("segment-" + index), segmentSize);
+    segments.add(segment);
+    return segment;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @return a read only slice of the mapped segment if the data was already spilled, or a copy of the in-memory window otherwise
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    if (position >= windowStart) {
+      return copyFromWindow(position, length);
+    }
+
+    final int offset = offsetInSegment(position);
+    length = toIntExact(min(length, min(segmentSize - offset, windowStart - position)));
+
+    ByteBuffer slice = segments.get(segmentIndex(position)).mapping.asReadOnlyBuffer();
+    slice.position(offset);
+    slice.limit(offset + length);
+    return slice.slice();
+  }
+
+  private ByteBuffer copyFromWindow(long position, int length) {
+    final int offset = toIntExact(position - windowStart);
+    length = min(length, window.position() - offset);
+
+    byte[] b = new byte[length];
+    arraycopy(window.array(), offset, b, 0, length);
+    return wrap(b);
+  }
+
+  private int segmentIndex(long position) {
+    return toIntExact(position / segmentSize);
+  }
+
+  private int offsetInSegment(long position) {
+    return toIntExact(position % segmentSize);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void doClose() {
+    managedWindow.release();
+    managedWindow = null;
+    window = null;
+
+    segments.forEach(Segment::delete);
+    segments.clear();
+  }
+
+  /**
+   * A temporal file which is mapped into memory in its entirety.
+   * <p>
+   * The file channel is closed as soon as the mapping is established, since the mapping remains valid on its own.
+   */
+  private static final class Segment {
+
+    private final File file;
+    private final MappedByteBuffer mapping;
+
+    private Segment(File file, int size) throws IOException {
+      this.file = file;
+      try (FileChannel channel = FileChannel.open(file.toPath(), READ, WRITE)) {
+        mapping = channel.map(READ_WRITE, 0, size);
+      } catch (IOException e) {
+        delete();
+        throw e;
+      }
+    }
+
+    private void delete() {
+      if (!file.delete()) {
+        LOGGER.debug("Could not delete streaming buffer segment file '{}'. Will try again on exit", file.getAbsolutePath());
+        file.deleteOnExit();
+      }
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.nio.ByteBuffer.wrap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_BUFFER_SIZE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.streaming.object.FileStoreCursorIteratorConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which only keeps a bounded amount of {@link Bucket buckets} in memory.
+ * <p>
+ * Each time a {@link Bucket} is filled, it gets serialized with the given {@link ObjectSerializer} and appended to a temporal
+ * segment file. Only the most recently used buckets are kept resident in memory. When a cursor seeks into a bucket which is no
+ * longer resident, that bucket is read back from the segment file.
+ * <p>
+ * The amount of resident buckets is derived from {@link FileStoreCursorIteratorConfig#getMaxInMemoryInstances()}, so the heap
+ * footprint of this buffer is bounded regardless of the size of the stream. Notice that this requires the streamed items to be
+ * serializable by the given {@link ObjectSerializer}.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.5.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final ObjectSerializer serializer;
+  private final int bucketSize;
+  private final int maxResidentBuckets;
+
+  /**
+   * Offset and length in the segment file of each of the buckets that were already spilled, indexed by bucket index.
+   */
+  private final List<long[]> spilledBuckets = new ArrayList<>();
+  private final Map<Integer, Bucket<T>> residentBuckets;
+
+  private File segmentFile;
+  private FileChannel segment;
+  private long segmentTip = 0;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream     the stream to be buffered
+   * @param config     this buffer's configuration
+   * @param serializer the {@link ObjectSerializer} used to write and read the spilled buckets
+   */
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config, ObjectSerializer serializer) {
+    super(stream);
+    this.serializer = serializer;
+    bucketSize = min(config.getMaxInMemoryInstances(), DEFAULT_OBJECT_STREAMING_BUFFER_SIZE);
+    maxResidentBuckets = max(1, config.getMaxInMemoryInstances() / bucketSize);
+    residentBuckets = new LinkedHashMap<Integer, Bucket<T>>(maxResidentBuckets, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Integer, Bucket<T>> eldest) {
+        return size() > maxResidentBuckets;
+      }
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, bucketSize));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    final int index = position.getBucketIndex();
+    Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == index) {
+      return currentBucket;
+    }
+
+    if (index >= spilledBuckets.size()) {
+      return null;
+    }
+
+    // access ordered maps are modified on get, and this is invoked concurrently while holding the read lock
+    synchronized (residentBuckets) {
+      Bucket<T> bucket = residentBuckets.get(index);
+      if (bucket == null) {
+        bucket = load(index);
+        residentBuckets.put(index, bucket);
+      }
+
+      return bucket;
+    }
+  }
+
+  /**
+   * {@inheritDoc} The {@code overflownBucket} is appended to the segment file and remains resident until it becomes one of the
+   * least recently used.
+   */
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    spill(overflownBucket);
+    synchronized (residentBuckets) {
+      residentBuckets.put(overflownBucket.getIndex(), overflownBucket);
+    }
+
+    return new Bucket<>(overflownBucket.getIndex() + 1, bucketSize);
+  }
+
+  private void spill(Bucket<T> bucket) {
+    byte[] bytes = serializer.getInternalProtocol().serialize(bucket);
+    try {
+      if (segment == null) {
+        segmentFile = createBufferFile("objects");
+        segment = FileChannel.open(segmentFile.toPath(), READ, WRITE);
+      }
+
+      ByteBuffer buffer = wrap(bytes);
+      long offset = segmentTip;
+      while (buffer.hasRemaining()) {
+        segmentTip += segment.write(buffer, segmentTip);
+      }
+
+      spilledBuckets.add(new long[] {offset, bytes.length});
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write streaming buffer to disk"), e);
+    }
+  }
+
+  private Bucket<T> load(int index) {
+    long[] location = spilledBuckets.get(index);
+    ByteBuffer buffer = ByteBuffer.allocate((int) location[1]);
+    try {
+      while (buffer.hasRemaining()) {
+        if (segment.read(buffer, location[0] + buffer.position()) < 0) {
+          throw new IOException("Unexpected end of streaming buffer file " + segmentFile.getAbsolutePath());
+        }
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read streaming buffer from disk"), e);
+    }
+
+    return serializer.getInternalProtocol().deserialize(buffer.array());
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // this buffer is only bounded by disk space
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    synchronized (residentBuckets) {
+      residentBuckets.clear();
+    }
+    spilledBuckets.clear();
+
+    if (segment != null) {
+      try {
+        segment.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close streaming buffer file", e);
+      }
+
+      if (!segmentFile.delete()) {
+        LOGGER.debug("Could not delete streaming buffer file '{}'. Will try again on exit", segmentFile.getAbsolutePath());
+        segmentFile.deleteOnExit();
+      }
+      segment = null;
+    }
+  }
+}
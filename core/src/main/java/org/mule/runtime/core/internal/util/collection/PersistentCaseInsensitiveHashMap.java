@@ -0,0 +1,616 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.collection;
+
+import static java.lang.Character.toLowerCase;
+import static java.lang.Character.toUpperCase;
+import static java.lang.Integer.bitCount;
+import static java.lang.Math.max;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOf;
+
+import org.mule.runtime.core.api.util.CaseInsensitiveHashMap;
+
+import java.io.ObjectStreamException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable {@link CaseInsensitiveHashMap} with {@link String} keys, backed by a hash array mapped trie.
+ * <p>
+ * New versions of the map are obtained through {@link #plus(String, Object)} and {@link #minus(String)}, which take
+ * {@code O(log32 n)} time and share the unchanged branches of the trie with the original map. This allows for events to add or
+ * remove variables without copying all the variables of the event they are based on.
+ * <p>
+ * Like the other {@link CaseInsensitiveHashMap} implementations, iteration follows the order in which the keys were first added
+ * and keys keep the case they had when first added. That order is kept in a second trie, indexed by the position in which each
+ * entry was added, so it is not sorted again for each new version.
+ *
+ * @param <V> the generic type of the values
+ * @since 4.5.0
+ */
+public final class PersistentCaseInsensitiveHashMap<V> extends CaseInsensitiveHashMap<String, V> {
+
+  private static final long serialVersionUID = -1465324003264981547L;
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  // Removed entries leave their position empty in the insertion order, until they are more than the remaining ones
+  private static final int MIN_POSITIONS_TO_COMPACT = 1 << BITS;
+
+  @SuppressWarnings("rawtypes")
+  private static final PersistentCaseInsensitiveHashMap EMPTY =
+      new PersistentCaseInsensitiveHashMap<>(BitmapNode.EMPTY, InsertionOrder.EMPTY, 0);
+
+  private final transient Node root;
+  private final transient InsertionOrder insertionOrder;
+  private final transient int size;
+
+  /**
+   * @param <V> the generic type of the values
+   * @return an empty map
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveHashMap<V> emptyPersistentCaseInsensitiveMap() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a map with the same entries as the given {@code map}. If {@code map} already is an instance of this class, it is
+   * returned as is.
+   *
+   * @param map the map to copy
+   * @param <V> the generic type of the values
+   * @return a {@link PersistentCaseInsensitiveHashMap} with the entries of {@code map}
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> PersistentCaseInsensitiveHashMap<V> of(Map<String, ? extends V> map) {
+    if (map instanceof PersistentCaseInsensitiveHashMap) {
+      return (PersistentCaseInsensitiveHashMap<V>) map;
+    }
+
+    PersistentCaseInsensitiveHashMap<V> result = emptyPersistentCaseInsensitiveMap();
+    for (Map.Entry<String, ? extends V> entry : map.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  private PersistentCaseInsensitiveHashMap(Node root, InsertionOrder insertionOrder, int size) {
+    super(false);
+    this.root = root;
+    this.insertionOrder = insertionOrder;
+    this.size = size;
+    this.delegate = new MapView();
+  }
+
+  /**
+   * @param key   the key of the entry to add
+   * @param value the value of the entry to add
+   * @return a map with the entries of this one plus the given one, replacing the value for an existing key that is equal to
+   *         {@code key} ignoring case.
+   */
+  public PersistentCaseInsensitiveHashMap<V> plus(String key, V value) {
+    int hash = hash(key);
+    TrieEntry existing = root.find(key, hash, 0);
+    if (existing != null) {
+      TrieEntry entry = existing.withValue(value);
+      return new PersistentCaseInsensitiveHashMap<>(root.put(entry, 0), insertionOrder.with(existing.position, entry), size);
+    }
+
+    TrieEntry entry = new TrieEntry(key, value, hash, insertionOrder.length());
+    return new PersistentCaseInsensitiveHashMap<>(root.put(entry, 0), insertionOrder.with(entry.position, entry), size + 1);
+  }
+
+  /**
+   * @param key the key of the entry to remove
+   * @return a map with the entries of this one except the one for the given {@code key}, or this same map if there is no such
+   *         entry.
+   */
+  public PersistentCaseInsensitiveHashMap<V> minus(String key) {
+    if (key == null) {
+      return this;
+    }
+
+    int hash = hash(key);
+    TrieEntry existing = root.find(key, hash, 0);
+    if (existing == null) {
+      return this;
+    } else if (size == 1) {
+      return emptyPersistentCaseInsensitiveMap();
+    }
+
+    PersistentCaseInsensitiveHashMap<V> result =
+        new PersistentCaseInsensitiveHashMap<>(root.remove(key, hash, 0), insertionOrder.with(existing.position, null), size - 1);
+    int positions = result.insertionOrder.length();
+    return positions >= MIN_POSITIONS_TO_COMPACT && positions > 2 * result.size ? result.compact() : result;
+  }
+
+  /**
+   * @return a map with the same entries as this one, without empty positions in its insertion order.
+   */
+  @SuppressWarnings("unchecked")
+  private PersistentCaseInsensitiveHashMap<V> compact() {
+    PersistentCaseInsensitiveHashMap<V> result = emptyPersistentCaseInsensitiveMap();
+    for (TrieEntry entry : insertionOrder.toArray(size)) {
+      result = result.plus(entry.getKey(), (V) entry.getValue());
+    }
+    return result;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    TrieEntry entry = find(key);
+    return entry == null ? null : (V) entry.getValue();
+  }
+
+  @Override
+  public V put(String key, V value) {
+    throw new UnsupportedOperationException("Persistent maps cannot be modified, use plus(String, Object) instead");
+  }
+
+  @Override
+  public V remove(Object key) {
+    throw new UnsupportedOperationException("Persistent maps cannot be modified, use minus(String) instead");
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ? extends V> values) {
+    throw new UnsupportedOperationException("Persistent maps cannot be modified");
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Persistent maps cannot be modified");
+  }
+
+  private TrieEntry find(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    return root.find((String) key, hash((String) key), 0);
+  }
+
+  @Override
+  public CaseInsensitiveHashMap<String, V> toImmutableCaseInsensitiveMap() {
+    return this;
+  }
+
+  @Override
+  public CaseInsensitiveHashMap<String, V> copy() {
+    return new CaseInsensitiveHashMap<>(this);
+  }
+
+  @Override
+  public Object clone() {
+    return this;
+  }
+
+  private Object writeReplace() throws ObjectStreamException {
+    return new CaseInsensitiveHashMap<>(this).toImmutableCaseInsensitiveMap();
+  }
+
+  /**
+   * Hash of the given key that is consistent with {@link String#equalsIgnoreCase(String)}.
+   */
+  private static int hash(String key) {
+    int h = 0;
+    for (int i = 0; i < key.length(); i++) {
+      h = 31 * h + toLowerCase(toUpperCase(key.charAt(i)));
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static int index(int hash, int shift) {
+    return (hash >>> shift) & MASK;
+  }
+
+  /**
+   * Read only {@link Map} used as the {@link #delegate}, iterating the entries in the order they were added.
+   */
+  private final class MapView extends AbstractMap<String, V> {
+
+    private transient volatile TrieEntry[] orderedEntries;
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+      return new AbstractSet<Entry<String, V>>() {
+
+        @Override
+        public Iterator<Entry<String, V>> iterator() {
+          return new EntryIterator(getOrderedEntries());
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+
+    private TrieEntry[] getOrderedEntries() {
+      TrieEntry[] entries = orderedEntries;
+      if (entries == null) {
+        entries = insertionOrder.toArray(size);
+        orderedEntries = entries;
+      }
+      return entries;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return PersistentCaseInsensitiveHashMap.this.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+      return PersistentCaseInsensitiveHashMap.this.get(key);
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+    private final TrieEntry[] entries;
+    private int next = 0;
+
+    private EntryIterator(TrieEntry[] entries) {
+      this.entries = entries;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next < entries.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map.Entry<String, V> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return (Map.Entry<String, V>) entries[next++];
+    }
+  }
+
+  private static final class TrieEntry extends AbstractMap.SimpleImmutableEntry<String, Object> {
+
+    private static final long serialVersionUID = -2898719282163417337L;
+
+    private final int hash;
+    private final int position;
+
+    private TrieEntry(String key, Object value, int hash, int position) {
+      super(key, value);
+      this.hash = hash;
+      this.position = position;
+    }
+
+    private boolean matches(String key, int hash) {
+      return this.hash == hash && getKey().equalsIgnoreCase(key);
+    }
+
+    /**
+     * @return an entry with the given value that keeps the key and position of this one.
+     */
+    private TrieEntry withValue(Object value) {
+      return new TrieEntry(getKey(), value, hash, position);
+    }
+  }
+
+  /**
+   * The entries of a map in the order they were added, in a persistent trie indexed by the position in which each one was added.
+   * The positions of removed entries are left empty.
+   */
+  private static final class InsertionOrder {
+
+    private static final Object[] NO_SLOTS = new Object[0];
+    private static final InsertionOrder EMPTY = new InsertionOrder(NO_SLOTS, 0, 0);
+
+    private final Object[] root;
+    private final int shift;
+    private final int length;
+
+    private InsertionOrder(Object[] root, int shift, int length) {
+      this.root = root;
+      this.shift = shift;
+      this.length = length;
+    }
+
+    /**
+     * @return the amount of positions, including the empty ones.
+     */
+    private int length() {
+      return length;
+    }
+
+    /**
+     * @param position the position to set, which may be {@link #length()} to add one at the end.
+     * @param entry    the entry for the position, or {@code null} to leave it empty.
+     * @return a copy of this insertion order with the given {@code entry} at the given {@code position}.
+     */
+    private InsertionOrder with(int position, TrieEntry entry) {
+      Object[] newRoot = root;
+      int newShift = shift;
+      if (position == length && length == 1L << (shift + BITS)) {
+        // The trie is full, so it grows a level
+        newRoot = new Object[] {root};
+        newShift += BITS;
+      }
+      return new InsertionOrder(with(newRoot, newShift, position, entry), newShift, max(length, position + 1));
+    }
+
+    private static Object[] with(Object[] node, int shift, int position, TrieEntry entry) {
+      int index = index(position, shift);
+      Object[] newNode = copyOf(node, max(node.length, index + 1));
+      newNode[index] = shift == 0 ? entry
+          : with(index < node.length ? (Object[]) node[index] : NO_SLOTS, shift - BITS, position, entry);
+      return newNode;
+    }
+
+    /**
+     * @param size the amount of non empty positions.
+     * @return the entries in the non empty positions, in order.
+     */
+    private TrieEntry[] toArray(int size) {
+      TrieEntry[] entries = new TrieEntry[size];
+      collect(root, shift, entries, 0);
+      return entries;
+    }
+
+    private static int collect(Object[] node, int shift, TrieEntry[] target, int offset) {
+      for (Object slot : node) {
+        if (slot instanceof TrieEntry) {
+          target[offset++] = (TrieEntry) slot;
+        } else if (slot != null) {
+          offset = collect((Object[]) slot, shift - BITS, target, offset);
+        }
+      }
+      return offset;
+    }
+  }
+
+  private interface Node {
+
+    TrieEntry find(String key, int hash, int shift);
+
+    /**
+     * @return the node with the given {@code entry}, replacing the one for the same key if there is one.
+     */
+    Node put(TrieEntry entry, int shift);
+
+    /**
+     * @return the node without the entry for the given {@code key}, this same node if it has no such entry or {@code null} if
+     *         the node becomes empty.
+     */
+    Node remove(String key, int hash, int shift);
+
+    /**
+     * @return the only entry of this node if it has no other entries nor children, {@code null} otherwise.
+     */
+    TrieEntry singleEntry();
+  }
+
+  /**
+   * A node which slots may contain either a {@link TrieEntry} or a child {@link Node}.
+   */
+  private static final class BitmapNode implements Node {
+
+    private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    private BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    private int position(int bit) {
+      return bitCount(bitmap & (bit - 1));
+    }
+
+    @Override
+    public TrieEntry find(String key, int hash, int shift) {
+      int bit = 1 << index(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return null;
+      }
+
+      Object slot = slots[position(bit)];
+      if (slot instanceof TrieEntry) {
+        TrieEntry entry = (TrieEntry) slot;
+        return entry.matches(key, hash) ? entry : null;
+      }
+      return ((Node) slot).find(key, hash, shift + BITS);
+    }
+
+    @Override
+    public Node put(TrieEntry entry, int shift) {
+      int bit = 1 << index(entry.hash, shift);
+      int position = position(bit);
+
+      if ((bitmap & bit) == 0) {
+        Object[] newSlots = new Object[slots.length + 1];
+        arraycopy(slots, 0, newSlots, 0, position);
+        newSlots[position] = entry;
+        arraycopy(slots, position, newSlots, position + 1, slots.length - position);
+        return new BitmapNode(bitmap | bit, newSlots);
+      }
+
+      Object slot = slots[position];
+      Object newSlot;
+      if (slot instanceof TrieEntry) {
+        TrieEntry existing = (TrieEntry) slot;
+        newSlot = existing.matches(entry.getKey(), entry.hash) ? entry : merge(existing, entry, shift + BITS);
+      } else {
+        newSlot = ((Node) slot).put(entry, shift + BITS);
+      }
+
+      return withSlot(position, newSlot);
+    }
+
+    @Override
+    public Node remove(String key, int hash, int shift) {
+      int bit = 1 << index(hash, shift);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+
+      int position = position(bit);
+      Object slot = slots[position];
+      if (slot instanceof TrieEntry) {
+        return ((TrieEntry) slot).matches(key, hash) ? withoutSlot(bit, position) : this;
+      }
+
+      Node child = (Node) slot;
+      Node newChild = child.remove(key, hash, shift + BITS);
+      if (newChild == child) {
+        return this;
+      } else if (newChild == null) {
+        return withoutSlot(bit, position);
+      }
+
+      TrieEntry single = newChild.singleEntry();
+      return withSlot(position, single != null ? single : newChild);
+    }
+
+    private Node withSlot(int position, Object slot) {
+      Object[] newSlots = slots.clone();
+      newSlots[position] = slot;
+      return new BitmapNode(bitmap, newSlots);
+    }
+
+    private Node withoutSlot(int bit, int position) {
+      if (slots.length == 1) {
+        return null;
+      }
+
+      Object[] newSlots = new Object[slots.length - 1];
+      arraycopy(slots, 0, newSlots, 0, position);
+      arraycopy(slots, position + 1, newSlots, position, slots.length - position - 1);
+      return new BitmapNode(bitmap & ~bit, newSlots);
+    }
+
+    @Override
+    public TrieEntry singleEntry() {
+      return slots.length == 1 && slots[0] instanceof TrieEntry ? (TrieEntry) slots[0] : null;
+    }
+
+    private static Node merge(TrieEntry first, TrieEntry second, int shift) {
+      if (first.hash == second.hash) {
+        return new CollisionNode(first.hash, new TrieEntry[] {first, second});
+      }
+
+      int firstIndex = index(first.hash, shift);
+      int secondIndex = index(second.hash, shift);
+      if (firstIndex == secondIndex) {
+        return new BitmapNode(1 << firstIndex, new Object[] {merge(first, second, shift + BITS)});
+      }
+
+      return new BitmapNode((1 << firstIndex) | (1 << secondIndex),
+                            firstIndex < secondIndex ? new Object[] {first, second} : new Object[] {second, first});
+    }
+  }
+
+  /**
+   * A node holding entries which keys have the same hash.
+   */
+  private static final class CollisionNode implements Node {
+
+    private final int hash;
+    private final TrieEntry[] entries;
+
+    private CollisionNode(int hash, TrieEntry[] entries) {
+      this.hash = hash;
+      this.entries = entries;
+    }
+
+    private int indexOf(String key) {
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i].getKey().equalsIgnoreCase(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    @Override
+    public TrieEntry find(String key, int hash, int shift) {
+      if (hash != this.hash) {
+        return null;
+      }
+      int index = indexOf(key);
+      return index < 0 ? null : entries[index];
+    }
+
+    @Override
+    public Node put(TrieEntry entry, int shift) {
+      if (entry.hash != hash) {
+        // nest this node in a bitmap node, so the new entry can be put beside it
+        return new BitmapNode(1 << index(hash, shift), new Object[] {this}).put(entry, shift);
+      }
+
+      int index = indexOf(entry.getKey());
+      TrieEntry[] newEntries;
+      if (index < 0) {
+        newEntries = new TrieEntry[entries.length + 1];
+        arraycopy(entries, 0, newEntries, 0, entries.length);
+        newEntries[entries.length] = entry;
+      } else {
+        newEntries = entries.clone();
+        newEntries[index] = entry;
+      }
+      return new CollisionNode(hash, newEntries);
+    }
+
+    @Override
+    public Node remove(String key, int hash, int shift) {
+      int index = hash == this.hash ? indexOf(key) : -1;
+      if (index < 0) {
+        return this;
+      } else if (entries.length == 1) {
+        return null;
+      }
+
+      TrieEntry[] newEntries = new TrieEntry[entries.length - 1];
+      arraycopy(entries, 0, newEntries, 0, index);
+      arraycopy(entries, index + 1, newEntries, index, entries.length - index - 1);
+      return new CollisionNode(hash, newEntries);
+    }
+
+    @Override
+    public TrieEntry singleEntry() {
+      return entries.length == 1 ? entries[0] : null;
+    }
+  }
+}
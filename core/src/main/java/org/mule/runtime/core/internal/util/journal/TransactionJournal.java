@@ -6,14 +6,19 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +30,23 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ *
+ * When created in group commit mode, entries logged concurrently are batched. The first thread to log an entry writes and syncs
+ * to disk all the entries that were logged while it was waiting, in a single operation, and then releases all the threads that
+ * logged them.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  /**
+   * System property to enable the group commit mode in the queue transaction journals.
+   *
+   * @since 4.5.0
+   */
+  public static final String GROUP_COMMIT_PROPERTY = SYSTEM_PROPERTY_PREFIX + "queue.transactionJournal.groupCommit";
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -57,11 +73,48 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    */
   private Long clearFileMinimumSizeInBytes;
 
+  private final boolean groupCommit;
+  private final boolean sync;
+  private final Object groupCommitLock = new Object();
+
+  // guarded by groupCommitLock
+  private List<PendingOperation<T>> pendingOperations = new ArrayList<>();
+  private boolean committing = false;
+
   /**
    * @param logFilesDirectory directory used to store the journal files.
    */
   public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
                             JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, false);
+  }
+
+  /**
+   * Creates a journal which syncs the journal file to disk only in group commit mode, once for each batch.
+   *
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param groupCommit       whether concurrently logged entries are batched into a single write and sync of the journal file.
+   * @since 4.5.0
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            boolean groupCommit) {
+    this(logFilesDirectory, transactionCompletePredicate, journalEntrySerializer, maximumFileSizeInMegabytes, groupCommit,
+         groupCommit);
+  }
+
+  /**
+   * @param logFilesDirectory directory used to store the journal files.
+   * @param groupCommit       whether concurrently logged entries are batched into a single write of the journal file.
+   * @param sync              whether the journal file is synced to disk after writing to it, that is, after each entry or, in
+   *                          group commit mode, after each batch.
+   * @since 4.5.0
+   */
+  public TransactionJournal(String logFilesDirectory, TransactionCompletePredicate transactionCompletePredicate,
+                            JournalEntrySerializer journalEntrySerializer, Integer maximumFileSizeInMegabytes,
+                            boolean groupCommit, boolean sync) {
+    this.groupCommit = groupCommit;
+    this.sync = sync;
     File logFileDirectory = new File(logFilesDirectory);
     if (!logFileDirectory.exists()) {
       Preconditions.checkState(logFileDirectory.mkdirs(),
@@ -92,9 +145,20 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    if (groupCommit) {
+      groupCommit(new PendingOperation<>(journalEntry, false));
+    } else {
+      doLogUpdateOperation(journalEntry);
+    }
+  }
+
+  private synchronized void doLogUpdateOperation(JournalEntry<T> journalEntry) {
     TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
     logFile.logOperation(journalEntry);
+    if (sync) {
+      logFile.sync();
+    }
   }
 
   /**
@@ -104,14 +168,90 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    if (groupCommit) {
+      groupCommit(new PendingOperation<>(journalEntry, true));
+    } else {
+      doLogCheckpointOperation(journalEntry);
+    }
+  }
+
+  private synchronized void doLogCheckpointOperation(JournalEntry<T> journalEntry) {
     TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
     logFile.logOperation(journalEntry);
+    if (sync) {
+      logFile.sync();
+    }
     if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
       logFile.clearEntriesForTransaction(journalEntry.getTxId());
     }
   }
 
+  /**
+   * Enqueues the given {@code operation} and blocks until it's been written to disk, either by this thread or by the one leading
+   * the current batch.
+   */
+  private void groupCommit(PendingOperation<T> operation) {
+    List<PendingOperation<T>> batch;
+    boolean interrupted = false;
+    synchronized (groupCommitLock) {
+      pendingOperations.add(operation);
+      while (committing && !operation.done) {
+        try {
+          groupCommitLock.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+
+      if (!operation.done) {
+        committing = true;
+        batch = pendingOperations;
+        pendingOperations = new ArrayList<>();
+      } else {
+        batch = null;
+      }
+    }
+
+    if (batch != null) {
+      RuntimeException failure = null;
+      try {
+        commitBatch(batch);
+      } catch (RuntimeException e) {
+        failure = e;
+      } finally {
+        synchronized (groupCommitLock) {
+          for (PendingOperation<T> pending : batch) {
+            pending.failure = failure;
+            pending.done = true;
+          }
+          committing = false;
+          groupCommitLock.notifyAll();
+        }
+      }
+    }
+
+    if (interrupted) {
+      currentThread().interrupt();
+    }
+    if (operation.failure != null) {
+      throw operation.failure;
+    }
+  }
+
+  private synchronized void commitBatch(List<PendingOperation<T>> batch) {
+    for (PendingOperation<T> pending : batch) {
+      TransactionJournalFile logFile = determineLogFile(pending.journalEntry.getTxId());
+      logFile.bufferOperation(pending.journalEntry);
+      if (pending.checkpoint && transactionCompletePredicate.isTransactionComplete(pending.journalEntry)) {
+        logFile.clearEntriesForTransaction(pending.journalEntry.getTxId());
+      }
+    }
+
+    currentLogFile.commitBufferedOperations(sync);
+    notCurrentLogFile.commitBufferedOperations(sync);
+  }
+
   /**
    * @param txId transaction identifier
    * @return all the transaction entries for a certain transaction identifier
@@ -193,4 +333,18 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     return null;
   }
 
+  private static final class PendingOperation<T> {
+
+    private final JournalEntry<T> journalEntry;
+    private final boolean checkpoint;
+
+    // guarded by groupCommitLock
+    private boolean done = false;
+    private RuntimeException failure;
+
+    private PendingOperation(JournalEntry<T> journalEntry, boolean checkpoint) {
+      this.journalEntry = journalEntry;
+      this.checkpoint = checkpoint;
+    }
+  }
 }
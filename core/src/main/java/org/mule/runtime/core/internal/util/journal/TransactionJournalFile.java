@@ -13,6 +13,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -50,9 +51,17 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   private Multimap<T, K> entries = LinkedHashMultimap.create();
 
+  private FileOutputStream logFileStream;
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  /**
+   * Holds the serialized entries added through {@link #bufferOperation(JournalEntry)} until the next
+   * {@link #commitBufferedOperations(boolean)}.
+   */
+  private final ByteArrayOutputStream bufferedOperations = new ByteArrayOutputStream();
+  private final DataOutputStream bufferedOperationsOutputStream = new DataOutputStream(bufferedOperations);
+
   /**
    * @param journalFile                  journal file to use. Will be created if it doesn't exists. If exists then transaction
    *                                     entries will get loaded from it.
@@ -81,6 +90,55 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
     journalOperations++;
   }
 
+  /**
+   * Adds a journal entry for an operation done over a transactional resource, but doesn't write it to the journal file until
+   * {@link #commitBufferedOperations(boolean)} is invoked.
+   *
+   * @param journalEntry operation details
+   * @since 4.5.0
+   */
+  public synchronized void bufferOperation(K journalEntry) {
+    entries.put(journalEntry.getTxId(), journalEntry);
+    journalEntrySerializer.serialize(journalEntry, bufferedOperationsOutputStream);
+    journalOperations++;
+  }
+
+  /**
+   * Writes all the entries added through {@link #bufferOperation(JournalEntry)} with a single write operation.
+   *
+   * @param sync whether to sync the journal file to disk after writing the entries.
+   * @since 4.5.0
+   */
+  public synchronized void commitBufferedOperations(boolean sync) {
+    if (bufferedOperations.size() == 0) {
+      return;
+    }
+
+    try {
+      bufferedOperations.writeTo(logFileStream);
+      if (sync) {
+        logFileStream.getFD().sync();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      bufferedOperations.reset();
+    }
+  }
+
+  /**
+   * Syncs the journal file to disk, so that the entries written to it are not lost if the system crashes.
+   *
+   * @since 4.5.0
+   */
+  public synchronized void sync() {
+    try {
+      logFileStream.getFD().sync();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
   /**
    * Removes all journal entries for a particular transactions.
    *
@@ -158,6 +216,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   public synchronized void clear() {
     close();
     entries.clear();
+    // there are no pending transactions left, so the buffered entries can be discarded along with the file
+    bufferedOperations.reset();
     FileUtils.deleteQuietly(journalFile);
     createLogOutputStream();
   }
@@ -171,7 +231,8 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      this.logFileStream = new FileOutputStream(journalFile, true);
+      this.logFileOutputStream = new DataOutputStream(logFileStream);
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -246,10 +307,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   }
 
   /**
-   * @return the file length in bytes
+   * @return the file length in bytes, including the entries not yet committed
    */
   public long fileLength() {
-    return journalFile.length();
+    return journalFile.length() + bufferedOperations.size();
   }
 }
 
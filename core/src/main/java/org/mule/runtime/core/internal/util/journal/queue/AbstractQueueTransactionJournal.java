@@ -6,7 +6,10 @@
  */
 package org.mule.runtime.core.internal.util.journal.queue;
 
+import static java.lang.Boolean.getBoolean;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_PROPERTY;
+
 import org.mule.runtime.core.internal.util.journal.JournalEntry;
 import org.mule.runtime.core.internal.util.journal.JournalEntrySerializer;
 import org.mule.runtime.core.internal.util.journal.TransactionCompletePredicate;
@@ -44,7 +47,7 @@ public abstract class AbstractQueueTransactionJournal<T, K extends JournalEntry<
         AbstractQueueTxJournalEntry abstractQueueTxJournalEntry = (AbstractQueueTxJournalEntry) journalEntry;
         return abstractQueueTxJournalEntry.isCommit() || abstractQueueTxJournalEntry.isRollback();
       }
-    }, journalEntrySerializer, maximumFileSizeInMegabytes);
+    }, journalEntrySerializer, maximumFileSizeInMegabytes, getBoolean(GROUP_COMMIT_PROPERTY));
   }
 
   public void logAdd(T txId, QueueStore queue, Serializable value) {
@@ -84,7 +84,7 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
     return queueControlDataFile;
   }
 
-  private static File getQueuesDirectory(String workingDirectory) {
+  static File getQueuesDirectory(String workingDirectory) {
     return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
   }
 
@@ -0,0 +1,766 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Long.getLong;
+import static java.lang.Long.parseLong;
+import static java.lang.Math.max;
+import static java.lang.String.format;
+import static java.lang.Thread.currentThread;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.util.queue.DualRandomAccessFileQueueStoreDelegate.getQueuesDirectory;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+
+/**
+ * {@link TransactionalQueueStoreDelegate} which persists the queue in an append-only log split into rolling, fixed size segment
+ * files.
+ * <p>
+ * Unlike {@link DualRandomAccessFileQueueStoreDelegate}, producers and consumers are guarded by different locks, so enqueue and
+ * dequeue operations can proceed concurrently. Producers append records to the newest segment while consumers read from their
+ * own position, which is tracked in a small control file. Instead of flagging records as removed and compacting, each segment
+ * file is deleted as soon as the consumer position moves past it.
+ * <p>
+ * Appended records are not written synchronously. Producers wait for a group commit instead, in which a single fsync covers all
+ * the records appended by any thread up to that point.
+ * <p>
+ * Items restored through {@link #untake(Serializable)} need to be consumed before the head of the log, so they are kept in a
+ * separate stack file.
+ *
+ * @since 4.5.0
+ */
+public class SegmentedFileQueueStoreDelegate implements TransactionalQueueStoreDelegate {
+
+  public static final String MAX_SEGMENT_SIZE_PROPERTY_KEY = SYSTEM_PROPERTY_PREFIX + "queue.segmentSize";
+
+  private static final Logger LOGGER = getLogger(SegmentedFileQueueStoreDelegate.class);
+
+  private static final long DEFAULT_MAX_SEGMENT_SIZE = getLong(MAX_SEGMENT_SIZE_PROPERTY_KEY, 4 * 1024 * 1024);
+  private static final String SEGMENTS_DIRECTORY_SUFFIX = "-segments";
+  private static final String SEGMENT_EXTENSION = ".seg";
+  private static final String POSITION_FILE_NAME = "consumer.pos";
+  private static final String UNTAKEN_FILE_NAME = "untaken.stack";
+  private static final int RECORD_HEADER_SIZE = 4;
+  private static final int POSITION_SIZE = 16;
+
+  private final ObjectSerializer serializer;
+  private final int capacity;
+  private final long maxSegmentSize;
+  private final File directory;
+
+  private final ReentrantLock putLock = new ReentrantLock();
+  private final Condition notFull = putLock.newCondition();
+  private final ReentrantLock takeLock = new ReentrantLock();
+  private final Condition notEmpty = takeLock.newCondition();
+  private final AtomicInteger count = new AtomicInteger();
+
+  private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+  // guarded by putLock
+  private volatile Segment writeSegment;
+  private volatile long appendedRecords = 0;
+
+  // guarded by takeLock
+  private Segment readSegment;
+  private long readOffset;
+  private FileChannel positionChannel;
+  private FileChannel untakenChannel;
+  private final Deque<Long> untakenOffsets = new LinkedList<>();
+
+  // guarded by commitMonitor
+  private final Object commitMonitor = new Object();
+  private long committedRecords = 0;
+  private boolean committing = false;
+
+  public SegmentedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity) {
+    this(queueName, workingDirectory, muleContext, capacity, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  SegmentedFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext, int capacity,
+                                  long maxSegmentSize) {
+    this.serializer = muleContext.getObjectSerializer();
+    this.capacity = capacity;
+    this.maxSegmentSize = maxSegmentSize;
+
+    directory = new File(getQueuesDirectory(workingDirectory), queueName + SEGMENTS_DIRECTORY_SUFFIX);
+    if (!directory.exists()) {
+      checkState(directory.mkdirs(), "Could not create queue store directory " + directory.getAbsolutePath());
+    }
+
+    try {
+      recover();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not load persistent queue " + queueName), e);
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug(format("Queue %s has %s messages", queueName, count.get()));
+    }
+  }
+
+  private void recover() throws IOException {
+    positionChannel = FileChannel.open(new File(directory, POSITION_FILE_NAME).toPath(), CREATE, READ, WRITE);
+    long[] position = readPosition();
+
+    File[] segmentFiles = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_EXTENSION));
+    Arrays.sort(segmentFiles, (f1, f2) -> Long.compare(segmentId(f1), segmentId(f2)));
+    for (File segmentFile : segmentFiles) {
+      long id = segmentId(segmentFile);
+      if (position != null && id < position[0]) {
+        // the consumer moved past this segment before it could be deleted
+        deleteQuietly(segmentFile);
+      } else {
+        segments.put(id, new Segment(id, segmentFile));
+      }
+    }
+
+    if (segments.isEmpty()) {
+      Segment segment = createSegment(position != null ? position[0] : 0);
+      segments.put(segment.id, segment);
+    }
+
+    readSegment = segments.firstEntry().getValue();
+    readOffset = position != null && position[0] == readSegment.id ? position[1] : 0;
+
+    AtomicInteger recovered = new AtomicInteger();
+    for (Segment segment : segments.values()) {
+      long from = segment == readSegment ? readOffset : 0;
+      segment.length = recoverRecords(segment.channel, from, offset -> recovered.incrementAndGet());
+      if (segment == readSegment && readOffset > segment.length) {
+        readOffset = segment.length;
+      }
+    }
+    writeSegment = segments.lastEntry().getValue();
+
+    untakenChannel = FileChannel.open(new File(directory, UNTAKEN_FILE_NAME).toPath(), CREATE, READ, WRITE);
+    recoverRecords(untakenChannel, 0, untakenOffsets::addLast);
+
+    count.set(recovered.get() + untakenOffsets.size());
+  }
+
+  /**
+   * Walks the records in the given {@code channel}, starting at {@code offset}. If the last record is incomplete, because of a
+   * crash while it was being written, the file gets truncated to the end of the last complete record.
+   *
+   * @return the offset at which the last complete record ends
+   */
+  private long recoverRecords(FileChannel channel, long offset, LongConsumer recordConsumer) throws IOException {
+    final long size = channel.size();
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (offset + RECORD_HEADER_SIZE <= size) {
+      header.clear();
+      readFully(channel, header, offset);
+      header.flip();
+      int length = header.getInt();
+      if (length <= 0 || offset + RECORD_HEADER_SIZE + length > size) {
+        break;
+      }
+
+      recordConsumer.accept(offset);
+      offset += RECORD_HEADER_SIZE + length;
+    }
+
+    if (offset < size) {
+      LOGGER.warn("Discarding incomplete record found at the end of a persistent queue file");
+      channel.truncate(offset);
+    }
+
+    return offset;
+  }
+
+  @Override
+  public void putNow(Serializable o) {
+    long ticket;
+    int c;
+    putLock.lock();
+    try {
+      ticket = append(o);
+      c = count.getAndIncrement();
+    } finally {
+      putLock.unlock();
+    }
+
+    if (c == 0) {
+      signalNotEmpty();
+    }
+    awaitCommitted(ticket);
+  }
+
+  @Override
+  public boolean offer(Serializable o, int room, long timeout) throws InterruptedException {
+    checkInterrupted();
+    long ticket;
+    int c;
+    putLock.lockInterruptibly();
+    try {
+      if (capacity > 0) {
+        if (capacity <= room) {
+          throw new IllegalStateException("Can not add more objects than the capacity in one time");
+        }
+
+        long nanos = MILLISECONDS.toNanos(timeout);
+        while (count.get() >= capacity - room) {
+          if (timeout < 0) {
+            notFull.await();
+          } else {
+            if (nanos <= 0L) {
+              LOGGER.warn(format("Timeout of %d milliseconds reached, object could not be queued. Queue capacity of %d full.",
+                                 timeout, capacity));
+              return false;
+            }
+            nanos = notFull.awaitNanos(nanos);
+          }
+        }
+      }
+
+      if (o == null) {
+        return true;
+      }
+
+      ticket = append(o);
+      c = count.getAndIncrement();
+    } finally {
+      putLock.unlock();
+    }
+
+    if (c == 0) {
+      signalNotEmpty();
+    }
+    awaitCommitted(ticket);
+    return true;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Serializable> items) {
+    if (items.isEmpty()) {
+      return true;
+    }
+
+    long ticket = 0;
+    int c;
+    putLock.lock();
+    try {
+      for (Serializable item : items) {
+        ticket = append(item);
+      }
+      c = count.getAndAdd(items.size());
+    } finally {
+      putLock.unlock();
+    }
+
+    if (c == 0) {
+      signalNotEmpty();
+    }
+    awaitCommitted(ticket);
+    return true;
+  }
+
+  @Override
+  public Serializable poll(long timeout) throws InterruptedException {
+    checkInterrupted();
+    byte[] data;
+    takeLock.lockInterruptibly();
+    try {
+      long nanos = MILLISECONDS.toNanos(timeout);
+      while (count.get() == 0) {
+        if (nanos <= 0L) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+
+      data = readHead(true);
+      if (count.getAndDecrement() > 1) {
+        notEmpty.signal();
+      }
+    } finally {
+      takeLock.unlock();
+    }
+
+    if (capacity > 0) {
+      signalNotFull();
+    }
+    return deserialize(data);
+  }
+
+  @Override
+  public Serializable peek() throws InterruptedException {
+    checkInterrupted();
+    takeLock.lockInterruptibly();
+    try {
+      if (count.get() == 0) {
+        return null;
+      }
+      return deserialize(readHead(false));
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  @Override
+  public void untake(Serializable item) throws InterruptedException {
+    checkInterrupted();
+    takeLock.lockInterruptibly();
+    try {
+      long offset = untakenOffsets.isEmpty() ? 0 : untakenChannel.size();
+      writeRecord(untakenChannel, offset, serialize(item));
+      untakenChannel.force(false);
+      untakenOffsets.addLast(offset);
+
+      count.getAndIncrement();
+      notEmpty.signal();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return count.get();
+  }
+
+  @Override
+  public void clear() throws InterruptedException {
+    checkInterrupted();
+    fullyLock();
+    try {
+      resetLog(new ArrayList<>());
+      untakenChannel.truncate(0);
+      untakenOffsets.clear();
+      count.set(0);
+      notFull.signalAll();
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Since records cannot be removed from the middle of the log, the pending records are rewritten into a fresh segment.
+   */
+  @Override
+  public void remove(Serializable value) {
+    fullyLock();
+    try {
+      List<byte[]> untaken = untakenRecords();
+      if (removeFirstMatch(untaken, value)) {
+        untakenChannel.truncate(0);
+        untakenOffsets.clear();
+        long offset = 0;
+        for (byte[] record : untaken) {
+          untakenOffsets.addLast(offset);
+          offset = writeRecord(untakenChannel, offset, record);
+        }
+        untakenChannel.force(false);
+        count.decrementAndGet();
+        return;
+      }
+
+      List<byte[]> pending = logRecords();
+      if (removeFirstMatch(pending, value)) {
+        resetLog(pending);
+        count.decrementAndGet();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public boolean contains(Serializable value) {
+    fullyLock();
+    try {
+      for (byte[] record : untakenRecords()) {
+        if (deserialize(record).equals(value)) {
+          return true;
+        }
+      }
+      for (byte[] record : logRecords()) {
+        if (deserialize(record).equals(value)) {
+          return true;
+        }
+      }
+      return false;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    fullyLock();
+    try {
+      doClose();
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+    fullyLock();
+    try {
+      doClose();
+      deleteQuietly(directory);
+    } finally {
+      fullyUnlock();
+    }
+  }
+
+  private void doClose() {
+    for (Segment segment : segments.values()) {
+      closeQuietly(segment.channel);
+    }
+    closeQuietly(positionChannel);
+    closeQuietly(untakenChannel);
+  }
+
+  private long append(Serializable item) {
+    byte[] data = serialize(item);
+    try {
+      Segment segment = writeSegment;
+      if (segment.length > 0 && segment.length + RECORD_HEADER_SIZE + data.length > maxSegmentSize) {
+        segment = roll();
+      }
+
+      segment.length = writeRecord(segment.channel, segment.length, data);
+      return ++appendedRecords;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private Segment roll() throws IOException {
+    Segment sealed = writeSegment;
+    // whatever is left in this segment won't be covered by the next group commits, which only sync the current segment
+    sealed.channel.force(false);
+
+    Segment segment = createSegment(sealed.id + 1);
+    segments.put(segment.id, segment);
+    writeSegment = segment;
+    return segment;
+  }
+
+  /**
+   * Blocks until the record with the given {@code ticket} has been synced to disk. The first thread to arrive syncs on behalf of
+   * all the records appended so far, while the rest wait for it to finish.
+   */
+  private void awaitCommitted(long ticket) {
+    boolean interrupted = false;
+    try {
+      while (true) {
+        long target;
+        Segment segment;
+        synchronized (commitMonitor) {
+          while (committing && committedRecords < ticket) {
+            try {
+              commitMonitor.wait();
+            } catch (InterruptedException e) {
+              interrupted = true;
+            }
+          }
+
+          if (committedRecords >= ticket) {
+            return;
+          }
+
+          committing = true;
+          target = appendedRecords;
+          segment = writeSegment;
+        }
+
+        boolean synced = false;
+        try {
+          segment.channel.force(false);
+          synced = true;
+        } catch (ClosedChannelException e) {
+          // the segment was sealed and fully consumed in the meantime, so it was already synced when rolled
+          synced = true;
+        } catch (IOException e) {
+          throw new MuleRuntimeException(e);
+        } finally {
+          synchronized (commitMonitor) {
+            committing = false;
+            if (synced) {
+              committedRecords = max(committedRecords, target);
+            }
+            commitMonitor.notifyAll();
+          }
+        }
+      }
+    } finally {
+      if (interrupted) {
+        currentThread().interrupt();
+      }
+    }
+  }
+
+  private byte[] readHead(boolean remove) {
+    try {
+      if (!untakenOffsets.isEmpty()) {
+        long offset = untakenOffsets.getLast();
+        byte[] data = readRecord(untakenChannel, offset);
+        if (remove) {
+          untakenOffsets.removeLast();
+          untakenChannel.truncate(offset);
+        }
+        return data;
+      }
+
+      // there's at least one record ahead of the read position, so this segment can only be exhausted if it was sealed
+      while (readOffset >= readSegment.length) {
+        Segment exhausted = readSegment;
+        readSegment = segments.higherEntry(exhausted.id).getValue();
+        readOffset = 0;
+        writePosition();
+
+        segments.remove(exhausted.id);
+        closeQuietly(exhausted.channel);
+        deleteQuietly(exhausted.file);
+      }
+
+      byte[] data = readRecord(readSegment.channel, readOffset);
+      if (remove) {
+        readOffset += RECORD_HEADER_SIZE + data.length;
+        writePosition();
+      }
+      return data;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private List<byte[]> untakenRecords() throws IOException {
+    List<byte[]> records = new ArrayList<>(untakenOffsets.size());
+    for (Long offset : untakenOffsets) {
+      records.add(readRecord(untakenChannel, offset));
+    }
+    return records;
+  }
+
+  private List<byte[]> logRecords() throws IOException {
+    List<byte[]> records = new ArrayList<>();
+    for (Segment segment : segments.tailMap(readSegment.id).values()) {
+      long offset = segment == readSegment ? readOffset : 0;
+      while (offset < segment.length) {
+        byte[] record = readRecord(segment.channel, offset);
+        records.add(record);
+        offset += RECORD_HEADER_SIZE + record.length;
+      }
+    }
+    return records;
+  }
+
+  private boolean removeFirstMatch(List<byte[]> records, Serializable value) {
+    for (int i = 0; i < records.size(); i++) {
+      if (deserialize(records.get(i)).equals(value)) {
+        records.remove(i);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Replaces all the segments with a new one holding the given {@code records}. Must be invoked while holding both locks.
+   */
+  private void resetLog(List<byte[]> records) throws IOException {
+    Segment segment = createSegment(segments.lastKey() + 1);
+    long offset = 0;
+    for (byte[] record : records) {
+      offset = writeRecord(segment.channel, offset, record);
+    }
+    segment.length = offset;
+    segment.channel.force(false);
+
+    for (Segment old : segments.values()) {
+      closeQuietly(old.channel);
+      deleteQuietly(old.file);
+    }
+    segments.clear();
+    segments.put(segment.id, segment);
+
+    writeSegment = segment;
+    readSegment = segment;
+    readOffset = 0;
+    writePosition();
+  }
+
+  private Segment createSegment(long id) throws IOException {
+    return new Segment(id, new File(directory, format("%020d%s", id, SEGMENT_EXTENSION)));
+  }
+
+  private long segmentId(File segmentFile) {
+    String name = segmentFile.getName();
+    return parseLong(name.substring(0, name.length() - SEGMENT_EXTENSION.length()));
+  }
+
+  private long[] readPosition() throws IOException {
+    if (positionChannel.size() < POSITION_SIZE) {
+      return null;
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(POSITION_SIZE);
+    readFully(positionChannel, buffer, 0);
+    buffer.flip();
+    return new long[] {buffer.getLong(), buffer.getLong()};
+  }
+
+  private void writePosition() throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(POSITION_SIZE);
+    buffer.putLong(readSegment.id).putLong(readOffset).flip();
+    while (buffer.hasRemaining()) {
+      positionChannel.write(buffer, buffer.position());
+    }
+  }
+
+  private static long writeRecord(FileChannel channel, long offset, byte[] data) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length);
+    record.putInt(data.length).put(data).flip();
+    while (record.hasRemaining()) {
+      offset += channel.write(record, offset);
+    }
+    return offset;
+  }
+
+  private static byte[] readRecord(FileChannel channel, long offset) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    readFully(channel, header, offset);
+    header.flip();
+
+    ByteBuffer data = ByteBuffer.allocate(header.getInt());
+    readFully(channel, data, offset + RECORD_HEADER_SIZE);
+    return data.array();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    final long start = offset - buffer.position();
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, start + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+  }
+
+  private void closeQuietly(FileChannel channel) {
+    try {
+      if (channel != null) {
+        channel.close();
+      }
+    } catch (IOException e) {
+      LOGGER.warn(e.getMessage());
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Error closing queue store", e);
+      }
+    }
+  }
+
+  private byte[] serialize(Serializable item) {
+    return serializer.getInternalProtocol().serialize(item);
+  }
+
+  private Serializable deserialize(byte[] data) {
+    return serializer.getInternalProtocol().deserialize(data);
+  }
+
+  private void signalNotEmpty() {
+    takeLock.lock();
+    try {
+      notEmpty.signal();
+    } finally {
+      takeLock.unlock();
+    }
+  }
+
+  private void signalNotFull() {
+    putLock.lock();
+    try {
+      notFull.signalAll();
+    } finally {
+      putLock.unlock();
+    }
+  }
+
+  private void fullyLock() {
+    putLock.lock();
+    takeLock.lock();
+  }
+
+  private void fullyUnlock() {
+    takeLock.unlock();
+    putLock.unlock();
+  }
+
+  private void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+
+  private static final class Segment {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+
+    /**
+     * The offset at which the last record in this segment ends. Only modified by producers while holding the put lock.
+     */
+    private volatile long length;
+
+    private Segment(long id, File file) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+      this.length = channel.size();
+    }
+  }
+}
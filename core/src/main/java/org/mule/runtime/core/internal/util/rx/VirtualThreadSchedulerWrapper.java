@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.System.nanoTime;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+
+/**
+ * Wrapper for a {@link Scheduler} that runs the tasks submitted for immediate execution on a new virtual thread each, instead of
+ * on the threads of the wrapped {@link Scheduler}. Delayed and periodic tasks are still handled by the wrapped {@link Scheduler}.
+ * <p>
+ * Since virtual threads are not bound by the size of a pool, this wrapper never rejects tasks until it is stopped. Any limit to
+ * the amount of concurrent tasks has to be enforced by its users.
+ * <p>
+ * Virtual threads are only available in recent JVMs, so they are looked up reflectively. Use {@link #isVirtualThreadsSupported()}
+ * or {@link #withVirtualThreadsIfSupported(Scheduler)} to check it.
+ *
+ * @since 4.5.0
+ */
+public class VirtualThreadSchedulerWrapper implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadSchedulerWrapper.class);
+
+  private static final Method OF_VIRTUAL;
+  private static final Method BUILDER_NAME;
+  private static final Method BUILDER_FACTORY;
+  private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+  static {
+    Method ofVirtual = null;
+    Method builderName = null;
+    Method builderFactory = null;
+    Method newThreadPerTaskExecutor = null;
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      ofVirtual = Thread.class.getMethod("ofVirtual");
+      builderName = builderClass.getMethod("name", String.class, long.class);
+      builderFactory = builderClass.getMethod("factory");
+      newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+
+      // Virtual threads are a preview feature in some JVM versions, in which case this fails unless previews are enabled.
+      ofVirtual.invoke(null);
+    } catch (Throwable t) {
+      LOGGER.debug("Virtual threads not supported by this JVM", t);
+      ofVirtual = null;
+    }
+
+    OF_VIRTUAL = ofVirtual;
+    BUILDER_NAME = builderName;
+    BUILDER_FACTORY = builderFactory;
+    NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+  }
+
+  /**
+   * @return whether virtual threads are supported by the running JVM.
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  /**
+   * @param scheduler the scheduler to wrap
+   * @return a {@link VirtualThreadSchedulerWrapper} for the given {@code scheduler} if virtual threads are supported by the
+   *         running JVM, or the given {@code scheduler} otherwise.
+   */
+  public static Scheduler withVirtualThreadsIfSupported(Scheduler scheduler) {
+    return createVirtualThreadsExecutor(scheduler.getName())
+        .<Scheduler>map(executor -> new VirtualThreadSchedulerWrapper(scheduler, executor))
+        .orElse(scheduler);
+  }
+
+  private static Optional<ExecutorService> createVirtualThreadsExecutor(String threadNamePrefix) {
+    if (!isVirtualThreadsSupported()) {
+      return empty();
+    }
+
+    try {
+      Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix + ".virtual.", 0L);
+      ThreadFactory threadFactory = (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+      return of((ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory));
+    } catch (Exception e) {
+      LOGGER.warn("Unable to create virtual threads executor for '" + threadNamePrefix + "', using its platform threads.", e);
+      return empty();
+    }
+  }
+
+  private final Scheduler delegate;
+  private final ExecutorService virtualThreadsExecutor;
+
+  private VirtualThreadSchedulerWrapper(Scheduler delegate, ExecutorService virtualThreadsExecutor) {
+    this.delegate = delegate;
+    this.virtualThreadsExecutor = virtualThreadsExecutor;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delegate.scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delegate.scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  @Override
+  public void stop() {
+    virtualThreadsExecutor.shutdown();
+    delegate.stop();
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return delegate.schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return delegate.schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public void shutdown() {
+    virtualThreadsExecutor.shutdown();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> notRun = new ArrayList<>(virtualThreadsExecutor.shutdownNow());
+    notRun.addAll(delegate.shutdownNow());
+    return notRun;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return virtualThreadsExecutor.isShutdown() && delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return virtualThreadsExecutor.isTerminated() && delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    return virtualThreadsExecutor.awaitTermination(timeout, unit)
+        && delegate.awaitTermination(deadline - nanoTime(), NANOSECONDS);
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    return virtualThreadsExecutor.submit(task);
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    return virtualThreadsExecutor.submit(task, result);
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return virtualThreadsExecutor.submit(task);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    return virtualThreadsExecutor.invokeAll(tasks);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return virtualThreadsExecutor.invokeAll(tasks, timeout, unit);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    return virtualThreadsExecutor.invokeAny(tasks);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return virtualThreadsExecutor.invokeAny(tasks, timeout, unit);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    virtualThreadsExecutor.execute(command);
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadSchedulerWrapper{" + delegate.toString() + "}";
+  }
+}
@@ -0,0 +1,989 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Long.getLong;
+import static java.lang.Long.parseLong;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.MuleSystemProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.config.i18n.CoreMessages.failedToCreate;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.PARTITION_DESCRIPTOR_FILE;
+import static org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition.readPartitionFileName;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.api.store.TemplateObjectStore;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentPartition} which, instead of writing one file per entry as {@link PersistentObjectStorePartition} does,
+ * appends all the entries to a log of data files and keeps an in-memory hash index pointing to the position of each value.
+ * <p>
+ * Removals are logged as tombstone records. Once a data file reaches its maximum size it's sealed, and a hint file listing the
+ * keys and positions of its records is written next to it, so restoring the index on restart doesn't require reading the
+ * values. Sealed data files are compacted in the background once most of their content is dead, by copying the live records
+ * into a new data file. Compactions run in an IO scheduler of the {@link MuleContext}, which is stopped when the partition is
+ * closed or disposed.
+ * <p>
+ * Data files are identified by an increasing id, and later files take precedence over earlier ones when restoring the index.
+ * Data files that are written to get even ids, while compacted ones take the odd id right before the data file that was
+ * active when the compaction started, so they are placed after the files they replace and before any newer write.
+ *
+ * @since 4.5.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
+    implements PersistentPartition<T>, Disposable {
+
+  public static final String MAX_DATA_FILE_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectStore.logStructured.maxDataFileSize";
+
+  static final String DATA_FILE_EXTENSION = ".data";
+  static final String HINT_FILE_EXTENSION = ".hint";
+  private static final String COMPACTING_FILE_EXTENSION = ".compacting";
+
+  private static final long DEFAULT_MAX_DATA_FILE_SIZE = getLong(MAX_DATA_FILE_SIZE_PROPERTY, 64 * 1024 * 1024);
+  private static final long MIN_COMPACTION_GARBAGE = 1024 * 1024;
+  private static final int COMPACTION_BATCH_SIZE = 1000;
+
+  private static final byte PUT = 1;
+  private static final byte DELETE = 2;
+
+  /**
+   * crc (int), type (byte), timestamp (long), key length (int) and value length (int)
+   */
+  private static final int RECORD_HEADER_SIZE = 4 + 1 + 8 + 4 + 4;
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  private final MuleContext muleContext;
+  private final ObjectSerializer serializer;
+  private final File partitionDirectory;
+  private final long maxDataFileSize;
+  private String partitionName;
+
+  private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+  private final ConcurrentNavigableMap<Long, DataFile> dataFiles = new ConcurrentSkipListMap<>();
+
+  // Writers and compaction commits take the write lock, while readers only need to make sure the data files are not closed
+  // while they are being read.
+  private final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+  private final Lock rLock = rwLock.readLock();
+  private final Lock wLock = rwLock.writeLock();
+
+  private volatile boolean loaded = false;
+
+  // guarded by wLock
+  private DataFile activeFile;
+  private List<Hint> activeFileHints = new ArrayList<>();
+  private long sequence = 0;
+  private long totalBytes = 0;
+  private long garbageBytes = 0;
+  private boolean compacting = false;
+  private Scheduler compactionScheduler;
+
+  /**
+   * Incremented each time the partition is cleared or closed, so an ongoing compaction knows its output is no longer valid.
+   */
+  private volatile long epoch = 0;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, DEFAULT_MAX_DATA_FILE_SIZE);
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                    long maxDataFileSize) {
+    this.muleContext = muleContext;
+    this.serializer = muleContext.getObjectSerializer();
+    this.partitionName = partitionName;
+    this.partitionDirectory = partitionDirectory;
+    this.maxDataFileSize = maxDataFileSize;
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    this(muleContext, readPartitionFileName(partitionDirectory), partitionDirectory, DEFAULT_MAX_DATA_FILE_SIZE);
+  }
+
+  /**
+   * @param partitionDirectory the directory of an existing partition
+   * @return whether the partition in the given directory was written by this implementation
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    String[] dataFileNames = partitionDirectory.list((dir, name) -> name.endsWith(DATA_FILE_EXTENSION));
+    return dataFileNames != null && dataFileNames.length > 0;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    try {
+      if (!partitionDirectory.exists() && !partitionDirectory.mkdirs()) {
+        throw new MuleRuntimeException(failedToCreate("object store directory " + partitionDirectory.getAbsolutePath()));
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+    createOrRetrievePartitionDescriptorFile();
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      epoch++;
+      closeDataFiles();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        getPartitionDirectory().delete();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+      }
+
+      index.clear();
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+    stopCompactionScheduler();
+  }
+
+  /**
+   * Stops the scheduler of the background compactions. The data of the partition is kept.
+   */
+  @Override
+  public void dispose() {
+    wLock.lock();
+    try {
+      epoch++;
+    } finally {
+      wLock.unlock();
+    }
+    stopCompactionScheduler();
+  }
+
+  @Override
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  @Override
+  public File getPartitionDirectory() {
+    return partitionDirectory;
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    assureLoaded();
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    assureLoaded();
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    assureLoaded();
+
+    byte[] serializedValue = serialize(value);
+    wLock.lock();
+    try {
+      if (index.containsKey(key)) {
+        throw new ObjectAlreadyExistsException();
+      }
+      index.put(key, append(PUT, key, serializedValue));
+    } finally {
+      wLock.unlock();
+    }
+
+    compactIfNeeded();
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      epoch++;
+      closeDataFiles();
+      try {
+        cleanDirectory(getPartitionDirectory());
+        createOrRetrievePartitionDescriptorFile();
+      } catch (IOException e) {
+        throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+      }
+
+      index.clear();
+      totalBytes = 0;
+      garbageBytes = 0;
+      // the next operation starts a new log from scratch
+      loaded = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    byte[] serializedValue;
+    rLock.lock();
+    try {
+      IndexEntry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      serializedValue = readValue(entry);
+    } finally {
+      rLock.unlock();
+    }
+
+    return deserialize(serializedValue);
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    assureLoaded();
+
+    List<Map.Entry<String, IndexEntry>> entries = new ArrayList<>(index.entrySet());
+    entries.sort(comparingLong(entry -> entry.getValue().sequence));
+
+    Map<String, T> values = new LinkedHashMap<>(entries.size());
+    rLock.lock();
+    try {
+      for (Map.Entry<String, IndexEntry> entry : entries) {
+        // the entry may have been moved by a compaction or removed after taking the snapshot
+        IndexEntry current = index.get(entry.getKey());
+        if (current != null) {
+          values.put(entry.getKey(), deserialize(readValue(current)));
+        }
+      }
+    } finally {
+      rLock.unlock();
+    }
+
+    return values;
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    assureLoaded();
+
+    T value;
+    wLock.lock();
+    try {
+      IndexEntry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+
+      value = deserialize(readValue(entry));
+      delete(key, entry);
+    } finally {
+      wLock.unlock();
+    }
+
+    compactIfNeeded();
+    return value;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    assureLoaded();
+
+    wLock.lock();
+    try {
+      List<Map.Entry<String, IndexEntry>> entries = new ArrayList<>(index.entrySet());
+      entries.sort(comparingLong((Map.Entry<String, IndexEntry> entry) -> entry.getValue().timestamp)
+          .thenComparingLong(entry -> entry.getValue().sequence));
+
+      int startIndex = 0;
+      if (maxEntries != UNBOUNDED) {
+        for (; startIndex < entries.size() - maxEntries; startIndex++) {
+          delete(entries.get(startIndex).getKey(), entries.get(startIndex).getValue());
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = currentTimeMillis();
+        for (int i = startIndex; i < entries.size(); i++) {
+          if ((now - entries.get(i).getValue().timestamp) >= entryTTL) {
+            delete(entries.get(i).getKey(), entries.get(i).getValue());
+          } else {
+            break;
+          }
+        }
+      }
+    } finally {
+      wLock.unlock();
+    }
+
+    compactIfNeeded();
+  }
+
+  private void delete(String key, IndexEntry entry) throws ObjectStoreException {
+    append(DELETE, key, new byte[0]);
+    index.remove(key);
+    garbageBytes += entry.recordLength;
+  }
+
+  private void assureLoaded() throws ObjectStoreException {
+    if (!loaded) {
+      load();
+    }
+  }
+
+  private void load() throws ObjectStoreException {
+    wLock.lock();
+    try {
+      // re-checked here so the contention in assureLoaded() is avoided once loaded
+      if (loaded) {
+        return;
+      }
+      totalBytes = 0;
+      garbageBytes = 0;
+
+      File[] files = getPartitionDirectory().listFiles();
+      if (files == null) {
+        files = new File[0];
+      }
+
+      List<Long> ids = new ArrayList<>();
+      for (File file : files) {
+        String name = file.getName();
+        if (name.endsWith(COMPACTING_FILE_EXTENSION)) {
+          // leftover of a compaction that didn't finish
+          deleteQuietly(file);
+        } else if (name.endsWith(DATA_FILE_EXTENSION)) {
+          ids.add(parseLong(name.substring(0, name.length() - DATA_FILE_EXTENSION.length())));
+        }
+      }
+      ids.sort(null);
+
+      for (Long id : ids) {
+        DataFile dataFile = openDataFile(id);
+        totalBytes += dataFile.size;
+        File hintFile = hintFile(id);
+        if (hintFile.exists()) {
+          loadHintFile(dataFile, hintFile);
+        } else {
+          scanDataFile(dataFile);
+        }
+      }
+
+      if (dataFiles.isEmpty()) {
+        activeFile = openDataFile(0);
+        activeFileHints = new ArrayList<>();
+      } else {
+        DataFile last = dataFiles.lastEntry().getValue();
+        // sealed and compacted files are never written to again
+        if (last.id % 2 == 0 && !hintFile(last.id).exists()) {
+          activeFile = last;
+          activeFileHints = readHints(last);
+        } else {
+          activeFile = openDataFile(last.id % 2 == 0 ? last.id + 2 : last.id + 1);
+          activeFileHints = new ArrayList<>();
+        }
+      }
+
+      loaded = true;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %1s",
+                                                                getPartitionDirectory().getAbsolutePath())),
+                                     e);
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private void loadHintFile(DataFile dataFile, File hintFile) throws IOException {
+    try (DataInputStream hints = new DataInputStream(new BufferedInputStream(Files.newInputStream(hintFile.toPath())))) {
+      while (true) {
+        byte type;
+        try {
+          type = hints.readByte();
+        } catch (EOFException e) {
+          return;
+        }
+        long timestamp = hints.readLong();
+        byte[] keyBytes = new byte[hints.readInt()];
+        hints.readFully(keyBytes);
+        long offset = hints.readLong();
+        int recordLength = hints.readInt();
+
+        restore(dataFile, type, new String(keyBytes, UTF_8), timestamp, offset, keyBytes.length, recordLength);
+      }
+    }
+  }
+
+  private void scanDataFile(DataFile dataFile) throws IOException {
+    final long size = dataFile.channel.size();
+    long offset = 0;
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (offset + RECORD_HEADER_SIZE <= size) {
+      header.clear();
+      readFully(dataFile.channel, header, offset);
+      header.flip();
+      int crc = header.getInt();
+      byte type = header.get();
+      long timestamp = header.getLong();
+      int keyLength = header.getInt();
+      int valueLength = header.getInt();
+      if (keyLength < 0 || valueLength < 0 || offset + RECORD_HEADER_SIZE + keyLength + valueLength > size) {
+        break;
+      }
+
+      ByteBuffer body = ByteBuffer.allocate(keyLength + valueLength);
+      readFully(dataFile.channel, body, offset + RECORD_HEADER_SIZE);
+      if (crc != checksum(type, timestamp, keyLength, valueLength, body.array())) {
+        break;
+      }
+
+      int recordLength = RECORD_HEADER_SIZE + keyLength + valueLength;
+      restore(dataFile, type, new String(body.array(), 0, keyLength, UTF_8), timestamp, offset, keyLength, recordLength);
+      offset += recordLength;
+    }
+
+    if (offset < size) {
+      LOGGER.warn(format("Discarding corrupted records at the end of object store data file %s",
+                         dataFile.file.getAbsolutePath()));
+      dataFile.channel.truncate(offset);
+      totalBytes -= size - offset;
+      dataFile.size = offset;
+    }
+  }
+
+  private void restore(DataFile dataFile, byte type, String key, long timestamp, long offset, int keyLength,
+                       int recordLength) {
+    IndexEntry previous;
+    if (type == PUT) {
+      previous = index.put(key, new IndexEntry(dataFile.id, offset, keyLength, recordLength, timestamp, sequence++));
+    } else {
+      previous = index.remove(key);
+      garbageBytes += recordLength;
+    }
+
+    if (previous != null) {
+      garbageBytes += previous.recordLength;
+    }
+  }
+
+  /**
+   * Appends a record to the active data file, rolling to a new one if it's full. Must be invoked while holding the write lock.
+   */
+  private IndexEntry append(byte type, String key, byte[] value) throws ObjectStoreException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int recordLength = RECORD_HEADER_SIZE + keyBytes.length + value.length;
+    long timestamp = currentTimeMillis();
+
+    byte[] body = new byte[keyBytes.length + value.length];
+    System.arraycopy(keyBytes, 0, body, 0, keyBytes.length);
+    System.arraycopy(value, 0, body, keyBytes.length, value.length);
+
+    ByteBuffer record = ByteBuffer.allocate(recordLength);
+    record.putInt(checksum(type, timestamp, keyBytes.length, value.length, body))
+        .put(type)
+        .putLong(timestamp)
+        .putInt(keyBytes.length)
+        .putInt(value.length)
+        .put(body)
+        .flip();
+
+    try {
+      if (activeFile.size > 0 && activeFile.size + recordLength > maxDataFileSize) {
+        roll();
+      }
+
+      long offset = activeFile.size;
+      while (record.hasRemaining()) {
+        activeFile.size += activeFile.channel.write(record, activeFile.size);
+      }
+      totalBytes += recordLength;
+      activeFileHints.add(new Hint(type, timestamp, keyBytes, offset, recordLength));
+
+      return new IndexEntry(activeFile.id, offset, keyBytes.length, recordLength, timestamp, sequence++);
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not write to object store data file "
+          + activeFile.file.getAbsolutePath()), e);
+    }
+  }
+
+  /**
+   * Seals the active data file, writing its hint file, and opens the next one. Must be invoked while holding the write lock.
+   */
+  private void roll() throws IOException {
+    DataFile sealed = activeFile;
+    sealed.channel.force(false);
+    writeHintFile(sealed, activeFileHints);
+    activeFile = openDataFile(sealed.id + 2);
+    activeFileHints = new ArrayList<>();
+  }
+
+  /**
+   * Replaces the active data file, which must be empty, with the next one. Must be invoked while holding the write lock.
+   */
+  private void skipActiveFile() throws IOException {
+    DataFile skipped = activeFile;
+    activeFile = openDataFile(skipped.id + 2);
+    dataFiles.remove(skipped.id);
+    close(skipped);
+    deleteQuietly(skipped.file);
+  }
+
+  private List<Hint> readHints(DataFile dataFile) throws IOException {
+    List<Hint> hints = new ArrayList<>();
+    long offset = 0;
+    ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (offset < dataFile.size) {
+      header.clear();
+      readFully(dataFile.channel, header, offset);
+      header.flip();
+      header.getInt();
+      byte type = header.get();
+      long timestamp = header.getLong();
+      int keyLength = header.getInt();
+      int valueLength = header.getInt();
+
+      ByteBuffer key = ByteBuffer.allocate(keyLength);
+      readFully(dataFile.channel, key, offset + RECORD_HEADER_SIZE);
+
+      int recordLength = RECORD_HEADER_SIZE + keyLength + valueLength;
+      hints.add(new Hint(type, timestamp, key.array(), offset, recordLength));
+      offset += recordLength;
+    }
+    return hints;
+  }
+
+  private void writeHintFile(DataFile dataFile, List<Hint> hints) throws IOException {
+    File hintFile = hintFile(dataFile.id);
+    File tempFile = new File(hintFile.getPath() + COMPACTING_FILE_EXTENSION);
+    try (FileChannel channel = FileChannel.open(tempFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+      for (Hint hint : hints) {
+        out.writeByte(hint.type);
+        out.writeLong(hint.timestamp);
+        out.writeInt(hint.key.length);
+        out.write(hint.key);
+        out.writeLong(hint.offset);
+        out.writeInt(hint.recordLength);
+      }
+      out.flush();
+      channel.force(false);
+    }
+    Files.move(tempFile.toPath(), hintFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+  }
+
+  private void compactIfNeeded() {
+    wLock.lock();
+    try {
+      if (compacting || garbageBytes < MIN_COMPACTION_GARBAGE || garbageBytes * 2 < totalBytes) {
+        return;
+      }
+      compacting = true;
+    } finally {
+      wLock.unlock();
+    }
+
+    try {
+      getCompactionScheduler().execute(() -> {
+        try {
+          compact();
+        } catch (Exception e) {
+          LOGGER.warn(format("Could not compact object store partition %s", getPartitionName()), e);
+        } finally {
+          endCompaction();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug(format("Compaction of object store partition %s not scheduled", getPartitionName()), e);
+      endCompaction();
+    }
+  }
+
+  private void endCompaction() {
+    wLock.lock();
+    try {
+      compacting = false;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  private Scheduler getCompactionScheduler() {
+    wLock.lock();
+    try {
+      if (compactionScheduler == null) {
+        compactionScheduler = muleContext.getSchedulerService()
+            .ioScheduler(muleContext.getSchedulerBaseConfig().withName("object-store-compaction-" + getPartitionName()));
+      }
+      return compactionScheduler;
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * Must be invoked without holding any lock, for a compaction that is running to find out through the {@link #epoch} that it
+   * has to stop, instead of blocking the stop of the scheduler.
+   */
+  private void stopCompactionScheduler() {
+    final Scheduler scheduler;
+    wLock.lock();
+    try {
+      scheduler = compactionScheduler;
+      compactionScheduler = null;
+    } finally {
+      wLock.unlock();
+    }
+
+    if (scheduler != null) {
+      scheduler.stop();
+    }
+  }
+
+  /**
+   * Copies the live records of all the data files, except for the active one, into a new data file and then deletes them.
+   * <p>
+   * Only the commit of the compaction is done while holding the write lock. While the records are being copied, any key may
+   * be removed or stored again, in which case its copy is just discarded.
+   */
+  void compact() throws IOException {
+    final long compactionEpoch;
+    final List<DataFile> sources;
+    final File compactedFile;
+    final long compactedId;
+
+    wLock.lock();
+    try {
+      if (!loaded) {
+        return;
+      }
+      if (activeFile.size > 0) {
+        // rolling guarantees that the id right before the new active file is free
+        roll();
+      } else if (dataFiles.containsKey(activeFile.id - 1)) {
+        // an empty active file is not sealed, but just replaced by the next one, for the id right before it to be free
+        skipActiveFile();
+      }
+
+      compactionEpoch = epoch;
+      sources = new ArrayList<>(dataFiles.headMap(activeFile.id).values());
+      if (sources.isEmpty()) {
+        return;
+      }
+      compactedId = activeFile.id - 1;
+      compactedFile = new File(dataFile(compactedId).getPath() + COMPACTING_FILE_EXTENSION);
+    } finally {
+      wLock.unlock();
+    }
+
+    final long sourcesLastId = sources.get(sources.size() - 1).id;
+    final Map<String, IndexEntry> moved = new LinkedHashMap<>();
+    final List<Hint> hints = new ArrayList<>();
+
+    try (FileChannel output = FileChannel.open(compactedFile.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+      long outputSize = 0;
+      Iterator<Map.Entry<String, IndexEntry>> entries = index.entrySet().iterator();
+      while (entries.hasNext()) {
+        rLock.lock();
+        try {
+          if (epoch != compactionEpoch) {
+            return;
+          }
+
+          for (int i = 0; i < COMPACTION_BATCH_SIZE && entries.hasNext(); i++) {
+            Map.Entry<String, IndexEntry> entry = entries.next();
+            IndexEntry location = entry.getValue();
+            if (location.fileId > sourcesLastId) {
+              continue;
+            }
+
+            ByteBuffer record = ByteBuffer.allocate(location.recordLength);
+            readFully(dataFiles.get(location.fileId).channel, record, location.offset);
+            record.flip();
+
+            long offset = outputSize;
+            while (record.hasRemaining()) {
+              outputSize += output.write(record, outputSize);
+            }
+
+            moved.put(entry.getKey(), location);
+            hints.add(new Hint(PUT, location.timestamp, entry.getKey().getBytes(UTF_8), offset, location.recordLength));
+          }
+        } finally {
+          rLock.unlock();
+        }
+      }
+      output.force(false);
+    }
+
+    wLock.lock();
+    try {
+      if (epoch != compactionEpoch) {
+        deleteQuietly(compactedFile);
+        return;
+      }
+
+      Files.move(compactedFile.toPath(), dataFile(compactedId).toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+      DataFile compacted = openDataFile(compactedId);
+      writeHintFile(compacted, hints);
+
+      int i = 0;
+      long compactedGarbage = 0;
+      for (Map.Entry<String, IndexEntry> entry : moved.entrySet()) {
+        Hint hint = hints.get(i++);
+        IndexEntry location = entry.getValue();
+        IndexEntry relocated = new IndexEntry(compactedId, hint.offset, location.keyLength, location.recordLength,
+                                              location.timestamp, location.sequence);
+        if (!index.replace(entry.getKey(), location, relocated)) {
+          // removed while being copied
+          compactedGarbage += location.recordLength;
+        }
+      }
+
+      for (DataFile source : sources) {
+        dataFiles.remove(source.id);
+        totalBytes -= source.size;
+        close(source);
+        deleteQuietly(source.file);
+        deleteQuietly(hintFile(source.id));
+      }
+      totalBytes += compacted.size;
+
+      // everything still in the sources was dead, so all that is left is what died during the copy or after the sources
+      garbageBytes = compactedGarbage + garbageOf(compactedId + 1);
+
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug(format("Compacted %d data files of object store partition %s into %s", sources.size(), getPartitionName(),
+                            compacted.file.getName()));
+      }
+    } finally {
+      wLock.unlock();
+    }
+  }
+
+  /**
+   * @return the amount of bytes of the records in the given data file and any later ones that are no longer referenced
+   */
+  private long garbageOf(long fromFileId) {
+    long size = 0;
+    for (DataFile dataFile : dataFiles.tailMap(fromFileId).values()) {
+      size += dataFile.size;
+    }
+    for (IndexEntry entry : index.values()) {
+      if (entry.fileId >= fromFileId) {
+        size -= entry.recordLength;
+      }
+    }
+    return size;
+  }
+
+  private byte[] readValue(IndexEntry entry) throws ObjectStoreException {
+    ByteBuffer value = ByteBuffer.allocate(entry.recordLength - RECORD_HEADER_SIZE - entry.keyLength);
+    DataFile dataFile = dataFiles.get(entry.fileId);
+    try {
+      readFully(dataFile.channel, value, entry.offset + RECORD_HEADER_SIZE + entry.keyLength);
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not read from object store data file "
+          + dataFile.file.getAbsolutePath()), e);
+    }
+    return value.array();
+  }
+
+  private DataFile openDataFile(long id) throws IOException {
+    DataFile dataFile = new DataFile(id, dataFile(id));
+    dataFiles.put(id, dataFile);
+    return dataFile;
+  }
+
+  private void closeDataFiles() {
+    for (DataFile dataFile : dataFiles.values()) {
+      close(dataFile);
+    }
+    dataFiles.clear();
+  }
+
+  private void close(DataFile dataFile) {
+    try {
+      dataFile.channel.close();
+    } catch (IOException e) {
+      LOGGER.debug("Found exception trying to close object store data file", e);
+    }
+  }
+
+  private void createOrRetrievePartitionDescriptorFile() throws ObjectStoreException {
+    try {
+      File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
+      if (partitionDescriptorFile.exists()) {
+        partitionName = readPartitionFileName(partitionDirectory);
+        return;
+      }
+      try (FileWriter fileWriter = new FileWriter(partitionDescriptorFile.getAbsolutePath(), false)) {
+        fileWriter.write(partitionName);
+        fileWriter.flush();
+      }
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private File dataFile(long id) {
+    return new File(getPartitionDirectory(), format("%020d%s", id, DATA_FILE_EXTENSION));
+  }
+
+  private File hintFile(long id) {
+    return new File(getPartitionDirectory(), format("%020d%s", id, HINT_FILE_EXTENSION));
+  }
+
+  private byte[] serialize(T value) throws ObjectStoreException {
+    try {
+      return serializer.getInternalProtocol().serialize(value);
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private T deserialize(byte[] serializedValue) throws ObjectStoreException {
+    try {
+      T value = serializer.getInternalProtocol().deserialize(serializedValue);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private static int checksum(byte type, long timestamp, int keyLength, int valueLength, byte[] body) {
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(RECORD_HEADER_SIZE - 4).put(type).putLong(timestamp).putInt(keyLength).putInt(valueLength)
+        .array());
+    crc.update(body);
+    return (int) crc.getValue();
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    final long start = offset - buffer.position();
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, start + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+  }
+
+  /**
+   * Location of the last record stored for a key.
+   */
+  private static final class IndexEntry {
+
+    private final long fileId;
+    private final long offset;
+    private final int keyLength;
+    private final int recordLength;
+    private final long timestamp;
+    private final long sequence;
+
+    private IndexEntry(long fileId, long offset, int keyLength, int recordLength, long timestamp, long sequence) {
+      this.fileId = fileId;
+      this.offset = offset;
+      this.keyLength = keyLength;
+      this.recordLength = recordLength;
+      this.timestamp = timestamp;
+      this.sequence = sequence;
+    }
+  }
+
+  private static final class Hint {
+
+    private final byte type;
+    private final long timestamp;
+    private final byte[] key;
+    private final long offset;
+    private final int recordLength;
+
+    private Hint(byte type, long timestamp, byte[] key, long offset, int recordLength) {
+      this.type = type;
+      this.timestamp = timestamp;
+      this.key = key;
+      this.offset = offset;
+      this.recordLength = recordLength;
+    }
+  }
+
+  private static final class DataFile {
+
+    private final long id;
+    private final File file;
+    private final FileChannel channel;
+    private long size;
+
+    private DataFile(long id, File file) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+      this.size = channel.size();
+    }
+  }
+}
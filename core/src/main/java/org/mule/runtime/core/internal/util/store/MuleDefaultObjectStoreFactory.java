@@ -6,8 +6,12 @@
  */
 package org.mule.runtime.core.internal.util.store;
 
+import static java.lang.Boolean.getBoolean;
+import static org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore.LOG_STRUCTURED_OBJECT_STORE_PROPERTY;
+
 import org.mule.runtime.api.store.ObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedInMemoryObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedLogStructuredObjectStore;
 import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 
 import java.io.Serializable;
@@ -21,6 +25,9 @@ public class MuleDefaultObjectStoreFactory implements DefaultObjectStoreFactory
 
   @Override
   public ObjectStore<Serializable> createDefaultPersistentObjectStore() {
+    if (getBoolean(LOG_STRUCTURED_OBJECT_STORE_PROPERTY)) {
+      return new PartitionedLogStructuredObjectStore<>();
+    }
     return new PartitionedPersistentObjectStore<>();
   }
 }
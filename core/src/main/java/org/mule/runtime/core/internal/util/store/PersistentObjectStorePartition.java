@@ -19,7 +19,6 @@ import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.U
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.serialization.ObjectSerializer;
-import org.mule.runtime.api.store.ExpirableObjectStore;
 import org.mule.runtime.api.store.ObjectAlreadyExistsException;
 import org.mule.runtime.api.store.ObjectDoesNotExistException;
 import org.mule.runtime.api.store.ObjectStoreException;
@@ -57,10 +56,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class PersistentObjectStorePartition<T extends Serializable> extends TemplateObjectStore<T>
-    implements ExpirableObjectStore<T> {
+    implements PersistentPartition<T> {
 
-  private static final String OBJECT_FILE_EXTENSION = ".obj";
-  private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
+  public static final String OBJECT_FILE_EXTENSION = ".obj";
+  static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
   public static final String CORRUPTED_FOLDER = "corrupted-files";
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PersistentObjectStorePartition.class);
@@ -100,7 +99,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     serializer = null;
   }
 
-  private String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
+  static String readPartitionFileName(File partitionDirectory) throws ObjectStoreNotAvailableException {
     File partitionDescriptorFile = new File(partitionDirectory, PARTITION_DESCRIPTOR_FILE);
     try {
       return readFileToString(partitionDescriptorFile);
@@ -348,6 +347,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     }
   }
 
+  @Override
   public File getPartitionDirectory() {
     return partitionDirectory;
   }
@@ -458,6 +458,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     return expired;
   }
 
+  @Override
   public String getPartitionName() {
     return partitionName;
   }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import org.mule.runtime.api.store.ExpirableObjectStore;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * A partition of a persistent object store, which keeps its entries in its own directory.
+ *
+ * @param <T> the type of the values stored in the partition
+ * @since 4.5.0
+ */
+public interface PersistentPartition<T extends Serializable> extends ExpirableObjectStore<T> {
+
+  /**
+   * @return the name of the partition
+   */
+  String getPartitionName();
+
+  /**
+   * @return the directory where the entries of the partition are stored
+   */
+  File getPartitionDirectory();
+}
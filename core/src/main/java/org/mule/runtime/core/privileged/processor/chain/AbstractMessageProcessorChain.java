@@ -18,6 +18,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.transaction.TransactionCoordination.isTransactionActive;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStreaming;
@@ -31,6 +32,7 @@ import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlin
 import static org.mule.runtime.core.privileged.processor.chain.ChainErrorHandlingUtils.resolveMessagingException;
 
 import static org.mule.runtime.core.internal.context.DefaultMuleContext.currentMuleContext;
+import static org.mule.runtime.core.internal.management.stats.DefaultFlowConstructStatistics.isProcessorHistogramsEnabled;
 import static org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter.createInterceptors;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactId;
 import static org.mule.runtime.core.internal.processor.strategy.util.ProfilingUtils.getArtifactType;
@@ -66,6 +68,7 @@ import org.mule.runtime.core.api.context.notification.ServerNotificationHandler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.execution.ExceptionContextProvider;
+import org.mule.runtime.core.api.processor.InterceptingMessageProcessor;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
@@ -84,6 +87,7 @@ import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
 import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
 import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcessor;
+import org.mule.runtime.core.internal.processor.chain.ProcessorExecutionTimeInterceptor;
 import org.mule.runtime.core.internal.processor.interceptor.ProcessorInterceptorFactoryAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
 import org.mule.runtime.core.internal.profiling.InternalProfilingService;
@@ -106,6 +110,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -158,8 +163,10 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private final FlowExceptionHandler messagingExceptionHandler;
   private final ProcessingStrategy processingStrategy;
   private final List<ReactiveInterceptorAdapter> additionalInterceptors = new LinkedList<>();
+  private ReactiveInterceptor processorExecutionTimeInterceptor;
 
   private boolean canProcessMessage = true;
+  private boolean fuseCpuLiteProcessors = false;
 
   @Inject
   private ServerNotificationHandler serverNotificationHandler;
@@ -353,7 +360,18 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     // We don't have a way to verify nothing about the parent span. So no tracing condition is added.
     stream = stream.doOnNext(event -> muleEventTracer.startComponentSpan(event, chainSpanCustomizationInfo)
         .ifPresent(span -> chainSpanCreated = true));
-    for (Processor processor : getProcessorsToExecute()) {
+    final List<Processor> processorsToExecute = getProcessorsToExecute();
+    int i = 0;
+    while (i < processorsToExecute.size()) {
+      final int fusedEnd = fuseCpuLiteProcessors ? findFusableProcessorsEnd(processorsToExecute, i) : i;
+      if (fusedEnd - i > 1) {
+        // Run consecutive synchronous CPU_LITE processors in a single stage instead of a stage for each one.
+        stream = stream.transform(fuseProcessors(processorsToExecute.subList(i, fusedEnd), errorBubbler));
+        i = fusedEnd;
+        continue;
+      }
+
+      final Processor processor = processorsToExecute.get(i++);
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
       // along with the interceptors that decorate it.
       stream = stream.transform(applyInterceptors(interceptors, processor))
@@ -384,6 +402,101 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return stream;
   }
 
+  /**
+   * @return the index after the last of the processors that can be fused together starting at {@code start}.
+   */
+  private int findFusableProcessorsEnd(List<Processor> processors, int start) {
+    if (!additionalInterceptors.isEmpty() || processorExecutionTimeInterceptor != null) {
+      // Processor interceptors may change the processing of each processor, so the whole chain has to go through them.
+      // Likewise, the execution time of each processor is measured separately.
+      return start;
+    }
+
+    int end = start;
+    while (end < processors.size() && isFusable(processors.get(end))) {
+      ++end;
+    }
+    return end;
+  }
+
+  /**
+   * A processor can be fused with its neighbours if it is {@link ReactiveProcessor.ProcessingType#CPU_LITE CPU_LITE} and its
+   * reactive behavior is the one provided by {@link Processor#apply(Publisher)}, so calling {@link Processor#process(CoreEvent)}
+   * directly is equivalent.
+   */
+  private static boolean isFusable(Processor processor) {
+    if (processor.getProcessingType() != CPU_LITE
+        || processor instanceof InterceptingMessageProcessor
+        || processor instanceof MessageProcessorChain) {
+      return false;
+    }
+
+    try {
+      return processor.getClass().getMethod("apply", Publisher.class).getDeclaringClass() == Processor.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Builds a single stage that calls the given processors one after the other for each event, with the same notifications,
+   * tracing, profiling and error handling that each processor would have in its own stage. The processing strategy is applied
+   * once for the whole stage, which is equivalent since {@link ReactiveProcessor.ProcessingType#CPU_LITE CPU_LITE} processors
+   * are run in the thread of the previous one.
+   */
+  private ReactiveProcessor fuseProcessors(List<Processor> fusedProcessors,
+                                           BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    final int size = fusedProcessors.size();
+    final Processor[] processors = fusedProcessors.toArray(new Processor[size]);
+    final String[] processorPaths = new String[size];
+    final BiFunction<Throwable, Object, Throwable>[] errorHooks = new BiFunction[size];
+    final BiConsumer<Throwable, Object>[] errorHandlers = new BiConsumer[size];
+    for (int i = 0; i < size; ++i) {
+      processorPaths[i] = getProcessorPath(processors[i]);
+      errorHooks[i] = getLocalOperatorErrorHook(processors[i], errorTypeLocator, exceptionContextProviders);
+      errorHandlers[i] = getContinueStrategyErrorHandler(processors[i], errorBubbler);
+    }
+
+    final ReactiveProcessor fused = stream -> from(stream)
+        .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER))
+        .<CoreEvent>handle((event, sink) -> {
+          CoreEvent current = event;
+          for (int i = 0; i < size && current != null; ++i) {
+            final CoreEvent input = current;
+            try {
+              beforeComponentProcessingStrategy(processors[i], processorPaths[i], input);
+              beforeProcessorInSameThread(input, processors[i]);
+              current = processors[i].process(input);
+              if (current != null) {
+                afterProcessorInSameThread(current, processors[i]);
+                current = afterComponentProcessingStrategy(processors[i], processorPaths[i], current);
+              } else if (processorPaths[i] != null) {
+                MDC.remove("processorPath");
+              }
+            } catch (Throwable t) {
+              if (processorPaths[i] != null) {
+                MDC.remove("processorPath");
+              }
+
+              final Throwable resolved = errorHooks[i].apply(t, input);
+              if (resolved instanceof LifecycleException) {
+                sink.error(resolved);
+              } else {
+                errorHandlers[i].accept(resolved, input);
+              }
+              return;
+            }
+          }
+
+          if (current != null) {
+            sink.next(current);
+          }
+        })
+        .transform(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER));
+
+    return processingStrategy != null ? processingStrategy.onProcessor(fused) : fused;
+  }
+
   /*
    * Used to process failed events which are dropped from the reactor stream due to error. Errors are processed by invoking the
    * current EventContext error callback.
@@ -482,6 +595,11 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
           .map(result -> afterComponentProcessingStrategy((Processor) processor, processorPath, result));
     });
 
+    // #5 Measure the execution time of the processor, including everything above.
+    if (processorExecutionTimeInterceptor != null) {
+      interceptors.add(processorExecutionTimeInterceptor);
+    }
+
     return interceptors;
   }
 
@@ -742,6 +860,10 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     }
 
     muleEventTracer = profilingService.getCoreEventTracer();
+
+    if (isProcessorHistogramsEnabled() && muleContext.getStatistics() != null) {
+      processorExecutionTimeInterceptor = new ProcessorExecutionTimeInterceptor(muleContext.getStatistics());
+    }
   }
 
   @Override
@@ -783,6 +905,15 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return messagingExceptionHandler;
   }
 
+  /**
+   * @param fuseCpuLiteProcessors whether consecutive synchronous {@link ReactiveProcessor.ProcessingType#CPU_LITE CPU_LITE}
+   *                              processors of this chain are run in a single reactive stage.
+   * @since 4.5.0
+   */
+  void setFuseCpuLiteProcessors(boolean fuseCpuLiteProcessors) {
+    this.fuseCpuLiteProcessors = fuseCpuLiteProcessors;
+  }
+
   /**
    * @param spanCustomizationInfo sets the {@link SpanCustomizationInfo} for the chain.
    */
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.privileged.processor.chain;
 
+import static java.lang.Boolean.getBoolean;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
@@ -59,6 +60,26 @@ public class DefaultMessageProcessorChainBuilder extends AbstractMessageProcesso
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMessageProcessorChainBuilder.class);
 
+  private static final boolean DEFAULT_FUSE_CPU_LITE_PROCESSORS =
+      getBoolean(DefaultMessageProcessorChainBuilder.class.getName() + ".FUSE_CPU_LITE_PROCESSORS");
+
+  private boolean fuseCpuLiteProcessors = DEFAULT_FUSE_CPU_LITE_PROCESSORS;
+
+  /**
+   * Configures whether the built chains run consecutive synchronous
+   * {@link org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType#CPU_LITE CPU_LITE} processors in a single
+   * reactive stage that calls them one after the other, instead of assembling a stage for each one.
+   * <p>
+   * This is only done for processors that don't override {@link Processor#apply(Publisher)}, and only when no processor
+   * interceptors are registered.
+   *
+   * @param fuseCpuLiteProcessors whether to fuse consecutive synchronous CPU_LITE processors.
+   * @since 4.5.0
+   */
+  public void setFuseCpuLiteProcessors(boolean fuseCpuLiteProcessors) {
+    this.fuseCpuLiteProcessors = fuseCpuLiteProcessors;
+  }
+
   /**
    * This builder supports the chaining together of message processors that intercept and also those that don't. While one can
    * iterate over message processor intercepting message processors need to be chained together. One solution is make all message
@@ -128,6 +149,7 @@ public class DefaultMessageProcessorChainBuilder extends AbstractMessageProcesso
                                            new ArrayList<>(tempList),
                                            messagingExceptionHandler,
                                            location);
+      messageProcessorChain.setFuseCpuLiteProcessors(fuseCpuLiteProcessors);
       if (spanCustomizationInfo != null) {
         messageProcessorChain.setSpanCustomizationInfo(spanCustomizationInfo);
       }
@@ -150,6 +172,7 @@ public class DefaultMessageProcessorChainBuilder extends AbstractMessageProcesso
                                            new ArrayList<>(tempList),
                                            NullExceptionHandler.getInstance(),
                                            location);
+      messageProcessorChain.setFuseCpuLiteProcessors(fuseCpuLiteProcessors);
       if (spanCustomizationInfo != null) {
         messageProcessorChain.setSpanCustomizationInfo(spanCustomizationInfo);
       }
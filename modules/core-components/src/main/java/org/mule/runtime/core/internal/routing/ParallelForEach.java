@@ -8,6 +8,7 @@
 package org.mule.runtime.core.internal.routing;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.PARALLEL_FOREACH_FLATTEN_MESSAGE;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
@@ -48,6 +49,11 @@ import org.reactivestreams.Publisher;
  * For advanced use cases, a custom {@link ForkJoinStrategyFactory} can be applied to customize the logic used to aggregate the
  * route responses back into one single Event.
  * <p>
+ * For large collections, parts may be processed in micro-batches (see {@link #setBatchSize(int)}) and the results may be
+ * collected as they complete (see {@link #setPreserveOrder(boolean)}), so that the amount of concurrently processed routes and
+ * buffered results stays bounded. These settings are applied to the default {@link ForkJoinStrategyFactory} only, so they have
+ * no effect when a custom one is set.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  *
@@ -69,6 +75,8 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   private List<Processor> messageProcessors;
   private MessageProcessorChain nestedChain;
+  private int batchSize = 1;
+  private boolean preserveOrder = true;
 
   @Override
   public void initialise() throws InitialisationException {
@@ -117,7 +125,10 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   @Override
   protected ForkJoinStrategyFactory getDefaultForkJoinStrategyFactory() {
-    return new CollectListForkJoinStrategyFactory(false);
+    CollectListForkJoinStrategyFactory forkJoinStrategyFactory = new CollectListForkJoinStrategyFactory(false);
+    forkJoinStrategyFactory.setBatchSize(batchSize);
+    forkJoinStrategyFactory.setPreserveOrder(preserveOrder);
+    return forkJoinStrategyFactory;
   }
 
   /**
@@ -129,6 +140,31 @@ public class ParallelForEach extends AbstractForkJoinRouter {
     this.collectionExpression = collectionExpression;
   }
 
+  /**
+   * Set the amount of parts to group in each micro-batch. The parts of a micro-batch are processed one after the other, so
+   * {@code maxConcurrency} limits the amount of micro-batches processed in parallel. Only applies when no custom
+   * {@link ForkJoinStrategyFactory} is set.
+   *
+   * @param batchSize the amount of parts in each micro-batch. Defaults to {@code 1}.
+   * @throws IllegalArgumentException if the value is zero or less.
+   * @since 4.5.0
+   */
+  public void setBatchSize(int batchSize) {
+    checkArgument(batchSize > 0, "Batch size must be one or more.");
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Set whether the results are collected in the order of the parts they come from, or as they complete. Only applies when no
+   * custom {@link ForkJoinStrategyFactory} is set.
+   *
+   * @param preserveOrder whether to collect the results in the order of the parts. Defaults to {@code true}.
+   * @since 4.5.0
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
   private Message createMessage(TypedValue<?> partTypedValue, CoreEvent event) {
     if (featureFlaggingService.isEnabled(PARALLEL_FOREACH_FLATTEN_MESSAGE) && partTypedValue.getValue() instanceof Message) {
       Message message = (Message) partTypedValue.getValue();
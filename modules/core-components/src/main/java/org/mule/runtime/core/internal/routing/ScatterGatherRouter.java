@@ -8,12 +8,15 @@
 package org.mule.runtime.core.internal.routing;
 
 import static java.util.Collections.emptyList;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.config.i18n.CoreMessages.cannotCopyStreamPayload;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static reactor.core.publisher.Flux.fromIterable;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectMapForkJoinStrategyFactory;
@@ -33,6 +36,9 @@ import org.reactivestreams.Publisher;
  * For advanced use cases, a custom {@link ForkJoinStrategyFactory} can be applied to customize the logic used to aggregate the
  * route responses back into one single Event.
  * <p>
+ * By default, every route has to complete successfully. Other {@link CompletionMode}s allow to return partial results, with the
+ * errors of the failed routes in the attributes of the result.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  *
@@ -40,7 +46,43 @@ import org.reactivestreams.Publisher;
  */
 public class ScatterGatherRouter extends AbstractForkJoinRouter implements Router {
 
+  /**
+   * Defines when a {@link ScatterGatherRouter} completes, and which results it returns.
+   *
+   * @since 4.5.0
+   */
+  public enum CompletionMode {
+    /**
+     * Waits for every route. Fails if any route fails.
+     */
+    ALL,
+    /**
+     * Completes as soon as {@code minSuccessfulRoutes} routes are successful, cancelling the others.
+     */
+    FIRST_SUCCESSFUL,
+    /**
+     * Completes as soon as a majority of the routes are successful, cancelling the others.
+     */
+    QUORUM,
+    /**
+     * Waits for every route to complete or reach its timeout, and returns the results of those that were successful. Fails only if
+     * less than {@code minSuccessfulRoutes} routes are successful.
+     */
+    DEADLINE
+  }
+
   private List<MessageProcessorChain> routes = emptyList();
+  private CompletionMode completionMode = CompletionMode.ALL;
+  private int minSuccessfulRoutes = 1;
+
+  @Override
+  public void initialise() throws InitialisationException {
+    if (completionMode != CompletionMode.ALL && minSuccessfulRoutes > routes.size()) {
+      throw new InitialisationException(createStaticMessage("minSuccessfulRoutes (" + minSuccessfulRoutes
+          + ") can't be greater than the amount of routes (" + routes.size() + ")"), this);
+    }
+    super.initialise();
+  }
 
   @Override
   protected Consumer<CoreEvent> onEvent() {
@@ -73,7 +115,45 @@ public class ScatterGatherRouter extends AbstractForkJoinRouter implements Route
 
   @Override
   protected ForkJoinStrategyFactory getDefaultForkJoinStrategyFactory() {
-    return new CollectMapForkJoinStrategyFactory();
+    CollectMapForkJoinStrategyFactory forkJoinStrategyFactory = new CollectMapForkJoinStrategyFactory();
+    switch (completionMode) {
+      case FIRST_SUCCESSFUL:
+        forkJoinStrategyFactory.setMinSuccessfulRoutes(minSuccessfulRoutes, true);
+        break;
+      case QUORUM:
+        forkJoinStrategyFactory.setMinSuccessfulRoutes(routes.size() / 2 + 1, true);
+        break;
+      case DEADLINE:
+        forkJoinStrategyFactory.setMinSuccessfulRoutes(minSuccessfulRoutes, false);
+        break;
+      default:
+        break;
+    }
+    return forkJoinStrategyFactory;
+  }
+
+  /**
+   * Set when this router completes, and which results it returns. Only applies when no custom {@link ForkJoinStrategyFactory} is
+   * set.
+   *
+   * @param completionMode the completion mode. Defaults to {@link CompletionMode#ALL}.
+   * @since 4.5.0
+   */
+  public void setCompletionMode(CompletionMode completionMode) {
+    this.completionMode = completionMode;
+  }
+
+  /**
+   * Set the minimum amount of routes that have to be successful, for the {@link CompletionMode#FIRST_SUCCESSFUL} and
+   * {@link CompletionMode#DEADLINE} completion modes.
+   *
+   * @param minSuccessfulRoutes the minimum amount of successful routes. Defaults to {@code 1}.
+   * @throws IllegalArgumentException if the value is zero or less.
+   * @since 4.5.0
+   */
+  public void setMinSuccessfulRoutes(int minSuccessfulRoutes) {
+    checkArgument(minSuccessfulRoutes > 0, "Minimum successful routes must be one or more.");
+    this.minSuccessfulRoutes = minSuccessfulRoutes;
   }
 
   /**
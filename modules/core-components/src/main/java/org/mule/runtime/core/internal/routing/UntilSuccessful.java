@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.routing;
 
 import static org.mule.runtime.api.config.MuleRuntimeFeature.SUPPRESS_ERRORS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.retry.RetryTimerWheel.isRetryTimerWheelEnabled;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.createDefaultProcessingStrategyFactory;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.getProcessingStrategy;
@@ -28,6 +29,8 @@ import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.profiling.tracing.event.NamedSpanBasedOnComponentIdentifierAndAttemptSpanCustomizationInfo;
+import org.mule.runtime.core.internal.retry.ExponentialBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 import org.mule.runtime.core.internal.routing.UntilSuccessfulRouter.RetryContextInitializationException;
@@ -67,6 +70,11 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   private boolean suppressErrors;
   private Predicate<CoreEvent> shouldRetry;
   private Scheduler timer;
+  private RetryTimerWheel retryTimerWheel;
+  private ExponentialBackoff backoff = ExponentialBackoff.FIXED;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = Long.MAX_VALUE;
+  private double jitter = 0;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -84,6 +92,14 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     super.initialise();
 
     timer = schedulerService.cpuLightScheduler();
+    if (isRetryTimerWheelEnabled()) {
+      retryTimerWheel = new RetryTimerWheel(timer);
+    }
+    try {
+      backoff = new ExponentialBackoff(backoffMultiplier, maxMillisBetweenRetries, jitter);
+    } catch (IllegalArgumentException e) {
+      throw new InitialisationException(e, this);
+    }
     suppressErrors = featureFlaggingService.isEnabled(SUPPRESS_ERRORS);
     shouldRetry = event -> event.getError().isPresent();
 
@@ -96,6 +112,9 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
+    if (retryTimerWheel != null) {
+      retryTimerWheel.stop();
+    }
     timer.stop();
   }
 
@@ -119,7 +138,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries, suppressErrors)
+                                     retryTimerWheel, backoff, maxRetries, millisBetweenRetries, suppressErrors)
                                          .getDownstreamPublisher();
   }
 
@@ -153,6 +172,41 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @param backoffMultiplier the factor to multiply the time between retries with after each retry. Default value is 1, meaning
+   *                          that the time between retries is always {@code millisBetweenRetries}.
+   * @since 4.5.0
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the maximum number of milliseconds between retries when a {@code backoffMultiplier} is set.
+   *                                Unbounded by default.
+   * @since 4.5.0
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitter the maximum fraction of the time between retries to randomly subtract from it, between 0 and 1. Default value
+   *               is 0.
+   * @since 4.5.0
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
+  /**
+   * @return the number of retries waiting for their delay, if the retry timer wheel is enabled, or {@code -1} otherwise.
+   * @since 4.5.0
+   */
+  public int getPendingRetries() {
+    return retryTimerWheel != null ? retryTimerWheel.getPendingCount() : -1;
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
@@ -37,6 +37,8 @@ import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.retry.policy.RetryPolicyExhaustedException;
 import org.mule.runtime.core.internal.event.EventInternalContextResolver;
 import org.mule.runtime.core.internal.exception.MessagingException;
+import org.mule.runtime.core.internal.retry.ExponentialBackoff;
+import org.mule.runtime.core.internal.retry.RetryTimerWheel;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
 import org.mule.runtime.internal.exception.SuppressedMuleException;
@@ -78,6 +80,8 @@ class UntilSuccessfulRouter {
   private final boolean suppressErrors;
   private final Predicate<CoreEvent> shouldRetry;
   private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final RetryTimerWheel retryTimerWheel;
+  private final ExponentialBackoff backoff;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -103,10 +107,20 @@ class UntilSuccessfulRouter {
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
                         Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
                         String maxRetries, String millisBetweenRetries, boolean suppressErrors) {
+    this(owner, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, delayScheduler, null,
+         ExponentialBackoff.FIXED, maxRetries, millisBetweenRetries, suppressErrors);
+  }
+
+  UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
+                        ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
+                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler, RetryTimerWheel retryTimerWheel,
+                        ExponentialBackoff backoff, String maxRetries, String millisBetweenRetries, boolean suppressErrors) {
     this.owner = owner;
     this.suppressErrors = suppressErrors;
     this.shouldRetry = shouldRetry;
     this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.retryTimerWheel = retryTimerWheel;
+    this.backoff = backoff;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
     // Upstream side of until successful chain. Injects events into retrial chain.
@@ -191,20 +205,35 @@ class UntilSuccessfulRouter {
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        final Runnable retry = () -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx));
+        final long delay = backoff.delay(ctx.delayInMillis, ctx.getAttemptNumber());
+        if (retryTimerWheel != null && !isTransactionActive()) {
+          retryTimerWheel.schedule(retry, delay, MILLISECONDS, rejected -> {
+            // The retry could not be dispatched, so the event fails with the last error instead of never completing
+            LOGGER.error("Retry could not be dispatched. Failing...", rejected);
+            messagingError.addSuppressed(rejected);
+            failRetries(messagingError, ctx);
+          });
+        } else {
+          // Within a transaction, the retry has to happen in the same thread, which the decorator takes care of
+          UntilSuccessfulRouter.this.delayScheduler.schedule(retry, delay, MILLISECONDS);
+        }
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
-        Throwable resolvedError = getThrowableFunction(ctx.event).apply(error);
-        // Delete current context from event
-        eventWithCurrentContextDeleted(messagingError.getEvent());
-        downstreamRecorder.next(left(resolvedError, CoreEvent.class));
-        completeRouterIfNecessary();
+        failRetries(messagingError, ctx);
       }
     };
   }
 
+  private void failRetries(MessagingException error, RetryContext ctx) {
+    Throwable resolvedError = getThrowableFunction(ctx.event).apply(error);
+    // Delete current context from event
+    eventWithCurrentContextDeleted(error.getEvent());
+    downstreamRecorder.next(left(resolvedError, CoreEvent.class));
+    completeRouterIfNecessary();
+  }
+
   /**
    * If there are no events in-flight and the upstream publisher has received a completion signal, complete downstream publishers.
    */
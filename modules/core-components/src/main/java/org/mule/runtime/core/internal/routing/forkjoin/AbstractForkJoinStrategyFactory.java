@@ -7,17 +7,20 @@
 
 package org.mule.runtime.core.internal.routing.forkjoin;
 
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.internal.exception.ErrorHandlerContextManager.ERROR_HANDLER_CONTEXT;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.processWithChildContextDontComplete;
 
 import static java.lang.Long.MAX_VALUE;
+import static java.util.Comparator.comparingInt;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
 
 import static reactor.core.Exceptions.propagate;
 import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Flux.fromIterable;
 import static reactor.core.publisher.Mono.defer;
 import static reactor.core.publisher.Mono.error;
 import static reactor.core.publisher.Mono.just;
@@ -59,6 +62,7 @@ import java.util.stream.Collectors;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -71,12 +75,22 @@ import reactor.core.scheduler.Schedulers;
  * <li>Use of an optional timeout.
  * <li>Delay error behavior, where all errors are collated and thrown as a composite exception.
  * </ul>
+ * <p>
+ * Routing pairs may optionally be processed in micro-batches (see {@link #setBatchSize(int)}), and their results may be
+ * aggregated as they complete instead of in the order of the routing pairs (see {@link #setPreserveOrder(boolean)}). Partial
+ * results may be accepted when some routes fail, optionally completing as soon as enough routes succeed (see
+ * {@link #setMinSuccessfulRoutes(int, boolean)}).
  */
 public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrategyFactory {
 
   public static final String TIMEOUT_EXCEPTION_DESCRIPTION = "Route Timeout";
   public static final String TIMEOUT_EXCEPTION_DETAILED_DESCRIPTION_PREFIX = "Timeout while processing route/part:";
+  private static final Duration NO_TIMEOUT = Duration.ofNanos(MAX_VALUE);
   private final boolean mergeVariables;
+  private int batchSize = 1;
+  private boolean preserveOrder = true;
+  private int minSuccessfulRoutes = 0;
+  private boolean completeOnMinSuccessfulRoutes = false;
 
   public AbstractForkJoinStrategyFactory() {
     this(true);
@@ -92,7 +106,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
                                                  boolean isDetailedLogEnabled) {
     Duration timeoutDuration;
     if (timeout == Long.MAX_VALUE) {
-      timeoutDuration = Duration.ofNanos(MAX_VALUE);
+      timeoutDuration = NO_TIMEOUT;
     } else {
       timeoutDuration = Duration.ofMillis(timeout);
     }
@@ -101,12 +115,23 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
       final CoreEvent.Builder resultBuilder = builder(original);
-      return from(routingPairs)
-          .map(addSequence(count))
-          .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeoutDuration,
-                                              reactorTimeoutScheduler,
-                                              timeoutErrorType),
-                             maxConcurrency)
+      final boolean completeEarly = minSuccessfulRoutes > 0 && completeOnMinSuccessfulRoutes;
+      // When completing early, the results have to be taken as they complete, otherwise a successful route would wait for the
+      // previous ones. The order is restored once they are all collected.
+      final boolean sortResults = preserveOrder && completeEarly;
+      Flux<Pair<CoreEvent, EventProcessingException>> results =
+          processRoutePairs(from(routingPairs).map(addSequence(count)),
+                            processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeoutDuration,
+                                             reactorTimeoutScheduler,
+                                             timeoutErrorType),
+                            maxConcurrency, preserveOrder && !completeEarly);
+      if (completeEarly) {
+        // Cancels the routes still being processed, just like a timeout does
+        final AtomicInteger successful = new AtomicInteger();
+        results = results.takeUntil(result -> isSuccessful(result.getFirst(), original)
+            && successful.incrementAndGet() >= minSuccessfulRoutes);
+      }
+      return results
           .reduce(new Pair<List<Pair<CoreEvent, EventProcessingException>>, Boolean>(new ArrayList<>(), false),
                   (listBooleanPair, coreEventExceptionPair) -> {
                     // Accumulates events and check if there is a (new) error within those events
@@ -117,19 +142,124 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
                     return new Pair<>(listBooleanPair.getFirst(), listBooleanPair.getSecond() || hasNewError);
                   })
           .doOnNext(listBooleanPair -> {
-            if (listBooleanPair.getSecond()) {
+            if (sortResults) {
+              listBooleanPair.getFirst()
+                  .sort(comparingInt(result -> result.getFirst().getGroupCorrelation().get().getSequence()));
+            }
+          })
+          .doOnNext(listBooleanPair -> {
+            if (listBooleanPair.getSecond() && !hasMinSuccessfulRoutes(listBooleanPair.getFirst(), original)) {
               throw propagate(createCompositeRoutingException(listBooleanPair.getFirst().stream()
                   .map(coreEventExceptionPair -> removeOriginalError(coreEventExceptionPair,
                                                                      original.getError()))
                   .collect(toList()), isDetailedLogEnabled));
             }
           })
-          .map(listBooleanPair -> listBooleanPair.getFirst().stream().map(Pair::getFirst).collect(Collectors.toList()))
-          .doOnNext(mergeVariables(original, resultBuilder))
-          .map(createResultEvent(original, resultBuilder));
+          .map(listBooleanPair -> {
+            if (listBooleanPair.getSecond()) {
+              return createPartialResultEvent(original, resultBuilder, listBooleanPair.getFirst());
+            }
+
+            final List<CoreEvent> events = listBooleanPair.getFirst().stream().map(Pair::getFirst).collect(toList());
+            mergeVariables(original, resultBuilder).accept(events);
+            return createResultEvent(original, resultBuilder).apply(events);
+          });
     };
   }
 
+  /**
+   * Sets the amount of routing pairs to group in each micro-batch. The routing pairs of a micro-batch are processed one after the
+   * other, so {@code maxConcurrency} limits the amount of micro-batches processed in parallel rather than the amount of routing
+   * pairs.
+   * <p>
+   * When the order of the results is preserved, the results of the micro-batches that complete ahead of a previous one are
+   * buffered, up to {@code maxConcurrency * batchSize} results.
+   *
+   * @param batchSize the amount of routing pairs in each micro-batch. Defaults to {@code 1}, which disables batching.
+   * @throws IllegalArgumentException if the value is zero or less.
+   * @since 4.5.0
+   */
+  public void setBatchSize(int batchSize) {
+    checkArgument(batchSize > 0, "Batch size must be one or more.");
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Sets whether the results are aggregated in the order of the routing pairs they come from, or as they complete. In the latter
+   * case, a result never waits for the completion of the previous ones, so none are buffered.
+   *
+   * @param preserveOrder whether to aggregate the results in the order of the routing pairs. Defaults to {@code true}.
+   * @since 4.5.0
+   */
+  public void setPreserveOrder(boolean preserveOrder) {
+    this.preserveOrder = preserveOrder;
+  }
+
+  /**
+   * Sets the minimum amount of routes that have to be successful for the result not to be an error. When at least that many
+   * routes are successful, the result is built from the successful ones only, and the errors of the others are set as the
+   * attributes of the result message, in a {@link Map} with the same keys used for the results.
+   *
+   * @param minSuccessfulRoutes   the minimum amount of successful routes. Defaults to {@code 0}, meaning that every route has to
+   *                              be successful.
+   * @param completeWhenSucceeded whether the result is emitted as soon as {@code minSuccessfulRoutes} routes are successful,
+   *                              cancelling the routes still being processed, instead of waiting for the completion (or timeout)
+   *                              of all of them. Cancelled routes are not part of the result. The results are then
+   *                              taken as they complete, even if the order is preserved, and sorted once collected.
+   * @throws IllegalArgumentException if {@code minSuccessfulRoutes} is negative.
+   * @since 4.5.0
+   */
+  public void setMinSuccessfulRoutes(int minSuccessfulRoutes, boolean completeWhenSucceeded) {
+    checkArgument(minSuccessfulRoutes >= 0, "Minimum successful routes must not be negative.");
+    this.minSuccessfulRoutes = minSuccessfulRoutes;
+    this.completeOnMinSuccessfulRoutes = completeWhenSucceeded;
+  }
+
+  private boolean isSuccessful(CoreEvent event, CoreEvent original) {
+    return event.getError().map(err -> isOriginalError(err, original.getError())).orElse(true);
+  }
+
+  private boolean hasMinSuccessfulRoutes(List<Pair<CoreEvent, EventProcessingException>> results, CoreEvent original) {
+    return minSuccessfulRoutes > 0
+        && results.stream().filter(result -> isSuccessful(result.getFirst(), original)).count() >= minSuccessfulRoutes;
+  }
+
+  private CoreEvent createPartialResultEvent(CoreEvent original, CoreEvent.Builder resultBuilder,
+                                             List<Pair<CoreEvent, EventProcessingException>> results) {
+    final List<CoreEvent> successful = new ArrayList<>();
+    final Map<String, Error> failures = new LinkedHashMap<>();
+    for (Pair<CoreEvent, EventProcessingException> result : results) {
+      final CoreEvent event = result.getFirst();
+      if (isSuccessful(event, original)) {
+        successful.add(event);
+      } else {
+        failures.put(Integer.toString(event.getGroupCorrelation().get().getSequence()), event.getError().get());
+      }
+    }
+
+    mergeVariables(original, resultBuilder).accept(successful);
+    final CoreEvent resultEvent = createResultEvent(original, resultBuilder).apply(successful);
+    return builder(resultEvent)
+        .message(Message.builder(resultEvent.getMessage()).attributesValue(failures).build())
+        .build();
+  }
+
+  private Flux<Pair<CoreEvent, EventProcessingException>> processRoutePairs(Flux<RoutingPair> routingPairs,
+                                                                           Function<RoutingPair, Publisher<Pair<CoreEvent, EventProcessingException>>> processor,
+                                                                           int maxConcurrency, boolean ordered) {
+    if (batchSize == 1) {
+      return ordered
+          ? routingPairs.flatMapSequential(processor, maxConcurrency)
+          : routingPairs.flatMap(processor, maxConcurrency);
+    }
+
+    final Function<List<RoutingPair>, Publisher<Pair<CoreEvent, EventProcessingException>>> batchProcessor =
+        batch -> fromIterable(batch).concatMap(processor);
+    return ordered
+        ? routingPairs.buffer(batchSize).flatMapSequential(batchProcessor, maxConcurrency, batchSize)
+        : routingPairs.buffer(batchSize).flatMap(batchProcessor, maxConcurrency, batchSize);
+  }
+
   private boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
@@ -171,21 +301,20 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return pair -> {
       ReactiveProcessor route = publisher -> from(publisher)
           .transform(pair.getRoute());
-      return from(processWithChildContextDontComplete(pair.getEvent(),
-                                                      applyProcessingStrategy(processingStrategy, route, maxConcurrency),
-                                                      empty()))
-                                                          .timeout(timeout,
-                                                                   onTimeout(processingStrategy, delayErrors, timeoutErrorType,
-                                                                             pair),
-                                                                   timeoutScheduler)
-                                                          .map(coreEvent -> new Pair<CoreEvent, EventProcessingException>(
-                                                                                                                          ((DefaultEventBuilder) CoreEvent
-                                                                                                                              .builder(coreEvent))
-                                                                                                                                  .removeInternalParameter(ERROR_HANDLER_CONTEXT)
-                                                                                                                                  .build(),
-                                                                                                                          null))
-                                                          .onErrorResume(MessagingException.class,
-                                                                         me -> getPublisher(delayErrors, me));
+      Flux<CoreEvent> routeResult = from(processWithChildContextDontComplete(pair.getEvent(),
+                                                                             applyProcessingStrategy(processingStrategy, route,
+                                                                                                     maxConcurrency),
+                                                                             empty()));
+      if (!NO_TIMEOUT.equals(timeout)) {
+        // Avoid scheduling a timer for each route when there is no timeout
+        routeResult = routeResult.timeout(timeout, onTimeout(processingStrategy, delayErrors, timeoutErrorType, pair),
+                                          timeoutScheduler);
+      }
+      return routeResult
+          .map(coreEvent -> new Pair<CoreEvent, EventProcessingException>(((DefaultEventBuilder) CoreEvent.builder(coreEvent))
+              .removeInternalParameter(ERROR_HANDLER_CONTEXT)
+              .build(), null))
+          .onErrorResume(MessagingException.class, me -> getPublisher(delayErrors, me));
     };
   }
 
@@ -398,7 +398,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     }
   }
 
-  private MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
+  protected MessageProcessorChain createFailingRoutingPair(RuntimeException exception) throws MuleException {
     return createChain((InternalTestProcessor) event -> {
       throw exception;
     });
@@ -423,7 +423,7 @@ public abstract class AbstractForkJoinStrategyTestCase extends AbstractMuleConte
     return createRoutingPairWithSleep(result, 0);
   }
 
-  private RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
+  protected RoutingPair createRoutingPairWithSleep(Message result, long sleep) throws MuleException {
     return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
   }
 
@@ -9,6 +9,8 @@ package org.mule.runtime.core.internal.routing.forkjoin;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.core.IsNot.not;
@@ -25,6 +27,7 @@ import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
 import org.mule.tck.junit4.rule.SystemProperty;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Rule;
@@ -126,4 +129,46 @@ public class CollectListForkJoinStrategyTestCase extends AbstractForkJoinStrateg
     assertThat(result.getVariables().get(beforeVar2Name).getValue(), equalTo(beforeVar2Value));
   }
 
+  @Test
+  @Description("With micro-batches, results are collected in the order of the routing pairs.")
+  public void batchesPreserveOrder() throws Throwable {
+    CollectListForkJoinStrategyFactory factory = new CollectListForkJoinStrategyFactory(false);
+    factory.setBatchSize(2);
+    strategy = factory.createForkJoinStrategy(processingStrategy, 2, true, Long.MAX_VALUE, scheduler, timeoutErrorType,
+                                              Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue()));
+
+    List<Message> routeResults = new ArrayList<>();
+    List<RoutingPair> pairs = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      Message routeResult = of(i);
+      routeResults.add(routeResult);
+      pairs.add(createRoutingPair(routeResult));
+    }
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(), pairs);
+
+    assertThat((List<Message>) result.getMessage().getPayload().getValue(), contains(routeResults.toArray()));
+  }
+
+  @Test
+  @Description("When the order is not preserved, all results are collected as they complete.")
+  public void batchesNotPreservingOrder() throws Throwable {
+    CollectListForkJoinStrategyFactory factory = new CollectListForkJoinStrategyFactory(false);
+    factory.setBatchSize(2);
+    factory.setPreserveOrder(false);
+    strategy = factory.createForkJoinStrategy(processingStrategy, 2, true, Long.MAX_VALUE, scheduler, timeoutErrorType,
+                                              Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue()));
+
+    Message route1Result = of(1);
+    Message route2Result = of(2);
+    Message route3Result = of(3);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPair(route1Result), createRoutingPair(route2Result),
+                                                     createRoutingPair(route3Result)));
+
+    assertThat((List<Message>) result.getMessage().getPayload().getValue(),
+               containsInAnyOrder(route1Result, route2Result, route3Result));
+  }
+
 }
@@ -6,20 +6,29 @@
  */
 package org.mule.runtime.core.internal.routing.forkjoin;
 
+import static java.lang.System.currentTimeMillis;
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_PRINT_DETAILED_COMPOSITE_EXCEPTION_LOG_PROPERTY;
 import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_MAP;
 
+import org.mule.runtime.api.message.Error;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
 import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
 import org.mule.tck.junit4.rule.SystemProperty;
 
 import java.util.List;
@@ -37,6 +46,8 @@ import org.junit.runners.Parameterized;
 @Story(COLLECT_MAP)
 public class CollectMapForkJoinStrategyTestCase extends AbstractForkJoinStrategyTestCase {
 
+  private static final long SLOW_ROUTE_SLEEP = 5000;
+
   @Rule
   public SystemProperty detailedCompositeRoutingExceptionLog;
 
@@ -82,4 +93,98 @@ public class CollectMapForkJoinStrategyTestCase extends AbstractForkJoinStrategy
     assertThat(resultMap.get("2"), is(route3Result));
   }
 
+  @Test
+  @Description("When enough routes are successful, their results are returned, with the errors of the other routes as attributes.")
+  public void partialResults() throws Throwable {
+    strategy = createStrategyWithMinSuccessfulRoutes(1, false);
+    RuntimeException exception = new IllegalStateException();
+    Message routeResult = of(2);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(RoutingPair.of(testEvent(), createFailingRoutingPair(exception)),
+                                                     createRoutingPair(routeResult)));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(1));
+    assertThat(resultMap.get("1"), is(routeResult));
+    Map<String, Error> failures = (Map<String, Error>) result.getMessage().getAttributes().getValue();
+    assertThat(failures.entrySet(), hasSize(1));
+    assertThat(failures.get("0").getCause(), is(exception));
+  }
+
+  @Test
+  @Description("When not enough routes are successful, a CompositeRoutingException is thrown.")
+  public void notEnoughSuccessfulRoutes() throws Throwable {
+    strategy = createStrategyWithMinSuccessfulRoutes(2, false);
+
+    expectedException.expect(instanceOf(CompositeRoutingException.class));
+    invokeStrategyBlocking(strategy, testEvent(),
+                           asList(RoutingPair.of(testEvent(), createFailingRoutingPair(new IllegalStateException())),
+                                  createRoutingPair(of(2))));
+  }
+
+  @Test
+  @Description("When completing on the first successful routes, the remaining routes are not processed.")
+  public void completeOnFirstSuccessful() throws Throwable {
+    strategy = createStrategyWithMinSuccessfulRoutes(1, true);
+    Message routeResult = of(1);
+    Processor processorSpy = createProcessorSpy(of(2));
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPair(routeResult), createRoutingPair(processorSpy)));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(1));
+    assertThat(resultMap.get("0"), is(routeResult));
+    verify(processorSpy, never()).process(any(CoreEvent.class));
+  }
+
+  @Test
+  @Description("When completing on the first successful routes, a fast route does not wait for the completion of a slower previous one.")
+  public void completeOnFirstSuccessfulDoesNotWaitForPreviousRoutes() throws Throwable {
+    strategy = createStrategyWithMinSuccessfulRoutes(1, true, 2);
+    Message routeResult = of(2);
+
+    long start = currentTimeMillis();
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPairWithSleep(of(1), SLOW_ROUTE_SLEEP),
+                                                     createRoutingPair(routeResult)));
+
+    assertThat(currentTimeMillis() - start, lessThan(SLOW_ROUTE_SLEEP));
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.entrySet(), hasSize(1));
+    assertThat(resultMap.get("1"), is(routeResult));
+  }
+
+  @Test
+  @Description("When completing on a quorum of successful routes, the results are collected in the order of the routes, regardless of the order they complete in.")
+  public void completeOnQuorumKeepsRouteOrder() throws Throwable {
+    strategy = createStrategyWithMinSuccessfulRoutes(2, true, 3);
+    Message route1Result = of(1);
+    Message route2Result = of(2);
+
+    CoreEvent result = invokeStrategyBlocking(strategy, testEvent(),
+                                              asList(createRoutingPairWithSleep(route1Result, 100),
+                                                     createRoutingPair(route2Result),
+                                                     createRoutingPairWithSleep(of(3), SLOW_ROUTE_SLEEP)));
+
+    Map<String, Message> resultMap = (Map<String, Message>) result.getMessage().getPayload().getValue();
+    assertThat(resultMap.keySet(), contains("0", "1"));
+    assertThat(resultMap.get("0"), is(route1Result));
+    assertThat(resultMap.get("1"), is(route2Result));
+  }
+
+  private ForkJoinStrategy createStrategyWithMinSuccessfulRoutes(int minSuccessfulRoutes, boolean completeWhenSucceeded) {
+    return createStrategyWithMinSuccessfulRoutes(minSuccessfulRoutes, completeWhenSucceeded, 1);
+  }
+
+  private ForkJoinStrategy createStrategyWithMinSuccessfulRoutes(int minSuccessfulRoutes, boolean completeWhenSucceeded,
+                                                                 int maxConcurrency) {
+    CollectMapForkJoinStrategyFactory factory = new CollectMapForkJoinStrategyFactory();
+    factory.setMinSuccessfulRoutes(minSuccessfulRoutes, completeWhenSucceeded);
+    return factory.createForkJoinStrategy(processingStrategy, maxConcurrency, true, Long.MAX_VALUE, scheduler,
+                                          timeoutErrorType,
+                                          Boolean.parseBoolean(detailedCompositeRoutingExceptionLog.getValue()));
+  }
+
 }
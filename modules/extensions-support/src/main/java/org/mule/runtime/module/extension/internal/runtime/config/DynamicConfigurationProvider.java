@@ -30,7 +30,6 @@ import org.mule.runtime.api.lifecycle.Startable;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
-import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.api.value.Value;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.el.ExpressionManager;
@@ -50,14 +49,15 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.Logger;
 
@@ -69,6 +69,9 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * Cache hits don't take any lock. Instances for the same key are created only once, and expiring instances only locks the
+ * entries being evaluated, without blocking lookups of other keys.
  *
  * @since 4.0.0
  */
@@ -82,10 +85,10 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final ConcurrentMap<ConfigurationKey, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+  private final LongAdder createdConfigurations = new LongAdder();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -133,29 +136,41 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     return withContextClassLoader(getExtensionClassLoader(), () -> {
       try (ValueResolvingContext resolvingContext = ValueResolvingContext.builder(((CoreEvent) event))
           .withExpressionManager(expressionManager).build()) {
-        ResolverSetResult result = resolverSet.resolve(resolvingContext);
+        ResolverSetResult result = resolverSet.resolveWithHashCode(resolvingContext);
         ResolverSetResult providerResult = null;
         if (connectionProviderResolver.getResolverSet().isPresent()) {
-          providerResult = ((ResolverSet) connectionProviderResolver.getResolverSet().get()).resolve(resolvingContext);
+          providerResult =
+              ((ResolverSet) connectionProviderResolver.getResolverSet().get()).resolveWithHashCode(resolvingContext);
         }
-        return getConfiguration(new Pair<>(result, providerResult), (CoreEvent) event);
+        return getConfiguration(new ConfigurationKey(result, providerResult), (CoreEvent) event);
       }
     });
   }
 
-  private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
-      throws Exception {
+  private ConfigurationInstance getConfiguration(ConfigurationKey key, CoreEvent event) throws Exception {
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
-    try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
-    } catch (WrappingRuntimeException e) {
-      throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
+    while (true) {
+      CacheEntry entry = cache.get(key);
+      if (entry != null) {
+        cacheHits.increment();
+      } else {
+        cacheMisses.increment();
+        try {
+          entry = cache.computeIfAbsent(key, k -> {
+            createdConfigurations.increment();
+            return new CacheEntry(createConfiguration(k, event));
+          });
+        } catch (WrappingRuntimeException e) {
+          throw e.getWrappedException();
+        }
+      }
+
+      // The usage is recorded before checking the eviction flag, while getExpired() sets the flag before checking the usage.
+      // That way, either the instance is not expired or this lookup sees it was evicted and tries again.
+      updateUsageStatistic(entry.configuration);
+      if (!entry.evicted) {
+        return entry.configuration;
+      }
     }
   }
 
@@ -164,21 +179,21 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
     stats.updateLastUsed();
   }
 
-  private ConfigurationInstance createConfiguration(Pair<ResolverSetResult, ResolverSetResult> values, CoreEvent event) {
+  private ConfigurationInstance createConfiguration(ConfigurationKey values, CoreEvent event) {
     assertNotStopping(muleContext, "Mule is shutting down... Cannot create new dynamic configurations");
 
     ConfigurationInstance configuration;
-    ResolverSetResult connectionProviderValues = values.getSecond();
+    ResolverSetResult connectionProviderValues = values.connectionProviderValues;
     try {
       if (connectionProviderValues != null) {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         values.configValues,
                                                                          event,
                                                                          connectionProviderResolver,
                                                                          connectionProviderValues);
       } else {
         configuration = configurationInstanceFactory.createConfiguration(getName(),
-                                                                         values.getFirst(),
+                                                                         values.configValues,
                                                                          event,
                                                                          ofNullable(connectionProviderResolver));
       }
@@ -228,16 +243,49 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
-    }
+    List<ConfigurationInstance> expired = new ArrayList<>();
+    cache.keySet().forEach(key -> cache.computeIfPresent(key, (k, entry) -> {
+      if (!isExpired(entry.configuration)) {
+        return entry;
+      }
+
+      entry.evicted = true;
+      if (!isExpired(entry.configuration)) {
+        // a concurrent lookup used it in the meantime
+        entry.evicted = false;
+        return entry;
+      }
+
+      expired.add(entry.configuration);
+      return null;
+    }));
+
+    expired.forEach(this::unRegisterConfiguration);
+    return expired.stream().collect(toImmutableList());
+  }
+
+  /**
+   * @return the amount of lookups that found an already created configuration instance
+   * @since 4.5.0
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * @return the amount of lookups that didn't find a configuration instance for the resolved parameters
+   * @since 4.5.0
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * @return the amount of configuration instances created by this provider
+   * @since 4.5.0
+   */
+  public long getCreatedConfigurations() {
+    return createdConfigurations.sum();
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -354,6 +402,53 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * The key of the cached configuration instances. Its hash code is calculated only once, from the ones that the
+   * {@link ResolverSetResult}s already computed when built.
+   */
+  private static final class ConfigurationKey {
+
+    private final ResolverSetResult configValues;
+    private final ResolverSetResult connectionProviderValues;
+    private final int hashCode;
+
+    private ConfigurationKey(ResolverSetResult configValues, ResolverSetResult connectionProviderValues) {
+      this.configValues = configValues;
+      this.connectionProviderValues = connectionProviderValues;
+      this.hashCode = 31 * configValues.hashCode() + (connectionProviderValues == null ? 0 : connectionProviderValues.hashCode());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof ConfigurationKey)) {
+        return false;
+      }
+
+      ConfigurationKey other = (ConfigurationKey) obj;
+      return hashCode == other.hashCode
+          && configValues.equals(other.configValues)
+          && Objects.equals(connectionProviderValues, other.connectionProviderValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class CacheEntry {
+
+    private final ConfigurationInstance configuration;
+    private volatile boolean evicted = false;
+
+    private CacheEntry(ConfigurationInstance configuration) {
+      this.configuration = configuration;
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no
    * longer throw checked exception as it is used inside {@link Map#computeIfAbsent}.
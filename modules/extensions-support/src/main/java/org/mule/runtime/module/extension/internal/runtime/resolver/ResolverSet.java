@@ -9,6 +9,7 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
+import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverSetResult.valueHashCode;
 import static org.mule.runtime.module.extension.internal.runtime.resolver.ResolverUtils.resolveRecursively;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.lifecycle.Initialisable;
@@ -16,6 +17,8 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBuilder;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -39,6 +42,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private final Map<String, ValueResolver<?>> resolvers = new LinkedHashMap<>();
   private boolean dynamic = false;
   private final MuleContext muleContext;
+  private volatile ResolverEntry[] resolverEntries;
 
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
@@ -60,6 +64,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (resolvers.put(key, resolver) != null) {
       throw new IllegalStateException("A value was already given for key " + key);
     }
+    resolverEntries = null;
 
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
@@ -103,13 +108,45 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
     ResolverSetResult.Builder builder = getResolverSetBuilder();
 
-    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
-      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+    for (ResolverEntry entry : getResolverEntries()) {
+      builder.add(entry.key, resolveRecursively(entry.resolver, context));
     }
 
     return builder.build();
   }
 
+  /**
+   * Same as {@link #resolve(ValueResolvingContext)}, but the hash code of the {@link ResolverSetResult} is calculated while
+   * resolving, reusing the one of the values of non dynamic resolvers that have not changed. Meant for results that are used as
+   * cache keys, which are always hashed.
+   *
+   * @param context a not {@code null} {@link ValueResolvingContext}
+   * @return a {@link ResolverSetResult}
+   * @throws MuleException if an error occurs creating the {@link ResolverSetResult}
+   * @since 4.5.0
+   */
+  public ResolverSetResult resolveWithHashCode(ValueResolvingContext context) throws MuleException {
+    ResolverSetResult.Builder builder = getResolverSetBuilder();
+
+    for (ResolverEntry entry : getResolverEntries()) {
+      Object value = resolveRecursively(entry.resolver, context);
+      builder.add(entry.key, value, entry.hashCode(value));
+    }
+
+    return builder.build();
+  }
+
+  private ResolverEntry[] getResolverEntries() {
+    ResolverEntry[] entries = resolverEntries;
+    if (entries == null) {
+      entries = resolvers.entrySet().stream()
+          .map(entry -> new ResolverEntry(entry.getKey(), entry.getValue()))
+          .toArray(ResolverEntry[]::new);
+      resolverEntries = entries;
+    }
+    return entries;
+  }
+
   /**
    * Creates a new instance of {@link ResolverSet} containing all the resolvers of both {@code this} {@link ResolverSet} and the
    * given {@code resolverSet}
@@ -139,4 +176,68 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     return ResolverSetResult.newBuilder();
   }
 
+  private static final class ResolverEntry {
+
+    private final String key;
+    private final ValueResolver<?> resolver;
+    private final boolean dynamic;
+    private volatile StaticValueHashCode lastValueHashCode;
+
+    private ResolverEntry(String key, ValueResolver<?> resolver) {
+      this.key = key;
+      this.resolver = resolver;
+      this.dynamic = resolver.isDynamic();
+    }
+
+    /**
+     * Non dynamic resolvers usually return the same instance each time, so its hash code is only calculated again if that is not
+     * the case. This only applies to immutable values, since the hash code of a mutable one may change while it is the same
+     * instance.
+     */
+    private int hashCode(Object value) {
+      if (dynamic || !isImmutable(value)) {
+        return valueHashCode(value);
+      }
+
+      StaticValueHashCode last = lastValueHashCode;
+      if (last != null && last.value == value) {
+        return last.hashCode;
+      }
+
+      int hashCode = valueHashCode(value);
+      lastValueHashCode = new StaticValueHashCode(value, hashCode);
+      return hashCode;
+    }
+  }
+
+  /**
+   * @return whether the given {@code value} is a {@link String}, a boxed primitive or another value which hash code cannot
+   *         change.
+   */
+  private static boolean isImmutable(Object value) {
+    return value instanceof String
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Boolean
+        || value instanceof Double
+        || value instanceof Float
+        || value instanceof Short
+        || value instanceof Byte
+        || value instanceof Character
+        || value instanceof BigDecimal
+        || value instanceof BigInteger
+        || value instanceof Enum;
+  }
+
+  private static final class StaticValueHashCode {
+
+    private final Object value;
+    private final int hashCode;
+
+    private StaticValueHashCode(Object value, int hashCode) {
+      this.value = value;
+      this.hashCode = hashCode;
+    }
+  }
+
 }
@@ -15,13 +15,13 @@ import org.mule.runtime.api.util.LazyValue;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-import com.google.common.base.Objects;
-
 /**
  * This class represents the outcome of the evaluation of a {@link ResolverSet}. This class maps a set of {@link ParameterModel}
  * to a set of result {@link Object}s.
  * <p>
- * Instances of this class can only be created through a {@link Builder} obtained via {@link #newBuilder()}
+ * Instances of this class can only be created through a {@link Builder} obtained via {@link #newBuilder()}. The hash code is
+ * calculated the first time it is needed, unless all the values were added along with their hash codes, as is done for results
+ * used as cache keys.
  *
  * @since 3.7.0
  */
@@ -36,6 +36,8 @@ public class ResolverSetResult {
   public static class Builder {
 
     LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+    private int hashCode = 1;
+    private boolean hashCodeKnown = true;
 
     Builder() {}
 
@@ -50,6 +52,27 @@ public class ResolverSetResult {
     public Builder add(String key, Object value) {
       checkArgument(key != null, "parameter cannot be null");
       values.put(key, value);
+      hashCodeKnown = false;
+      return this;
+    }
+
+    /**
+     * Adds a new result {@code value} for the given {@code key}, for which the hash code was already calculated.
+     *
+     * @param key           a not {@code null} key for the value
+     * @param value         the associated value. It can be {@code null}
+     * @param valueHashCode the result of {@link #valueHashCode(Object)} for the given {@code value}
+     * @return this builder
+     * @throws IllegalArgumentException is {@code parameter} is {@code null}
+     */
+    Builder add(String key, Object value, int valueHashCode) {
+      checkArgument(key != null, "parameter cannot be null");
+      // a replaced value keeps the position of the original one, so the accumulated hash code no longer applies
+      if (values.containsKey(key)) {
+        hashCodeKnown = false;
+      }
+      values.put(key, value);
+      hashCode = 31 * hashCode + valueHashCode;
       return this;
     }
 
@@ -59,10 +82,20 @@ public class ResolverSetResult {
      * @return the build instance
      */
     public ResolverSetResult build() {
-      return new ResolverSetResult(unmodifiableMap(values));
+      return hashCodeKnown
+          ? new ResolverSetResult(unmodifiableMap(values), hashCode)
+          : new ResolverSetResult(unmodifiableMap(values));
     }
   }
 
+  /**
+   * @param value a value of a {@link ResolverSetResult}
+   * @return the contribution of the given {@code value} to the hash code of the {@link ResolverSetResult}
+   */
+  static int valueHashCode(Object value) {
+    return value == null ? 0 : value.hashCode();
+  }
+
   /**
    * Creates a new {@link Builder} instance. You should use a new builder per each instance you want to create
    *
@@ -73,10 +106,16 @@ public class ResolverSetResult {
   }
 
   private final Map<String, Object> evaluationResult;
-  private final LazyValue<Integer> hashCode = new LazyValue<>(this::calculateHashCode);
+  private final LazyValue<Integer> hashCode;
 
   ResolverSetResult(Map<String, Object> evaluationResult) {
     this.evaluationResult = evaluationResult;
+    this.hashCode = new LazyValue<>(this::calculateHashCode);
+  }
+
+  private ResolverSetResult(Map<String, Object> evaluationResult, int precalculatedHashCode) {
+    this.evaluationResult = evaluationResult;
+    this.hashCode = new LazyValue<>(() -> precalculatedHashCode);
   }
 
   /**
@@ -102,11 +141,21 @@ public class ResolverSetResult {
    */
   @Override
   public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+
     if (obj instanceof ResolverSetResult) {
       ResolverSetResult other = (ResolverSetResult) obj;
-      return evaluationResult.entrySet()
-          .stream()
-          .allMatch(entry -> Objects.equal(entry.getValue(), other.get(entry.getKey())));
+      for (Map.Entry<String, Object> entry : evaluationResult.entrySet()) {
+        Object value = entry.getValue();
+        Object otherValue = other.get(entry.getKey());
+        // static parameters resolve to the same instance each time, so the identity check is usually enough
+        if (value != otherValue && (value == null || !value.equals(otherValue))) {
+          return false;
+        }
+      }
+      return true;
     }
 
     return false;
@@ -120,7 +169,7 @@ public class ResolverSetResult {
   private int calculateHashCode() {
     int hashcode = 1;
     for (Object val : evaluationResult.values()) {
-      hashcode = 31 * hashcode + (val == null ? 0 : val.hashCode());
+      hashcode = 31 * hashcode + valueHashCode(val);
     }
     return hashcode;
   }
@@ -117,7 +117,7 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     when(expressionManager.openSession(any())).thenReturn(mock(ExpressionManagerSession.class));
 
     ValueResolvingContext ctx = ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build();
-    when(resolverSet.resolve(ctx)).thenReturn(resolverSetResult);
+    when(resolverSet.resolveWithHashCode(ctx)).thenReturn(resolverSetResult);
     when(resolverSetResult.asMap()).thenReturn(new HashMap<>());
     visitableMock(operationModel);
 
@@ -165,7 +165,7 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     }
 
     ValueResolvingContext ctx = ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build();
-    verify(resolverSet, times(count)).resolve(ctx);
+    verify(resolverSet, times(count)).resolveWithHashCode(ctx);
   }
 
   @Test
@@ -174,7 +174,7 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     when(connectionProviderResolver.getResolverSet()).thenReturn(of(providerResolverSet));
     when(connectionProviderResolver.getObjectBuilder()).thenReturn(empty());
     ValueResolvingContext ctx = ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build();
-    when(providerResolverSet.resolve(ctx)).thenReturn(resolverSetResult);
+    when(providerResolverSet.resolveWithHashCode(ctx)).thenReturn(resolverSetResult);
 
     final int count = 10;
     HeisenbergExtension config = (HeisenbergExtension) provider.get(event).getValue();
@@ -183,9 +183,9 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     }
 
     verify(providerResolverSet, times(count))
-        .resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
+        .resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
     verify(resolverSet, times(count))
-        .resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
+        .resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
   }
 
   @Test
@@ -196,14 +196,15 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     ResolverSet providerResolverSet = mock(ResolverSet.class);
     when(connectionProviderResolver.getResolverSet()).thenReturn(of(providerResolverSet));
     when(connectionProviderResolver.getObjectBuilder()).thenReturn(empty());
-    when(providerResolverSet.resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build()))
-        .thenReturn(mock(ResolverSetResult.class));
+    when(providerResolverSet
+        .resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build()))
+            .thenReturn(mock(ResolverSetResult.class));
     assertThat(provider.get(event).getValue(), is(not(sameInstance(config))));
 
     verify(resolverSet, times(2))
-        .resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
+        .resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
     verify(providerResolverSet, times(1))
-        .resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
+        .resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
     verify(connectionProviderResolver, times(2))
         .resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build());
   }
@@ -236,6 +237,34 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(configs, containsInAnyOrder(instance1, instance2));
   }
 
+  @Test
+  public void cacheMetrics() throws Exception {
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+
+    provider.get(event);
+    provider.get(event);
+    provider.get(event);
+    makeAlternateInstance();
+
+    assertThat(provider.getCacheHits(), is(2L));
+    assertThat(provider.getCacheMisses(), is(2L));
+    assertThat(provider.getCreatedConfigurations(), is(2L));
+  }
+
+  @Test
+  public void expiredInstanceIsCreatedAgain() throws Exception {
+    HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    timeSupplier.move(10, MINUTES);
+    assertThat(provider.getExpired().size(), is(1));
+
+    mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
+    assertThat(provider.get(event).getValue(), is(not(sameInstance(instance))));
+    assertThat(provider.getCreatedConfigurations(), is(2L));
+    assertThat(provider.getExpired().isEmpty(), is(true));
+  }
+
   @Test
   public void configurationInstanceIsRemovedFromLifecycleTrackingAfterExpired() throws Exception {
     HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
@@ -282,7 +311,7 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
     mockConfigurationInstance(configurationModel, MODULE_CLASS.newInstance());
-    when(resolverSet.resolve(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build()))
+    when(resolverSet.resolveWithHashCode(ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build()))
         .thenReturn(alternateResult);
 
     return (HeisenbergExtension) provider.get(event).getValue();
@@ -298,7 +327,7 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     Object config1 = provider.get(event);
 
     ValueResolvingContext ctx = ValueResolvingContext.builder(event).withExpressionManager(expressionManager).build();
-    when(resolverSet.resolve(ctx)).thenReturn(mock(ResolverSetResult.class));
+    when(resolverSet.resolveWithHashCode(ctx)).thenReturn(mock(ResolverSetResult.class));
     Object config2 = provider.get(event);
 
     assertThat(config1, is(not(sameInstance(config2))));
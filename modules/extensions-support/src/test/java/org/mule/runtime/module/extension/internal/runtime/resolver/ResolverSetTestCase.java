@@ -20,7 +20,9 @@ import org.mule.tck.junit4.AbstractMuleTestCase;
 import org.mule.tck.size.SmallTest;
 import org.mule.test.module.extension.internal.util.ExtensionsTestUtils;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -86,6 +88,46 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     set.add(parameterName, resolver);
   }
 
+  @Test
+  public void equivalentResultsHaveSameHashCode() throws Exception {
+    ResolverSetResult result = set.resolve(resolvingContext);
+    ResolverSetResult other = set.resolveWithHashCode(resolvingContext);
+    ResolverSetResult built = ResolverSetResult.newBuilder().add("myName", NAME).add("age", AGE).build();
+
+    assertThat(other, is(result));
+    assertThat(other.hashCode(), is(result.hashCode()));
+    assertThat(built, is(result));
+    assertThat(built.hashCode(), is(result.hashCode()));
+  }
+
+  @Test
+  public void replacedValueHashCode() {
+    ResolverSetResult replaced = ResolverSetResult.newBuilder()
+        .add("myName", "other", "other".hashCode())
+        .add("age", AGE, Integer.hashCode(AGE))
+        .add("myName", NAME, NAME.hashCode())
+        .build();
+    ResolverSetResult built = ResolverSetResult.newBuilder().add("myName", NAME).add("age", AGE).build();
+
+    assertThat(replaced, is(built));
+    assertThat(replaced.hashCode(), is(built.hashCode()));
+  }
+
+  @Test
+  public void mutatedStaticValueHashCode() throws Exception {
+    List<String> names = new ArrayList<>();
+    names.add(NAME);
+    ResolverSet namesSet = new ResolverSet(muleContext).add("names", new StaticValueResolver<>(names));
+    namesSet.resolveWithHashCode(resolvingContext);
+
+    names.add("other");
+    ResolverSetResult result = namesSet.resolveWithHashCode(resolvingContext);
+    ResolverSetResult built = ResolverSetResult.newBuilder().add("names", new ArrayList<>(names)).build();
+
+    assertThat(result, is(built));
+    assertThat(result.hashCode(), is(built.hashCode()));
+  }
+
   @Test
   public void isNotDynamic() {
     assertThat(set.isDynamic(), is(false));
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.lang.Math.min;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.of;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.api.util.Preconditions.checkState;
+
+import org.mule.runtime.http.api.domain.entity.multipart.HttpPart;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Represents an HTTP body held in a sequence of {@link ByteBuffer}s, which may be direct.
+ * <p>
+ * HTTP service implementations may write the buffers provided by {@link #getBuffers()} directly to the transport, or wrap the
+ * buffers read from it in an entity of this type, avoiding copying the body into an intermediate byte array. The content of each
+ * buffer is the one between its position and limit when the entity is created. The buffers must not be modified afterwards.
+ * <p>
+ * As with {@link ByteArrayHttpEntity}, the content can be accessed as many times as needed.
+ *
+ * @since 4.5.0
+ */
+public final class ByteBufferHttpEntity implements HttpEntity {
+
+  private final List<ByteBuffer> buffers;
+  private final long length;
+
+  /**
+   * Creates an entity with the content of the given {@code buffers}, in order.
+   *
+   * @param buffers the buffers holding the content of the entity
+   */
+  public ByteBufferHttpEntity(ByteBuffer... buffers) {
+    this(asList(requireNonNull(buffers, "HTTP entity buffers cannot be null.")));
+  }
+
+  /**
+   * Creates an entity with the content of the given {@code buffers}, in order.
+   *
+   * @param buffers the buffers holding the content of the entity
+   */
+  public ByteBufferHttpEntity(List<ByteBuffer> buffers) {
+    requireNonNull(buffers, "HTTP entity buffers cannot be null.");
+
+    List<ByteBuffer> contentBuffers = new ArrayList<>(buffers.size());
+    long length = 0;
+    for (ByteBuffer buffer : buffers) {
+      checkArgument(buffer != null, "HTTP entity buffers cannot contain null elements.");
+      // slicing keeps the current bounds of the buffer regardless of what the caller does with its position and limit later
+      contentBuffers.add(buffer.slice());
+      length += buffer.remaining();
+    }
+
+    this.buffers = unmodifiableList(contentBuffers);
+    this.length = length;
+  }
+
+  @Override
+  public boolean isStreaming() {
+    return false;
+  }
+
+  @Override
+  public boolean isComposed() {
+    return false;
+  }
+
+  /**
+   * Provides the buffers holding this entity's content. Each invocation returns new read-only views of the buffers, so they can
+   * be consumed independently of other invocations.
+   *
+   * @return the buffers holding this entity's content, in order
+   */
+  public List<ByteBuffer> getBuffers() {
+    List<ByteBuffer> views = new ArrayList<>(buffers.size());
+    for (ByteBuffer buffer : buffers) {
+      views.add(buffer.asReadOnlyBuffer());
+    }
+    return views;
+  }
+
+  @Override
+  public InputStream getContent() {
+    return new ByteBufferChainInputStream(getBuffers());
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This copies the content of the buffers into a new array, so {@link #getBuffers()} or {@link #getContent()} should be
+   * preferred.
+   */
+  @Override
+  public byte[] getBytes() {
+    checkState(length <= Integer.MAX_VALUE, "HTTP entity is too large to be represented as a byte array.");
+
+    byte[] bytes = new byte[(int) length];
+    int offset = 0;
+    for (ByteBuffer buffer : getBuffers()) {
+      int remaining = buffer.remaining();
+      buffer.get(bytes, offset, remaining);
+      offset += remaining;
+    }
+    return bytes;
+  }
+
+  @Override
+  public Collection<HttpPart> getParts() {
+    return emptyList();
+  }
+
+  @Override
+  public Optional<Long> getLength() {
+    return of(length);
+  }
+
+  @Override
+  public OptionalLong getBytesLength() {
+    return OptionalLong.of(length);
+  }
+
+  /**
+   * {@link InputStream} that reads the content of a sequence of buffers, without copying them.
+   */
+  private static final class ByteBufferChainInputStream extends InputStream {
+
+    private final List<ByteBuffer> buffers;
+    private int current = 0;
+
+    private ByteBufferChainInputStream(List<ByteBuffer> buffers) {
+      this.buffers = buffers;
+    }
+
+    private ByteBuffer currentBuffer() {
+      while (current < buffers.size()) {
+        ByteBuffer buffer = buffers.get(current);
+        if (buffer.hasRemaining()) {
+          return buffer;
+        }
+        current++;
+      }
+      return null;
+    }
+
+    @Override
+    public int read() {
+      ByteBuffer buffer = currentBuffer();
+      return buffer == null ? -1 : buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+
+      int read = 0;
+      ByteBuffer buffer;
+      while (read < len && (buffer = currentBuffer()) != null) {
+        int chunk = min(len - read, buffer.remaining());
+        buffer.get(b, off + read, chunk);
+        read += chunk;
+      }
+      return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public long skip(long n) {
+      long skipped = 0;
+      ByteBuffer buffer;
+      while (skipped < n && (buffer = currentBuffer()) != null) {
+        int chunk = (int) min(n - skipped, buffer.remaining());
+        buffer.position(buffer.position() + chunk);
+        skipped += chunk;
+      }
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      long available = 0;
+      for (int i = current; i < buffers.size() && available < Integer.MAX_VALUE; i++) {
+        available += buffers.get(i).remaining();
+      }
+      return (int) min(available, Integer.MAX_VALUE);
+    }
+  }
+}
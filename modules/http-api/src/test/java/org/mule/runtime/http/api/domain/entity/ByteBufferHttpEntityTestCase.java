@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.http.api.domain.entity;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteBuffer.wrap;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.IOUtils.toByteArray;
+import static org.mule.test.allure.AllureConstants.HttpFeature.HTTP_SERVICE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(HTTP_SERVICE)
+@Story("Entities")
+public class ByteBufferHttpEntityTestCase {
+
+  private byte[] content = "TEST CONTENT".getBytes();
+  private HttpEntity entity = new ByteBufferHttpEntity(wrap(content, 0, 4), directBuffer(" CON"), wrap(content, 8, 4));
+
+  @Test
+  public void nonComposed() {
+    assertThat(entity.isComposed(), is(false));
+  }
+
+  @Test
+  public void nonStreaming() {
+    assertThat(entity.isStreaming(), is(false));
+  }
+
+  @Test
+  public void providesArray() throws IOException {
+    assertThat(entity.getBytes(), equalTo(content));
+  }
+
+  @Test
+  public void providesNewStream() throws IOException {
+    assertThat(toByteArray(entity.getContent()), equalTo(content));
+    assertThat(toByteArray(entity.getContent()), equalTo(content));
+  }
+
+  @Test
+  public void streamReadsAcrossBuffers() throws IOException {
+    InputStream stream = entity.getContent();
+    assertThat(stream.available(), is(content.length));
+    assertThat(stream.skip(2), is(2L));
+    assertThat(stream.read(), is((int) 'S'));
+
+    byte[] read = new byte[6];
+    assertThat(stream.read(read), is(6));
+    assertThat(new String(read), is("T CONT"));
+    assertThat(stream.available(), is(3));
+  }
+
+  @Test
+  public void providesNewBuffers() {
+    ByteBufferHttpEntity bufferEntity = (ByteBufferHttpEntity) entity;
+    assertThat(bufferEntity.getBuffers(), hasSize(3));
+
+    bufferEntity.getBuffers().forEach(buffer -> buffer.position(buffer.limit()));
+    assertThat(bufferEntity.getBuffers().get(0).remaining(), is(4));
+    assertThat(bufferEntity.getBuffers().get(0).isReadOnly(), is(true));
+  }
+
+  @Test
+  public void contentNotAffectedBySourceBufferPosition() {
+    ByteBuffer buffer = wrap(content);
+    HttpEntity bufferEntity = new ByteBufferHttpEntity(buffer);
+    buffer.position(4);
+
+    assertThat(bufferEntity.getBytes(), equalTo(content));
+  }
+
+  @Test
+  public void hasNoParts() throws IOException {
+    assertThat(entity.getParts(), is(empty()));
+  }
+
+  @Test
+  public void providesSize() {
+    assertThat(entity.getBytesLength().getAsLong(), is((long) content.length));
+  }
+
+  private static ByteBuffer directBuffer(String content) {
+    ByteBuffer buffer = allocateDirect(content.length());
+    buffer.put(content.getBytes());
+    buffer.flip();
+    return buffer;
+  }
+
+}
@@ -24,6 +24,7 @@ import static org.mule.runtime.config.internal.model.ApplicationModel.prepareAst
 import static org.mule.runtime.config.internal.model.ApplicationModelAstPostProcessor.AST_POST_PROCESSORS;
 import static org.mule.runtime.config.internal.model.properties.PropertiesResolverUtils.createConfigurationAttributeResolver;
 import static org.mule.runtime.config.internal.parsers.generic.AutoIdUtils.uniqueValue;
+import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_DW_EXPRESSION_LANGUAGE_ADAPTER;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONFIGURATION;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_MULE_CONTEXT;
 import static org.mule.runtime.core.api.config.MuleProperties.OBJECT_NOTIFICATION_MANAGER;
@@ -33,6 +34,8 @@ import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.DOMAIN;
 import static org.mule.runtime.core.api.config.bootstrap.ArtifactType.POLICY;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.MEL_PREFIX;
+import static org.mule.runtime.core.internal.el.DefaultExpressionManager.PREFIX_EXPR_SEPARATOR;
 import static org.mule.runtime.core.internal.el.function.MuleFunctionsBindingContextProvider.CORE_FUNCTIONS_PROVIDER_REGISTRY_KEY;
 import static org.mule.runtime.core.internal.exception.ErrorTypeLocatorFactory.createDefaultErrorTypeLocator;
 import static org.mule.runtime.extension.api.stereotype.MuleStereotypes.APP_CONFIG;
@@ -43,6 +46,7 @@ import static org.mule.runtime.module.extension.internal.manager.ExtensionErrors
 import static java.lang.String.format;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
+import static java.util.Optional.empty;
 import static java.util.Optional.of;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -57,6 +61,7 @@ import org.mule.runtime.api.config.FeatureFlaggingService;
 import org.mule.runtime.api.exception.ErrorTypeRepository;
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.api.ioc.ConfigurableObjectProvider;
 import org.mule.runtime.api.ioc.ObjectProvider;
 import org.mule.runtime.api.lifecycle.InitialisationException;
@@ -83,6 +88,7 @@ import org.mule.runtime.api.notification.TransactionNotificationListener;
 import org.mule.runtime.api.util.Pair;
 import org.mule.runtime.ast.api.ArtifactAst;
 import org.mule.runtime.ast.api.ComponentAst;
+import org.mule.runtime.ast.api.ComponentParameterAst;
 import org.mule.runtime.ast.api.validation.Validation;
 import org.mule.runtime.ast.api.validation.ValidationResult;
 import org.mule.runtime.config.internal.bean.NotificationConfig;
@@ -112,6 +118,7 @@ import org.mule.runtime.core.api.extension.ExtensionManager;
 import org.mule.runtime.core.api.transaction.TransactionManagerFactory;
 import org.mule.runtime.core.api.transformer.Converter;
 import org.mule.runtime.core.internal.context.MuleContextWithRegistry;
+import org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor;
 import org.mule.runtime.core.internal.el.function.MuleFunctionsBindingContextProvider;
 import org.mule.runtime.core.internal.exception.ContributedErrorTypeLocator;
 import org.mule.runtime.core.internal.exception.ContributedErrorTypeRepository;
@@ -635,6 +642,63 @@ public class MuleArtifactContext extends AbstractRefreshableConfigApplicationCon
     }
   }
 
+  @Override
+  protected void finishRefresh() {
+    super.finishRefresh();
+    precompileExpressions();
+  }
+
+  /**
+   * Compiles the expressions in the parameters of the components of the artifact, so that they are already compiled when first
+   * evaluated. This is only done if the DataWeave expression language caches compiled expressions.
+   */
+  private void precompileExpressions() {
+    final ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+    if (!beanFactory.containsBean(OBJECT_DW_EXPRESSION_LANGUAGE_ADAPTER)) {
+      return;
+    }
+
+    final Object expressionLanguage = beanFactory.getBean(OBJECT_DW_EXPRESSION_LANGUAGE_ADAPTER);
+    if (!(expressionLanguage instanceof DataWeaveExpressionLanguageAdaptor)
+        || !((DataWeaveExpressionLanguageAdaptor) expressionLanguage).getCompiledExpressionCache().isPresent()) {
+      return;
+    }
+
+    final DataWeaveExpressionLanguageAdaptor dwExpressionLanguage = (DataWeaveExpressionLanguageAdaptor) expressionLanguage;
+    final Set<String> expressions = applicationModel.recursiveStream()
+        .flatMap(component -> component.getParameters().stream())
+        .map(this::getExpression)
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .filter(expression -> !expression.startsWith(MEL_PREFIX + PREFIX_EXPR_SEPARATOR))
+        .collect(toSet());
+
+    for (String expression : expressions) {
+      try {
+        dwExpressionLanguage.precompile(expression);
+      } catch (Exception e) {
+        // Not being able to precompile an expression must not affect the artifact, it will just be compiled when evaluated
+        LOGGER.debug("Unable to precompile expression '" + expression + "'", e);
+      }
+    }
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Precompiled {} expressions for '{}': {}", expressions.size(), getDisplayName(),
+                   dwExpressionLanguage.getCompiledExpressionCache().get());
+    }
+  }
+
+  private Optional<String> getExpression(ComponentParameterAst parameter) {
+    try {
+      final Either<String, Object> value = parameter.getValue();
+      return value.isLeft() ? of(value.getLeft()) : empty();
+    } catch (Exception e) {
+      // The value of the parameter could not be resolved, the same will happen when creating the component
+      LOGGER.debug("Unable to resolve the value of parameter '" + parameter.getModel().getName() + "'", e);
+      return empty();
+    }
+  }
+
   private void registerNotificationManagerBean(BeanDefinitionRegistry beanDefinitionRegistry) {
     beanDefinitionRegistry
         .registerBeanDefinition(OBJECT_NOTIFICATION_MANAGER,
@@ -325,6 +325,11 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withTypeDefinition(fromType(ScatterGatherRouter.class))
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
         .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("completionMode",
+                                       fromSimpleParameter("completionMode",
+                                                           value -> ScatterGatherRouter.CompletionMode.valueOf((String) value))
+                                                               .build())
+        .withSetterParameterDefinition("minSuccessfulRoutes", fromSimpleParameter("minSuccessfulRoutes").build())
         .withSetterParameterDefinition("target", fromSimpleParameter("target").build())
         .withSetterParameterDefinition("targetValue", fromSimpleParameter("targetValue")
             .withDefaultValue("#[payload]")
@@ -337,6 +342,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("collectionExpression", fromSimpleParameter("collection").build())
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
         .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("preserveOrder", fromSimpleParameter("preserveOrder").build())
         .withSetterParameterDefinition("target", fromSimpleParameter("target").build())
         .withSetterParameterDefinition("targetValue", fromSimpleParameter("targetValue")
             .withDefaultValue("#[payload]")
@@ -369,6 +376,9 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withSetterParameterDefinition("maxRetries", fromSimpleParameter("maxRetries").withDefaultValue("5").build())
             .withSetterParameterDefinition("millisBetweenRetries",
                                            fromSimpleParameter("millisBetweenRetries").withDefaultValue("60000").build())
+            .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+            .withSetterParameterDefinition("maxMillisBetweenRetries", fromSimpleParameter("maxMillisBetweenRetries").build())
+            .withSetterParameterDefinition("jitter", fromSimpleParameter("jitter").build())
             .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
             .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
@@ -50,6 +50,7 @@ import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.ANY
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.BASE_TYPE_BUILDER;
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.BOOLEAN_TYPE;
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.INTEGER_TYPE;
+import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.NUMBER_TYPE;
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.MULESOFT_VENDOR;
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.MULE_NAME;
 import static org.mule.runtime.core.api.extension.MuleExtensionModelProvider.MULE_VERSION;
@@ -651,6 +652,29 @@ class MuleExtensionModelDeclarer {
         .describedAs("Specifies the minimum time interval between two process retries in milliseconds.\n" +
             " The actual time interval depends on the previous execution but should not exceed twice this number.\n" +
             " Default value is 60000 (one minute)");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("backoffMultiplier")
+        .ofType(NUMBER_TYPE)
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The factor to multiply the time between retries with after each retry. "
+            + "Default value is 1, meaning that the time between retries is always millisBetweenRetries.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("maxMillisBetweenRetries")
+        .ofType(NUMBER_TYPE)
+        .defaultingTo(Long.MAX_VALUE)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The maximum time interval between two process retries in milliseconds, when a backoffMultiplier is set.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("jitter")
+        .ofType(NUMBER_TYPE)
+        .defaultingTo(0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The maximum fraction of the time between retries to randomly subtract from it, between 0 and 1. "
+            + "Spreads the retries of events that failed at the same time.");
   }
 
   private void declareChoice(ExtensionDeclarer extensionDeclarer) {
@@ -762,6 +786,22 @@ class MuleExtensionModelDeclarer {
         .defaultingTo(Integer.MAX_VALUE)
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("This value determines the maximum level of parallelism that will be used by this router.");
+    scatterGather.onDefaultParameterGroup()
+        .withOptionalParameter("completionMode")
+        .ofType(BASE_TYPE_BUILDER.stringType().enumOf("ALL", "FIRST_SUCCESSFUL", "QUORUM", "DEADLINE").build())
+        .defaultingTo("ALL")
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Determines when the router completes. ALL waits for every route and fails if any route fails. "
+            + "FIRST_SUCCESSFUL and QUORUM complete as soon as minSuccessfulRoutes or a majority of the routes are successful, "
+            + "cancelling the rest. DEADLINE waits for every route to complete or time out. Except for ALL, the results of the "
+            + "successful routes are returned, with the errors of the failed routes as attributes.");
+    scatterGather.onDefaultParameterGroup()
+        .withOptionalParameter("minSuccessfulRoutes")
+        .ofType(INTEGER_TYPE)
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The minimum amount of routes that have to be successful for the FIRST_SUCCESSFUL and DEADLINE "
+            + "completion modes.");
 
     scatterGather.onParameterGroup("Aggregation")
         .withOptionalParameter("collectList")
@@ -835,6 +875,20 @@ class MuleExtensionModelDeclarer {
         .defaultingTo(Integer.MAX_VALUE)
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("This value determines the maximum level of parallelism that will be used by this router.");
+    parallelForeach.onDefaultParameterGroup()
+        .withOptionalParameter("batchSize")
+        .ofType(INTEGER_TYPE)
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("The amount of parts to group in each micro-batch. The parts of a micro-batch are processed one after the "
+            + "other, and maxConcurrency limits the amount of micro-batches processed in parallel.");
+    parallelForeach.onDefaultParameterGroup()
+        .withOptionalParameter("preserveOrder")
+        .ofType(BOOLEAN_TYPE)
+        .defaultingTo(true)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Whether the results are collected in the order of the parts they come from. If false, results are "
+            + "collected as they complete, without buffering.");
 
     parallelForeach.onParameterGroup(OUTPUT)
         .withOptionalParameter(TARGET_PARAMETER_NAME)
@@ -471,7 +471,7 @@ public class CoreExtensionModelTestCase {
   public void scatterGather() {
     final ConstructModel scatterGatherModel = coreExtensionModel.getConstructModel("scatterGather").get();
 
-    assertThat(scatterGatherModel.getAllParameterModels(), hasSize(5));
+    assertThat(scatterGatherModel.getAllParameterModels(), hasSize(7));
 
     assertThat(scatterGatherModel.getAllParameterModels().get(0).getName(), is("timeout"));
     assertThat(scatterGatherModel.getAllParameterModels().get(0).getExpressionSupport(), is(NOT_SUPPORTED));
@@ -483,21 +483,35 @@ public class CoreExtensionModelTestCase {
     assertThat(scatterGatherModel.getAllParameterModels().get(1).getType(), instanceOf(DefaultNumberType.class));
     assertThat(scatterGatherModel.getAllParameterModels().get(1).isRequired(), is(false));
 
-    assertThat(scatterGatherModel.getAllParameterModels().get(2).getName(), is("collectList"));
+    assertThat(scatterGatherModel.getAllParameterModels().get(2).getName(), is("completionMode"));
     assertThat(scatterGatherModel.getAllParameterModels().get(2).getExpressionSupport(), is(NOT_SUPPORTED));
-    assertThat(scatterGatherModel.getAllParameterModels().get(2).getType(), instanceOf(DefaultObjectType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(2).getType(), instanceOf(DefaultStringType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(2).getType().getAnnotation(EnumAnnotation.class).get().getValues(),
+               arrayContainingInAnyOrder("ALL", "FIRST_SUCCESSFUL", "QUORUM", "DEADLINE"));
+    assertThat(scatterGatherModel.getAllParameterModels().get(2).getDefaultValue(), is("ALL"));
     assertThat(scatterGatherModel.getAllParameterModels().get(2).isRequired(), is(false));
 
-    assertThat(scatterGatherModel.getAllParameterModels().get(3).getName(), is(TARGET_PARAMETER_NAME));
+    assertThat(scatterGatherModel.getAllParameterModels().get(3).getName(), is("minSuccessfulRoutes"));
     assertThat(scatterGatherModel.getAllParameterModels().get(3).getExpressionSupport(), is(NOT_SUPPORTED));
-    assertThat(scatterGatherModel.getAllParameterModels().get(3).getType(), instanceOf(DefaultStringType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(3).getType(), instanceOf(DefaultNumberType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(3).getDefaultValue(), is(1));
     assertThat(scatterGatherModel.getAllParameterModels().get(3).isRequired(), is(false));
 
-    assertThat(scatterGatherModel.getAllParameterModels().get(4).getName(), is(TARGET_VALUE_PARAMETER_NAME));
-    assertThat(scatterGatherModel.getAllParameterModels().get(4).getExpressionSupport(), is(REQUIRED));
-    assertThat(scatterGatherModel.getAllParameterModels().get(4).getType(), instanceOf(StringType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(4).getName(), is("collectList"));
+    assertThat(scatterGatherModel.getAllParameterModels().get(4).getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(scatterGatherModel.getAllParameterModels().get(4).getType(), instanceOf(DefaultObjectType.class));
     assertThat(scatterGatherModel.getAllParameterModels().get(4).isRequired(), is(false));
 
+    assertThat(scatterGatherModel.getAllParameterModels().get(5).getName(), is(TARGET_PARAMETER_NAME));
+    assertThat(scatterGatherModel.getAllParameterModels().get(5).getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(scatterGatherModel.getAllParameterModels().get(5).getType(), instanceOf(DefaultStringType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(5).isRequired(), is(false));
+
+    assertThat(scatterGatherModel.getAllParameterModels().get(6).getName(), is(TARGET_VALUE_PARAMETER_NAME));
+    assertThat(scatterGatherModel.getAllParameterModels().get(6).getExpressionSupport(), is(REQUIRED));
+    assertThat(scatterGatherModel.getAllParameterModels().get(6).getType(), instanceOf(StringType.class));
+    assertThat(scatterGatherModel.getAllParameterModels().get(6).isRequired(), is(false));
+
     assertThat(scatterGatherModel.getNestedComponents(), hasSize(1));
 
     final NestedRouteModel routeModel = (NestedRouteModel) scatterGatherModel.getNestedComponents().get(0);
@@ -530,7 +544,7 @@ public class CoreExtensionModelTestCase {
     assertThat(processorsChain, instanceOf(NestedChainModel.class));
     assertThat(processorsChain.isRequired(), is(true));
 
-    assertThat(parallelForeach.getAllParameterModels(), hasSize(5));
+    assertThat(parallelForeach.getAllParameterModels(), hasSize(7));
 
     final ParameterModel collection = parallelForeach.getAllParameterModels().get(0);
     assertThat(collection.getName(), is("collection"));
@@ -553,13 +567,27 @@ public class CoreExtensionModelTestCase {
     assertThat(maxConcurrency.getType(), instanceOf(DefaultNumberType.class));
     assertThat(maxConcurrency.isRequired(), is(false));
 
-    final ParameterModel target = parallelForeach.getAllParameterModels().get(3);
+    final ParameterModel batchSize = parallelForeach.getAllParameterModels().get(3);
+    assertThat(batchSize.getName(), is("batchSize"));
+    assertThat(batchSize.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(batchSize.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(batchSize.getDefaultValue(), is(1));
+    assertThat(batchSize.isRequired(), is(false));
+
+    final ParameterModel preserveOrder = parallelForeach.getAllParameterModels().get(4);
+    assertThat(preserveOrder.getName(), is("preserveOrder"));
+    assertThat(preserveOrder.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(preserveOrder.getType(), instanceOf(DefaultBooleanType.class));
+    assertThat(preserveOrder.getDefaultValue(), is(true));
+    assertThat(preserveOrder.isRequired(), is(false));
+
+    final ParameterModel target = parallelForeach.getAllParameterModels().get(5);
     assertThat(target.getName(), is(TARGET_PARAMETER_NAME));
     assertThat(target.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(target.getType(), instanceOf(DefaultStringType.class));
     assertThat(target.isRequired(), is(false));
 
-    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(4);
+    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(6);
     assertThat(targetValue.getName(), is(TARGET_VALUE_PARAMETER_NAME));
     assertThat(targetValue.getExpressionSupport(), is(REQUIRED));
     assertThat(targetValue.getType(), instanceOf(StringType.class));
@@ -623,7 +651,7 @@ public class CoreExtensionModelTestCase {
     final ConstructModel untilSuccessful = coreExtensionModel.getConstructModel("untilSuccessful").get();
 
     List<ParameterModel> allParameterModels = untilSuccessful.getAllParameterModels();
-    assertThat(allParameterModels, hasSize(2));
+    assertThat(allParameterModels, hasSize(5));
 
     ParameterModel action = allParameterModels.get(0);
     assertThat(action.getName(), is("maxRetries"));
@@ -638,6 +666,27 @@ public class CoreExtensionModelTestCase {
     assertThat(type.getExpressionSupport(), is(SUPPORTED));
     assertThat(type.getDefaultValue(), is(60000));
     assertThat(type.isRequired(), is(false));
+
+    ParameterModel backoffMultiplier = allParameterModels.get(2);
+    assertThat(backoffMultiplier.getName(), is("backoffMultiplier"));
+    assertThat(backoffMultiplier.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(backoffMultiplier.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(backoffMultiplier.getDefaultValue(), is(1));
+    assertThat(backoffMultiplier.isRequired(), is(false));
+
+    ParameterModel maxMillisBetweenRetries = allParameterModels.get(3);
+    assertThat(maxMillisBetweenRetries.getName(), is("maxMillisBetweenRetries"));
+    assertThat(maxMillisBetweenRetries.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(maxMillisBetweenRetries.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(maxMillisBetweenRetries.getDefaultValue(), is(Long.MAX_VALUE));
+    assertThat(maxMillisBetweenRetries.isRequired(), is(false));
+
+    ParameterModel jitter = allParameterModels.get(4);
+    assertThat(jitter.getName(), is("jitter"));
+    assertThat(jitter.getType(), is(instanceOf(DefaultNumberType.class)));
+    assertThat(jitter.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(jitter.getDefaultValue(), is(0));
+    assertThat(jitter.isRequired(), is(false));
   }
 
   @Test
@@ -41,6 +41,8 @@ public class EventBenchmark extends AbstractBenchmark {
   private CoreEvent eventWith10VariablesProperties;
   private CoreEvent eventWith50VariablesProperties;
   private CoreEvent eventWith100VariablesProperties;
+  private CoreEvent eventWith100Variables;
+  private CoreEvent eventWith500Variables;
 
   @Setup
   public void setup() throws Exception {
@@ -55,6 +57,8 @@ public class EventBenchmark extends AbstractBenchmark {
     eventWith10VariablesProperties = createMuleEventWithFlowVarsAndProperties(10);
     eventWith50VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
     eventWith100VariablesProperties = createMuleEventWithFlowVarsAndProperties(50);
+    eventWith100Variables = createMuleEvent(of(PAYLOAD), 100);
+    eventWith500Variables = createMuleEvent(of(PAYLOAD), 500);
   }
 
   @TearDown
@@ -127,6 +131,40 @@ public class EventBenchmark extends AbstractBenchmark {
     return CoreEvent.builder(eventWith100VariablesProperties).addVariable(KEY, VALUE).build();
   }
 
+  /**
+   * Sets variables one at a time, building a new event for each, as consecutive set-variable components do. Run with
+   * {@code -prof gc} to see the allocation per set variable, which depends on how much of the variables of the original event
+   * are shared by the new one.
+   */
+  @Benchmark
+  public CoreEvent setVariableEventWith100Variables() {
+    return setVariables(eventWith100Variables, 1);
+  }
+
+  @Benchmark
+  public CoreEvent setVariableEventWith500Variables() {
+    return setVariables(eventWith500Variables, 1);
+  }
+
+  @Benchmark
+  public CoreEvent set10VariablesEventWith100Variables() {
+    return setVariables(eventWith100Variables, 10);
+  }
+
+  @Benchmark
+  public CoreEvent set10VariablesEventWith500Variables() {
+    return setVariables(eventWith500Variables, 10);
+  }
+
+  @Benchmark
+  public CoreEvent overwriteVariableEventWith100Variables() {
+    return CoreEvent.builder(eventWith100Variables).addVariable("FlOwVaRiAbLeKeY50", VALUE).build();
+  }
+
+  @Benchmark
+  public CoreEvent removeVariableEventWith100Variables() {
+    return CoreEvent.builder(eventWith100Variables).removeVariable("FlOwVaRiAbLeKeY50").build();
+  }
 
   @Benchmark
   public CoreEvent copyWith10FlowVarsAnd10PropertiesWrite1OfEach() throws Exception {
@@ -179,6 +217,13 @@ public class EventBenchmark extends AbstractBenchmark {
         .build();
   }
 
+  private CoreEvent setVariables(CoreEvent event, int count) {
+    for (int i = 1; i <= count; i++) {
+      event = CoreEvent.builder(event).addVariable(KEY + i, VALUE).build();
+    }
+    return event;
+  }
+
   private CoreEvent createMuleEvent(Message message, int numProperties) {
     final Builder builder;
     try {
@@ -11,9 +11,12 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.CoreEvent.builder;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
 
 import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.util.Reference;
+import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorChainBuilder;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
@@ -23,6 +26,7 @@ import java.util.concurrent.CountDownLatch;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.Warmup;
 
@@ -36,6 +40,10 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
 
   private static final int NUM_PROCESSORS = 20;
   private static final int STREAM_SIZE = 1000;
+
+  @Param({"false", "true"})
+  public boolean fuseCpuLiteProcessors;
+
   private MessageProcessorChain chain;
 
   private CoreEvent event;
@@ -43,11 +51,15 @@ public class ProcessorChainBenchmark extends AbstractBenchmark {
   @Setup
   public void setup() throws Exception {
     DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.setFuseCpuLiteProcessors(fuseCpuLiteProcessors);
     for (int i = 0; i < NUM_PROCESSORS; i++) {
       builder.chain(event -> event);
     }
     chain = builder.build();
-    chain.setMuleContext(createMuleContextWithServices());
+    MuleContext muleContext = createMuleContextWithServices();
+    chain.setMuleContext(muleContext);
+    initialiseIfNeeded(chain, true, muleContext);
+    startIfNeeded(chain);
     event = builder(create("", "", CONNECTOR_LOCATION, null, empty()))
         .message(of(PAYLOAD)).build();
   }
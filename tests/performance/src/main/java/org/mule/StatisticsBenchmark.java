@@ -18,8 +18,11 @@ import java.util.Collection;
 import java.util.HashSet;
 
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 
 public class StatisticsBenchmark extends AbstractBenchmark {
 
@@ -32,6 +35,7 @@ public class StatisticsBenchmark extends AbstractBenchmark {
 
     private ResetOnQueryCounter oneEventsReceivedCounters;
     private Collection<ResetOnQueryCounter> fiveEventsReceivedCounters;
+    private ResetOnQueryCounter queriedEventsReceivedCounter;
 
     @Setup(Trial)
     public void doSetup() {
@@ -41,6 +45,7 @@ public class StatisticsBenchmark extends AbstractBenchmark {
       for (int i = 0; i < 5; ++i) {
         fiveEventsReceivedCounters.add(fiveCounters.getEventsReceivedCounter());
       }
+      queriedEventsReceivedCounter = fiveEventsReceivedCounters.iterator().next();
     }
   }
 
@@ -62,4 +67,39 @@ public class StatisticsBenchmark extends AbstractBenchmark {
     return state.fiveCounters.getTotalEventsReceived();
   }
 
+  @Benchmark
+  @Threads(8)
+  public Object incrementValueNoCounters8Threads(MyState state) {
+    state.noCounters.incReceivedEvents();
+    return state.noCounters.getTotalEventsReceived();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object incrementValueFiveCounters8Threads(MyState state) {
+    state.fiveCounters.incReceivedEvents();
+    return state.fiveCounters.getTotalEventsReceived();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void incrementOnlyFiveCounters8Threads(MyState state) {
+    state.fiveCounters.incReceivedEvents();
+    state.fiveCounters.incExecutionError();
+  }
+
+  @Benchmark
+  @Group("incrementWhileQuerying")
+  @GroupThreads(7)
+  public void incrementWhileQueryingIncrement(MyState state) {
+    state.fiveCounters.incReceivedEvents();
+  }
+
+  @Benchmark
+  @Group("incrementWhileQuerying")
+  @GroupThreads(1)
+  public long incrementWhileQueryingQuery(MyState state) {
+    return state.queriedEventsReceivedCounter.getAndReset();
+  }
+
 }
@@ -6,10 +6,13 @@
  */
 package org.mule.el;
 
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.mule.runtime.api.message.Message.of;
 import static org.mule.runtime.core.api.event.EventContextFactory.create;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.internal.el.dataweave.DataWeaveExpressionLanguageAdaptor.COMPILED_EXPRESSIONS_CACHE_SIZE;
 import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
 
 import org.mule.AbstractBenchmark;
@@ -22,6 +25,7 @@ import org.mule.runtime.core.api.event.CoreEvent;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.TearDown;
 
@@ -30,6 +34,9 @@ import org.openjdk.jmh.annotations.TearDown;
 // @Threads(MAX)
 public class ExpressionBenchmark extends AbstractBenchmark {
 
+  @Param({"0", "1000"})
+  public int compiledExpressionsCacheSize;
+
   private ExtendedExpressionManager expressionManager;
   private MuleContext muleContext;
   private CoreEvent event;
@@ -37,6 +44,7 @@ public class ExpressionBenchmark extends AbstractBenchmark {
 
   @Setup
   public void setup() throws MuleException {
+    setProperty(COMPILED_EXPRESSIONS_CACHE_SIZE, Integer.toString(compiledExpressionsCacheSize));
     muleContext = createMuleContextWithServices();
     expressionManager = muleContext.getExpressionManager();
     context = create(createFlow(muleContext), CONNECTOR_LOCATION);
@@ -47,6 +55,7 @@ public class ExpressionBenchmark extends AbstractBenchmark {
   public void teardown() throws MuleException {
     stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
     muleContext.dispose();
+    clearProperty(COMPILED_EXPRESSIONS_CACHE_SIZE);
   }
 
   @Benchmark
@@ -69,6 +78,11 @@ public class ExpressionBenchmark extends AbstractBenchmark {
     return expressionManager.evaluate("vars.foo == 'bar'", event.asBindingContext()).getValue();
   }
 
+  @Benchmark
+  public Object dwFlowVarsWithEvent() {
+    return expressionManager.evaluate("#[vars.foo == 'bar']", event, CONNECTOR_LOCATION).getValue();
+  }
+
   @Benchmark
   public Object melGetLocale() {
     return expressionManager.evaluate("mel:java.util.Locale.getDefault().getLanguage()", event).getValue();
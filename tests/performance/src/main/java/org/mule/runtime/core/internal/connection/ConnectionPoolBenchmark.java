@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.connection;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.mule.AbstractBenchmark;
+
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares borrowing and returning connections through the commons-pool based {@link CommonsConnectionPool} and the
+ * {@link LockFreeConnectionPool}, with pools smaller and as large as the amount of concurrent borrowers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+public class ConnectionPoolBenchmark extends AbstractBenchmark {
+
+  @Param({"commons", "lockFree"})
+  public String implementation;
+
+  @Param({"8", "64"})
+  public int poolSize;
+
+  private ConnectionPool<Object> pool;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    if ("commons".equals(implementation)) {
+      GenericObjectPoolConfig<Object> config = new GenericObjectPoolConfig<>();
+      config.setMaxTotal(poolSize);
+      config.setMaxIdle(poolSize);
+      config.setBlockWhenExhausted(true);
+      config.setMaxWaitMillis(-1);
+      pool = new CommonsConnectionPool<>(new BasePooledObjectFactory<Object>() {
+
+        @Override
+        public Object create() {
+          return new Object();
+        }
+
+        @Override
+        public PooledObject<Object> wrap(Object obj) {
+          return new DefaultPooledObject<>(obj);
+        }
+      }, config);
+    } else {
+      pool = new LockFreeConnectionPool<>(new LockFreeConnectionPool.ConnectionFactory<Object>() {
+
+        @Override
+        public Object create() {
+          return new Object();
+        }
+
+        @Override
+        public void destroy(Object connection) {}
+
+        @Override
+        public boolean validate(Object connection) {
+          return true;
+        }
+      }, poolSize, poolSize, true, -1, -1, -1, null);
+    }
+
+    for (int i = 0; i < poolSize; ++i) {
+      pool.addObject();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    pool.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Object borrowReturn1Thread() throws Exception {
+    return borrowReturn();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Object borrowReturn8Threads() throws Exception {
+    return borrowReturn();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public Object borrowReturn16Threads() throws Exception {
+    return borrowReturn();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Object borrowReturn64Threads() throws Exception {
+    return borrowReturn();
+  }
+
+  private Object borrowReturn() throws Exception {
+    Object connection = pool.borrowObject();
+    pool.returnObject(connection);
+    return connection;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+public class TransactionJournalBenchmark extends AbstractBenchmark {
+
+  private static final byte UPDATE = 0;
+  private static final byte COMMIT = 1;
+  private static final byte[] PAYLOAD = new byte[256];
+
+  @Param({"false", "true"})
+  public boolean groupCommit;
+
+  // Both modes are measured with the same durability, so that group commit is not compared against not syncing at all
+  @Param({"false", "true"})
+  public boolean sync;
+
+  private File logFilesDirectory;
+  private TransactionJournal<Integer, BenchmarkJournalEntry> journal;
+  private final AtomicInteger txIds = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    logFilesDirectory = createTempDirectory("tx-journal-benchmark").toFile();
+    journal = new TransactionJournal<>(logFilesDirectory.getAbsolutePath(),
+                                       entry -> ((BenchmarkJournalEntry) entry).operation == COMMIT,
+                                       new BenchmarkJournalEntrySerializer(), null, groupCommit, sync);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    journal.close();
+    deleteQuietly(logFilesDirectory);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void updateAndCommit() {
+    int txId = txIds.incrementAndGet();
+    journal.logUpdateOperation(new BenchmarkJournalEntry(txId, UPDATE));
+    journal.logCheckpointOperation(new BenchmarkJournalEntry(txId, COMMIT));
+  }
+
+  private static class BenchmarkJournalEntry implements JournalEntry<Integer> {
+
+    private final int txId;
+    private final byte operation;
+
+    private BenchmarkJournalEntry(int txId, byte operation) {
+      this.txId = txId;
+      this.operation = operation;
+    }
+
+    @Override
+    public Integer getTxId() {
+      return txId;
+    }
+  }
+
+  private static class BenchmarkJournalEntrySerializer implements JournalEntrySerializer<Integer, BenchmarkJournalEntry> {
+
+    @Override
+    public BenchmarkJournalEntry deserialize(DataInputStream inputStream) throws IOException {
+      BenchmarkJournalEntry entry = new BenchmarkJournalEntry(inputStream.readInt(), inputStream.readByte());
+      inputStream.readFully(new byte[PAYLOAD.length]);
+      return entry;
+    }
+
+    @Override
+    public void serialize(BenchmarkJournalEntry journalEntry, DataOutputStream dataOutputStream) {
+      try {
+        dataOutputStream.writeInt(journalEntry.txId);
+        dataOutputStream.writeByte(journalEntry.operation);
+        dataOutputStream.write(PAYLOAD);
+        dataOutputStream.flush();
+      } catch (IOException e) {
+        throw new MuleRuntimeException(e);
+      }
+    }
+  }
+}
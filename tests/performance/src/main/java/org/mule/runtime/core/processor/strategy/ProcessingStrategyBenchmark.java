@@ -7,6 +7,7 @@
 package org.mule.runtime.core.processor.strategy;
 
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
 import static reactor.core.publisher.FluxSink.OverflowStrategy.ERROR;
 
 import org.mule.AbstractBenchmark;
@@ -15,9 +16,12 @@ import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
 import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.processor.strategy.DirectProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.ProactorStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.ThreadPerCoreProcessingStrategyFactory;
 import org.mule.runtime.core.internal.processor.strategy.TransactionAwareStreamEmitterProcessingStrategyFactory;
 
 import java.util.function.Function;
@@ -45,6 +49,8 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
 
   private ProcessingStrategy directPs;
   private ProcessingStrategy emitterPs;
+  private ProcessingStrategy proactorPs;
+  private ProcessingStrategy threadPerCorePs;
   private Flow flow;
 
   private Sink directSink;
@@ -58,6 +64,11 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
 
   private Sink directAllSink;
   private Sink emitterAllSink;
+  private Sink proactorAllSink;
+  private Sink threadPerCoreAllSink;
+
+  private Sink proactorChainSink;
+  private Sink threadPerCoreChainSink;
 
   @Setup(Level.Trial)
   public void setUp() throws MuleException {
@@ -67,6 +78,10 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
     startIfNeeded(directPs);
     emitterPs = new TransactionAwareStreamEmitterProcessingStrategyFactory().create(muleContext, "emitter_mb");
     startIfNeeded(emitterPs);
+    proactorPs = new ProactorStreamEmitterProcessingStrategyFactory().create(muleContext, "proactor_mb");
+    startIfNeeded(proactorPs);
+    threadPerCorePs = new ThreadPerCoreProcessingStrategyFactory().create(muleContext, "threadPerCore_mb");
+    startIfNeeded(threadPerCorePs);
 
     flow = createFlow(muleContext);
 
@@ -94,6 +109,40 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
         directPs.createSink(flow, publisher -> baseFlux(publisher, directPs.onPipeline(directPs.onProcessor(processor))));
     emitterAllSink =
         emitterPs.createSink(flow, publisher -> baseFlux(publisher, emitterPs.onPipeline(emitterPs.onProcessor(processor))));
+    proactorAllSink =
+        proactorPs.createSink(flow, publisher -> baseFlux(publisher, proactorPs.onPipeline(proactorPs.onProcessor(processor))));
+    threadPerCoreAllSink =
+        threadPerCorePs.createSink(flow, publisher -> baseFlux(publisher, threadPerCorePs
+            .onPipeline(threadPerCorePs.onProcessor(processor))));
+
+    // A chain of short CPU_LITE processors with a BLOCKING one in the middle, as a typical flow would have
+    final ReactiveProcessor liteProcessor = p -> Flux.from(p).doOnNext(e -> Blackhole.consumeCPU(10));
+    final ReactiveProcessor blockingProcessor = new ReactiveProcessor() {
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> p) {
+        return Flux.from(p).doOnNext(e -> Blackhole.consumeCPU(100));
+      }
+
+      @Override
+      public ProcessingType getProcessingType() {
+        return BLOCKING;
+      }
+    };
+    proactorChainSink = proactorPs.createSink(flow, publisher -> baseFlux(publisher, proactorPs
+        .onPipeline(chain(proactorPs, liteProcessor, liteProcessor, blockingProcessor, liteProcessor, liteProcessor))));
+    threadPerCoreChainSink = threadPerCorePs.createSink(flow, publisher -> baseFlux(publisher, threadPerCorePs
+        .onPipeline(chain(threadPerCorePs, liteProcessor, liteProcessor, blockingProcessor, liteProcessor, liteProcessor))));
+  }
+
+  private ReactiveProcessor chain(ProcessingStrategy ps, ReactiveProcessor... processors) {
+    ReactiveProcessor chain = p -> p;
+    for (ReactiveProcessor processor : processors) {
+      final ReactiveProcessor previous = chain;
+      final ReactiveProcessor enriched = ps.onProcessor(processor);
+      chain = p -> enriched.apply(previous.apply(p));
+    }
+    return chain;
   }
 
   private Flux<CoreEvent> baseFlux(Publisher<CoreEvent> publisher,
@@ -153,4 +202,28 @@ public class ProcessingStrategyBenchmark extends AbstractBenchmark {
   public CoreEvent emitterAllSink() {
     return Mono.<CoreEvent>create(resultSink -> emitterAllSink.accept(createEvent(flow, resultSink))).block();
   }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent proactorAllSink() {
+    return Mono.<CoreEvent>create(resultSink -> proactorAllSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent threadPerCoreAllSink() {
+    return Mono.<CoreEvent>create(resultSink -> threadPerCoreAllSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent proactorChainSink() {
+    return Mono.<CoreEvent>create(resultSink -> proactorChainSink.accept(createEvent(flow, resultSink))).block();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public CoreEvent threadPerCoreChainSink() {
+    return Mono.<CoreEvent>create(resultSink -> threadPerCoreChainSink.accept(createEvent(flow, resultSink))).block();
+  }
 }
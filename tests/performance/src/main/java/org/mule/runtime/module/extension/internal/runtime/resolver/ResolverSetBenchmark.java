@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.module.extension.internal.runtime.resolver;
+
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.privileged.registry.LegacyRegistryUtils.lookupObject;
+
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.config.ImmutableExpirationPolicy;
+import org.mule.runtime.core.internal.time.LocalTimeSupplier;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationFactory;
+import org.mule.runtime.extension.api.runtime.config.ConfigurationInstance;
+import org.mule.runtime.module.extension.internal.loader.java.property.ConfigurationFactoryModelProperty;
+import org.mule.runtime.module.extension.internal.runtime.config.DynamicConfigurationProvider;
+import org.mule.runtime.module.extension.internal.util.ReflectionCache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+
+/**
+ * Measures the resolution of the parameters of a dynamic configuration for an event, and getting the configuration instance for
+ * the event from a {@link DynamicConfigurationProvider}, which resolves the parameters and looks up the cached instance for them.
+ */
+public class ResolverSetBenchmark extends AbstractBenchmark {
+
+  private static final Logger LOGGER = getLogger(ResolverSetBenchmark.class);
+
+  private static final String CONFIG_NAME = "dynamicConfig";
+  private static final String TENANT = "tenant";
+  private static final int STATIC_PARAMETERS = 10;
+  private static final int STATIC_MAP_ENTRIES = 50;
+
+  private MuleContext muleContext;
+  private CoreEvent event;
+  private ResolverSet resolverSet;
+  private DynamicConfigurationProvider configurationProvider;
+
+  @Setup
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    Flow flow = createFlow(muleContext);
+    event = createEvent(flow);
+
+    resolverSet = new ResolverSet(muleContext);
+    for (int i = 0; i < STATIC_PARAMETERS; i++) {
+      resolverSet.add("static" + i, new StaticValueResolver<>(VALUE + i));
+    }
+
+    Map<String, String> staticMap = new HashMap<>();
+    for (int i = 0; i < STATIC_MAP_ENTRIES; i++) {
+      staticMap.put(KEY + i, VALUE + i);
+    }
+    resolverSet.add("staticMap", new StaticValueResolver<>(staticMap));
+
+    resolverSet.add("tenant", new ValueResolver<String>() {
+
+      @Override
+      public String resolve(ValueResolvingContext context) {
+        // an expression yields a new, equal, instance on each evaluation
+        return new StringBuilder(TENANT).toString();
+      }
+
+      @Override
+      public boolean isDynamic() {
+        return true;
+      }
+    });
+
+    configurationProvider = createConfigurationProvider();
+    // creates the configuration instance, so that the benchmark only measures getting it from the cache
+    configurationProvider.get(event);
+  }
+
+  private DynamicConfigurationProvider createConfigurationProvider() throws MuleException {
+    ConfigurationFactory configurationFactory = mock(ConfigurationFactory.class);
+    when(configurationFactory.newInstance()).thenReturn(new Object());
+    when(configurationFactory.getObjectType()).thenReturn((Class) Object.class);
+    ConfigurationModel configurationModel = mock(ConfigurationModel.class);
+    when(configurationModel.getModelProperty(ConfigurationFactoryModelProperty.class))
+        .thenReturn(of(new ConfigurationFactoryModelProperty(configurationFactory)));
+
+    DynamicConfigurationProvider provider =
+        new DynamicConfigurationProvider(CONFIG_NAME, mock(ExtensionModel.class), configurationModel, resolverSet,
+                                         mock(ConnectionProviderValueResolver.class),
+                                         new ImmutableExpirationPolicy(5, MINUTES, new LocalTimeSupplier()),
+                                         new ReflectionCache(), muleContext.getExpressionManager(), muleContext);
+    muleContext.getInjector().inject(provider);
+    provider.initialise();
+    provider.start();
+    return provider;
+  }
+
+  @TearDown
+  public void tearDown() throws MuleException {
+    stopIfNeeded(configurationProvider);
+    disposeIfNeeded(configurationProvider, LOGGER);
+    muleContext.stop();
+    stopIfNeeded(lookupObject(muleContext, SchedulerService.class));
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public ResolverSetResult resolve() throws MuleException {
+    try (ValueResolvingContext context = ValueResolvingContext.builder(event).build()) {
+      return resolverSet.resolve(context);
+    }
+  }
+
+  @Benchmark
+  public ConfigurationInstance getConfiguration() {
+    return configurationProvider.get(event);
+  }
+}